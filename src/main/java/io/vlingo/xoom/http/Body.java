@@ -154,7 +154,14 @@ public interface Body {
     }
     final int length = body.limit();
     final byte[] bytes = new byte[length];
-    System.arraycopy(body.array(), 0, bytes, 0, length);
+    if (body.hasArray()) {
+      System.arraycopy(body.array(), 0, bytes, 0, length);
+    } else {
+      // such as a direct buffer
+      final ByteBuffer duplicate = body.duplicate();
+      duplicate.position(0);
+      duplicate.get(bytes);
+    }
     return bytes;
   }
 
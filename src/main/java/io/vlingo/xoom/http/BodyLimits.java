@@ -0,0 +1,98 @@
+// Copyright © 2012-2021 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.http;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * The limit on the body size of each {@code Request}, and the size beyond which its
+ * body is spooled to a temporary file. The {@code RequestParser} answers a body that
+ * is declared by {@code Content-Length} to exceed {@code maxBodySize} with
+ * {@code PayloadTooLarge} as soon as its headers are parsed, before any of the body is
+ * buffered, and a chunked body as soon as its chunks exceed it. A body larger than a
+ * positive {@code spoolThreshold} is written to a file in {@code spoolDirectory} as it
+ * is read, and is answered as a {@code FileBody}. Streamed bodies are never spooled.
+ */
+public final class BodyLimits {
+  /**
+   * The {@code BodyLimits} that neither limit nor spool bodies.
+   */
+  public static final BodyLimits Unlimited = new BodyLimits(Integer.MAX_VALUE, 0, null);
+
+  public final int maxBodySize;
+  public final int spoolThreshold;
+  public final Path spoolDirectory;
+
+  /**
+   * Answer the default {@code BodyLimits}, which neither limit nor spool bodies.
+   * @return BodyLimits
+   */
+  public static BodyLimits define() {
+    return Unlimited;
+  }
+
+  /**
+   * Answer a copy of me that limits bodies to {@code maxBodySize} bytes.
+   * @param maxBodySize the int maximum number of bytes of a body
+   * @return BodyLimits
+   */
+  public BodyLimits withMaxBodySize(final int maxBodySize) {
+    return new BodyLimits(maxBodySize, this.spoolThreshold, this.spoolDirectory);
+  }
+
+  /**
+   * Answer a copy of me that spools bodies larger than {@code spoolThreshold} bytes
+   * to the temporary directory of the JVM.
+   * @param spoolThreshold the int number of bytes beyond which bodies are spooled, or 0 for none
+   * @return BodyLimits
+   */
+  public BodyLimits withSpoolThreshold(final int spoolThreshold) {
+    return new BodyLimits(this.maxBodySize, spoolThreshold, this.spoolDirectory);
+  }
+
+  /**
+   * Answer a copy of me that spools bodies to files in the {@code spoolDirectory}.
+   * @param spoolDirectory the Path of the directory, or null for the temporary directory
+   * @return BodyLimits
+   */
+  public BodyLimits withSpoolDirectory(final Path spoolDirectory) {
+    return new BodyLimits(this.maxBodySize, this.spoolThreshold, spoolDirectory);
+  }
+
+  /**
+   * Answer whether or not bodies larger than {@code size} bytes are spooled.
+   * @param size the long number of bytes of a body
+   * @return boolean
+   */
+  public boolean spools(final long size) {
+    return spoolThreshold > 0 && size > spoolThreshold;
+  }
+
+  /**
+   * Answer the directory to which bodies are spooled.
+   * @return Path
+   */
+  public Path spoolDirectoryPath() {
+    return spoolDirectory != null ? spoolDirectory : Paths.get(System.getProperty("java.io.tmpdir"));
+  }
+
+  @Override
+  public String toString() {
+    return "BodyLimits[maxBodySize=" + maxBodySize + " spoolThreshold=" + spoolThreshold + " spoolDirectory=" + spoolDirectory + "]";
+  }
+
+  private BodyLimits(final int maxBodySize, final int spoolThreshold, final Path spoolDirectory) {
+    if (maxBodySize < 0 || spoolThreshold < 0) {
+      throw new IllegalArgumentException("Body limits must not be negative.");
+    }
+    this.maxBodySize = maxBodySize;
+    this.spoolThreshold = spoolThreshold;
+    this.spoolDirectory = spoolDirectory;
+  }
+}
@@ -8,6 +8,7 @@
 package io.vlingo.xoom.http;
 
 import io.vlingo.xoom.actors.CompletesEventually;
+import io.vlingo.xoom.http.Header.Headers;
 import io.vlingo.xoom.wire.channel.RequestResponseContext;
 
 /**
@@ -20,6 +21,8 @@ import io.vlingo.xoom.wire.channel.RequestResponseContext;
 public class Context {
   /** My {@code CompletesEventually} instance. */
   public final CompletesEventually completes;
+  /** My {@code Deadline} instance. */
+  private final Deadline deadline;
   /** My {@code Request} instance. */
   public final Request request;
   /** My {@code RequestResponseContext<?>} instance. */
@@ -30,11 +33,23 @@ public class Context {
    * @param requestResponseContext the {@code RequestResponseContext<?>} providing channel communication
    * @param request the Request from the client
    * @param completes the CompletesEventually through which the Response is eventually provided
+   * @param deadline the Deadline by which the Response must be provided
    */
-  public Context(final RequestResponseContext<?> requestResponseContext, final Request request, final CompletesEventually completes) {
+  public Context(final RequestResponseContext<?> requestResponseContext, final Request request, final CompletesEventually completes, final Deadline deadline) {
     this.requestResponseContext = requestResponseContext;
     this.request = request;
     this.completes = completes;
+    this.deadline = deadline;
+  }
+
+  /**
+   * Construct my state.
+   * @param requestResponseContext the {@code RequestResponseContext<?>} providing channel communication
+   * @param request the Request from the client
+   * @param completes the CompletesEventually through which the Response is eventually provided
+   */
+  public Context(final RequestResponseContext<?> requestResponseContext, final Request request, final CompletesEventually completes) {
+    this(requestResponseContext, request, completes, Deadline.None);
   }
 
   /**
@@ -62,6 +77,14 @@ public class Context {
     return requestResponseContext;
   }
 
+  /**
+   * Answer my {@code deadline}, which is {@code Deadline.None} if my request never expires.
+   * @return Deadline
+   */
+  public Deadline deadline() {
+    return deadline;
+  }
+
   /**
    * Answer whether or not I was instantiated with a {@code requestResponseContext}.
    * @return boolean
@@ -86,6 +109,36 @@ public class Context {
     return request;
   }
 
+  /**
+   * Answer a new {@code ResponseStream} after completing with the response head of
+   * {@code status} and {@code headers}, which is written before any chunk of the stream.
+   * The header {@code Transfer-Encoding: chunked} is added if missing.
+   * @param status the Status of the response
+   * @param headers the {@code Headers<ResponseHeader>} of the response
+   * @return ResponseStream
+   */
+  public ResponseStream streamResponse(final Response.Status status, final Headers<ResponseHeader> headers) {
+    if (headers.headerOf(ResponseHeader.TransferEncoding) == null) {
+      headers.add(ResponseHeader.of(ResponseHeader.TransferEncoding, Header.ValueChunked));
+    }
+
+    final ResponseStream stream = new ResponseStream();
+
+    completes.with(Response.of(status, headers, stream));
+
+    return stream;
+  }
+
+  /**
+   * Answer a new {@code ResponseStream} after completing with the response head of
+   * {@code status}, which is written before any chunk of the stream.
+   * @param status the Status of the response
+   * @return ResponseStream
+   */
+  public ResponseStream streamResponse(final Response.Status status) {
+    return streamResponse(status, Headers.empty());
+  }
+
   @Override
   public String toString() {
     return "Context [completes=" + completes + ", request=\n" + request + "]";
@@ -0,0 +1,44 @@
+// Copyright © 2012-2021 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.http;
+
+/**
+ * The deadline by which the {@code Response} to a {@code Request} must be completed,
+ * after which the server responds with {@code Response.Status.GatewayTimeout} and drops
+ * any later completion. A handler may check {@code hasExpired()} to abandon work for
+ * which no response can any longer be sent.
+ */
+public interface Deadline {
+  /**
+   * The {@code Deadline} of requests that never expire.
+   */
+  static final Deadline None = new Deadline() {
+    @Override
+    public boolean hasExpired() {
+      return false;
+    }
+
+    @Override
+    public void resetTo(final long timeoutMillis) { }
+  };
+
+  /**
+   * Answer whether or not I have expired, the request having been answered with
+   * {@code Response.Status.GatewayTimeout}.
+   * @return boolean
+   */
+  boolean hasExpired();
+
+  /**
+   * Reset me to expire {@code timeoutMillis} after the arrival of my request, unless the
+   * client asked for an earlier deadline. I am not reset if I have already expired or my
+   * request has been answered.
+   * @param timeoutMillis the long number of milliseconds after the arrival of the request
+   */
+  void resetTo(final long timeoutMillis);
+}
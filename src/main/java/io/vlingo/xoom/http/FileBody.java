@@ -0,0 +1,113 @@
+// Copyright © 2012-2021 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.http;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * A request {@code Body} whose content was spooled to a temporary file as it was read,
+ * rather than held in memory. A handler should read the content by way of
+ * {@code openChannel()}, or keep the file by way of {@code moveTo()}, since both
+ * {@code content()} and {@code binaryContent()} read the whole file into memory.
+ * The server deletes the file once the handler has completed the request, even if
+ * its deadline was answered before then, unless the file was moved.
+ */
+public class FileBody implements Body {
+
+  /** The path of the file holding my content. */
+  public final Path path;
+
+  /** The number of bytes of my content. */
+  public final long size;
+
+  private volatile boolean moved;
+
+  /**
+   * @see io.vlingo.xoom.http.Body#content()
+   */
+  @Override
+  public String content() {
+    return new String(binaryContent(), StandardCharsets.UTF_8);
+  }
+
+  /**
+   * @see io.vlingo.xoom.http.Body#binaryContent()
+   */
+  @Override
+  public byte[] binaryContent() {
+    try {
+      return Files.readAllBytes(path);
+    } catch (IOException e) {
+      throw new UncheckedIOException("Cannot read spooled body: " + path, e);
+    }
+  }
+
+  /**
+   * @see io.vlingo.xoom.http.Body#hasContent()
+   */
+  @Override
+  public boolean hasContent() {
+    return size > 0;
+  }
+
+  /**
+   * Answer a new {@code FileChannel} open for reading my content, which the caller must close.
+   * @return FileChannel
+   * @throws IOException when the file cannot be opened
+   */
+  public FileChannel openChannel() throws IOException {
+    return FileChannel.open(path, StandardOpenOption.READ);
+  }
+
+  /**
+   * Move my file to the {@code target}, which the server then no longer deletes.
+   * @param target the Path to which my file is moved
+   * @throws IOException when the file cannot be moved
+   */
+  public void moveTo(final Path target) throws IOException {
+    Files.move(path, target, StandardCopyOption.REPLACE_EXISTING);
+    moved = true;
+  }
+
+  /**
+   * Delete my file unless it was moved.
+   */
+  public void delete() {
+    if (moved) return;
+    try {
+      Files.deleteIfExists(path);
+    } catch (IOException e) {
+      // the file is in the temporary directory, so it will eventually be removed
+    }
+  }
+
+  /**
+   * @see java.lang.Object#toString()
+   */
+  @Override
+  public String toString() {
+    return "FileBody[path=" + path + " size=" + size + "]";
+  }
+
+  /**
+   * Construct my state with the {@code path} of the file holding {@code size} bytes.
+   * @param path the Path of the file
+   * @param size the long number of bytes of content
+   */
+  FileBody(final Path path, final long size) {
+    this.path = path;
+    this.size = size;
+  }
+}
@@ -16,6 +16,7 @@ import io.vlingo.xoom.common.Tuple2;
  * A processor for all {@code Filter} types.
  */
 public class Filters {
+  private final ResponseCompression compression;
   private final List<RequestFilter> requestFilters;
   private final List<ResponseFilter> responseFilters;
   private boolean stopped;
@@ -27,7 +28,7 @@ public class Filters {
    * @return Filters
    */
   public static Filters are(final List<RequestFilter> requestFilters, final List<ResponseFilter> responseFilters) {
-    return new Filters(requestFilters, responseFilters);
+    return new Filters(requestFilters, responseFilters, null);
   }
 
   /**
@@ -35,7 +36,7 @@ public class Filters {
    * @return Filters
    */
   public static Filters none() {
-    return new Filters(Collections.emptyList(), Collections.emptyList());
+    return new Filters(Collections.emptyList(), Collections.emptyList(), null);
   }
 
   /**
@@ -54,6 +55,24 @@ public class Filters {
     return Collections.emptyList();
   }
 
+  /**
+   * Answer a copy of me that compresses each {@code Response} following all response
+   * filters, or that does not compress if {@code compression} is {@code null}.
+   * @param compression the ResponseCompression to apply, which may be null
+   * @return Filters
+   */
+  public Filters with(final ResponseCompression compression) {
+    return new Filters(requestFilters, responseFilters, compression);
+  }
+
+  /**
+   * Answer my {@code ResponseCompression}, which is {@code null} if I do not compress.
+   * @return ResponseCompression
+   */
+  public ResponseCompression compression() {
+    return compression;
+  }
+
   /**
    * Answer the {@code Request} resulting from any filtering.
    * @param request the Request incoming from the client
@@ -92,6 +111,18 @@ public class Filters {
     return current;
   }
 
+  /**
+   * Answer the {@code Response} to the {@code request} resulting from any filtering
+   * and then any compression.
+   * @param request the Request being responded to, which may be null
+   * @param response the Response outgoing from a ResourceHandler
+   * @return Response
+   */
+  public Response process(final Request request, final Response response) {
+    final Response filtered = process(response);
+    return compression == null ? filtered : compression.compress(request, filtered);
+  }
+
   /**
    * Stop all filters.
    */
@@ -111,8 +142,10 @@ public class Filters {
    * Constructs my state.
    * @param requestFilters the {@code List<RequestFilter>} of request filters
    * @param responseFilters the {@code List<ResponseFilter>} of response filters
+   * @param compression the ResponseCompression to apply, which may be null
    */
-  private Filters(final List<RequestFilter> requestFilters, final List<ResponseFilter> responseFilters) {
+  private Filters(final List<RequestFilter> requestFilters, final List<ResponseFilter> responseFilters, final ResponseCompression compression) {
+    this.compression = compression;
     this.requestFilters = requestFilters;
     this.responseFilters = responseFilters;
     this.stopped = false;
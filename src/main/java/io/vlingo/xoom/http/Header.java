@@ -9,6 +9,7 @@ package io.vlingo.xoom.http;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Comparator;
 import java.util.Iterator;
 import java.util.List;
 import java.util.function.Predicate;
@@ -17,6 +18,7 @@ import java.util.function.UnaryOperator;
 public class Header {
   public static final String ValueWildcardAny = "*";
   public static final String ValueBr = "br";
+  public static final String ValueChunked = "chunked";
   public static final String ValueClose = "close";
   public static final String ValueCompress = "compress";
   public static final String ValueDeflate = "deflate";
@@ -29,13 +31,16 @@ public class Header {
   public final String name;
   public final String value;
 
+  final int nameHash;
+
   protected Header(final String name, final String value) {
     this.name = name;
     this.value = value;
+    this.nameHash = HeaderNames.foldedHash(name);
   }
 
   public boolean matchesNameOf(final Header header) {
-    return this.name.equalsIgnoreCase(header.name);
+    return this.nameHash == header.nameHash && this.name.equalsIgnoreCase(header.name);
   }
 
   public boolean matchesNameOf(final String name) {
@@ -71,9 +76,27 @@ public class Header {
     return "" + name + ": " + value;
   }
 
+  /**
+   * A {@code List} of headers that is indexed by the case-insensitive hash of their
+   * names. Each lookup by name probes a small open-addressed table of the position of
+   * the first header with each name, which is built on the first lookup of more than
+   * a few headers and is kept as headers are added. The table is built completely before
+   * it is published, so that the headers of a request may be looked up by more than one
+   * thread. Once a {@code subList()} view is taken, whose changes cannot be observed, the
+   * headers are always scanned rather than indexed.
+   */
   public static class Headers<T extends Header> extends ArrayList<T> implements List<T> {
     private static final long serialVersionUID = 1L;
 
+    // fewer headers are scanned rather than indexed
+    private static final int LinearScanLimit = 6;
+
+    // the position plus one of the first header of each name, or 0 for none
+    private transient volatile int[] index;
+
+    // whether a subList view may have changed the headers without my knowledge
+    private transient boolean viewed;
+
     public static Headers<RequestHeader> of(final RequestHeader... requestHeaders) {
       final Headers<RequestHeader> headers = new Headers<>(requestHeaders.length);
       for (final RequestHeader requestHeader : requestHeaders) {
@@ -95,14 +118,8 @@ public class Header {
     }
 
     public T headerOfOrDefault(final String name, final T defaultHeader) {
-      final Iterator<T> iter = this.iterator();
-      while (iter.hasNext()) {
-        final T header = iter.next();
-        if (header.matchesNameOf(name)) {
-          return header;
-        }
-      }
-      return defaultHeader;
+      final int position = positionOf(name, HeaderNames.foldedHash(name));
+      return position < 0 ? defaultHeader : get(position);
     }
 
     public static <T extends Header> Headers<T> empty() {
@@ -118,17 +135,12 @@ public class Header {
 
     @SuppressWarnings("unchecked")
     public Headers<T> and(final Header header) {
-      Header modified = null;
-      final int size = size();
-      for (int index = 0; index < size; ++index) {
-        if (get(index).matchesNameOf(header)) {
-          modified = set(index, (T) header);
-          break;
-        }
-      }
+      final int position = positionOf(header.name, header.nameHash);
 
-      if (modified == null) {
+      if (position < 0) {
         add((T) header);
+      } else {
+        set(position, (T) header);
       }
 
       return this;
@@ -147,6 +159,49 @@ public class Header {
       return headers;
     }
 
+    @Override
+    public boolean add(final T header) {
+      super.add(header);
+      final int[] current = index;
+      if (current != null) {
+        if (size() * 2 > current.length) {
+          index = null;
+        } else {
+          indexAt(current, size() - 1);
+        }
+      }
+      return true;
+    }
+
+    @Override
+    public T set(final int position, final T header) {
+      final T replaced = super.set(position, header);
+      if (!replaced.matchesNameOf(header)) {
+        index = null;
+      }
+      return replaced;
+    }
+
+    @Override
+    public void sort(final Comparator<? super T> comparator) {
+      super.sort(comparator);
+      index = null;
+    }
+
+    @Override
+    public List<T> subList(final int fromIndex, final int toIndex) {
+      viewed = true;
+      index = null;
+      return super.subList(fromIndex, toIndex);
+    }
+
+    @Override
+    public boolean retainAll(final Collection<?> c) {
+      final boolean changed = super.retainAll(c);
+      index = null;
+      return changed;
+    }
+
     @Override
     public void add(int index, T element) {
       throw new UnsupportedOperationException();
@@ -165,6 +220,7 @@ public class Header {
     @Override
     public void clear() {
       super.clear();
+      index = null;
     }
 
     @Override
@@ -210,5 +266,65 @@ public class Header {
     Headers(final int initialCapactiy) {
       super(initialCapactiy);
     }
+
+    /**
+     * Answer the position of the first header named {@code name}, whose case-insensitive
+     * hash is {@code hash}, or {@code -1} if there is none.
+     */
+    private int positionOf(final String name, final int hash) {
+      final int size = size();
+
+      if (size <= LinearScanLimit || viewed) {
+        for (int position = 0; position < size; ++position) {
+          final T header = get(position);
+          if (header.nameHash == hash && header.name.equalsIgnoreCase(name)) {
+            return position;
+          }
+        }
+        return -1;
+      }
+
+      final int[] table = index == null ? reindex() : index;
+
+      final int mask = table.length - 1;
+      for (int slot = HeaderNames.spread(hash) & mask; table[slot] != 0; slot = (slot + 1) & mask) {
+        final T header = get(table[slot] - 1);
+        if (header.nameHash == hash && header.name.equalsIgnoreCase(name)) {
+          return table[slot] - 1;
+        }
+      }
+      return -1;
+    }
+
+    /**
+     * Answer a new index of my headers, which is filled before it is published.
+     */
+    private int[] reindex() {
+      int capacity = 16;
+      while (capacity < size() * 2) capacity <<= 1;
+      final int[] table = new int[capacity];
+      for (int position = 0; position < size(); ++position) {
+        indexAt(table, position);
+      }
+      index = table;
+      return table;
+    }
+
+    /**
+     * Index the header at {@code position} in the {@code table} unless a header of the
+     * same name precedes it.
+     */
+    private void indexAt(final int[] table, final int position) {
+      final T header = get(position);
+      final int mask = table.length - 1;
+      int slot = HeaderNames.spread(header.nameHash) & mask;
+      while (table[slot] != 0) {
+        if (get(table[slot] - 1).matchesNameOf(header)) {
+          return;
+        }
+        slot = (slot + 1) & mask;
+      }
+      table[slot] = position + 1;
+    }
   }
 }
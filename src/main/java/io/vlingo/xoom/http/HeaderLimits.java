@@ -0,0 +1,75 @@
+// Copyright © 2012-2021 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.http;
+
+/**
+ * The limits on the request line and headers of each {@code Request}, which the
+ * {@code RequestParser} enforces as the bytes are read, before any oversized text
+ * is decoded. A request line that is too long is answered with {@code URITooLong},
+ * and too many or too large headers with {@code RequestHeaderFieldsTooLarge}.
+ * Line terminators are counted.
+ */
+public final class HeaderLimits {
+  public static final int DefaultMaxRequestLineLength = 8192;
+  public static final int DefaultMaxHeaderCount = 100;
+  public static final int DefaultMaxHeaderBytes = 65536;
+
+  /**
+   * The {@code HeaderLimits} that enforce no limits.
+   */
+  public static final HeaderLimits Unlimited = new HeaderLimits(Integer.MAX_VALUE, Integer.MAX_VALUE, Integer.MAX_VALUE);
+
+  public final int maxHeaderBytes;
+  public final int maxHeaderCount;
+  public final int maxRequestLineLength;
+
+  /**
+   * Answer the default {@code HeaderLimits}.
+   * @return HeaderLimits
+   */
+  public static HeaderLimits define() {
+    return new HeaderLimits(DefaultMaxRequestLineLength, DefaultMaxHeaderCount, DefaultMaxHeaderBytes);
+  }
+
+  /**
+   * Answer a new {@code HeaderLimits} of the given limits.
+   * @param maxRequestLineLength the int maximum number of bytes of the request line
+   * @param maxHeaderCount the int maximum number of headers
+   * @param maxHeaderBytes the int maximum number of bytes of all headers
+   * @return HeaderLimits
+   */
+  public static HeaderLimits of(final int maxRequestLineLength, final int maxHeaderCount, final int maxHeaderBytes) {
+    return new HeaderLimits(maxRequestLineLength, maxHeaderCount, maxHeaderBytes);
+  }
+
+  public HeaderLimits withMaxRequestLineLength(final int maxRequestLineLength) {
+    return new HeaderLimits(maxRequestLineLength, this.maxHeaderCount, this.maxHeaderBytes);
+  }
+
+  public HeaderLimits withMaxHeaderCount(final int maxHeaderCount) {
+    return new HeaderLimits(this.maxRequestLineLength, maxHeaderCount, this.maxHeaderBytes);
+  }
+
+  public HeaderLimits withMaxHeaderBytes(final int maxHeaderBytes) {
+    return new HeaderLimits(this.maxRequestLineLength, this.maxHeaderCount, maxHeaderBytes);
+  }
+
+  @Override
+  public String toString() {
+    return "HeaderLimits[maxRequestLineLength=" + maxRequestLineLength + " maxHeaderCount=" + maxHeaderCount + " maxHeaderBytes=" + maxHeaderBytes + "]";
+  }
+
+  private HeaderLimits(final int maxRequestLineLength, final int maxHeaderCount, final int maxHeaderBytes) {
+    if (maxRequestLineLength <= 0 || maxHeaderCount <= 0 || maxHeaderBytes <= 0) {
+      throw new IllegalArgumentException("Header limits must be positive.");
+    }
+    this.maxRequestLineLength = maxRequestLineLength;
+    this.maxHeaderCount = maxHeaderCount;
+    this.maxHeaderBytes = maxHeaderBytes;
+  }
+}
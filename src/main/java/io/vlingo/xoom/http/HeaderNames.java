@@ -0,0 +1,123 @@
+// Copyright © 2012-2021 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.http;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Case-insensitive hashing of header names, and the interned well-known header names
+ * of {@code RequestHeader} and {@code ResponseHeader}. A parsed name that is spelled
+ * the same as a well-known name is answered as its constant, so that comparing it with
+ * the constant is by identity.
+ */
+final class HeaderNames {
+  private static final String[] wellKnown;
+
+  static {
+    final List<String> names = new ArrayList<>();
+    addNamesOf(RequestHeader.class, names);
+    addNamesOf(ResponseHeader.class, names);
+
+    int capacity = 1;
+    while (capacity < names.size() * 2) capacity <<= 1;
+
+    wellKnown = new String[capacity];
+    for (final String name : names) {
+      final int mask = capacity - 1;
+      int slot = spread(foldedHash(name)) & mask;
+      while (wellKnown[slot] != null && !wellKnown[slot].equals(name)) {
+        slot = (slot + 1) & mask;
+      }
+      wellKnown[slot] = name;
+    }
+  }
+
+  /**
+   * Answer the case-insensitive hash of the {@code name}, being equal for all names
+   * that are equal by {@code String#equalsIgnoreCase()}.
+   * @param name the String header name
+   * @return int
+   */
+  static int foldedHash(final String name) {
+    if (name == null) return 0;
+
+    int hash = 0;
+    final int length = name.length();
+    for (int index = 0; index < length; ++index) {
+      hash = 31 * hash + folded(name.charAt(index));
+    }
+    return hash;
+  }
+
+  /**
+   * Answer the well-known header name constant spelled as the ISO-8859-1 {@code content}
+   * from {@code start} to {@code end}, or otherwise a new {@code String} of the content.
+   * @param content the byte[] holding the name
+   * @param start the int index of the first byte of the name
+   * @param end the int index following the last byte of the name
+   * @return String
+   */
+  static String nameOf(final byte[] content, final int start, final int end) {
+    int hash = 0;
+    for (int index = start; index < end; ++index) {
+      hash = 31 * hash + folded((char) (content[index] & 0xFF));
+    }
+
+    final int length = end - start;
+    final int mask = wellKnown.length - 1;
+    for (int slot = spread(hash) & mask; wellKnown[slot] != null; slot = (slot + 1) & mask) {
+      final String name = wellKnown[slot];
+      if (name.length() == length && spelledAs(name, content, start)) {
+        return name;
+      }
+    }
+
+    return new String(content, start, length, StandardCharsets.ISO_8859_1);
+  }
+
+  static int spread(final int hash) {
+    return hash ^ (hash >>> 16);
+  }
+
+  private static char folded(final char c) {
+    if (c < 0x80) {
+      return c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c;
+    }
+    // as String#equalsIgnoreCase() compares
+    return Character.toLowerCase(Character.toUpperCase(c));
+  }
+
+  private static boolean spelledAs(final String name, final byte[] content, final int start) {
+    final int length = name.length();
+    for (int index = 0; index < length; ++index) {
+      if (name.charAt(index) != (char) (content[start + index] & 0xFF)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static void addNamesOf(final Class<? extends Header> type, final List<String> names) {
+    for (final Field field : type.getDeclaredFields()) {
+      final int modifiers = field.getModifiers();
+      if (field.getType() == String.class && Modifier.isPublic(modifiers) && Modifier.isStatic(modifiers) && Modifier.isFinal(modifiers)) {
+        try {
+          names.add(((String) field.get(null)).intern());
+        } catch (IllegalAccessException e) {
+          // public constants are accessible
+        }
+      }
+    }
+  }
+
+  private HeaderNames() { }
+}
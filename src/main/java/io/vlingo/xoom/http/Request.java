@@ -100,12 +100,7 @@ public class Request {
   // ===========================================
 
   public Header headerOf(final String name) {
-    for (final Header header : headers) {
-      if (header.matchesNameOf(name)) {
-        return header;
-      }
-    }
-    return null;
+    return headers.headerOf(name);
   }
 
   public boolean headerMatches(final String name, final String value) {
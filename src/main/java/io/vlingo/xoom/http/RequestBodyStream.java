@@ -0,0 +1,278 @@
+// Copyright © 2012-2021 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.http;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.Queue;
+
+/**
+ * A request {@code Body} whose content is not buffered, but is instead delivered
+ * to a single {@code Subscriber} in slices as the bytes are read from the client.
+ * The {@code Request} is dispatched as soon as its headers are parsed, and the
+ * slices follow on the reading thread. Since the next read does not take place
+ * until the {@code Subscriber} returns from {@code onChunk()}, a slow consumer
+ * throttles the socket reads of its connection.
+ * <p>
+ * Slices that arrive before a {@code Subscriber} is available are copied and
+ * held pending, but only up to {@code maxPendingSize} bytes, after which the
+ * stream fails. Since the {@code Subscriber} is known only once the request has
+ * been dispatched to its handler, several reads may arrive first. A server either
+ * sizes {@code maxPendingSize} to the largest body it accepts, or stops reading
+ * until it is notified {@code whenSubscribed()}.
+ */
+public class RequestBodyStream implements Body {
+
+  /**
+   * The consumer of the slices of a {@code RequestBodyStream}.
+   */
+  public interface Subscriber {
+    /**
+     * Consume the next {@code chunk} of body content. The {@code chunk} is a
+     * read-only view that is valid only for the duration of this call, and must
+     * be copied if it is to be retained.
+     * @param chunk the ByteBuffer holding the next slice of content
+     */
+    void onChunk(final ByteBuffer chunk);
+
+    /**
+     * Receive notice that all body content has been delivered.
+     */
+    void onComplete();
+
+    /**
+     * Receive notice that the body content could not be completely delivered.
+     * @param cause the Exception causing the failure
+     */
+    void onError(final Exception cause);
+  }
+
+  private static final byte[] NoContent = new byte[0];
+
+  /**
+   * Answer a new completed {@code RequestBodyStream} whose single slice is the
+   * content of the already received {@code body}, which may be {@code null}.
+   * @param body the Body whose content is delivered
+   * @return RequestBodyStream
+   */
+  public static RequestBodyStream of(final Body body) {
+    final byte[] content = body == null ? NoContent : body.binaryContent();
+    final RequestBodyStream stream = new RequestBodyStream(content.length);
+    stream.append(content, 0, content.length);
+    stream.complete();
+    return stream;
+  }
+
+  private boolean completed;
+  private Exception failure;
+  private final int maxPendingSize;
+  private final Queue<byte[]> pending;
+  private int pendingSize;
+  private Subscriber subscriber;
+  private Runnable subscribed;
+
+  /**
+   * Subscribe the {@code subscriber} to my content, first delivering any pending
+   * slices, and then my completion or failure if either has already occurred.
+   * @param subscriber the Subscriber to receive my content
+   */
+  public void subscribe(final Subscriber subscriber) {
+    final Runnable action;
+
+    synchronized (this) {
+      if (this.subscriber != null) {
+        throw new IllegalStateException("RequestBodyStream already has a subscriber.");
+      }
+
+      this.subscriber = subscriber;
+
+      try {
+        while (failure == null && !pending.isEmpty()) {
+          subscriber.onChunk(ByteBuffer.wrap(pending.poll()).asReadOnlyBuffer());
+        }
+      } catch (Exception e) {
+        failure = e;
+      }
+
+      pending.clear();
+      pendingSize = 0;
+
+      if (failure != null) {
+        subscriber.onError(failure);
+      } else if (completed) {
+        subscriber.onComplete();
+      }
+
+      action = subscribed;
+      subscribed = null;
+    }
+
+    if (action != null) {
+      action.run();
+    }
+  }
+
+  /**
+   * Answer whether or not I have a {@code Subscriber}.
+   * @return boolean
+   */
+  public synchronized boolean isSubscribed() {
+    return subscriber != null;
+  }
+
+  /**
+   * Run the {@code action} once I have a {@code Subscriber}, which is immediately
+   * if I already have one. A server reader uses this to resume reading content that
+   * it paused while no {@code Subscriber} was available.
+   * @param action the Runnable to run once subscribed
+   */
+  public void whenSubscribed(final Runnable action) {
+    synchronized (this) {
+      if (subscriber == null) {
+        subscribed = action;
+        return;
+      }
+    }
+    action.run();
+  }
+
+  /**
+   * Answer whether or not all content has been received from the client.
+   * @return boolean
+   */
+  public synchronized boolean isCompleted() {
+    return completed;
+  }
+
+  /**
+   * Answer whether or not the content could not be completely delivered.
+   * @return boolean
+   */
+  public synchronized boolean isFailed() {
+    return failure != null;
+  }
+
+  /**
+   * Answer an empty {@code String}, because my content is never buffered.
+   * @return String
+   */
+  @Override
+  public String content() {
+    return "";
+  }
+
+  /**
+   * Answer an empty {@code byte[]}, because my content is never buffered.
+   * @return byte[]
+   */
+  @Override
+  public byte[] binaryContent() {
+    return NoContent;
+  }
+
+  /**
+   * Answer {@code false}, because my content is never buffered.
+   * @return boolean
+   */
+  @Override
+  public boolean hasContent() {
+    return false;
+  }
+
+  @Override
+  public String toString() {
+    return "RequestBodyStream[completed=" + completed + ", failed=" + (failure != null) + "]";
+  }
+
+  /**
+   * Construct my state. A server reader constructs me for each streamed request and
+   * delivers the content to me as it is read.
+   * @param maxPendingSize the int maximum number of bytes held before subscription
+   */
+  public RequestBodyStream(final int maxPendingSize) {
+    this.maxPendingSize = maxPendingSize;
+    this.pending = new ArrayDeque<>();
+  }
+
+  /**
+   * Deliver the {@code length} bytes of {@code content} starting at {@code offset}
+   * to my subscriber, or hold a copy of them pending subscription. Content that
+   * arrives after I have failed is discarded.
+   * @param content the byte[] holding the slice
+   * @param offset the int offset of the slice
+   * @param length the int length of the slice
+   */
+  synchronized void append(final byte[] content, final int offset, final int length) {
+    append(ByteBuffer.wrap(content, offset, length));
+  }
+
+  /**
+   * Deliver the remaining bytes of the {@code slice} to my subscriber, or hold a copy
+   * of them pending subscription. Content that arrives after I have failed is discarded.
+   * The {@code slice} may be reused once I return.
+   * @param slice the ByteBuffer holding the content
+   */
+  public synchronized void append(final ByteBuffer slice) {
+    final int length = slice.remaining();
+
+    if (failure != null || length == 0) {
+      return;
+    }
+
+    if (subscriber != null) {
+      try {
+        subscriber.onChunk(slice.asReadOnlyBuffer());
+      } catch (Exception e) {
+        failure = e;
+        subscriber.onError(e);
+      }
+    } else if (pendingSize + length > maxPendingSize) {
+      pending.clear();
+      pendingSize = 0;
+      failure = new IllegalStateException("Request body exceeded " + maxPendingSize + " pending bytes before a subscriber was available.");
+    } else {
+      final byte[] copy = new byte[length];
+      slice.duplicate().get(copy);
+      pending.add(copy);
+      pendingSize += length;
+    }
+  }
+
+  /**
+   * Mark that all content has been received from the client.
+   */
+  public synchronized void complete() {
+    if (completed || failure != null) {
+      return;
+    }
+
+    completed = true;
+
+    if (subscriber != null) {
+      subscriber.onComplete();
+    }
+  }
+
+  /**
+   * Mark that the content cannot be completely received because of {@code cause}.
+   * @param cause the Exception causing the failure
+   */
+  public synchronized void fail(final Exception cause) {
+    if (completed || failure != null) {
+      return;
+    }
+
+    failure = cause;
+    pending.clear();
+    pendingSize = 0;
+
+    if (subscriber != null) {
+      subscriber.onError(cause);
+    }
+  }
+}
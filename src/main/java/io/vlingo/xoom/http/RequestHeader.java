@@ -51,6 +51,7 @@ public class RequestHeader extends Header {
   public static final String Range = "Range";
   public static final String Referer = "Referer";
   public static final String TE = "TE";
+  public static final String TransferEncoding = "Transfer-Encoding";
   public static final String UserAgent = "User-Agent";
   public static final String Upgrade = "Upgrade";
   public static final String Via = "Via";
@@ -71,6 +72,7 @@ public class RequestHeader extends Header {
   public static final String XCsrfToken = "X-Csrf-Token";
   public static final String XRequestID = "X-Request-ID";
   public static final String XCorrelationID = "X-Correlation-ID";
+  public static final String XRequestTimeout = "X-Request-Timeout";
 
   public static RequestHeader from(final String textLine) {
     final int colonIndex = textLine.indexOf(":");
@@ -143,6 +145,14 @@ public class RequestHeader extends Header {
     return 0;
   }
 
+  /**
+   * Answer whether or not I am a {@code TransferEncoding} header with {@code chunked} as the final coding.
+   * @return boolean
+   */
+  public boolean isTransferEncodingChunked() {
+    return name.equalsIgnoreCase(TransferEncoding) && value.toLowerCase().endsWith(Header.ValueChunked);
+  }
+
   /**
    * Construct my state.
    * @param name the String to set as my name
@@ -0,0 +1,24 @@
+// Copyright © 2012-2021 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.http;
+
+/**
+ * Thrown by the {@code RequestParser} when a request exceeds a limit, with the
+ * {@code Response.Status} by which the request is to be answered. The remainder
+ * of the request is not parsed, so its connection must be closed.
+ */
+public class RequestLimitExceededException extends IllegalArgumentException {
+  private static final long serialVersionUID = 1L;
+
+  public final Response.Status status;
+
+  public RequestLimitExceededException(final Response.Status status, final String message) {
+    super(status + "\n\n" + message);
+    this.status = status;
+  }
+}
@@ -7,28 +7,57 @@
 
 package io.vlingo.xoom.http;
 
+import java.io.IOException;
 import java.net.URI;
 import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.ListIterator;
-import java.util.Optional;
-import java.util.Queue;
-import java.util.StringTokenizer;
+import java.util.function.BiPredicate;
 
 import io.vlingo.xoom.http.Header.Headers;
-import io.vlingo.xoom.wire.message.Converters;
 
+/**
+ * Parses one or more {@code Request} instances from the bytes received from a client.
+ * The bytes are scanned in place, directly over the {@code ByteBuffer} content, and
+ * only text that is part of a {@code Request} is ever decoded. Any dangling bytes that
+ * belong to a partial request are retained in a spill buffer until the next read.
+ * <p>
+ * When created with a {@code streamsBodyOf} predicate, a {@code Request} whose method
+ * and URI satisfy it is answered as soon as its headers are parsed, and its body is a
+ * {@code RequestBodyStream} that receives the content as it is subsequently read.
+ * <p>
+ * The request line and headers are held to {@code HeaderLimits} as they are read,
+ * throwing {@code RequestLimitExceededException} without decoding oversized text.
+ * Bodies are held to {@code BodyLimits}, by which a large body is spooled to a file
+ * as it is read and answered as a {@code FileBody}.
+ */
 public class RequestParser {
   private final VirtualStateParser virtualStateParser;
 
   public String currentRequestText() {
-    return virtualStateParser.requestText;
+    return virtualStateParser.currentRequestText();
   }
 
   public static RequestParser parserFor(final ByteBuffer requestContent) {
-    return new RequestParser(requestContent);
+    return new RequestParser(requestContent, null, 0, HeaderLimits.Unlimited, BodyLimits.Unlimited);
+  }
+
+  public static RequestParser parserFor(final ByteBuffer requestContent, final BiPredicate<Method,URI> streamsBodyOf, final int maxPendingBodySize) {
+    return new RequestParser(requestContent, streamsBodyOf, maxPendingBodySize, HeaderLimits.Unlimited, BodyLimits.Unlimited);
+  }
+
+  public static RequestParser parserFor(final ByteBuffer requestContent, final BiPredicate<Method,URI> streamsBodyOf, final int maxPendingBodySize, final HeaderLimits headerLimits) {
+    return new RequestParser(requestContent, streamsBodyOf, maxPendingBodySize, headerLimits, BodyLimits.Unlimited);
+  }
+
+  public static RequestParser parserFor(final ByteBuffer requestContent, final BiPredicate<Method,URI> streamsBodyOf, final int maxPendingBodySize, final HeaderLimits headerLimits, final BodyLimits bodyLimits) {
+    return new RequestParser(requestContent, streamsBodyOf, maxPendingBodySize, headerLimits, bodyLimits);
   }
 
   public boolean hasCompleted() {
@@ -47,10 +76,45 @@ public class RequestParser {
     return virtualStateParser.hasMissingContentTimeExpired(timeLimit);
   }
 
+  /**
+   * Answer the number of milliseconds until the request line and headers of my
+   * current request must be completed, within {@code timeLimit} of when I first ran
+   * out of their content. The answer is negative once the time has passed, and
+   * {@code Long.MAX_VALUE} if I am not waiting for a request line or headers or
+   * {@code timeLimit} is not positive.
+   * @param timeLimit the long number of milliseconds within which headers are completed
+   * @return long
+   */
+  public long headerTimeRemaining(final long timeLimit) {
+    return virtualStateParser.headerTimeRemaining(timeLimit);
+  }
+
   public boolean isMissingContent() {
     return virtualStateParser.isMissingContent();
   }
 
+  /**
+   * Answer the number of milliseconds until my missing content times out after
+   * {@code timeLimit}, which is negative once it has timed out.
+   * @param timeLimit the long number of milliseconds that content may be missing
+   * @return long
+   */
+  public long missingContentTimeRemaining(final long timeLimit) {
+    return virtualStateParser.missingContentTimeRemaining(timeLimit);
+  }
+
+  public void missingContentTimedOut() {
+    virtualStateParser.missingContentTimedOut();
+  }
+
+  /**
+   * Release the resources held for my partially parsed request, such as the file
+   * to which its body is being spooled, since no more of it will be read.
+   */
+  public void close() {
+    virtualStateParser.abortSpool();
+  }
+
   public void parseNext(final ByteBuffer requestContent) {
     virtualStateParser.includes(requestContent).parse();
   }
@@ -64,7 +128,7 @@ public class RequestParser {
 
     builder.append(header).append(" REQUEST PARSER CONTEXT:\n");
 
-    builder.append(virtualStateParser.method.name).append(" ").append(virtualStateParser.uri).append("\n");
+    builder.append(virtualStateParser.method).append(" ").append(virtualStateParser.uri).append("\n");
 
     for (final RequestHeader header : virtualStateParser.headers) {
       builder.append(header.name).append(": ").append(header.value).append("\n");
@@ -72,15 +136,15 @@ public class RequestParser {
 
     builder.append("\n").append(virtualStateParser.body != null ? virtualStateParser.body.content() : "");
 
-    builder.append(header).append("\n").append("DANGLING:\n").append(virtualStateParser.requestText).append("\n");
+    builder.append(header).append("\n").append("DANGLING:\n").append(virtualStateParser.currentRequestText()).append("\n");
 
     builder.append(header).append(" END\n");
 
     return builder.toString();
   }
 
-  private RequestParser(final ByteBuffer requestContent) {
-    this.virtualStateParser = new VirtualStateParser().includes(requestContent).parse();
+  private RequestParser(final ByteBuffer requestContent, final BiPredicate<Method,URI> streamsBodyOf, final int maxPendingBodySize, final HeaderLimits headerLimits, final BodyLimits bodyLimits) {
+    this.virtualStateParser = new VirtualStateParser(streamsBodyOf, maxPendingBodySize, headerLimits, bodyLimits).includes(requestContent).parse();
   }
 
   //=========================================
@@ -88,40 +152,82 @@ public class RequestParser {
   //=========================================
 
   static class VirtualStateParser {
+    private static final byte LineFeed = '\n';
+    private static final byte Space = ' ';
+    private static final byte Colon = ':';
+    private static final byte[] NoContent = new byte[0];
+    private static final int MinimumSpillCapacity = 1024;
+
+    private static final Method[] Methods = Method.values();
+    private static final byte[][] MethodNames = namesOf(Methods);
+    private static final Version[] Versions = Version.values();
+    private static final byte[][] VersionNames = namesOf(Versions);
 
     private enum Step { NotStarted, RequestLine, Headers, Body, Completed };
 
-    // DO NOT RESET: (1) contentQueue, (2) position, (3) requestText
+    private enum ChunkStep { Size, Data, DataEnd, Trailers };
+
+    // DO NOT RESET: (1) content, (2) position, (3) limit, (4) spill
 
-    private final Queue<ContentPacket> contentQueue;
+    private byte[] content;
     private int position;
-    private String requestText;
+    private int limit;
+    private byte[] spill;
+
+    // DO NOT RESET: (1) streamsBodyOf, (2) maxPendingBodySize, (3) headerLimits, (4) bodyLimits
+
+    private final BiPredicate<Method,URI> streamsBodyOf;
+    private final int maxPendingBodySize;
+    private final HeaderLimits headerLimits;
+    private final BodyLimits bodyLimits;
 
     // DO NOT RESET: (1) headers, (2) fullRequests
 
     private Body body;
+    private int bodyRemaining;
+    private long bodySize;
+    private boolean chunked;
+    private byte[] chunkedContent;
+    private int chunkedContentLength;
+    private int chunkRemaining;
+    private ChunkStep chunkStep;
     private int contentLength;
-    private int contentExtraLength;
     private boolean continuation;
     private Step currentStep;
     private List<Request> fullRequests;
     private ListIterator<Request> fullRequestsIterator;
+    private int headerBytes;
     private Headers<RequestHeader> headers;
+    private long headerStartTime;
+    private int lineStart;
+    private int lineEnd;
     private Method method;
     private long outOfContentTime;
+    private FileChannel spoolChannel;
+    private Path spoolPath;
+    private long spooledSize;
+    private RequestBodyStream stream;
     private URI uri;
     private Version version;
 
-    VirtualStateParser() {
-      this.contentQueue = new LinkedList<>();
+    VirtualStateParser(final BiPredicate<Method,URI> streamsBodyOf, final int maxPendingBodySize, final HeaderLimits headerLimits, final BodyLimits bodyLimits) {
+      this.streamsBodyOf = streamsBodyOf;
+      this.maxPendingBodySize = maxPendingBodySize;
+      this.headerLimits = headerLimits;
+      this.bodyLimits = bodyLimits;
+      this.content = NoContent;
+      this.spill = NoContent;
       this.currentStep = Step.NotStarted;
-      this.requestText = "";
       this.headers = new Headers<>(2);
       this.fullRequests = new ArrayList<>(2);
 
       reset();
     }
 
+    String currentRequestText() {
+      return new String(content, position, limit - position, StandardCharsets.UTF_8);
+    }
+
     Request fullRequest() {
       if (fullRequestsIterator == null) {
         fullRequestsIterator = fullRequests.listIterator();
@@ -151,11 +257,7 @@ public class RequestParser {
     }
 
     boolean hasCompleted() {
-      if (isNotStarted() && position >= requestText.length() && contentQueue.isEmpty()) {
-        requestText = compact();
-        return true;
-      }
-      return false;
+      return isNotStarted() && position >= limit;
     }
 
     boolean hasMissingContentTimeExpired(final long timeLimit) {
@@ -165,70 +267,133 @@ public class RequestParser {
 
     VirtualStateParser includes(final ByteBuffer requestContent) {
       outOfContentTime = 0;
-      final String requestContentText = Converters.bytesToText(requestContent.array(), 0, requestContent.limit());
-      final int utf8ExtraLength = requestContent.remaining() - requestContentText.length();
-      if (contentQueue.isEmpty()) {
-        contentExtraLength += utf8ExtraLength;
-        requestText = requestText.concat(requestContentText);
+      fullRequestsIterator = null; // parsing may append full requests
+      final int length = requestContent.limit() - requestContent.position();
+      if (position >= limit && requestContent.hasArray()) {
+        // nothing dangling, so scan the read buffer in place
+        content = requestContent.array();
+        position = requestContent.arrayOffset() + requestContent.position();
+        limit = requestContent.arrayOffset() + requestContent.limit();
       } else {
-        contentQueue.add(new ContentPacket(requestContentText, utf8ExtraLength));
+        final int dangling = compactDangling(length);
+        final ByteBuffer source = requestContent.duplicate();
+        source.get(spill, dangling, length);
+        content = spill;
+        position = 0;
+        limit = dangling + length;
       }
       return this;
     }
 
+    long headerTimeRemaining(final long timeLimit) {
+      if (timeLimit <= 0 || headerStartTime == 0) {
+        return Long.MAX_VALUE;
+      }
+      return headerStartTime + timeLimit - System.currentTimeMillis();
+    }
+
     boolean isMissingContent() {
       return outOfContentTime > 0;
     }
 
+    long missingContentTimeRemaining(final long timeLimit) {
+      return outOfContentTime + timeLimit - System.currentTimeMillis();
+    }
+
+    void missingContentTimedOut() {
+      if (stream != null) {
+        stream.fail(new IllegalStateException("Missing content with timeout."));
+      }
+      abortSpool();
+    }
+
     VirtualStateParser parse() {
-      boolean isOutOfContent = false;
-      while (!hasCompleted()) {
-        if (isNotStarted()) {
-          isOutOfContent = nextStep();
-        } else if (isRequestLineStep()) {
-          isOutOfContent = parseRequestLine();
-        } else if (isHeadersStep()) {
-          isOutOfContent = parseHeaders();
-        } else if (isBodyStep()) {
-          isOutOfContent = parseBody();
-        } else if (isCompletedStep()) {
-          continuation = false;
-          isOutOfContent = newRequest();
+      try {
+        boolean isOutOfContent = false;
+        while (!hasCompleted()) {
+          if (isNotStarted()) {
+            isOutOfContent = nextStep();
+          } else if (isRequestLineStep()) {
+            isOutOfContent = parseRequestLine();
+          } else if (isHeadersStep()) {
+            isOutOfContent = parseHeaders();
+          } else if (isBodyStep()) {
+            isOutOfContent = parseBody();
+          } else if (isCompletedStep()) {
+            continuation = false;
+            isOutOfContent = newRequest();
+          }
+          if (isOutOfContent) {
+            continuation = true;
+            outOfContentTime = System.currentTimeMillis();
+            if (headerStartTime == 0 && (isRequestLineStep() || isHeadersStep())) {
+              headerStartTime = outOfContentTime;
+            }
+            return this;
+          }
         }
-        if (isOutOfContent) {
-          continuation = true;
-          outOfContentTime = System.currentTimeMillis();
-          return this;
+        return this;
+      } catch (RuntimeException e) {
+        if (stream != null) {
+          stream.fail(e);
         }
+        abortSpool();
+        throw e;
+      } finally {
+        retainDangling();
       }
-      return this;
     }
 
-    private String compact() {
-      final String compact = requestText.substring(position);
-      position = 0;
-      return compact;
+    /**
+     * Answer the number of dangling bytes moved to the front of my spill
+     * buffer, which is ensured to have room for {@code additional} bytes.
+     * @param additional the int number of bytes that will be appended
+     * @return int
+     */
+    private int compactDangling(final int additional) {
+      final int dangling = limit - position;
+      final int required = dangling + additional;
+      if (spill.length < required) {
+        final byte[] grown = new byte[Math.max(required, Math.max(MinimumSpillCapacity, spill.length * 2))];
+        System.arraycopy(content, position, grown, 0, dangling);
+        spill = grown;
+      } else if (dangling > 0 && (content != spill || position > 0)) {
+        System.arraycopy(content, position, spill, 0, dangling);
+      }
+      return dangling;
+    }
+
+    /**
+     * Ensure that no reference to the read buffer outlives the current parse,
+     * copying only the dangling bytes of a partial request into my spill buffer.
+     */
+    private void retainDangling() {
+      if (position >= limit) {
+        content = spill;
+        position = 0;
+        limit = 0;
+      } else if (content != spill) {
+        final int dangling = compactDangling(0);
+        content = spill;
+        position = 0;
+        limit = dangling;
+      }
     }
 
-    private Optional<String> nextLine(final String errorResult, final String errorMessage) {
-      int possibleCarriageReturnIndex = -1;
-      final int lineBreak = requestText.indexOf("\n", position);
-      if (lineBreak < 0) {
-        if (contentQueue.isEmpty()) {
-          requestText = compact();
-          return Optional.empty();
+    private boolean nextLine() {
+      for (int index = position; index < limit; ++index) {
+        if (content[index] == LineFeed) {
+          int start = position;
+          int end = index;
+          while (start < end && isWhitespace(content[start])) ++start;
+          while (end > start && isWhitespace(content[end - 1])) --end;
+          lineStart = start;
+          lineEnd = end;
+          position = index + 1;
+          return true;
         }
-        final ContentPacket packet = contentQueue.poll();
-        contentExtraLength += packet.utf8ExtraLength;
-        requestText = compact().concat(packet.content);
-        return nextLine(errorResult, errorMessage);
-      } else if (lineBreak == 0) {
-        possibleCarriageReturnIndex = 0;
       }
-      final int endOfLine = requestText.charAt(lineBreak + possibleCarriageReturnIndex) == '\r' ? lineBreak - 1 : lineBreak;
-      final String line  = requestText.substring(position, endOfLine).trim();
-      position = lineBreak + 1;
-      return Optional.of(line);
+      return false;
     }
 
     private boolean nextStep() {
@@ -268,27 +433,222 @@ public class RequestParser {
 
     private boolean parseBody() {
       continuation = false;
-      if (contentLength > 0) {
-        final int endIndex = position + contentLength;
-        if (requestText.length() + contentExtraLength < endIndex) {
-          if (contentQueue.isEmpty()) {
-            requestText = compact();
-            return true;
-          }
-          final ContentPacket packet = contentQueue.poll();
-          requestText = compact() + packet.content;
-          contentExtraLength += packet.utf8ExtraLength;
-          parseBody();
-        } else {
-          body = Body.from(requestText.substring(position, endIndex - contentExtraLength));
-          position += (contentLength - contentExtraLength);
-          nextStep();
+      if (stream == null && (chunked || contentLength > 0) && streamsBodyOf != null && streamsBodyOf.test(method, uri)) {
+        beginStream();
+      }
+      if (chunked) {
+        return parseChunkedBody();
+      } else if (stream != null) {
+        return parseStreamedBody();
+      } else if (spoolChannel != null || (contentLength > 0 && bodyLimits.spools(contentLength))) {
+        return parseSpooledBody();
+      } else if (contentLength > 0) {
+        if (limit - position < contentLength) {
+          return true;
         }
+        body = Body.from(new String(content, position, contentLength, StandardCharsets.UTF_8));
+        position += contentLength;
       } else {
         body = Body.from("");
-        nextStep();
       }
-      return false;
+      return nextStep();
+    }
+
+    /**
+     * Answer the {@code Request} now, with a {@code RequestBodyStream} that will
+     * receive the body content as it is parsed.
+     */
+    private void beginStream() {
+      stream = new RequestBodyStream(maxPendingBodySize);
+      body = stream;
+      bodyRemaining = contentLength;
+      fullRequests.add(new Request(method, uri, version, headers, body));
+    }
+
+    /**
+     * Answer whether or not I ran out of content while writing the body to my spool
+     * file, which is answered as a {@code FileBody} once the body is complete.
+     * @return boolean
+     */
+    private boolean parseSpooledBody() {
+      if (spoolChannel == null) {
+        beginSpool();
+        bodyRemaining = contentLength;
+      }
+      final int available = Math.min(limit - position, bodyRemaining);
+      spool(content, position, available);
+      position += available;
+      bodyRemaining -= available;
+      if (bodyRemaining > 0) {
+        return true;
+      }
+      body = endSpool();
+      return nextStep();
+    }
+
+    private void beginSpool() {
+      try {
+        spoolPath = Files.createTempFile(bodyLimits.spoolDirectoryPath(), "xoom-http-", ".body");
+        spoolChannel = FileChannel.open(spoolPath, StandardOpenOption.WRITE);
+        spooledSize = 0;
+      } catch (IOException e) {
+        abortSpool();
+        throw new IllegalStateException(Response.Status.InternalServerError + "\n\nCannot spool body: " + e.getMessage(), e);
+      }
+    }
+
+    private void spool(final byte[] bytes, final int offset, final int length) {
+      try {
+        final ByteBuffer buffer = ByteBuffer.wrap(bytes, offset, length);
+        while (buffer.hasRemaining()) {
+          spoolChannel.write(buffer);
+        }
+        spooledSize += length;
+      } catch (IOException e) {
+        throw new IllegalStateException(Response.Status.InternalServerError + "\n\nCannot spool body: " + e.getMessage(), e);
+      }
+    }
+
+    private FileBody endSpool() {
+      try {
+        spoolChannel.close();
+      } catch (IOException e) {
+        abortSpool();
+        throw new IllegalStateException(Response.Status.InternalServerError + "\n\nCannot spool body: " + e.getMessage(), e);
+      }
+      final FileBody spooled = new FileBody(spoolPath, spooledSize);
+      spoolChannel = null;
+      spoolPath = null;
+      return spooled;
+    }
+
+    void abortSpool() {
+      if (spoolChannel != null) {
+        try {
+          spoolChannel.close();
+        } catch (IOException e) {
+          // deleted regardless
+        }
+        spoolChannel = null;
+      }
+      if (spoolPath != null) {
+        new FileBody(spoolPath, spooledSize).delete();
+        spoolPath = null;
+      }
+    }
+
+    private boolean parseStreamedBody() {
+      final int available = Math.min(limit - position, bodyRemaining);
+      stream.append(content, position, available);
+      position += available;
+      bodyRemaining -= available;
+      if (bodyRemaining > 0) {
+        return true;
+      }
+      stream.complete();
+      return nextStep();
+    }
+
+    /**
+     * Answer whether or not I ran out of content while incrementally decoding
+     * a {@code Transfer-Encoding: chunked} body. Each chunk's data is appended
+     * to my decoded content as it arrives, so partial chunks never remain in
+     * the spill buffer. Trailer fields are appended to my headers, unless the
+     * body is streamed, in which case the {@code Request} was already answered.
+     * @return boolean
+     */
+    private boolean parseChunkedBody() {
+      while (true) {
+        switch (chunkStep) {
+        case Size:
+          if (!nextLine()) {
+            return true;
+          }
+          chunkRemaining = chunkSizeFrom(lineStart, lineEnd);
+          chunkStep = chunkRemaining == 0 ? ChunkStep.Trailers : ChunkStep.Data;
+          break;
+        case Data:
+          final int available = Math.min(limit - position, chunkRemaining);
+          bodySize += available;
+          if (bodySize > bodyLimits.maxBodySize) {
+            throw exceeded(Response.Status.PayloadTooLarge, "Body exceeds " + bodyLimits.maxBodySize + " bytes.");
+          }
+          if (stream != null) {
+            stream.append(content, position, available);
+          } else if (spoolChannel != null) {
+            spool(content, position, available);
+          } else if (bodyLimits.spools(bodySize)) {
+            beginSpool();
+            spool(chunkedContent, 0, chunkedContentLength);
+            spool(content, position, available);
+            chunkedContent = NoContent;
+            chunkedContentLength = 0;
+          } else {
+            appendChunkedContent(position, available);
+          }
+          position += available;
+          chunkRemaining -= available;
+          if (chunkRemaining > 0) {
+            return true;
+          }
+          chunkStep = ChunkStep.DataEnd;
+          break;
+        case DataEnd:
+          if (!nextLine()) {
+            return true;
+          }
+          if (lineStart != lineEnd) {
+            throw new IllegalArgumentException(Response.Status.BadRequest + "\n\nChunk data is not terminated by CRLF.");
+          }
+          chunkStep = ChunkStep.Size;
+          break;
+        case Trailers:
+          if (!nextLine()) {
+            return true;
+          }
+          if (lineStart != lineEnd) {
+            if (stream == null) {
+              headers.add(headerFrom(lineStart, lineEnd));
+            }
+            break;
+          }
+          if (stream != null) {
+            stream.complete();
+          } else if (spoolChannel != null) {
+            body = endSpool();
+          } else {
+            body = Body.from(new String(chunkedContent, 0, chunkedContentLength, StandardCharsets.UTF_8));
+          }
+          return nextStep();
+        }
+      }
+    }
+
+    private void appendChunkedContent(final int start, final int length) {
+      final int required = chunkedContentLength + length;
+      if (chunkedContent.length < required) {
+        final byte[] grown = new byte[Math.max(required, Math.max(MinimumSpillCapacity, chunkedContent.length * 2))];
+        System.arraycopy(chunkedContent, 0, grown, 0, chunkedContentLength);
+        chunkedContent = grown;
+      }
+      System.arraycopy(content, start, chunkedContent, chunkedContentLength, length);
+      chunkedContentLength = required;
+    }
+
+    private int chunkSizeFrom(final int start, final int end) {
+      int size = 0;
+      int index = start;
+      for ( ; index < end && content[index] != ';' && !isWhitespace(content[index]); ++index) {
+        final int digit = Character.digit(content[index], 16);
+        if (digit < 0 || size > (Integer.MAX_VALUE >> 4)) {
+          throw new IllegalArgumentException(Response.Status.BadRequest + "\n\nInvalid chunk size: " + new String(content, start, end - start, StandardCharsets.ISO_8859_1));
+        }
+        size = (size << 4) + digit;
+      }
+      if (index == start) {
+        throw new IllegalArgumentException(Response.Status.BadRequest + "\n\nMissing chunk size.");
+      }
+      return size;
     }
 
     private boolean parseHeaders() {
@@ -297,19 +657,30 @@ public class RequestParser {
       }
       continuation = false;
       while (true) {
-        final Optional<String> maybeHeaderLine =
-          nextLine(Response.Status.BadRequest.toString(), "\n\nHeader is required.");
-        if (!maybeHeaderLine.isPresent()) {
+        final int lineBegin = position;
+        if (!nextLine()) {
+          if (headerBytes + (limit - position) > headerLimits.maxHeaderBytes) {
+            throw exceeded(Response.Status.RequestHeaderFieldsTooLarge, "Headers exceed " + headerLimits.maxHeaderBytes + " bytes.");
+          }
           return true;
         }
-        final String headerLine = maybeHeaderLine.get();
-        if (headerLine.isEmpty()) {
+        headerBytes += position - lineBegin;
+        if (headerBytes > headerLimits.maxHeaderBytes) {
+          throw exceeded(Response.Status.RequestHeaderFieldsTooLarge, "Headers exceed " + headerLimits.maxHeaderBytes + " bytes.");
+        }
+        if (lineStart == lineEnd) {
           break;
         }
-        final RequestHeader header = RequestHeader.from(headerLine);
+        if (headers.size() >= headerLimits.maxHeaderCount) {
+          throw exceeded(Response.Status.RequestHeaderFieldsTooLarge, "Headers exceed " + headerLimits.maxHeaderCount + " fields.");
+        }
+        final RequestHeader header = headerFrom(lineStart, lineEnd);
         headers.add(header);
+        if (!chunked && header.isTransferEncodingChunked()) {
+          chunked = true;
+        }
         if (contentLength == 0) {
-          final int maybeContentLength = header.ifContentLength();
+          final int maybeContentLength = contentLengthOf(header);
           if (maybeContentLength > 0) {
             contentLength = maybeContentLength;
           }
@@ -318,20 +689,50 @@ public class RequestParser {
       if (headers.isEmpty()) {
         throw new IllegalArgumentException(Response.Status.BadRequest + "\n\nHeader is required.");
       }
+      if (contentLength > bodyLimits.maxBodySize) {
+        throw exceeded(Response.Status.PayloadTooLarge, "Body exceeds " + bodyLimits.maxBodySize + " bytes.");
+      }
+      headerStartTime = 0;
       return nextStep();
     }
 
+    private int contentLengthOf(final RequestHeader header) {
+      try {
+        return header.ifContentLength();
+      } catch (NumberFormatException e) {
+        if (isDigits(header.value)) {
+          throw exceeded(Response.Status.PayloadTooLarge, "Body exceeds " + bodyLimits.maxBodySize + " bytes.");
+        }
+        throw e;
+      }
+    }
+
     private boolean parseRequestLine() {
       continuation = false;
-      final Optional<String> maybeLine = nextLine(Response.Status.BadRequest.toString(), "\n\nRequest line is required.");
-      if (!maybeLine.isPresent()) {
-        return true;
-      }
-      final StringTokenizer tokenizer = new StringTokenizer(maybeLine.get(), " ");
+      do {
+        // tolerate empty lines preceding the request line
+        final int lineBegin = position;
+        if (!nextLine()) {
+          if (limit - position > headerLimits.maxRequestLineLength) {
+            throw exceeded(Response.Status.URITooLong, "Request line exceeds " + headerLimits.maxRequestLineLength + " bytes.");
+          }
+          return true;
+        }
+        if (position - lineBegin > headerLimits.maxRequestLineLength) {
+          throw exceeded(Response.Status.URITooLong, "Request line exceeds " + headerLimits.maxRequestLineLength + " bytes.");
+        }
+      } while (lineStart == lineEnd);
+
       try {
-        method = Method.from(parseNextRequestLinePart(tokenizer, "Method"));
-        uri = new URI(parseNextRequestLinePart(tokenizer, "URI/path"));
-        version = Version.from(parseNextRequestLinePart(tokenizer, "HTTP/version"));
+        final int methodEnd = requestLinePartEnd(lineStart, "Method");
+        final int uriStart = skipSpaces(methodEnd);
+        final int uriEnd = requestLinePartEnd(uriStart, "URI/path");
+        final int versionStart = skipSpaces(uriEnd);
+        final int versionEnd = requestLinePartEnd(versionStart, "HTTP/version");
+
+        method = methodFrom(lineStart, methodEnd);
+        uri = new URI(new String(content, uriStart, uriEnd - uriStart, StandardCharsets.UTF_8));
+        version = versionFrom(versionStart, versionEnd);
 
         return nextStep();
       } catch (Exception e) {
@@ -339,31 +740,134 @@ public class RequestParser {
       }
     }
 
-    private String parseNextRequestLinePart(final StringTokenizer tokenizer, final String expectedPartName) {
-      if(tokenizer.hasMoreTokens()) {
-        return tokenizer.nextToken();
+    /**
+     * Answer a new {@code RequestLimitExceededException}, discarding my unparsed
+     * content so that none of it is retained.
+     */
+    private RequestLimitExceededException exceeded(final Response.Status status, final String message) {
+      position = limit;
+      return new RequestLimitExceededException(status, message);
+    }
+
+    private int requestLinePartEnd(final int start, final String expectedPartName) {
+      if (start >= lineEnd) {
+        throw new IllegalArgumentException(Response.Status.BadRequest + "\n\nRequest line part missing: " + expectedPartName);
       }
-      throw new IllegalArgumentException(Response.Status.BadRequest + "\n\nRequest line part missing: " + expectedPartName);
+      int end = start;
+      while (end < lineEnd && content[end] != Space) ++end;
+      return end;
+    }
+
+    private int skipSpaces(final int start) {
+      int index = start;
+      while (index < lineEnd && content[index] == Space) ++index;
+      return index;
+    }
+
+    private RequestHeader headerFrom(final int start, final int end) {
+      int colon = start;
+      while (colon < end && content[colon] != Colon) ++colon;
+
+      if (colon == end) {
+        throw new IllegalArgumentException("Not a header: " + new String(content, start, end - start, StandardCharsets.UTF_8));
+      }
+
+      int nameEnd = colon;
+      while (nameEnd > start && isWhitespace(content[nameEnd - 1])) --nameEnd;
+      int valueStart = colon + 1;
+      while (valueStart < end && isWhitespace(content[valueStart])) ++valueStart;
+
+      final String name = HeaderNames.nameOf(content, start, nameEnd);
+      final String value = new String(content, valueStart, end - valueStart, StandardCharsets.UTF_8);
+
+      return RequestHeader.of(name, value);
+    }
+
+    private Method methodFrom(final int start, final int end) {
+      for (int index = 0; index < Methods.length; ++index) {
+        if (matches(MethodNames[index], start, end)) {
+          return Methods[index];
+        }
+      }
+      return Method.from(new String(content, start, end - start, StandardCharsets.ISO_8859_1));
+    }
+
+    private Version versionFrom(final int start, final int end) {
+      for (int index = 0; index < Versions.length; ++index) {
+        if (matches(VersionNames[index], start, end)) {
+          return Versions[index];
+        }
+      }
+      return Version.from(new String(content, start, end - start, StandardCharsets.ISO_8859_1));
+    }
+
+    private boolean matches(final byte[] name, final int start, final int end) {
+      if (name.length != end - start) {
+        return false;
+      }
+      for (int index = 0; index < name.length; ++index) {
+        if (name[index] != content[start + index]) {
+          return false;
+        }
+      }
+      return true;
     }
 
     private boolean newRequest() {
-      final Request request = new Request(method, uri, version, headers, body);
-      fullRequests.add(request);
+      if (stream == null) {
+        fullRequests.add(new Request(method, uri, version, headers, body));
+      }
       reset();
       return nextStep();
     }
 
     private void reset() {
-      // DO NOT RESET: (1) contentQueue, (2) position, (3) requestText, (4) headers, (5) fullRequests
+      // DO NOT RESET: (1) content, (2) position, (3) limit, (4) spill, (5) headers, (6) fullRequests
 
       this.body = null;
+      this.bodyRemaining = 0;
+      this.bodySize = 0;
+      this.chunked = false;
+      this.chunkedContent = NoContent;
+      this.chunkedContentLength = 0;
+      this.chunkRemaining = 0;
+      this.chunkStep = ChunkStep.Size;
       this.contentLength = 0;
-      this.contentExtraLength = 0;
       this.continuation = false;
+      this.headerBytes = 0;
+      this.headerStartTime = 0;
       this.method = null;
       this.outOfContentTime = 0;
+      this.spoolChannel = null;
+      this.spoolPath = null;
+      this.spooledSize = 0;
+      this.stream = null;
       this.version = null;
       this.uri = null;
     }
+
+    private static boolean isDigits(final String value) {
+      if (value.isEmpty()) {
+        return false;
+      }
+      for (int index = 0; index < value.length(); ++index) {
+        if (!Character.isDigit(value.charAt(index))) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    private static boolean isWhitespace(final byte b) {
+      return (b & 0xFF) <= Space;
+    }
+
+    private static byte[][] namesOf(final Object[] values) {
+      final byte[][] names = new byte[values.length][];
+      for (int index = 0; index < values.length; ++index) {
+        names[index] = values[index].toString().getBytes(StandardCharsets.ISO_8859_1);
+      }
+      return names;
+    }
   }
 }
@@ -11,7 +11,6 @@ import java.util.function.Function;
 
 import io.vlingo.xoom.http.Header.Headers;
 import io.vlingo.xoom.wire.message.ConsumerByteBuffer;
-import io.vlingo.xoom.wire.message.Converters;
 
 /**
  * A response to an HTTP request, including headers, entity/body. Factory methods
@@ -86,12 +85,7 @@ public class Response {
   public final Version version;
 
   public Header headerOf(final String name) {
-    for (final Header header : headers) {
-      if (header.name.equalsIgnoreCase(name)) {
-        return header;
-      }
-    }
-    return null;
+    return headers.headerOf(name);
   }
 
   public boolean headerMatches(final String name, final String value) {
@@ -112,19 +106,16 @@ public class Response {
   }
 
   public ConsumerByteBuffer into(final ConsumerByteBuffer buffer) {
-    Function<String, byte[]> convert = Converters::textToBytes;
-    Function<byte[], ConsumerByteBuffer> put = buffer::put;
-    return into(convert.andThen(put)).flip();
+    ResponseEncoder.encode(this, buffer.asByteBuffer());
+    return buffer.flip();
   }
 
+  /**
+   * Answer the exact number of bytes that I encode to.
+   * @return int
+   */
   public int size() {
-    int headersSize = 0;
-    for (final ResponseHeader header : headers) {
-      // name + ": " + value + "\n"
-      headersSize += (header.name.length() + 2 + header.value.length() + 1);
-    }
-    // HTTP/1.1 + 1 + status + "\n" + headers + "\n" + entity + just-in-case
-    return 9 + status.toString().length() + 1 + headersSize + 1 + entity.content().length() + 5;
+    return ResponseEncoder.encodedSize(this);
   }
 
   private <R> R into(Function<String,R> appender) {
@@ -157,7 +148,7 @@ public class Response {
     if (!entity.isComplex()) {
       final Header header = headers.headerOf(ResponseHeader.ContentLength);
       if (header == null && !status.isInformational() && status != Status.NoContent && status != Status.NotModified) {
-        headers.add(ResponseHeader.of(ResponseHeader.ContentLength, Integer.toString(Converters.encodedLength(entity.content()))));
+        headers.add(ResponseHeader.of(ResponseHeader.ContentLength, Integer.toString(ResponseEncoder.encodedLength(entity))));
       }
     }
     return headers;
@@ -176,7 +167,7 @@ public class Response {
     final Header header = headers.headerOf(ResponseHeader.TransferEncoding);
 
     if (header != null && header.value.equals("chunked")) {
-      if (entity.isComplex() && !entity.hasContent()) {
+      if (entity instanceof ChunkedBody && !entity.hasContent()) {
         return Body.beginChunked();
       }
     }
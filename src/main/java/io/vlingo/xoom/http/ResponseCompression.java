@@ -0,0 +1,346 @@
+// Copyright © 2012-2021 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.http;
+
+import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+import io.vlingo.xoom.http.Header.Headers;
+import io.vlingo.xoom.http.Response.Status;
+import io.vlingo.xoom.wire.message.Converters;
+
+/**
+ * Compresses the entity of a {@code Response} with the {@code ContentEncodingMethod}
+ * negotiated from the {@code Accept-Encoding} of its {@code Request}, being either
+ * {@code gzip} or {@code deflate}. An entity is compressed only if it has at least
+ * {@code threshold} bytes and its {@code Content-Type} is not of an already compressed
+ * media type, and a compressed entity is used only if it is smaller. A compressed response
+ * is answered with {@code Vary: Accept-Encoding} and the {@code Content-Length} of its
+ * compressed entity. Any other response is answered as is, including its headers.
+ * <p>
+ * The {@code Deflater} instances are held by a small bounded pool, so that compressing a
+ * response allocates only the compressed bytes. A {@code Deflater} that the pool cannot
+ * hold is ended, freeing its native memory, rather than left to the garbage collector.
+ * A {@code ResponseCompression} is applied to all responses by way of
+ * {@code Filters#with(ResponseCompression)}.
+ */
+public final class ResponseCompression {
+  public static final int DefaultThreshold = 1024;
+
+  private static final BlockingQueue<Compressor> compressors = new ArrayBlockingQueue<>(Runtime.getRuntime().availableProcessors());
+
+  private static final String[] UncompressibleTypes = {
+          "audio/", "video/", "font/woff", "application/zip", "application/gzip", "application/x-gzip",
+          "application/x-bzip2", "application/x-xz", "application/x-7z-compressed", "application/x-rar-compressed",
+          "application/vnd.rar", "application/zstd", "application/x-compress", "application/pdf" };
+
+  public final int level;
+  public final int threshold;
+
+  /**
+   * Answer a new {@code ResponseCompression} with the {@code DefaultThreshold} and
+   * the default compression level.
+   * @return ResponseCompression
+   */
+  public static ResponseCompression define() {
+    return new ResponseCompression(DefaultThreshold, Deflater.DEFAULT_COMPRESSION);
+  }
+
+  /**
+   * Answer a copy of me with the {@code threshold}, being the minimum number of bytes
+   * of an entity to compress.
+   * @param threshold the int minimum number of bytes to compress
+   * @return ResponseCompression
+   */
+  public ResponseCompression withThreshold(final int threshold) {
+    return new ResponseCompression(threshold, this.level);
+  }
+
+  /**
+   * Answer a copy of me with the {@code level} of compression, from {@code 1} to {@code 9},
+   * or {@code -1} for the default.
+   * @param level the int level of compression
+   * @return ResponseCompression
+   */
+  public ResponseCompression withLevel(final int level) {
+    return new ResponseCompression(this.threshold, level);
+  }
+
+  /**
+   * Answer a copy of the {@code response} with its entity compressed if the {@code request}
+   * accepts a supported encoding, or otherwise the {@code response} itself, untouched.
+   * @param request the Request being responded to, which may be null
+   * @param response the Response to compress
+   * @return Response
+   */
+  public Response compress(final Request request, final Response response) {
+    if (request == null || !isCompressible(response)) {
+      return response;
+    }
+
+    final ContentEncodingMethod method = negotiate(request.headerValueOr(RequestHeader.AcceptEncoding, null));
+
+    if (method == null || ResponseEncoder.encodedLength(response.entity) < threshold) {
+      return response;
+    }
+
+    final byte[] content = bytesOf(response.entity);
+
+    final Compressor compressor = acquireCompressor();
+    final byte[] compressed;
+    try {
+      compressed = compressor.compress(content, method == ContentEncodingMethod.GZIP, level);
+    } finally {
+      releaseCompressor(compressor);
+    }
+
+    if (compressed.length >= content.length) {
+      return response;
+    }
+
+    final Headers<ResponseHeader> headers = headersWithoutContentLength(response.headers);
+    headers.and(ResponseHeader.of(ResponseHeader.ContentEncoding, method.descriptor));
+    return Response.of(response.version, response.status, headers, Body.from(compressed, Body.Encoding.None));
+  }
+
+  /**
+   * Answer the {@code ContentEncodingMethod} that is preferred by the {@code acceptEncoding},
+   * or {@code null} if neither {@code gzip} nor {@code deflate} is acceptable. The highest
+   * quality value is preferred, and {@code gzip} is preferred among equals.
+   * @param acceptEncoding the String value of the Accept-Encoding header, which may be null
+   * @return ContentEncodingMethod
+   */
+  public static ContentEncodingMethod negotiate(final String acceptEncoding) {
+    if (acceptEncoding == null || acceptEncoding.isEmpty()) {
+      return null;
+    }
+
+    float gzip = -1;
+    float deflate = -1;
+    float any = -1;
+
+    for (final String coding : acceptEncoding.split(",")) {
+      final int semicolon = coding.indexOf(';');
+      final String name = (semicolon < 0 ? coding : coding.substring(0, semicolon)).trim();
+      final float quality = semicolon < 0 ? 1 : qualityOf(coding.substring(semicolon + 1));
+
+      if (name.equalsIgnoreCase(ContentEncodingMethod.GZIP.descriptor) || name.equalsIgnoreCase("x-gzip")) {
+        gzip = Math.max(gzip, quality);
+      } else if (name.equalsIgnoreCase(ContentEncodingMethod.DEFLATE.descriptor)) {
+        deflate = Math.max(deflate, quality);
+      } else if (name.equals("*")) {
+        any = Math.max(any, quality);
+      }
+    }
+
+    if (gzip < 0) gzip = any;
+    if (deflate < 0) deflate = any;
+
+    if (gzip <= 0 && deflate <= 0) {
+      return null;
+    }
+
+    return gzip >= deflate ? ContentEncodingMethod.GZIP : ContentEncodingMethod.DEFLATE;
+  }
+
+  @Override
+  public String toString() {
+    return "ResponseCompression[threshold=" + threshold + " level=" + level + "]";
+  }
+
+  private ResponseCompression(final int threshold, final int level) {
+    if (level != Deflater.DEFAULT_COMPRESSION && (level < Deflater.NO_COMPRESSION || level > Deflater.BEST_COMPRESSION)) {
+      throw new IllegalArgumentException("Invalid compression level: " + level);
+    }
+    this.threshold = Math.max(0, threshold);
+    this.level = level;
+  }
+
+  private static Compressor acquireCompressor() {
+    final Compressor compressor = compressors.poll();
+    return compressor == null ? new Compressor() : compressor;
+  }
+
+  private static void releaseCompressor(final Compressor compressor) {
+    if (!compressors.offer(compressor)) {
+      compressor.end();
+    }
+  }
+
+  private boolean isCompressible(final Response response) {
+    final Status status = response.status;
+    if (status.code < 200 || status == Status.NoContent || status == Status.NotModified || status == Status.PartialContent) {
+      return false;
+    }
+
+    final Body entity = response.entity;
+    if (entity.isComplex() || response.headerOf(ResponseHeader.ContentEncoding) != null) {
+      return false;
+    }
+
+    final Header contentType = response.headerOf(ResponseHeader.ContentType);
+    return contentType == null || isCompressibleType(contentType.value.toLowerCase());
+  }
+
+  private static boolean isCompressibleType(final String contentType) {
+    if (contentType.startsWith("image/")) {
+      return contentType.startsWith("image/svg");
+    }
+    for (final String type : UncompressibleTypes) {
+      if (contentType.startsWith(type)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static Headers<ResponseHeader> headersWithoutContentLength(final Headers<ResponseHeader> headers) {
+    final Headers<ResponseHeader> copy = new Headers<>(headers.size() + 2);
+    boolean varies = false;
+    for (final ResponseHeader header : headers) {
+      if (header.matchesNameOf(ResponseHeader.ContentLength)) {
+        continue;
+      }
+      if (header.matchesNameOf(ResponseHeader.Vary)) {
+        varies = true;
+        copy.add(variesWithAcceptEncoding(header));
+      } else {
+        copy.add(header);
+      }
+    }
+    if (!varies) {
+      copy.add(ResponseHeader.of(ResponseHeader.Vary, RequestHeader.AcceptEncoding));
+    }
+    return copy;
+  }
+
+  private static ResponseHeader variesWithAcceptEncoding(final ResponseHeader vary) {
+    for (final String name : vary.value.split(",")) {
+      final String trimmed = name.trim();
+      if (trimmed.equals("*") || trimmed.equalsIgnoreCase(RequestHeader.AcceptEncoding)) {
+        return vary;
+      }
+    }
+    return ResponseHeader.of(ResponseHeader.Vary, vary.value + ", " + RequestHeader.AcceptEncoding);
+  }
+
+  private static byte[] bytesOf(final Body entity) {
+    if (entity instanceof BinaryBody) {
+      return ((BinaryBody) entity).binaryContent;
+    }
+    return Converters.textToBytes(entity instanceof PlainBody ? ((PlainBody) entity).content : entity.toString());
+  }
+
+  private static float qualityOf(final String parameters) {
+    for (final String parameter : parameters.split(";")) {
+      final String trimmed = parameter.trim();
+      if (trimmed.startsWith("q=") || trimmed.startsWith("Q=")) {
+        try {
+          return Float.parseFloat(trimmed.substring(2).trim());
+        } catch (NumberFormatException e) {
+          return 0;
+        }
+      }
+    }
+    return 1;
+  }
+
+  //=====================================
+  // Compressor
+  //=====================================
+
+  /**
+   * The {@code Deflater} instances and buffer used by one thread at a time, each
+   * {@code Deflater} being created when first used.
+   */
+  private static final class Compressor {
+    private static final int GzipHeaderLength = 10;
+    private static final int GzipTrailerLength = 8;
+    private static final byte[] GzipHeader = { 0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, (byte) 0xff };
+    private static final int InitialBufferLength = 8192;
+    private static final int MaximumRetainedBufferLength = 1024 * 1024;
+
+    private final CRC32 crc = new CRC32();
+    private Deflater gzip;
+    private Deflater zlib;
+    private byte[] buffer = new byte[InitialBufferLength];
+
+    byte[] compress(final byte[] content, final boolean gzipped, final int level) {
+      final Deflater deflater = deflaterOf(gzipped);
+      try {
+        return compress(deflater, content, gzipped, level);
+      } finally {
+        // the input is not retained between uses
+        deflater.reset();
+      }
+    }
+
+    void end() {
+      if (gzip != null) gzip.end();
+      if (zlib != null) zlib.end();
+    }
+
+    private Deflater deflaterOf(final boolean gzipped) {
+      if (gzipped) {
+        if (gzip == null) gzip = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+        return gzip;
+      }
+      if (zlib == null) zlib = new Deflater(Deflater.DEFAULT_COMPRESSION, false);
+      return zlib;
+    }
+
+    private byte[] compress(final Deflater deflater, final byte[] content, final boolean gzipped, final int level) {
+      deflater.setLevel(level);
+      deflater.setInput(content);
+      deflater.finish();
+
+      int length = 0;
+      if (gzipped) {
+        System.arraycopy(GzipHeader, 0, buffer, 0, GzipHeaderLength);
+        length = GzipHeaderLength;
+      }
+
+      while (!deflater.finished()) {
+        if (length == buffer.length) {
+          buffer = Arrays.copyOf(buffer, buffer.length * 2);
+        }
+        length += deflater.deflate(buffer, length, buffer.length - length);
+      }
+
+      if (gzipped) {
+        if (length + GzipTrailerLength > buffer.length) {
+          buffer = Arrays.copyOf(buffer, buffer.length * 2);
+        }
+        crc.reset();
+        crc.update(content, 0, content.length);
+        length = putIntLE((int) crc.getValue(), length);
+        length = putIntLE(content.length, length);
+      }
+
+      final byte[] compressed = Arrays.copyOf(buffer, length);
+
+      if (buffer.length > MaximumRetainedBufferLength) {
+        // don't retain the buffer of an exceptionally large response
+        buffer = new byte[InitialBufferLength];
+      }
+
+      return compressed;
+    }
+
+    private int putIntLE(final int value, final int offset) {
+      buffer[offset] = (byte) value;
+      buffer[offset + 1] = (byte) (value >> 8);
+      buffer[offset + 2] = (byte) (value >> 16);
+      buffer[offset + 3] = (byte) (value >> 24);
+      return offset + 4;
+    }
+  }
+}
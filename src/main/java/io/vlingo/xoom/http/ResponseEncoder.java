@@ -0,0 +1,232 @@
+// Copyright © 2012-2021 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.http;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+import io.vlingo.xoom.http.Response.Status;
+
+/**
+ * Encodes a {@code Response} directly into a {@code ByteBuffer}. The status line
+ * of every {@code Status} and the names of well-known response headers are encoded
+ * once, and all other text is encoded as UTF-8 character by character, so that a
+ * response with a {@code PlainBody} is encoded without intermediate allocations.
+ * The bytes of a {@code BinaryBody} are put as they are. The exact encoded size
+ * may be computed up front to select a buffer, and a response too large for any
+ * buffer may be encoded in segments by way of {@code ResponseSegments}.
+ * <p>
+ * The status line is always that of {@code HTTP/1.1}, whatever the {@code version} of
+ * the {@code Response}, because it is the protocol that the server speaks on the wire.
+ */
+final class ResponseEncoder {
+  private static final byte[] HeaderSeparator = { ':', ' ' };
+  private static final byte LineEnd = '\n';
+
+  private static final Map<String, byte[]> headerNames = new HashMap<>();
+  private static final byte[][] statusLines = new byte[Status.values().length][];
+
+  static {
+    for (final Status status : Status.values()) {
+      statusLines[status.ordinal()] = (Version.HTTP_1_1 + " " + status + "\n").getBytes(StandardCharsets.US_ASCII);
+    }
+
+    final String[] names = {
+            ResponseHeader.AccessControlAllowOrigin, ResponseHeader.AccessControlAllowCredentials,
+            ResponseHeader.AccessControlAllowHeaders, ResponseHeader.AccessControlAllowMethods,
+            ResponseHeader.AccessControlExposeHeaders, ResponseHeader.AccessControlMaxAge,
+            ResponseHeader.Age, ResponseHeader.Allow, ResponseHeader.CacheControl, ResponseHeader.Connection,
+            ResponseHeader.ContentEncoding, ResponseHeader.ContentLength, ResponseHeader.ContentLocation,
+            ResponseHeader.ContentType, ResponseHeader.Date, ResponseHeader.ETag, ResponseHeader.Expires,
+            ResponseHeader.LastModified, ResponseHeader.Location, ResponseHeader.RetryAfter, ResponseHeader.Server,
+            ResponseHeader.SetCookie, ResponseHeader.TransferEncoding, ResponseHeader.Vary,
+            ResponseHeader.XCorrelationID, ResponseHeader.XRequestID };
+
+    for (final String name : names) {
+      headerNames.put(name, name.getBytes(StandardCharsets.US_ASCII));
+    }
+  }
+
+  /**
+   * Answer the exact number of bytes that {@code response} encodes to.
+   * @param response the Response to encode
+   * @return int
+   */
+  static int encodedSize(final Response response) {
+    return encodedHeadSize(response) + encodedLength(response.entity);
+  }
+
+  /**
+   * Answer the exact number of bytes that the status line and headers of {@code response}
+   * encode to, including the blank line that ends them.
+   * @param response the Response to encode
+   * @return int
+   */
+  static int encodedHeadSize(final Response response) {
+    int size = statusLines[response.status.ordinal()].length;
+
+    for (final ResponseHeader header : response.headers) {
+      final byte[] name = headerNames.get(header.name);
+      size += (name == null ? encodedLength(header.name) : name.length) + HeaderSeparator.length + encodedLength(header.value) + 1;
+    }
+
+    return size + 1;
+  }
+
+  /**
+   * Encode the {@code response} into the {@code buffer} at its position, which must
+   * have at least {@code encodedSize(response)} bytes remaining.
+   * @param response the Response to encode
+   * @param buffer the ByteBuffer to encode into
+   */
+  static void encode(final Response response, final ByteBuffer buffer) {
+    encodeHead(response, buffer);
+
+    if (response.entity instanceof BinaryBody) {
+      buffer.put(((BinaryBody) response.entity).binaryContent);
+    } else {
+      encode(entityText(response.entity), buffer);
+    }
+  }
+
+  /**
+   * Encode the status line and headers of the {@code response} into the {@code buffer}
+   * at its position, which must have at least {@code encodedHeadSize(response)} bytes remaining.
+   * @param response the Response to encode
+   * @param buffer the ByteBuffer to encode into
+   */
+  static void encodeHead(final Response response, final ByteBuffer buffer) {
+    buffer.put(statusLines[response.status.ordinal()]);
+
+    for (final ResponseHeader header : response.headers) {
+      final byte[] name = headerNames.get(header.name);
+      if (name == null) {
+        encode(header.name, buffer);
+      } else {
+        buffer.put(name);
+      }
+      buffer.put(HeaderSeparator);
+      encode(header.value, buffer);
+      buffer.put(LineEnd);
+    }
+
+    buffer.put(LineEnd);
+  }
+
+  /**
+   * Answer the number of bytes of {@code text} encoded as UTF-8, without encoding it.
+   * @param text the String to measure
+   * @return int
+   */
+  static int encodedLength(final String text) {
+    final int length = text.length();
+    int encoded = length;
+    for (int index = 0; index < length; ++index) {
+      final char c = text.charAt(index);
+      if (c < 0x80) continue;
+      if (c < 0x800) {
+        encoded += 1;
+      } else if (Character.isHighSurrogate(c) && index + 1 < length && Character.isLowSurrogate(text.charAt(index + 1))) {
+        // four bytes for the two chars of the pair
+        encoded += 2;
+        ++index;
+      } else if (Character.isSurrogate(c)) {
+        // unpaired, encoded as '?'
+      } else {
+        encoded += 2;
+      }
+    }
+    return encoded;
+  }
+
+  /**
+   * Encode {@code text} as UTF-8 into the {@code buffer}, replacing any unpaired
+   * surrogate with {@code '?'} as {@code String.getBytes()} does.
+   */
+  private static void encode(final String text, final ByteBuffer buffer) {
+    final int length = text.length();
+    for (int index = 0; index < length; ) {
+      index = encodeCharAt(text, index, buffer);
+    }
+  }
+
+  /**
+   * Encode as much of {@code text} as fits in the {@code buffer}, starting with the char at
+   * {@code from}, without splitting the bytes of any char. Answer the index of the first
+   * char not encoded, which is the length of {@code text} when all are encoded.
+   * @param text the String to encode
+   * @param from the int index of the first char to encode
+   * @param buffer the ByteBuffer to encode into
+   * @return int
+   */
+  static int encode(final String text, final int from, final ByteBuffer buffer) {
+    final int length = text.length();
+    int index = from;
+    while (index < length) {
+      // only near the end of the buffer must each char be measured
+      if (buffer.remaining() < 4 && buffer.remaining() < encodedLengthAt(text, index)) {
+        break;
+      }
+      index = encodeCharAt(text, index, buffer);
+    }
+    return index;
+  }
+
+  private static int encodeCharAt(final String text, final int index, final ByteBuffer buffer) {
+    final char c = text.charAt(index);
+    if (c < 0x80) {
+      buffer.put((byte) c);
+    } else if (c < 0x800) {
+      buffer.put((byte) (0xC0 | (c >> 6)));
+      buffer.put((byte) (0x80 | (c & 0x3F)));
+    } else if (Character.isHighSurrogate(c) && index + 1 < text.length() && Character.isLowSurrogate(text.charAt(index + 1))) {
+      final int codePoint = Character.toCodePoint(c, text.charAt(index + 1));
+      buffer.put((byte) (0xF0 | (codePoint >> 18)));
+      buffer.put((byte) (0x80 | ((codePoint >> 12) & 0x3F)));
+      buffer.put((byte) (0x80 | ((codePoint >> 6) & 0x3F)));
+      buffer.put((byte) (0x80 | (codePoint & 0x3F)));
+      return index + 2;
+    } else if (Character.isSurrogate(c)) {
+      buffer.put((byte) '?');
+    } else {
+      buffer.put((byte) (0xE0 | (c >> 12)));
+      buffer.put((byte) (0x80 | ((c >> 6) & 0x3F)));
+      buffer.put((byte) (0x80 | (c & 0x3F)));
+    }
+    return index + 1;
+  }
+
+  private static int encodedLengthAt(final String text, final int index) {
+    final char c = text.charAt(index);
+    if (c < 0x80) return 1;
+    if (c < 0x800) return 2;
+    if (Character.isHighSurrogate(c) && index + 1 < text.length() && Character.isLowSurrogate(text.charAt(index + 1))) return 4;
+    if (Character.isSurrogate(c)) return 1;
+    return 3;
+  }
+
+  /**
+   * Answer the number of bytes that the {@code entity} encodes to.
+   * @param entity the Body to measure
+   * @return int
+   */
+  static int encodedLength(final Body entity) {
+    if (entity instanceof BinaryBody) {
+      return ((BinaryBody) entity).binaryContent.length;
+    }
+    return encodedLength(entityText(entity));
+  }
+
+  static String entityText(final Body entity) {
+    return entity instanceof PlainBody ? ((PlainBody) entity).content : entity.toString();
+  }
+
+  private ResponseEncoder() { }
+}
@@ -0,0 +1,89 @@
+// Copyright © 2012-2021 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.http;
+
+import java.nio.ByteBuffer;
+
+import io.vlingo.xoom.wire.message.ConsumerByteBuffer;
+
+/**
+ * Encodes a {@code Response} in successive segments, each into a buffer of its own, so
+ * that a response of any size is written through buffers of a bounded size rather than
+ * one of its full size. The text of the entity is encoded directly from its source
+ * without splitting the bytes of any char between segments, and the bytes of a
+ * {@code BinaryBody} are copied from its content. Segments must be taken by one
+ * thread at a time.
+ */
+public final class ResponseSegments {
+  private final byte[] binary;
+  private final Response response;
+  private final String text;
+
+  private boolean headEncoded;
+  private int offset;
+
+  /**
+   * Answer new {@code ResponseSegments} of the {@code response}.
+   * @param response the Response to encode
+   * @return ResponseSegments
+   */
+  public static ResponseSegments of(final Response response) {
+    return new ResponseSegments(response);
+  }
+
+  /**
+   * Answer whether or not any of my response remains to be encoded.
+   * @return boolean
+   */
+  public boolean hasNext() {
+    if (!headEncoded) {
+      return true;
+    }
+    return binary != null ? offset < binary.length : offset < text.length();
+  }
+
+  /**
+   * Answer the {@code buffer} filled with the next segment of my response and flipped
+   * for writing. The first segment begins with the whole status line and headers, so
+   * the {@code buffer} must have at least {@code headSize()} bytes remaining.
+   * @param buffer the ConsumerByteBuffer to encode into
+   * @return ConsumerByteBuffer
+   */
+  public ConsumerByteBuffer nextInto(final ConsumerByteBuffer buffer) {
+    final ByteBuffer bytes = buffer.asByteBuffer();
+
+    if (!headEncoded) {
+      ResponseEncoder.encodeHead(response, bytes);
+      headEncoded = true;
+    }
+
+    if (binary != null) {
+      final int length = Math.min(bytes.remaining(), binary.length - offset);
+      bytes.put(binary, offset, length);
+      offset += length;
+    } else {
+      offset = ResponseEncoder.encode(text, offset, bytes);
+    }
+
+    return buffer.flip();
+  }
+
+  /**
+   * Answer the number of bytes of the status line and headers of my response.
+   * @return int
+   */
+  public int headSize() {
+    return ResponseEncoder.encodedHeadSize(response);
+  }
+
+  private ResponseSegments(final Response response) {
+    this.response = response;
+    this.binary = response.entity instanceof BinaryBody ? ((BinaryBody) response.entity).binaryContent : null;
+    this.text = binary == null ? ResponseEncoder.entityText(response.entity) : null;
+  }
+}
@@ -0,0 +1,236 @@
+// Copyright © 2012-2021 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.http;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+import io.vlingo.xoom.wire.message.Converters;
+
+/**
+ * The {@code Body} of a response that is sent with chunked transfer encoding while it
+ * is being produced. The response head is written first, and then each chunk is written
+ * to the channel by the {@code Writer} of the server as soon as it is sent, so that large
+ * content may be streamed with constant memory. The stream is obtained by way of
+ * {@code Context#streamResponse()}, or answered as the entity of a {@code Response}
+ * having the header {@code Transfer-Encoding: chunked}.
+ * <p>
+ * A producer that honors flow control sends only while {@code isReady()}, and otherwise
+ * continues when its {@code onReady()} listener is run. Chunks sent before the response
+ * head is written are held until it is. The stream must be ended with {@code end()},
+ * which sends the terminating chunk.
+ */
+public class ResponseStream implements Body {
+  private static final byte[] NoContent = new byte[0];
+
+  private boolean ended;
+  private final Deque<byte[]> pending;
+  private Runnable readyListener;
+  private Writer writer;
+
+  /**
+   * Construct my default state.
+   */
+  public ResponseStream() {
+    this.pending = new ArrayDeque<>();
+  }
+
+  /**
+   * Answer whether or not I am ready for a chunk to be sent without being held.
+   * @return boolean
+   */
+  public synchronized boolean isReady() {
+    return writer != null && !ended && writer.isReady();
+  }
+
+  /**
+   * Answer whether or not I have been ended.
+   * @return boolean
+   */
+  public synchronized boolean isEnded() {
+    return ended;
+  }
+
+  /**
+   * Register the {@code listener} to run each time that I become ready, which is
+   * immediately if I already am.
+   * @param listener the Runnable to run when ready
+   */
+  public void onReady(final Runnable listener) {
+    final boolean ready;
+    synchronized (this) {
+      this.readyListener = listener;
+      ready = isReady();
+    }
+    if (ready) {
+      listener.run();
+    }
+  }
+
+  /**
+   * Send the {@code chunk}, answering whether or not I am still ready. The bytes are
+   * copied or written before answering, so the caller may reuse its array.
+   * @param chunk the byte[] content of the chunk
+   * @return boolean
+   */
+  public boolean send(final byte[] chunk) {
+    return send(chunk, 0, chunk.length);
+  }
+
+  /**
+   * Send the {@code length} bytes of {@code chunk} from {@code offset}, answering
+   * whether or not I am still ready.
+   * @param chunk the byte[] content of the chunk
+   * @param offset the int offset of the content
+   * @param length the int length of the content
+   * @return boolean
+   */
+  public synchronized boolean send(final byte[] chunk, final int offset, final int length) {
+    if (ended) {
+      throw new IllegalStateException("Response stream is ended.");
+    }
+
+    if (length > 0) {
+      if (writer == null) {
+        final byte[] held = new byte[length];
+        System.arraycopy(chunk, offset, held, 0, length);
+        pending.add(held);
+      } else {
+        writer.write(chunk, offset, length);
+      }
+    }
+
+    return isReady();
+  }
+
+  /**
+   * Send the {@code chunk} encoded as UTF-8, answering whether or not I am still ready.
+   * @param chunk the String content of the chunk
+   * @return boolean
+   */
+  public boolean send(final String chunk) {
+    return send(Converters.textToBytes(chunk));
+  }
+
+  /**
+   * End me by sending the terminating chunk after any held chunks.
+   */
+  public synchronized void end() {
+    if (ended) return;
+
+    ended = true;
+
+    if (writer != null) {
+      writer.end();
+    }
+  }
+
+  /**
+   * Start writing my chunks using the {@code writer}, after the response head has
+   * been written. Chunks held until now are written first.
+   * @param writer the Writer of the response channel
+   */
+  public void open(final Writer writer) {
+    synchronized (this) {
+      this.writer = writer;
+
+      while (!pending.isEmpty()) {
+        final byte[] chunk = pending.poll();
+        writer.write(chunk, 0, chunk.length);
+      }
+
+      if (ended) {
+        writer.end();
+      }
+    }
+
+    ready();
+  }
+
+  /**
+   * Signal that my {@code Writer} is ready after it was not, which is to be used
+   * by a {@code Writer} that supports flow control.
+   */
+  public void ready() {
+    final Runnable listener;
+    synchronized (this) {
+      listener = isReady() ? readyListener : null;
+    }
+    if (listener != null) {
+      listener.run();
+    }
+  }
+
+  /**
+   * Answer an empty {@code String}, because my content is sent as it is produced.
+   * @see io.vlingo.xoom.http.Body#content()
+   */
+  @Override
+  public String content() {
+    return "";
+  }
+
+  /**
+   * @see io.vlingo.xoom.http.Body#binaryContent()
+   */
+  @Override
+  public byte[] binaryContent() {
+    return NoContent;
+  }
+
+  /**
+   * @see io.vlingo.xoom.http.Body#isComplex()
+   */
+  @Override
+  public boolean isComplex() {
+    return true;
+  }
+
+  /**
+   * @see io.vlingo.xoom.http.Body#hasContent()
+   */
+  @Override
+  public boolean hasContent() {
+    return false;
+  }
+
+  @Override
+  public String toString() {
+    return "";
+  }
+
+  //=====================================
+  // Writer
+  //=====================================
+
+  /**
+   * Writes the chunks of a {@code ResponseStream} to the response channel.
+   */
+  public interface Writer {
+    /**
+     * Answer whether or not the channel accepts more content without buffering it.
+     * A {@code Writer} that does so must signal {@code ResponseStream#ready()} once
+     * it becomes ready again.
+     * @return boolean
+     */
+    boolean isReady();
+
+    /**
+     * Write the {@code length} bytes of {@code chunk} from {@code offset} as one chunk.
+     * @param chunk the byte[] content of the chunk
+     * @param offset the int offset of the content
+     * @param length the int length of the content
+     */
+    void write(final byte[] chunk, final int offset, final int length);
+
+    /**
+     * Write the terminating chunk.
+     */
+    void end();
+  }
+}
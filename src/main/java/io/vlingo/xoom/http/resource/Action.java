@@ -8,6 +8,7 @@
 package io.vlingo.xoom.http.resource;
 
 import java.net.URI;
+import java.util.AbstractList;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -27,6 +28,8 @@ public final class Action {
   public final ToSpec to;
   public final Mapper mapper;
   private final Matchable matchable;
+  private final ParameterConverter[] converters;
+  private final int[] rawParameterIndexes;
 
   public Action(final int id, final String method, final String uri, final String to, final String mapper) {
     this(id, method, uri, to, mapper, Collections.emptyList());
@@ -41,23 +44,30 @@ public final class Action {
     this.mapper = mapper == null ? DefaultJsonMapper.instance : mapperFrom(mapper);
     this.additionalParameters = additionalParameters;
     this.matchable = new Matchable(uri);
+    this.converters = convertersOf(this.to);
+    this.rawParameterIndexes = rawParameterIndexesOf(this.to, parameterNames());
   }
 
   MappedParameters map(final Request request, final List<RawPathParameter> parameters) {
-    final List<MappedParameter> mapped = new ArrayList<>(parameters.size());
-    for (final MethodParameter typed : to.parameters) {
+    final MappedParameters mapped =
+            new MappedParameters(this.id, this.method, to.methodName, converters.length + additionalParameters.size());
+
+    for (int index = 0; index < converters.length; ++index) {
+      final MethodParameter typed = to.parameters.get(index);
       if (typed.isBody()) {
-        final Object body = mapBodyFrom(request);
-        mapped.add(new MappedParameter(typed.type, body));
+        mapped.put(ParameterConverter.ObjectValue, typed.type, 0, mapBodyFrom(request));
       } else {
-        final RawPathParameter raw = RawPathParameter.named(typed.name, parameters);
+        final RawPathParameter raw = rawParameterOf(index, parameters);
         if (raw == null) break;
-        final Object other = mapOtherFrom(raw);
-        mapped.add(new MappedParameter(typed.type, other));
+        converters[index].convert(typed.type, raw.value, mapped);
       }
     }
-    mapped.addAll(additionalParameters);
-    return new MappedParameters(this.id, this.method, to.methodName, mapped);
+
+    for (final MappedParameter additional : additionalParameters) {
+      mapped.put(ParameterConverter.ObjectValue, additional.type, 0, additional.value);
+    }
+
+    return mapped;
   }
 
   private int indexOfNextSegmentStart(int currentIndex, String path) {
@@ -69,8 +79,11 @@ public final class Action {
   }
 
   MatchResults matchWith(final Method method, final URI uri) {
+    return matchWith(method, uri.getPath());
+  }
+
+  MatchResults matchWith(final Method method, final String path) {
     if (this.method.equals(method)) {
-      final String path = uri.getPath();
       int pathCurrentIndex = 0;
       final int totalSegments = matchable.totalSegments();
       final RunningMatchSegments running = new RunningMatchSegments(totalSegments);
@@ -150,39 +163,33 @@ public final class Action {
     return null;
   }
 
-  private Object mapOtherFrom(final RawPathParameter parameter) {
-    final String type = this.to.parameterOf(parameter.name).type;
-
-    switch (type) {
-    case "String":
-      return parameter.value;
-    case "int":
-    case "Integer":
-      return Integer.parseInt(parameter.value);
-    case "long":
-    case "Long":
-      return Long.parseLong(parameter.value);
-    case "boolean":
-    case "Boolean":
-      return Boolean.parseBoolean(parameter.value);
-    case "double":
-    case "Double":
-      return Double.parseDouble(parameter.value);
-    case "short":
-    case "Short":
-      return Short.parseShort(parameter.value);
-    case "float":
-    case "Float":
-      return Float.parseFloat(parameter.value);
-    case "char":
-    case "Character":
-      return parameter.value.charAt(0);
-    case "byte":
-    case "Byte":
-      return Byte.parseByte(parameter.value);
-    default:
-      return null;
+  private RawPathParameter rawParameterOf(final int index, final List<RawPathParameter> parameters) {
+    // path parameters are usually in the order of the URI pattern, but may be given in any order
+    final int rawIndex = rawParameterIndexes[index];
+    if (rawIndex >= 0 && rawIndex < parameters.size()) {
+      final RawPathParameter raw = parameters.get(rawIndex);
+      if (raw.name.equals(to.parameters.get(index).name)) {
+        return raw;
+      }
+    }
+    return RawPathParameter.named(to.parameters.get(index).name, parameters);
+  }
+
+  private static ParameterConverter[] convertersOf(final ToSpec to) {
+    final ParameterConverter[] converters = new ParameterConverter[to.parameters.size()];
+    for (int index = 0; index < converters.length; ++index) {
+      final MethodParameter parameter = to.parameters.get(index);
+      converters[index] = parameter.isBody() ? ParameterConverter.ObjectValue : ParameterConverter.of(parameter.type);
     }
+    return converters;
+  }
+
+  private static int[] rawParameterIndexesOf(final ToSpec to, final List<String> parameterNames) {
+    final int[] indexes = new int[to.parameters.size()];
+    for (int index = 0; index < indexes.length; ++index) {
+      indexes[index] = parameterNames.indexOf(to.parameters.get(index).name);
+    }
+    return indexes;
   }
 
   private List<String> parameterNames() {
@@ -205,17 +212,129 @@ public final class Action {
     public final Method httpMethod;
     public final String methodName;
 
+    // parallel slots: a primitive value is held in primitives, any other in references
+    private final ParameterConverter[] converters;
+    private final long[] primitives;
+    private final Object[] references;
+    private final String[] types;
+    private int size;
+
     MappedParameters(final int actionId, final Method httpMethod, final String methodName, final List<MappedParameter> mapped) {
+      this(actionId, httpMethod, methodName, mapped, mapped.size());
+
+      for (final MappedParameter parameter : mapped) {
+        put(ParameterConverter.ObjectValue, parameter.type, 0, parameter.value);
+      }
+    }
+
+    MappedParameters(final int actionId, final Method httpMethod, final String methodName, final int capacity) {
+      this(actionId, httpMethod, methodName, null, capacity);
+    }
+
+    private MappedParameters(final int actionId, final Method httpMethod, final String methodName, final List<MappedParameter> mapped, final int capacity) {
       this.actionId = actionId;
       this.httpMethod = httpMethod;
       this.methodName = methodName;
-      this.mapped = mapped;
+      this.mapped = mapped == null ? new MappedParameterList() : mapped;
+      this.converters = new ParameterConverter[capacity];
+      this.primitives = new long[capacity];
+      this.references = new Object[capacity];
+      this.types = new String[capacity];
+    }
+
+    /**
+     * Answer the number of my mapped parameters.
+     * @return int
+     */
+    public int size() {
+      return size;
+    }
+
+    /**
+     * Answer the declared type name of the parameter at {@code index}.
+     * @param index the int index of the parameter
+     * @return String
+     */
+    public String typeAt(final int index) {
+      return types[checked(index)];
+    }
+
+    /**
+     * Answer the value of the parameter at {@code index}, boxing it if primitive.
+     * @param index the int index of the parameter
+     * @return Object
+     */
+    public Object valueAt(final int index) {
+      return converters[checked(index)].boxed(primitives[index], references[index]);
+    }
+
+    public boolean booleanAt(final int index) {
+      return converters[checked(index)] == ParameterConverter.BooleanValue ? primitives[index] != 0 : (Boolean) references[index];
+    }
+
+    public byte byteAt(final int index) {
+      return converters[checked(index)] == ParameterConverter.ByteValue ? (byte) primitives[index] : (Byte) references[index];
+    }
+
+    public char charAt(final int index) {
+      return converters[checked(index)] == ParameterConverter.CharValue ? (char) primitives[index] : (Character) references[index];
+    }
+
+    public double doubleAt(final int index) {
+      return converters[checked(index)] == ParameterConverter.DoubleValue ? Double.longBitsToDouble(primitives[index]) : (Double) references[index];
+    }
+
+    public float floatAt(final int index) {
+      return converters[checked(index)] == ParameterConverter.FloatValue ? (float) Double.longBitsToDouble(primitives[index]) : (Float) references[index];
+    }
+
+    public int intAt(final int index) {
+      return converters[checked(index)] == ParameterConverter.IntValue ? (int) primitives[index] : (Integer) references[index];
+    }
+
+    public long longAt(final int index) {
+      return converters[checked(index)] == ParameterConverter.LongValue ? primitives[index] : (Long) references[index];
+    }
+
+    public short shortAt(final int index) {
+      return converters[checked(index)] == ParameterConverter.ShortValue ? (short) primitives[index] : (Short) references[index];
     }
 
     @Override
     public String toString() {
       return "MappedParameters[actionId=" + actionId + ", httpMethod=" + httpMethod + ", methodName=" + methodName + ", mapped=" + mapped + "]";
     }
+
+    void put(final ParameterConverter converter, final String type, final long primitive, final Object reference) {
+      converters[size] = converter;
+      types[size] = type;
+      primitives[size] = primitive;
+      references[size] = reference;
+      ++size;
+    }
+
+    private int checked(final int index) {
+      if (index < 0 || index >= size) {
+        throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+      }
+      return index;
+    }
+
+    /**
+     * A view of my slots as {@code MappedParameter} instances, which
+     * are created only when read.
+     */
+    private final class MappedParameterList extends AbstractList<MappedParameter> {
+      @Override
+      public MappedParameter get(final int index) {
+        return new MappedParameter(typeAt(index), valueAt(index));
+      }
+
+      @Override
+      public int size() {
+        return size;
+      }
+    }
   }
 
   public static class MappedParameter {
@@ -233,6 +352,157 @@ public final class Action {
     }
   }
 
+  //=====================================
+  // ParameterConverter
+  //=====================================
+
+  /**
+   * Converts a raw path parameter value to its declared type, which is
+   * resolved once per {@code Action} rather than for every request.
+   */
+  enum ParameterConverter {
+    BooleanValue {
+      @Override
+      void convert(final String type, final String value, final MappedParameters into) {
+        into.put(this, type, Boolean.parseBoolean(value) ? 1 : 0, null);
+      }
+
+      @Override
+      Object boxed(final long primitive, final Object reference) {
+        return primitive != 0;
+      }
+    },
+    ByteValue {
+      @Override
+      void convert(final String type, final String value, final MappedParameters into) {
+        into.put(this, type, Byte.parseByte(value), null);
+      }
+
+      @Override
+      Object boxed(final long primitive, final Object reference) {
+        return (byte) primitive;
+      }
+    },
+    CharValue {
+      @Override
+      void convert(final String type, final String value, final MappedParameters into) {
+        into.put(this, type, value.charAt(0), null);
+      }
+
+      @Override
+      Object boxed(final long primitive, final Object reference) {
+        return (char) primitive;
+      }
+    },
+    DoubleValue {
+      @Override
+      void convert(final String type, final String value, final MappedParameters into) {
+        into.put(this, type, Double.doubleToRawLongBits(Double.parseDouble(value)), null);
+      }
+
+      @Override
+      Object boxed(final long primitive, final Object reference) {
+        return Double.longBitsToDouble(primitive);
+      }
+    },
+    FloatValue {
+      @Override
+      void convert(final String type, final String value, final MappedParameters into) {
+        into.put(this, type, Double.doubleToRawLongBits(Float.parseFloat(value)), null);
+      }
+
+      @Override
+      Object boxed(final long primitive, final Object reference) {
+        return (float) Double.longBitsToDouble(primitive);
+      }
+    },
+    IntValue {
+      @Override
+      void convert(final String type, final String value, final MappedParameters into) {
+        into.put(this, type, Integer.parseInt(value), null);
+      }
+
+      @Override
+      Object boxed(final long primitive, final Object reference) {
+        return (int) primitive;
+      }
+    },
+    LongValue {
+      @Override
+      void convert(final String type, final String value, final MappedParameters into) {
+        into.put(this, type, Long.parseLong(value), null);
+      }
+
+      @Override
+      Object boxed(final long primitive, final Object reference) {
+        return primitive;
+      }
+    },
+    ShortValue {
+      @Override
+      void convert(final String type, final String value, final MappedParameters into) {
+        into.put(this, type, Short.parseShort(value), null);
+      }
+
+      @Override
+      Object boxed(final long primitive, final Object reference) {
+        return (short) primitive;
+      }
+    },
+    StringValue {
+      @Override
+      void convert(final String type, final String value, final MappedParameters into) {
+        into.put(ObjectValue, type, 0, value);
+      }
+    },
+    ObjectValue {
+      @Override
+      void convert(final String type, final String value, final MappedParameters into) {
+        // no conversion is known for the declared type
+        into.put(this, type, 0, null);
+      }
+    };
+
+    static ParameterConverter of(final String type) {
+      switch (type) {
+      case "String":
+        return StringValue;
+      case "int":
+      case "Integer":
+        return IntValue;
+      case "long":
+      case "Long":
+        return LongValue;
+      case "boolean":
+      case "Boolean":
+        return BooleanValue;
+      case "double":
+      case "Double":
+        return DoubleValue;
+      case "short":
+      case "Short":
+        return ShortValue;
+      case "float":
+      case "Float":
+        return FloatValue;
+      case "char":
+      case "Character":
+        return CharValue;
+      case "byte":
+      case "Byte":
+        return ByteValue;
+      default:
+        return ObjectValue;
+      }
+    }
+
+    abstract void convert(final String type, final String value, final MappedParameters into);
+
+    Object boxed(final long primitive, final Object reference) {
+      return reference;
+    }
+  }
+
   //=====================================
   // MatchResults
   //=====================================
@@ -0,0 +1,234 @@
+// Copyright © 2012-2021 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.http.resource;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.vlingo.xoom.http.Header.Headers;
+import io.vlingo.xoom.http.Request;
+import io.vlingo.xoom.http.Response;
+import io.vlingo.xoom.http.ResponseHeader;
+
+/**
+ * The limit on the number of requests that the {@code Server} has in flight, beyond which
+ * each request is answered at once with {@code Response.Status.ServiceUnavailable} and
+ * {@code Retry-After}, before it is dispatched to any resource. Requests of the exempt
+ * paths, such as those of health checks, are always admitted and are not counted.
+ * <p>
+ * The limit is either fixed at {@code maximumInFlight} or, if adaptive, adjusted between
+ * {@code minimumLimit} and {@code maximumInFlight} by additive increase and multiplicative
+ * decrease: it grows by one for each limit's worth of responses completed within
+ * {@code targetLatency}, and shrinks by a tenth, at most once per {@code targetLatency},
+ * when a response takes longer.
+ */
+public final class AdmissionControl {
+  public static final int DefaultRetryAfter = 1;
+
+  /**
+   * The {@code AdmissionControl} that admits all requests.
+   */
+  public static final AdmissionControl None = new AdmissionControl(0, false, 0, 0, DefaultRetryAfter, new String[0]);
+
+  public final boolean adaptive;
+  public final int maximumInFlight;
+  public final int minimumLimit;
+  public final int retryAfter;
+  public final long targetLatency;
+
+  private final String[] exemptPaths;
+
+  /**
+   * Answer the {@code AdmissionControl} that admits up to {@code maximumInFlight} requests.
+   * @param maximumInFlight the int maximum number of requests in flight
+   * @return AdmissionControl
+   */
+  public static AdmissionControl limitedTo(final int maximumInFlight) {
+    return new AdmissionControl(maximumInFlight, false, maximumInFlight, 0, DefaultRetryAfter, new String[0]);
+  }
+
+  /**
+   * Answer a copy of me whose limit adapts to the latency of responses, never falling
+   * below {@code minimumLimit}.
+   * @param minimumLimit the int minimum number of requests in flight
+   * @param targetLatency the long number of milliseconds within which responses are expected
+   * @return AdmissionControl
+   */
+  public AdmissionControl withAdaptiveLimit(final int minimumLimit, final long targetLatency) {
+    return new AdmissionControl(maximumInFlight, true, minimumLimit, targetLatency, retryAfter, exemptPaths);
+  }
+
+  /**
+   * Answer a copy of me that asks rejected clients to retry after {@code retryAfter} seconds.
+   * @param retryAfter the int number of seconds
+   * @return AdmissionControl
+   */
+  public AdmissionControl withRetryAfter(final int retryAfter) {
+    return new AdmissionControl(maximumInFlight, adaptive, minimumLimit, targetLatency, retryAfter, exemptPaths);
+  }
+
+  /**
+   * Answer a copy of me that always admits requests of paths beginning with any of
+   * the {@code pathPrefixes}.
+   * @param pathPrefixes the String paths, such as {@code /health}
+   * @return AdmissionControl
+   */
+  public AdmissionControl exempting(final String... pathPrefixes) {
+    final String[] paths = Arrays.copyOf(exemptPaths, exemptPaths.length + pathPrefixes.length);
+    System.arraycopy(pathPrefixes, 0, paths, exemptPaths.length, pathPrefixes.length);
+    return new AdmissionControl(maximumInFlight, adaptive, minimumLimit, targetLatency, retryAfter, paths);
+  }
+
+  /**
+   * Answer whether or not I limit the requests in flight.
+   * @return boolean
+   */
+  public boolean isLimited() {
+    return maximumInFlight > 0;
+  }
+
+  /**
+   * Answer whether or not the {@code request} is always admitted.
+   * @param request the Request to admit
+   * @return boolean
+   */
+  public boolean isExempt(final Request request) {
+    if (exemptPaths.length == 0) {
+      return false;
+    }
+    final String path = request.uri.getPath();
+    for (final String exemptPath : exemptPaths) {
+      if (path.startsWith(exemptPath)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Answer a new {@code Response} to a request that is not admitted.
+   * @return Response
+   */
+  public Response rejection() {
+    return Response.of(Response.Status.ServiceUnavailable, Headers.of(ResponseHeader.of(ResponseHeader.RetryAfter, retryAfter)));
+  }
+
+  /**
+   * Answer a new {@code Limiter} that counts the requests in flight of one server.
+   * @return Limiter
+   */
+  public Limiter limiter() {
+    return new Limiter(this);
+  }
+
+  @Override
+  public String toString() {
+    return "AdmissionControl[maximumInFlight=" + maximumInFlight + " adaptive=" + adaptive +
+            " minimumLimit=" + minimumLimit + " targetLatency=" + targetLatency +
+            " retryAfter=" + retryAfter + " exemptPaths=" + Arrays.toString(exemptPaths) + "]";
+  }
+
+  private AdmissionControl(
+          final int maximumInFlight,
+          final boolean adaptive,
+          final int minimumLimit,
+          final long targetLatency,
+          final int retryAfter,
+          final String[] exemptPaths) {
+    if (adaptive && (minimumLimit < 1 || minimumLimit > maximumInFlight || targetLatency <= 0)) {
+      throw new IllegalArgumentException("Adaptive limit requires 1 <= minimumLimit <= maximumInFlight and a positive targetLatency.");
+    }
+    this.maximumInFlight = maximumInFlight;
+    this.adaptive = adaptive;
+    this.minimumLimit = minimumLimit;
+    this.targetLatency = targetLatency;
+    this.retryAfter = retryAfter;
+    this.exemptPaths = exemptPaths;
+  }
+
+  //=====================================
+  // Limiter
+  //=====================================
+
+  /**
+   * Counts the requests in flight of one server against the limit of my {@code AdmissionControl}.
+   * The adaptive limit is adjusted without locking, so concurrent adjustments may be lost,
+   * which only slows its adaptation.
+   */
+  public static final class Limiter {
+    private final AdmissionControl control;
+    private final AtomicInteger inFlight;
+    private final long targetLatencyNanos;
+
+    private volatile long lastDecreaseAt;
+    private volatile double limit;
+
+    /**
+     * Answer whether or not a request may be dispatched, counting it as in flight
+     * until {@code release()}.
+     * @return boolean
+     */
+    public boolean tryAcquire() {
+      while (true) {
+        final int current = inFlight.get();
+        if (current >= (int) limit) {
+          return false;
+        }
+        if (inFlight.compareAndSet(current, current + 1)) {
+          return true;
+        }
+      }
+    }
+
+    /**
+     * Release a request that was answered after {@code latencyNanos}.
+     * @param latencyNanos the long number of nanoseconds between arrival and response
+     */
+    public void release(final long latencyNanos) {
+      inFlight.decrementAndGet();
+
+      if (control.adaptive) {
+        final double current = limit;
+        if (latencyNanos <= targetLatencyNanos) {
+          limit = Math.min(control.maximumInFlight, current + 1.0 / current);
+        } else {
+          final long now = System.nanoTime();
+          if (now - lastDecreaseAt >= targetLatencyNanos) {
+            lastDecreaseAt = now;
+            limit = Math.max(control.minimumLimit, current * 0.9);
+          }
+        }
+      }
+    }
+
+    /**
+     * Answer the number of requests in flight.
+     * @return int
+     */
+    public int inFlight() {
+      return inFlight.get();
+    }
+
+    /**
+     * Answer the current limit of requests in flight.
+     * @return int
+     */
+    public int limit() {
+      return (int) limit;
+    }
+
+    private Limiter(final AdmissionControl control) {
+      this.control = control;
+      this.inFlight = new AtomicInteger(0);
+      this.targetLatencyNanos = TimeUnit.MILLISECONDS.toNanos(control.targetLatency);
+      this.lastDecreaseAt = System.nanoTime() - targetLatencyNanos;
+      this.limit = control.maximumInFlight;
+    }
+  }
+}
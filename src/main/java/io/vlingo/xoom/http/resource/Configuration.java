@@ -9,13 +9,19 @@
 
 package io.vlingo.xoom.http.resource;
 
+import io.vlingo.xoom.http.BodyLimits;
 import io.vlingo.xoom.http.Filters;
+import io.vlingo.xoom.http.HeaderLimits;
+import io.vlingo.xoom.http.ResponseCompression;
+import io.vlingo.xoom.http.resource.agent.AgentOptions;
 
+import java.nio.file.Paths;
 import java.util.Properties;
 
 public class Configuration {
   public static Configuration instance;
 
+  private AgentOptions agentOptions;
   private int port;
   private Sizing sizing;
   private Timing timing;
@@ -51,6 +57,11 @@ public class Configuration {
     return this;
   }
 
+  public Configuration with(final AgentOptions agentOptions) {
+    this.agentOptions = agentOptions;
+    return this;
+  }
+
   public int port() {
     return this.port;
   }
@@ -67,11 +78,20 @@ public class Configuration {
     return filters;
   }
 
+  /**
+   * Answer the {@code AgentOptions} used when the server is started with the {@code HttpAgent}.
+   * @return AgentOptions
+   */
+  public AgentOptions agentOptions() {
+    return agentOptions;
+  }
+
   private Configuration() {
     this.port = 8080;
     this.sizing = Sizing.define();
     this.timing = new Timing(4, 2, 100);
     this.filters = Filters.none();
+    this.agentOptions = AgentOptions.define();
   }
 
   private Configuration(final Properties properties) {
@@ -80,27 +100,126 @@ public class Configuration {
     this.port = Integer.parseInt(properties.getProperty("server.http.port", String.valueOf(this.port)));
     final int processorPoolSize = Integer.parseInt(properties.getProperty("server.processor.pool.size", String.valueOf(this.sizing.processorPoolSize)));
     final int dispatcherPoolSize = Integer.parseInt(properties.getProperty("server.dispatcher.pool", String.valueOf(this.sizing.dispatcherPoolSize)));
+    final Elasticity dispatcherPoolElasticity = elasticityOf(properties, "server.dispatcher.pool");
     final int maxBufferPoolSize = Integer.parseInt(properties.getProperty("server.buffer.pool.size", String.valueOf(this.sizing.maxBufferPoolSize)));
     final int maxMessageSize = Integer.parseInt(properties.getProperty("server.message.buffer.size", String.valueOf(this.sizing.maxMessageSize)));
     final long probeInterval = Long.parseLong(properties.getProperty("server.probe.interval", String.valueOf(this.timing.probeInterval)));
     final long probeTimeout = Long.parseLong(properties.getProperty("server.probe.timeout", String.valueOf(this.timing.probeInterval)));
     final long requestMissingContentTimeout = Long.parseLong(properties.getProperty("server.request.missing.content.timeout", String.valueOf(this.timing.requestMissingContentTimeout)));
+    final long requestDeadline = Long.parseLong(properties.getProperty("server.request.deadline", String.valueOf(this.timing.requestDeadline)));
+    final long requestHeaderTimeout = Long.parseLong(properties.getProperty("server.request.header.timeout", String.valueOf(this.timing.requestHeaderTimeout)));
+    final AdmissionControl admissionControl = admissionControlOf(properties);
+    final int maxMissingContentRequests = Integer.parseInt(properties.getProperty("server.request.missing.content.max", String.valueOf(this.sizing.maxMissingContentRequests)));
+    final HeaderLimits headerLimits =
+            HeaderLimits.of(
+                    Integer.parseInt(properties.getProperty("server.request.line.max", String.valueOf(this.sizing.headerLimits.maxRequestLineLength))),
+                    Integer.parseInt(properties.getProperty("server.request.header.count.max", String.valueOf(this.sizing.headerLimits.maxHeaderCount))),
+                    Integer.parseInt(properties.getProperty("server.request.header.size.max", String.valueOf(this.sizing.headerLimits.maxHeaderBytes))));
+    final String spoolDirectory = properties.getProperty("server.request.body.spool.directory", "").trim();
+    final BodyLimits bodyLimits =
+            this.sizing.bodyLimits
+              .withMaxBodySize(Integer.parseInt(properties.getProperty("server.request.body.max", String.valueOf(this.sizing.bodyLimits.maxBodySize))))
+              .withSpoolThreshold(Integer.parseInt(properties.getProperty("server.request.body.spool.threshold", String.valueOf(this.sizing.bodyLimits.spoolThreshold))))
+              .withSpoolDirectory(spoolDirectory.isEmpty() ? this.sizing.bodyLimits.spoolDirectory : Paths.get(spoolDirectory));
+
+    this.sizing =
+            new Sizing(processorPoolSize, dispatcherPoolSize, maxBufferPoolSize, maxMessageSize)
+              .withDispatcherPoolElasticity(dispatcherPoolElasticity)
+              .withAdmissionControl(admissionControl)
+              .withMaxMissingContentRequests(maxMissingContentRequests)
+              .withHeaderLimits(headerLimits)
+              .withBodyLimits(bodyLimits);
+    this.timing = new Timing(probeInterval, probeTimeout, requestMissingContentTimeout, requestDeadline, requestHeaderTimeout);
+    this.agentOptions = agentOptionsOf(properties);
+
+    if (Boolean.parseBoolean(properties.getProperty("server.compression.enabled", "false"))) {
+      final int threshold = Integer.parseInt(properties.getProperty("server.compression.threshold", String.valueOf(ResponseCompression.DefaultThreshold)));
+      final int level = Integer.parseInt(properties.getProperty("server.compression.level", "-1"));
+      this.filters = this.filters.with(ResponseCompression.define().withThreshold(threshold).withLevel(level));
+    }
+  }
+
+  /**
+   * Answer the {@code Elasticity} of the pool configured by the {@code poolKey} of
+   * the {@code properties}, which is {@code Elasticity.None} unless a maximum is given.
+   * @param properties the Properties holding the configuration
+   * @param poolKey the String key of the pool size, such as {@code server.dispatcher.pool}
+   * @return Elasticity
+   */
+  static Elasticity elasticityOf(final Properties properties, final String poolKey) {
+    final int maximumPoolSize = Integer.parseInt(properties.getProperty(poolKey + ".max", "0"));
+    if (maximumPoolSize <= 0) {
+      return Elasticity.None;
+    }
+    final int growThreshold = Integer.parseInt(properties.getProperty(poolKey + ".grow.threshold", String.valueOf(Elasticity.DefaultGrowThreshold)));
+    final long shrinkAfterIdle = Long.parseLong(properties.getProperty(poolKey + ".shrink.idle", String.valueOf(Elasticity.DefaultShrinkAfterIdle)));
+    return Elasticity.upTo(maximumPoolSize).withGrowThreshold(growThreshold).withShrinkAfterIdle(shrinkAfterIdle);
+  }
+
+  /**
+   * Answer the {@code AgentOptions} configured by the {@code server.agent} keys of the
+   * {@code properties}, which default to those of {@code AgentOptions.define()}. The
+   * {@code server.agent.transport} is one of {@code NIO}, {@code Epoll}, or {@code IOUring}.
+   * @param properties the Properties holding the configuration
+   * @return AgentOptions
+   */
+  static AgentOptions agentOptionsOf(final Properties properties) {
+    final AgentOptions defaults = AgentOptions.define();
+    return defaults
+            .withStreaming(Boolean.parseBoolean(properties.getProperty("server.agent.streaming", String.valueOf(defaults.streaming))))
+            .withMaxContentLength(Integer.parseInt(properties.getProperty("server.agent.content.max", String.valueOf(defaults.maxContentLength))))
+            .withAcceptorThreads(Integer.parseInt(properties.getProperty("server.agent.acceptor.threads", String.valueOf(defaults.acceptorThreads))))
+            .withWorkerThreads(Integer.parseInt(properties.getProperty("server.agent.worker.threads", String.valueOf(defaults.workerThreads))))
+            .withReusePort(Boolean.parseBoolean(properties.getProperty("server.agent.reuse.port", String.valueOf(defaults.reusePort))))
+            .withTcpNoDelay(Boolean.parseBoolean(properties.getProperty("server.agent.tcp.nodelay", String.valueOf(defaults.tcpNoDelay))))
+            .withBacklog(Integer.parseInt(properties.getProperty("server.agent.backlog", String.valueOf(defaults.backlog))))
+            .withTcpFastOpen(Integer.parseInt(properties.getProperty("server.agent.tcp.fastopen", String.valueOf(defaults.tcpFastOpen))))
+            .withTransport(AgentOptions.Transport.valueOf(properties.getProperty("server.agent.transport", defaults.transport.name()).trim()))
+            .withWriteBufferWaterMark(
+                    Integer.parseInt(properties.getProperty("server.agent.write.buffer.low", String.valueOf(defaults.writeBufferLowWaterMark))),
+                    Integer.parseInt(properties.getProperty("server.agent.write.buffer.high", String.valueOf(defaults.writeBufferHighWaterMark))));
+  }
 
-    this.sizing = new Sizing(processorPoolSize, dispatcherPoolSize, maxBufferPoolSize, maxMessageSize);
-    this.timing = new Timing(probeInterval, probeTimeout, requestMissingContentTimeout);
+  /**
+   * Answer the {@code AdmissionControl} configured by the {@code server.admission} keys of
+   * the {@code properties}, which is {@code AdmissionControl.None} unless a maximum is given.
+   * @param properties the Properties holding the configuration
+   * @return AdmissionControl
+   */
+  static AdmissionControl admissionControlOf(final Properties properties) {
+    final int maximumInFlight = Integer.parseInt(properties.getProperty("server.admission.max.inflight", "0"));
+    if (maximumInFlight <= 0) {
+      return AdmissionControl.None;
+    }
+    AdmissionControl admissionControl = AdmissionControl.limitedTo(maximumInFlight)
+            .withRetryAfter(Integer.parseInt(properties.getProperty("server.admission.retry.after", String.valueOf(AdmissionControl.DefaultRetryAfter))));
+    if (Boolean.parseBoolean(properties.getProperty("server.admission.adaptive", "false"))) {
+      final int minimumLimit = Integer.parseInt(properties.getProperty("server.admission.min.limit", "1"));
+      final long targetLatency = Long.parseLong(properties.getProperty("server.admission.target.latency", "100"));
+      admissionControl = admissionControl.withAdaptiveLimit(minimumLimit, targetLatency);
+    }
+    final String exempt = properties.getProperty("server.admission.exempt", "").trim();
+    if (!exempt.isEmpty()) {
+      admissionControl = admissionControl.exempting(exempt.split("\\s*,\\s*"));
+    }
+    return admissionControl;
   }
 
   public static class Sizing {
+    public static final int DefaultMaxMissingContentRequests = 10_000;
+
     public final int processorPoolSize;
     public final int dispatcherPoolSize;
+    public final Elasticity dispatcherPoolElasticity;
     public final int maxBufferPoolSize;
     public final int maxMessageSize;
+    public final AdmissionControl admissionControl;
+    public final int maxMissingContentRequests;
+    public final HeaderLimits headerLimits;
+    public final BodyLimits bodyLimits;
 
     public Sizing(final int processorPoolSize, final int dispatcherPoolSize, final int maxBufferPoolSize, final int maxMessageSize) {
-      this.processorPoolSize = processorPoolSize;
-      this.dispatcherPoolSize = dispatcherPoolSize;
-      this.maxBufferPoolSize = maxBufferPoolSize;
-      this.maxMessageSize = maxMessageSize;
+      this(processorPoolSize, dispatcherPoolSize, Elasticity.None, maxBufferPoolSize, maxMessageSize, AdmissionControl.None, DefaultMaxMissingContentRequests, HeaderLimits.define(), BodyLimits.define());
     }
 
     public static Sizing define() {
@@ -112,19 +231,68 @@ public class Configuration {
     }
 
     public Sizing withProcessorPoolSize(final int processorPoolSize) {
-      return new Sizing(processorPoolSize, this.dispatcherPoolSize, this.maxBufferPoolSize, this.maxMessageSize);
+      return new Sizing(processorPoolSize, this.dispatcherPoolSize, this.dispatcherPoolElasticity, this.maxBufferPoolSize, this.maxMessageSize, this.admissionControl, this.maxMissingContentRequests, this.headerLimits, this.bodyLimits);
     }
 
     public Sizing withDispatcherPoolSize(final int dispatcherPoolSize) {
-      return new Sizing(this.processorPoolSize, dispatcherPoolSize, this.maxBufferPoolSize, this.maxMessageSize);
+      return new Sizing(this.processorPoolSize, dispatcherPoolSize, this.dispatcherPoolElasticity, this.maxBufferPoolSize, this.maxMessageSize, this.admissionControl, this.maxMissingContentRequests, this.headerLimits, this.bodyLimits);
+    }
+
+    public Sizing withDispatcherPoolElasticity(final Elasticity dispatcherPoolElasticity) {
+      return new Sizing(this.processorPoolSize, this.dispatcherPoolSize, dispatcherPoolElasticity, this.maxBufferPoolSize, this.maxMessageSize, this.admissionControl, this.maxMissingContentRequests, this.headerLimits, this.bodyLimits);
     }
 
     public Sizing withMaxBufferPoolSize(final int maxBufferPoolSize) {
-      return new Sizing(this.processorPoolSize, this.dispatcherPoolSize, maxBufferPoolSize, this.maxMessageSize);
+      return new Sizing(this.processorPoolSize, this.dispatcherPoolSize, this.dispatcherPoolElasticity, maxBufferPoolSize, this.maxMessageSize, this.admissionControl, this.maxMissingContentRequests, this.headerLimits, this.bodyLimits);
     }
 
     public Sizing withMaxMessageSize(final int maxMessageSize) {
-      return new Sizing(this.processorPoolSize, this.dispatcherPoolSize, this.maxBufferPoolSize, maxMessageSize);
+      return new Sizing(this.processorPoolSize, this.dispatcherPoolSize, this.dispatcherPoolElasticity, this.maxBufferPoolSize, maxMessageSize, this.admissionControl, this.maxMissingContentRequests, this.headerLimits, this.bodyLimits);
+    }
+
+    public Sizing withAdmissionControl(final AdmissionControl admissionControl) {
+      return new Sizing(this.processorPoolSize, this.dispatcherPoolSize, this.dispatcherPoolElasticity, this.maxBufferPoolSize, this.maxMessageSize, admissionControl, this.maxMissingContentRequests, this.headerLimits, this.bodyLimits);
+    }
+
+    /**
+     * Answer a copy of me that closes connections beyond {@code maxMissingContentRequests}
+     * whose requests are still missing content, protecting against slow senders. The limit
+     * of 0 is unbounded.
+     * @param maxMissingContentRequests the int maximum number of incomplete requests
+     * @return Sizing
+     */
+    public Sizing withMaxMissingContentRequests(final int maxMissingContentRequests) {
+      return new Sizing(this.processorPoolSize, this.dispatcherPoolSize, this.dispatcherPoolElasticity, this.maxBufferPoolSize, this.maxMessageSize, this.admissionControl, maxMissingContentRequests, this.headerLimits, this.bodyLimits);
+    }
+
+    /**
+     * Answer a copy of me whose requests are held to the {@code headerLimits}.
+     * @param headerLimits the HeaderLimits of the request line and headers
+     * @return Sizing
+     */
+    public Sizing withHeaderLimits(final HeaderLimits headerLimits) {
+      return new Sizing(this.processorPoolSize, this.dispatcherPoolSize, this.dispatcherPoolElasticity, this.maxBufferPoolSize, this.maxMessageSize, this.admissionControl, this.maxMissingContentRequests, headerLimits, this.bodyLimits);
+    }
+
+    /**
+     * Answer a copy of me whose request bodies are limited and spooled by the {@code bodyLimits}.
+     * @param bodyLimits the BodyLimits of request bodies
+     * @return Sizing
+     */
+    public Sizing withBodyLimits(final BodyLimits bodyLimits) {
+      return new Sizing(this.processorPoolSize, this.dispatcherPoolSize, this.dispatcherPoolElasticity, this.maxBufferPoolSize, this.maxMessageSize, this.admissionControl, this.maxMissingContentRequests, this.headerLimits, bodyLimits);
+    }
+
+    private Sizing(final int processorPoolSize, final int dispatcherPoolSize, final Elasticity dispatcherPoolElasticity, final int maxBufferPoolSize, final int maxMessageSize, final AdmissionControl admissionControl, final int maxMissingContentRequests, final HeaderLimits headerLimits, final BodyLimits bodyLimits) {
+      this.processorPoolSize = processorPoolSize;
+      this.dispatcherPoolSize = dispatcherPoolSize;
+      this.dispatcherPoolElasticity = dispatcherPoolElasticity;
+      this.maxBufferPoolSize = maxBufferPoolSize;
+      this.maxMessageSize = maxMessageSize;
+      this.admissionControl = admissionControl;
+      this.maxMissingContentRequests = maxMissingContentRequests;
+      this.headerLimits = headerLimits;
+      this.bodyLimits = bodyLimits;
     }
   }
 
@@ -132,11 +300,23 @@ public class Configuration {
     public final long probeInterval;
     public final long probeTimeout;
     public final long requestMissingContentTimeout;
+    public final long requestDeadline;
+    public final long requestHeaderTimeout;
 
     public Timing(final long probeInterval, final long probeTimeout, final long requestMissingContentTimeout) {
+      this(probeInterval, probeTimeout, requestMissingContentTimeout, 0);
+    }
+
+    public Timing(final long probeInterval, final long probeTimeout, final long requestMissingContentTimeout, final long requestDeadline) {
+      this(probeInterval, probeTimeout, requestMissingContentTimeout, requestDeadline, 0);
+    }
+
+    public Timing(final long probeInterval, final long probeTimeout, final long requestMissingContentTimeout, final long requestDeadline, final long requestHeaderTimeout) {
       this.probeInterval = probeInterval;
       this.probeTimeout = probeTimeout;
       this.requestMissingContentTimeout = requestMissingContentTimeout;
+      this.requestDeadline = requestDeadline;
+      this.requestHeaderTimeout = requestHeaderTimeout;
     }
 
     public static Timing define() {
@@ -151,15 +331,38 @@ public class Configuration {
     }
 
     public Timing withProbeInterval(final int probeInterval) {
-      return new Timing(probeInterval, this.probeTimeout, this.requestMissingContentTimeout);
+      return new Timing(probeInterval, this.probeTimeout, this.requestMissingContentTimeout, this.requestDeadline, this.requestHeaderTimeout);
     }
 
     public Timing withProbeTimeout(final int probeTimeout) {
-      return new Timing(this.probeInterval, probeTimeout, this.requestMissingContentTimeout);
+      return new Timing(this.probeInterval, probeTimeout, this.requestMissingContentTimeout, this.requestDeadline, this.requestHeaderTimeout);
     }
 
     public Timing withRequestMissingContentTimeout(final long requestMissingContentTimeout) {
-      return new Timing(this.probeInterval, this.probeTimeout, requestMissingContentTimeout);
+      return new Timing(this.probeInterval, this.probeTimeout, requestMissingContentTimeout, this.requestDeadline, this.requestHeaderTimeout);
+    }
+
+    /**
+     * Answer a copy of me by which each request must be answered within {@code requestDeadline}
+     * milliseconds of its arrival, or else with {@code GatewayTimeout}. The default of 0 sets
+     * no deadline other than those of routes and clients.
+     * @param requestDeadline the long number of milliseconds
+     * @return Timing
+     */
+    public Timing withRequestDeadline(final long requestDeadline) {
+      return new Timing(this.probeInterval, this.probeTimeout, this.requestMissingContentTimeout, requestDeadline, this.requestHeaderTimeout);
+    }
+
+    /**
+     * Answer a copy of me by which the request line and headers of each request must be
+     * received within {@code requestHeaderTimeout} milliseconds, however steadily they
+     * trickle in, or else the request is answered with {@code RequestTimeout} and its
+     * connection closed. The default of 0 sets no such time limit.
+     * @param requestHeaderTimeout the long number of milliseconds
+     * @return Timing
+     */
+    public Timing withRequestHeaderTimeout(final long requestHeaderTimeout) {
+      return new Timing(this.probeInterval, this.probeTimeout, this.requestMissingContentTimeout, this.requestDeadline, requestHeaderTimeout);
     }
   }
 }
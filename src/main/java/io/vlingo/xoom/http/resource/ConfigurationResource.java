@@ -137,6 +137,11 @@ public abstract class ConfigurationResource<T> extends Resource<T> {
     }
   }
 
+  @Override
+  List<Action> actions() {
+    return actions;
+  }
+
   @Override
   MatchResults matchWith(final Method method, final URI uri) {
     for (final Action action : actions) {
@@ -12,6 +12,7 @@ import io.vlingo.xoom.actors.Definition;
 import io.vlingo.xoom.actors.Stage;
 import io.vlingo.xoom.actors.Stoppable;
 import io.vlingo.xoom.http.Context;
+import io.vlingo.xoom.http.resource.SelectionStrategy.Selection;
 
 /**
  * The protocol provided by {@code Server} request dispatchers, such as {@code DispatcherActor}.
@@ -45,15 +46,23 @@ public interface Dispatcher extends Stoppable {
   static class DispatcherInstantiator implements ActorInstantiator<DispatcherActor> {
     private static final long serialVersionUID = 9025560076715268682L;
 
+    private final int poolIndex;
     private final Resources resources;
+    private final Selection selection;
 
     public DispatcherInstantiator(final Resources resources) {
+      this(resources, null, -1);
+    }
+
+    public DispatcherInstantiator(final Resources resources, final Selection selection, final int poolIndex) {
       this.resources = resources;
+      this.selection = selection;
+      this.poolIndex = poolIndex;
     }
 
     @Override
     public DispatcherActor instantiate() {
-      return new DispatcherActor(resources);
+      return new DispatcherActor(resources, selection, poolIndex);
     }
 
     @Override
@@ -2,20 +2,37 @@ package io.vlingo.xoom.http.resource;
 
 import io.vlingo.xoom.actors.Actor;
 import io.vlingo.xoom.http.Context;
+import io.vlingo.xoom.http.Response;
+import io.vlingo.xoom.http.resource.SelectionStrategy.Selection;
 
 /**
  * An {@code Actor} implementation of the {@code Dispatcher} for
  * non-blocking, asynchronous request dispatching.
  */
 public class DispatcherActor extends Actor implements Dispatcher {
+  private final int poolIndex;
   private final Resources resources;
+  private final Selection selection;
 
   /**
    * Constructs my state.
    * @param resources the Resources I manage and to which I dispatch when matched
    */
   public DispatcherActor(final Resources resources) {
+    this(resources, null, -1);
+  }
+
+  /**
+   * Constructs my state, telling the {@code selection} of my pool when each
+   * request is dispatched.
+   * @param resources the Resources I manage and to which I dispatch when matched
+   * @param selection the Selection of my pool, or null if none
+   * @param poolIndex the int index of me in my pool
+   */
+  public DispatcherActor(final Resources resources, final Selection selection, final int poolIndex) {
     this.resources = resources;
+    this.selection = selection;
+    this.poolIndex = poolIndex;
 
     allocateHandlerPools();
   }
@@ -25,7 +42,18 @@ public class DispatcherActor extends Actor implements Dispatcher {
    */
   @Override
   public void dispatchFor(final Context context) {
-    resources.dispatchMatching(context, logger());
+    try {
+      if (context.deadline().hasExpired()) {
+        // already answered with GatewayTimeout while queued, so only what it holds is released
+        context.completes.with(Response.of(Response.Status.GatewayTimeout));
+      } else {
+        resources.dispatchMatching(context, logger());
+      }
+    } finally {
+      if (selection != null) {
+        selection.completed(poolIndex);
+      }
+    }
   }
 
   /**
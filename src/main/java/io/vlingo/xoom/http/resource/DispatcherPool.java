@@ -7,7 +7,10 @@
 
 package io.vlingo.xoom.http.resource;
 
+import io.vlingo.xoom.actors.Definition;
 import io.vlingo.xoom.actors.Stage;
+import io.vlingo.xoom.http.resource.Dispatcher.DispatcherInstantiator;
+import io.vlingo.xoom.http.resource.SelectionStrategy.Selection;
 
 /**
  * A pool of {@code Dispatcher} instances.
@@ -25,24 +28,55 @@ public interface DispatcherPool {
   Dispatcher dispatcher();
 
   /**
-   * Default behavior for all {@code DispatcherPool} implementations.
+   * Answer the current number of {@code Dispatcher} instances in my pool.
+   * @return int
+   */
+  int size();
+
+  /**
+   * Default behavior for all {@code DispatcherPool} implementations, which select
+   * a {@code Dispatcher} for each request by way of a counter per thread, and grow
+   * and shrink within the bounds of an {@code Elasticity}.
    */
   static abstract class AbstractDispatcherPool implements DispatcherPool {
-    protected final Dispatcher[] dispatcherPool;
+    private final ElasticPool<Dispatcher> dispatcherPool;
 
     protected AbstractDispatcherPool(final Stage stage, final Resources resources, final int dispatcherPoolSize) {
-      this.dispatcherPool = new Dispatcher[dispatcherPoolSize];
+      this(stage, resources, dispatcherPoolSize, Elasticity.None);
+    }
+
+    protected AbstractDispatcherPool(final Stage stage, final Resources resources, final int dispatcherPoolSize, final Elasticity elasticity) {
+      this.dispatcherPool =
+        new ElasticPool<>(dispatcherPoolSize, elasticity, SelectionStrategy.stripedRoundRobin(), new ElasticPool.Members<Dispatcher>() {
+          @Override
+          public Dispatcher memberFor(final Selection pool, final int index) {
+            return stage.actorFor(
+                    Dispatcher.class,
+                    Definition.has(DispatcherActor.class, new DispatcherInstantiator(resources, pool, index)));
+          }
+
+          @Override
+          public void retire(final Dispatcher member) {
+            member.stop();
+          }
+        });
 
-      for (int idx = 0; idx < dispatcherPoolSize; ++idx) {
-        dispatcherPool[idx] = Dispatcher.startWith(stage, resources);
-      }
+      this.dispatcherPool.scheduleIdleCheckWith(stage.scheduler());
     }
 
     @Override
     public void close() {
-      for (final Dispatcher dispatcher : dispatcherPool) {
-        dispatcher.stop();
-      }
+      dispatcherPool.close();
+    }
+
+    @Override
+    public Dispatcher dispatcher() {
+      return dispatcherPool.next();
+    }
+
+    @Override
+    public int size() {
+      return dispatcherPool.size();
     }
   }
 }
@@ -18,6 +18,8 @@ import io.vlingo.xoom.actors.Logger;
 import io.vlingo.xoom.actors.Stage;
 import io.vlingo.xoom.http.Context;
 import io.vlingo.xoom.http.Method;
+import io.vlingo.xoom.http.Response;
+import io.vlingo.xoom.http.Response.Status;
 
 public class DynamicResource extends Resource<ResourceHandler> {
   final DynamicResourceHandler dynamicResourceHandler;
@@ -47,12 +49,30 @@ public class DynamicResource extends Resource<ResourceHandler> {
     try {
       final RequestHandler handler = handlers.get(mappedParameters.actionId);
       if (dynamicResourceHandler != null) dynamicResourceHandler.context(context);
+      if (handler.deadline > 0) context.deadline().resetTo(handler.deadline);
       pooledHandler().handleFor(context, mappedParameters, handler);
     } catch (Exception e) {
       throw new IllegalArgumentException("Action mismatch: Request: " + context.request + "Parameters: " + mappedParameters);
     }
   }
 
+  @Override
+  void dispatchInlineWith(final Context context, final Action.MappedParameters mappedParameters, final Logger logger) {
+    final RequestHandler handler = handlers.get(mappedParameters.actionId);
+    if (dynamicResourceHandler != null) dynamicResourceHandler.context(context);
+    if (handler.deadline > 0) context.deadline().resetTo(handler.deadline);
+    if (handler.blocking && VirtualThreads.isSupported()) {
+      VirtualThreads.execute(() -> handleWith(handler, context, mappedParameters, logger));
+    } else {
+      handleWith(handler, context, mappedParameters, logger);
+    }
+  }
+
+  @Override
+  List<Action> actions() {
+    return actions;
+  }
+
   @Override
   Action.MatchResults matchWith(final Method method, final URI uri) {
     for (final Action action : actions) {
@@ -64,6 +84,36 @@ public class DynamicResource extends Resource<ResourceHandler> {
     return Action.unmatchedResults;
   }
 
+  @Override
+  boolean streamsBody() {
+    for (final RequestHandler handler : handlers) {
+      if (handler.streamsBody) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  @Override
+  boolean streamsBodyWith(final Action action) {
+    return handlers.get(action.id).streamsBody;
+  }
+
+  @Override
+  boolean dispatchesInline() {
+    for (final RequestHandler handler : handlers) {
+      if (dispatchesInline(handler)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  @Override
+  boolean dispatchesInlineWith(final Action action) {
+    return dispatchesInline(handlers.get(action.id));
+  }
+
   @Override
   protected void log(final Logger logger) {
     logger.info("Resource: " + name);
@@ -89,6 +139,41 @@ public class DynamicResource extends Resource<ResourceHandler> {
   }
 
 
+  private void handleWith(final RequestHandler handler, final Context context, final Action.MappedParameters mappedParameters, final Logger logger) {
+    if (context.deadline().hasExpired()) {
+      // already answered with GatewayTimeout, so only what it holds is released
+      context.completes.with(Response.of(Status.GatewayTimeout));
+      return;
+    }
+    try {
+      handler
+        .execute(context.request, mappedParameters, logger)
+        .andThen(outcome -> respondWith(context, outcome))
+        .otherwise((Response failure) -> respondWith(context, failure))
+        .recoverFrom(exception -> Response.of(Status.BadRequest, exception.getMessage()))
+        .andFinally();
+    } catch (Error throwable) {
+      logger.error("Error thrown by inline resource dispatcher", throwable);
+      context.completes.with(Response.of(Status.InternalServerError));
+    } catch (RuntimeException exception) {
+      logger.error("Runtime thrown by inline resource dispatcher", exception);
+      context.completes.with(Response.of(Status.InternalServerError));
+    }
+  }
+
+  /**
+   * Answer whether or not the {@code handler} is dispatched without actors, being
+   * either handled inline or handled on a virtual thread of its own.
+   */
+  private boolean dispatchesInline(final RequestHandler handler) {
+    return handler.inline || (handler.blocking && VirtualThreads.isSupported());
+  }
+
+  private Response respondWith(final Context context, final Response response) {
+    context.completes.with(response);
+    return response;
+  }
+
   private List<RequestHandler> sortHandlersBySlashes(List<RequestHandler> unsortedHandlers) {
     return unsortedHandlers
       .stream()
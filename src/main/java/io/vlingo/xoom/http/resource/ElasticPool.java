@@ -0,0 +1,247 @@
+// Copyright © 2012-2021 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.http.resource;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import io.vlingo.xoom.common.Cancellable;
+import io.vlingo.xoom.common.Scheduled;
+import io.vlingo.xoom.common.Scheduler;
+import io.vlingo.xoom.http.resource.SelectionStrategy.Selection;
+import io.vlingo.xoom.http.resource.SelectionStrategy.Selector;
+
+/**
+ * A pool of actors that grows and shrinks within the bounds of its {@code Elasticity},
+ * selecting a member for each request by way of a {@code SelectionStrategy}. Each member
+ * must tell me when it has completed handling a request, since the number of outstanding
+ * requests is the depth of the mailboxes of my members. A member is stopped only once it
+ * has been retired and has completed all of its outstanding requests.
+ * <p>
+ * I grow and shrink as members are selected, and also shrink while no member is selected
+ * once my idle check is scheduled by way of {@code scheduleIdleCheckWith()}. Otherwise an
+ * idle pool keeps its size until its next request.
+ * <p>
+ * Pools without elasticity keep no counts of their own.
+ *
+ * @param <T> the protocol of my members
+ */
+final class ElasticPool<T> implements Selection, Scheduled<Object> {
+  private static final long MinimumIdleCheckInterval = 100L;
+
+  private final boolean elastic;
+  private final Elasticity elasticity;
+  private final long shrinkAfterIdleNanos;
+  private final int maximum;
+  private final Members<T> members;
+  private final int minimum;
+  private final AtomicIntegerArray outstanding;
+  private final AtomicReferenceArray<T> pool;
+  private final Selector selector;
+  private final AtomicInteger totalOutstanding;
+
+  private boolean closed;
+  private Cancellable idleCheck;
+  private volatile long lastBusyAt;
+  private volatile int size;
+
+  /**
+   * Constructs my state and creates my initial {@code poolSize} members.
+   * @param poolSize the int initial and minimum number of my members
+   * @param elasticity the Elasticity within which I grow and shrink
+   * @param selectionStrategy the SelectionStrategy by which my members are selected
+   * @param members the {@code Members<T>} that create and retire my members
+   */
+  ElasticPool(final int poolSize, final Elasticity elasticity, final SelectionStrategy selectionStrategy, final Members<T> members) {
+    this.minimum = poolSize;
+    this.maximum = elasticity.maximumFor(poolSize);
+    this.elastic = maximum > minimum;
+    this.elasticity = elasticity;
+    this.shrinkAfterIdleNanos = TimeUnit.MILLISECONDS.toNanos(elasticity.shrinkAfterIdle);
+    this.members = members;
+    this.outstanding = elastic ? new AtomicIntegerArray(maximum) : null;
+    this.pool = new AtomicReferenceArray<>(maximum);
+    this.selector = selectionStrategy.selectorFor(maximum);
+    this.totalOutstanding = new AtomicInteger(0);
+
+    for (int index = 0; index < minimum; ++index) {
+      pool.set(index, members.memberFor(this, index));
+    }
+
+    this.selector.resizeTo(minimum);
+    this.size = minimum;
+    this.lastBusyAt = System.nanoTime();
+  }
+
+  /**
+   * Answer the member selected to handle the next request.
+   * @return T
+   */
+  T next() {
+    return pool.get(select());
+  }
+
+  /**
+   * Answer my current number of members.
+   * @return int
+   */
+  int size() {
+    return size;
+  }
+
+  /**
+   * Check whether I am to shrink every {@code shrinkAfterIdle} milliseconds, or at
+   * least every {@code MinimumIdleCheckInterval}, by way of the {@code scheduler}, so
+   * that I shrink even while no member is selected. Without elasticity nothing is scheduled.
+   * @param scheduler the Scheduler of my idle check
+   */
+  synchronized void scheduleIdleCheckWith(final Scheduler scheduler) {
+    if (!elastic || closed || idleCheck != null) return;
+
+    final long interval = Math.max(elasticity.shrinkAfterIdle, MinimumIdleCheckInterval);
+    idleCheck = scheduler.schedule(this, null, interval, interval);
+  }
+
+  /**
+   * Retire all of my members, after which I neither grow nor shrink.
+   */
+  synchronized void close() {
+    closed = true;
+    if (idleCheck != null) {
+      idleCheck.cancel();
+    }
+    for (int index = 0; index < maximum; ++index) {
+      final T member = pool.get(index);
+      if (member != null) {
+        members.retire(member);
+      }
+    }
+  }
+
+  /*
+   * @see io.vlingo.xoom.http.resource.SelectionStrategy.Selection#select()
+   */
+  @Override
+  public int select() {
+    if (!elastic) {
+      return selector.select();
+    }
+
+    while (true) {
+      final int index = selector.select();
+      outstanding.incrementAndGet(index);
+      // counted before the size is read, so that a concurrent shrink will not retire it
+      if (index < size) {
+        adjustFor(totalOutstanding.incrementAndGet());
+        return index;
+      }
+      outstanding.decrementAndGet(index);
+      selector.completed(index);
+    }
+  }
+
+  /*
+   * @see io.vlingo.xoom.http.resource.SelectionStrategy.Selection#completed(int)
+   */
+  @Override
+  public void completed(final int index) {
+    selector.completed(index);
+
+    if (elastic) {
+      totalOutstanding.decrementAndGet();
+      if (outstanding.decrementAndGet(index) == 0 && index >= size) {
+        retireIfIdle(index);
+      }
+    }
+  }
+
+  /*
+   * Shrink me if I have not been busy, without a member being selected.
+   * @see io.vlingo.xoom.common.Scheduled#intervalSignal(io.vlingo.xoom.common.Scheduled, java.lang.Object)
+   */
+  @Override
+  public void intervalSignal(final Scheduled<Object> scheduled, final Object data) {
+    if (elastic) {
+      adjustFor(totalOutstanding.get());
+    }
+  }
+
+  private void adjustFor(final int total) {
+    final int current = size;
+
+    // busy while there are more outstanding requests than members
+    if (total > current) {
+      lastBusyAt = System.nanoTime();
+      if (total > current * elasticity.growThreshold && current < maximum) {
+        grow();
+      }
+    } else if (current > minimum && System.nanoTime() - lastBusyAt > shrinkAfterIdleNanos) {
+      shrink();
+    }
+  }
+
+  private synchronized void grow() {
+    final int current = size;
+    if (current < maximum && !closed) {
+      // a retired member that has not yet completed its requests is kept
+      if (pool.get(current) == null) {
+        pool.set(current, members.memberFor(this, current));
+      }
+      size = current + 1;
+      selector.resizeTo(current + 1);
+    }
+  }
+
+  private synchronized void shrink() {
+    final int current = size;
+    if (current > minimum && !closed) {
+      final int retired = current - 1;
+      size = retired;
+      selector.resizeTo(retired);
+      lastBusyAt = System.nanoTime();
+      retireIfIdle(retired);
+    }
+  }
+
+  private synchronized void retireIfIdle(final int index) {
+    if (index >= size && outstanding.get(index) == 0 && !closed) {
+      final T member = pool.getAndSet(index, null);
+      if (member != null) {
+        members.retire(member);
+      }
+    }
+  }
+
+  //=====================================
+  // Members
+  //=====================================
+
+  /**
+   * Creates and retires the members of an {@code ElasticPool}.
+   *
+   * @param <T> the protocol of the members
+   */
+  interface Members<T> {
+    /**
+     * Answer a new member at {@code index} of the {@code pool}, which the member
+     * tells when it has completed each request.
+     * @param pool the Selection to tell of completed requests
+     * @param index the int index of the member
+     * @return T
+     */
+    T memberFor(final Selection pool, final int index);
+
+    /**
+     * Retire the {@code member}, which has no outstanding requests.
+     * @param member the T member to retire
+     */
+    void retire(final T member);
+  }
+}
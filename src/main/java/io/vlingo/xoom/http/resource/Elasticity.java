@@ -0,0 +1,81 @@
+// Copyright © 2012-2021 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.http.resource;
+
+/**
+ * The bounds within which a pool of actors, such as the handler pool of a {@code Resource}
+ * or the {@code DispatcherPool}, grows beyond its configured size and shrinks back to it.
+ * A pool grows by one member whenever its outstanding requests exceed {@code growThreshold}
+ * per member, up to {@code maximumPoolSize}, and shrinks by one member once it has not been
+ * busy for {@code shrinkAfterIdle} milliseconds, down to its configured size.
+ */
+public final class Elasticity {
+  public static final int DefaultGrowThreshold = 4;
+  public static final long DefaultShrinkAfterIdle = 10_000L;
+
+  /**
+   * The {@code Elasticity} of pools that keep their configured size.
+   */
+  public static final Elasticity None = new Elasticity(0, DefaultGrowThreshold, DefaultShrinkAfterIdle);
+
+  public final int maximumPoolSize;
+  public final int growThreshold;
+  public final long shrinkAfterIdle;
+
+  /**
+   * Answer the {@code Elasticity} of pools that grow up to {@code maximumPoolSize}.
+   * @param maximumPoolSize the int maximum number of members of the pool
+   * @return Elasticity
+   */
+  public static Elasticity upTo(final int maximumPoolSize) {
+    return new Elasticity(maximumPoolSize, DefaultGrowThreshold, DefaultShrinkAfterIdle);
+  }
+
+  /**
+   * Answer a copy of me that grows when outstanding requests exceed {@code growThreshold}
+   * per member.
+   * @param growThreshold the int number of outstanding requests per member
+   * @return Elasticity
+   */
+  public Elasticity withGrowThreshold(final int growThreshold) {
+    return new Elasticity(this.maximumPoolSize, growThreshold, this.shrinkAfterIdle);
+  }
+
+  /**
+   * Answer a copy of me that shrinks after {@code shrinkAfterIdle} milliseconds without
+   * being busy.
+   * @param shrinkAfterIdle the long number of milliseconds
+   * @return Elasticity
+   */
+  public Elasticity withShrinkAfterIdle(final long shrinkAfterIdle) {
+    return new Elasticity(this.maximumPoolSize, this.growThreshold, shrinkAfterIdle);
+  }
+
+  /**
+   * Answer the maximum size of a pool configured with {@code poolSize} members.
+   * @param poolSize the int configured number of members of the pool
+   * @return int
+   */
+  public int maximumFor(final int poolSize) {
+    return Math.max(poolSize, maximumPoolSize);
+  }
+
+  @Override
+  public String toString() {
+    return "Elasticity[maximumPoolSize=" + maximumPoolSize + " growThreshold=" + growThreshold + " shrinkAfterIdle=" + shrinkAfterIdle + "]";
+  }
+
+  private Elasticity(final int maximumPoolSize, final int growThreshold, final long shrinkAfterIdle) {
+    if (growThreshold < 1) {
+      throw new IllegalArgumentException("Grow threshold must be at least 1: " + growThreshold);
+    }
+    this.maximumPoolSize = maximumPoolSize;
+    this.growThreshold = growThreshold;
+    this.shrinkAfterIdle = shrinkAfterIdle;
+  }
+}
@@ -144,6 +144,8 @@ public class Loader {
     final String handlerPoolKey = "resource." + resourceName + ".pool";
     final int maybeHandlerPoolSize = Integer.parseInt(properties.getProperty(handlerPoolKey, "1"));
     final int handlerPoolSize = maybeHandlerPoolSize <= 0 ? 1 : maybeHandlerPoolSize;
+    final String selectionKey = "resource." + resourceName + ".selection";
+    final String selection = properties.getProperty(selectionKey, "roundRobin");
     final String disallowPathParametersWithSlashKey = "resource." + resourceName + ".disallowPathParametersWithSlash";
     final boolean disallowPathParametersWithSlash = Boolean.parseBoolean(properties.getProperty(disallowPathParametersWithSlashKey, "true"));
 
@@ -152,7 +154,11 @@ public class Loader {
 
       final Class<? extends ResourceHandler> resourceHandlerClass = ConfigurationResource.newResourceHandlerClassFor(resourceHandlerClassname);
 
-      return resourceFor(resourceName, resourceHandlerClass, handlerPoolSize, resourceActions);
+      final ConfigurationResource<?> resource = resourceFor(resourceName, resourceHandlerClass, handlerPoolSize, resourceActions);
+
+      resource.selectingWith(SelectionStrategy.named(selection)).elasticWith(Configuration.elasticityOf(properties, handlerPoolKey));
+
+      return resource;
     } catch (Exception e) {
       System.out.println("XOOM: Failed to load resource: " + resourceName + " because: " + e.getMessage());
       throw e;
@@ -26,11 +26,11 @@ class ParameterResolver<T> {
   @SuppressWarnings("unchecked")
   public static <T> ParameterResolver<T> path(final int position, final Class<T> paramClass) {
     return new ParameterResolver<>(Type.PATH, paramClass, (request, mappedParameters) -> {
-      Object value = mappedParameters.mapped.get(position).value;
+      Object value = mappedParameters.valueAt(position);
       if (paramClass.isInstance(value)) {
         return (T) value;
       }
-      throw new IllegalArgumentException("Value " + value + " is of mimeType " + mappedParameters.mapped.get(position).type + " instead of " + paramClass.getSimpleName());
+      throw new IllegalArgumentException("Value " + value + " is of mimeType " + mappedParameters.typeAt(position) + " instead of " + paramClass.getSimpleName());
     });
   }
 
@@ -61,6 +61,16 @@ class ParameterResolver<T> {
     }));
   }
 
+  public static ParameterResolver<RequestBodyStream> bodyStream() {
+    return new ParameterResolver<>(Type.BODY, RequestBodyStream.class, ((request, mappedParameters) -> {
+      if (request.body instanceof RequestBodyStream) {
+        return (RequestBodyStream) request.body;
+      }
+      // the body was fully received before dispatching, such as by the agent
+      return RequestBodyStream.of(request.body);
+    }));
+  }
+
   private static String bodyMediaTypeOrFallback(final Request request) {
     String assumedBodyContentType = ContentMediaType.Json().toString();
     return request.headerValueOr(RequestHeader.ContentType, assumedBodyContentType);
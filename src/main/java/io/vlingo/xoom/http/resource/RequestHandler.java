@@ -19,6 +19,7 @@ import io.vlingo.xoom.actors.Logger;
 import io.vlingo.xoom.common.Completes;
 import io.vlingo.xoom.http.Method;
 import io.vlingo.xoom.http.Request;
+import io.vlingo.xoom.http.RequestBodyStream;
 import io.vlingo.xoom.http.Response;
 
 public abstract class RequestHandler {
@@ -27,6 +28,13 @@ public abstract class RequestHandler {
   public final String actionSignature;
   public final String contentSignature;
   public final Class<?> bodyType;
+  public final boolean streamsBody;
+  // executed on a virtual thread of its own
+  boolean blocking;
+  // executed on the thread that reads the request
+  boolean inline;
+  // milliseconds after arrival by which each request must be answered, or 0 for the server's
+  long deadline;
   private final Pattern pattern = Pattern.compile("\\{(.*?)\\}");
   protected MediaTypeMapper mediaTypeMapper;
   protected ErrorHandler errorHandler;
@@ -37,6 +45,7 @@ public abstract class RequestHandler {
     this.actionSignature = generateActionSignature(parameterResolvers);
     this.contentSignature = detectRequestBodyType(parameterResolvers).map(Class::getSimpleName).orElse(null);
     this.bodyType = detectRequestBodyType(parameterResolvers).orElse(null);
+    this.streamsBody = bodyType == RequestBodyStream.class;
     this.errorHandler = DefaultErrorHandler.instance();
     this.mediaTypeMapper = DefaultMediaTypeMapper.instance();
   }
@@ -51,6 +60,7 @@ public abstract class RequestHandler {
     this.actionSignature = generateActionSignature(parameterResolvers);
     this.contentSignature = detectRequestBodyType(parameterResolvers).map(Class::getSimpleName).orElse(null);
     this.bodyType = detectRequestBodyType(parameterResolvers).orElse(null);
+    this.streamsBody = bodyType == RequestBodyStream.class;
     this.errorHandler = errorHandler;
     this.mediaTypeMapper = mediaTypeMapper;
   }
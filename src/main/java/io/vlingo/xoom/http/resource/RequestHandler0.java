@@ -14,6 +14,7 @@ import io.vlingo.xoom.common.Completes;
 import io.vlingo.xoom.http.Header;
 import io.vlingo.xoom.http.Method;
 import io.vlingo.xoom.http.Request;
+import io.vlingo.xoom.http.RequestBodyStream;
 import io.vlingo.xoom.http.Response;
 
 import java.util.Collections;
@@ -61,6 +62,39 @@ public class RequestHandler0 extends RequestHandler {
     return this;
   }
 
+  /**
+   * Execute my handler on the thread that reads the request, rather than by way of the
+   * dispatcher and handler actors. This is only for a handler that does not block.
+   * @return RequestHandler0
+   */
+  public RequestHandler0 inline() {
+    this.inline = true;
+    return this;
+  }
+
+  /**
+   * Execute my handler on a virtual thread of its own for each request, which is for
+   * a handler that blocks. On a runtime without virtual threads it is dispatched to
+   * the handler actors as usual.
+   * @return RequestHandler0
+   */
+  public RequestHandler0 blocking() {
+    this.blocking = true;
+    return this;
+  }
+
+  /**
+   * Answer each request within {@code timeoutMillis} of its arrival, or else with
+   * {@code Response.Status.GatewayTimeout}, rather than by the deadline of the server.
+   * A client may ask for an earlier deadline by way of {@code X-Request-Timeout}.
+   * @param timeoutMillis the long number of milliseconds after the arrival of each request
+   * @return RequestHandler0
+   */
+  public RequestHandler0 deadline(final long timeoutMillis) {
+    this.deadline = timeoutMillis;
+    return this;
+  }
+
   public RequestHandler0 mapper(final MediaTypeMapper mediaTypeMapper) {
     this.mediaTypeMapper = mediaTypeMapper;
     return this;
@@ -131,6 +165,16 @@ public class RequestHandler0 extends RequestHandler {
     return new RequestHandler1<>(method, path, ParameterResolver.body(paramClass, mediaTypeMapper), errorHandler, mediaTypeMapper);
   }
 
+  /**
+   * Specify that the body of the request is not buffered, but is instead delivered
+   * to the handler incrementally as a {@code RequestBodyStream} as it is read.
+   *
+   * @return {@code RequestHandler1<RequestBodyStream>}
+   */
+  public RequestHandler1<RequestBodyStream> bodyStream() {
+    return new RequestHandler1<>(method, path, ParameterResolver.bodyStream(), errorHandler, mediaTypeMapper);
+  }
+
   public RequestHandler1<String> query(final String name) {
     return query(name, String.class);
   }
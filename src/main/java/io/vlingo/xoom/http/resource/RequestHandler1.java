@@ -14,6 +14,7 @@ import io.vlingo.xoom.common.Completes;
 import io.vlingo.xoom.http.Header;
 import io.vlingo.xoom.http.Method;
 import io.vlingo.xoom.http.Request;
+import io.vlingo.xoom.http.RequestBodyStream;
 import io.vlingo.xoom.http.Response;
 
 import java.util.Collections;
@@ -73,6 +74,39 @@ public class RequestHandler1<T> extends RequestHandler {
     return this;
   }
 
+  /**
+   * Execute my handler on the thread that reads the request, rather than by way of the
+   * dispatcher and handler actors. This is only for a handler that does not block.
+   * @return {@code RequestHandler1<T>}
+   */
+  public RequestHandler1<T> inline() {
+    this.inline = true;
+    return this;
+  }
+
+  /**
+   * Execute my handler on a virtual thread of its own for each request, which is for
+   * a handler that blocks. On a runtime without virtual threads it is dispatched to
+   * the handler actors as usual.
+   * @return {@code RequestHandler1<T>}
+   */
+  public RequestHandler1<T> blocking() {
+    this.blocking = true;
+    return this;
+  }
+
+  /**
+   * Answer each request within {@code timeoutMillis} of its arrival, or else with
+   * {@code Response.Status.GatewayTimeout}, rather than by the deadline of the server.
+   * A client may ask for an earlier deadline by way of {@code X-Request-Timeout}.
+   * @param timeoutMillis the long number of milliseconds after the arrival of each request
+   * @return {@code RequestHandler1<T>}
+   */
+  public RequestHandler1<T> deadline(final long timeoutMillis) {
+    this.deadline = timeoutMillis;
+    return this;
+  }
+
   Completes<Response> execute(final Request request, final T param1, final Logger logger) {
     final Supplier<Completes<Response>> exec = () ->
       executor.execute(request, param1, mediaTypeMapper, errorHandler, logger);
@@ -142,6 +176,17 @@ public class RequestHandler1<T> extends RequestHandler {
                                  errorHandler, mediaTypeMapper);
   }
 
+  /**
+   * Specify that the body of the request is not buffered, but is instead delivered
+   * to the handler incrementally as a {@code RequestBodyStream} as it is read.
+   *
+   * @return {@code RequestHandler2<T, RequestBodyStream>}
+   */
+  public RequestHandler2<T, RequestBodyStream> bodyStream() {
+    return new RequestHandler2<>(method, path, resolver, ParameterResolver.bodyStream(),
+                                 errorHandler, mediaTypeMapper);
+  }
+
   public RequestHandler2<T, String> query(final String name) {
     return query(name, String.class);
   }
@@ -17,6 +17,7 @@ import io.vlingo.xoom.common.Completes;
 import io.vlingo.xoom.http.Header;
 import io.vlingo.xoom.http.Method;
 import io.vlingo.xoom.http.Request;
+import io.vlingo.xoom.http.RequestBodyStream;
 import io.vlingo.xoom.http.Response;
 
 public class RequestHandler2<T, R> extends RequestHandler {
@@ -83,6 +84,39 @@ public class RequestHandler2<T, R> extends RequestHandler {
     return this;
   }
 
+  /**
+   * Execute my handler on the thread that reads the request, rather than by way of the
+   * dispatcher and handler actors. This is only for a handler that does not block.
+   * @return {@code RequestHandler2<T, R>}
+   */
+  public RequestHandler2<T, R> inline() {
+    this.inline = true;
+    return this;
+  }
+
+  /**
+   * Execute my handler on a virtual thread of its own for each request, which is for
+   * a handler that blocks. On a runtime without virtual threads it is dispatched to
+   * the handler actors as usual.
+   * @return {@code RequestHandler2<T, R>}
+   */
+  public RequestHandler2<T, R> blocking() {
+    this.blocking = true;
+    return this;
+  }
+
+  /**
+   * Answer each request within {@code timeoutMillis} of its arrival, or else with
+   * {@code Response.Status.GatewayTimeout}, rather than by the deadline of the server.
+   * A client may ask for an earlier deadline by way of {@code X-Request-Timeout}.
+   * @param timeoutMillis the long number of milliseconds after the arrival of each request
+   * @return {@code RequestHandler2<T, R>}
+   */
+  public RequestHandler2<T, R> deadline(final long timeoutMillis) {
+    this.deadline = timeoutMillis;
+    return this;
+  }
+
   @Override
   public Completes<Response> execute(final Request request,
                                      final Action.MappedParameters mappedParameters,
@@ -146,6 +180,17 @@ public class RequestHandler2<T, R> extends RequestHandler {
       ParameterResolver.body(bodyClass, mediaTypeMapper), errorHandler, mediaTypeMapper);
   }
 
+  /**
+   * Specify that the body of the request is not buffered, but is instead delivered
+   * to the handler incrementally as a {@code RequestBodyStream} as it is read.
+   *
+   * @return {@code RequestHandler3<T, R, RequestBodyStream>}
+   */
+  public RequestHandler3<T, R, RequestBodyStream> bodyStream() {
+    return new RequestHandler3<>(method, path, resolverParam1, resolverParam2,
+      ParameterResolver.bodyStream(), errorHandler, mediaTypeMapper);
+  }
+
   public RequestHandler3<T, R, String> query(final String name) {
     return query(name, String.class);
   }
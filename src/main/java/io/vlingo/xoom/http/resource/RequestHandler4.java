@@ -12,6 +12,7 @@ import io.vlingo.xoom.common.Completes;
 import io.vlingo.xoom.http.Header;
 import io.vlingo.xoom.http.Method;
 import io.vlingo.xoom.http.Request;
+import io.vlingo.xoom.http.RequestBodyStream;
 import io.vlingo.xoom.http.Response;
 
 import java.util.Arrays;
@@ -94,6 +95,39 @@ public class RequestHandler4<T, R, U, I> extends RequestHandler {
     return this;
   }
 
+  /**
+   * Execute my handler on the thread that reads the request, rather than by way of the
+   * dispatcher and handler actors. This is only for a handler that does not block.
+   * @return {@code RequestHandler4<T, R, U, I>}
+   */
+  public RequestHandler4<T, R, U, I> inline() {
+    this.inline = true;
+    return this;
+  }
+
+  /**
+   * Execute my handler on a virtual thread of its own for each request, which is for
+   * a handler that blocks. On a runtime without virtual threads it is dispatched to
+   * the handler actors as usual.
+   * @return {@code RequestHandler4<T, R, U, I>}
+   */
+  public RequestHandler4<T, R, U, I> blocking() {
+    this.blocking = true;
+    return this;
+  }
+
+  /**
+   * Answer each request within {@code timeoutMillis} of its arrival, or else with
+   * {@code Response.Status.GatewayTimeout}, rather than by the deadline of the server.
+   * A client may ask for an earlier deadline by way of {@code X-Request-Timeout}.
+   * @param timeoutMillis the long number of milliseconds after the arrival of each request
+   * @return {@code RequestHandler4<T, R, U, I>}
+   */
+  public RequestHandler4<T, R, U, I> deadline(final long timeoutMillis) {
+    this.deadline = timeoutMillis;
+    return this;
+  }
+
   @Override
   protected Completes<Response> execute(final Request request,
                               final Action.MappedParameters mappedParameters,
@@ -169,6 +203,17 @@ public class RequestHandler4<T, R, U, I> extends RequestHandler {
       mediaTypeMapper);
   }
 
+  /**
+   * Specify that the body of the request is not buffered, but is instead delivered
+   * to the handler incrementally as a {@code RequestBodyStream} as it is read.
+   *
+   * @return {@code RequestHandler5<T, R, U, I, RequestBodyStream>}
+   */
+  public RequestHandler5<T, R, U, I, RequestBodyStream> bodyStream() {
+    return new RequestHandler5<>(method, path, resolverParam1, resolverParam2, resolverParam3, resolverParam4,
+      ParameterResolver.bodyStream(), errorHandler, mediaTypeMapper);
+  }
+
   public RequestHandler5<T, R, U, I, String> query(final String name) {
     return query(name, String.class);
   }
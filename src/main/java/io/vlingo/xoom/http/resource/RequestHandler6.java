@@ -103,6 +103,39 @@ public class RequestHandler6<T, R, U, I, J, K> extends RequestHandler {
     return this;
   }
 
+  /**
+   * Execute my handler on the thread that reads the request, rather than by way of the
+   * dispatcher and handler actors. This is only for a handler that does not block.
+   * @return {@code RequestHandler6<T, R, U, I, J, K>}
+   */
+  public RequestHandler6<T, R, U, I, J, K> inline() {
+    this.inline = true;
+    return this;
+  }
+
+  /**
+   * Execute my handler on a virtual thread of its own for each request, which is for
+   * a handler that blocks. On a runtime without virtual threads it is dispatched to
+   * the handler actors as usual.
+   * @return {@code RequestHandler6<T, R, U, I, J, K>}
+   */
+  public RequestHandler6<T, R, U, I, J, K> blocking() {
+    this.blocking = true;
+    return this;
+  }
+
+  /**
+   * Answer each request within {@code timeoutMillis} of its arrival, or else with
+   * {@code Response.Status.GatewayTimeout}, rather than by the deadline of the server.
+   * A client may ask for an earlier deadline by way of {@code X-Request-Timeout}.
+   * @param timeoutMillis the long number of milliseconds after the arrival of each request
+   * @return {@code RequestHandler6<T, R, U, I, J, K>}
+   */
+  public RequestHandler6<T, R, U, I, J, K> deadline(final long timeoutMillis) {
+    this.deadline = timeoutMillis;
+    return this;
+  }
+
   @Override
   protected Completes<Response> execute(final Request request,
                               final Action.MappedParameters mappedParameters,
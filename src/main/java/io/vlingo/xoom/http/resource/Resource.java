@@ -10,51 +10,174 @@
 package io.vlingo.xoom.http.resource;
 
 import java.net.URI;
-import java.util.concurrent.atomic.AtomicLong;
+import java.util.List;
 
 import io.vlingo.xoom.actors.Definition;
 import io.vlingo.xoom.actors.Logger;
 import io.vlingo.xoom.actors.Stage;
 import io.vlingo.xoom.http.Context;
 import io.vlingo.xoom.http.Method;
+import io.vlingo.xoom.http.resource.ResourceRequestHandlerActor.ResourceRequestHandlerInstantiator;
+import io.vlingo.xoom.http.resource.SelectionStrategy.Selection;
 
 public abstract class Resource<T> {
   public final String name;
   public final int handlerPoolSize;
 
-  private final ResourceRequestHandler[] handlerPool;
-  private final AtomicLong handlerPoolIndex;
+  private volatile ElasticPool<ResourceRequestHandler> handlerPool;
+  private Elasticity handlerPoolElasticity;
+  private Stage handlerPoolStage;
+  private SelectionStrategy selectionStrategy;
 
   public abstract void dispatchToHandlerWith(final Context context, final Action.MappedParameters mappedParameters);
 
   abstract Action.MatchResults matchWith(final Method method, final URI uri);
 
+  abstract List<Action> actions();
+
   protected abstract void log(final Logger logger);
 
   protected abstract ResourceHandler resourceHandlerInstance(final Stage stage);
 
-  void allocateHandlerPool(final Stage stage) {
-    for (int idx = 0; idx < handlerPoolSize; ++idx) {
-      handlerPool[idx] =
-        stage.actorFor(
-          ResourceRequestHandler.class,
-          Definition.has(
-            ResourceRequestHandlerActor.class,
-            Definition.parameters(resourceHandlerInstance(stage))));
+  /**
+   * Select the handler of each of my requests from my handler pool by way of the
+   * {@code selectionStrategy}, which must be set before my handler pool is allocated.
+   * The default is {@code SelectionStrategy.roundRobin()}.
+   * @param selectionStrategy the SelectionStrategy of my handler pool
+   * @return {@code Resource<T>}
+   */
+  public Resource<T> selectingWith(final SelectionStrategy selectionStrategy) {
+    this.selectionStrategy = selectionStrategy;
+    return this;
+  }
+
+  /**
+   * Answer the {@code SelectionStrategy} of my handler pool.
+   * @return SelectionStrategy
+   */
+  public SelectionStrategy selectionStrategy() {
+    return selectionStrategy;
+  }
+
+  /**
+   * Grow and shrink my handler pool within the bounds of the {@code elasticity}, never
+   * having fewer handlers than my {@code handlerPoolSize}, which must be set before my
+   * handler pool is allocated. The default is {@code Elasticity.None}.
+   * @param elasticity the Elasticity of my handler pool
+   * @return {@code Resource<T>}
+   */
+  public Resource<T> elasticWith(final Elasticity elasticity) {
+    this.handlerPoolElasticity = elasticity;
+    return this;
+  }
+
+  /**
+   * Answer the {@code Elasticity} of my handler pool.
+   * @return Elasticity
+   */
+  public Elasticity handlerPoolElasticity() {
+    return handlerPoolElasticity;
+  }
+
+  /**
+   * Answer the current number of handlers in my pool, which is my {@code handlerPoolSize}
+   * unless my pool is elastic, or zero before my pool is allocated.
+   * @return int
+   */
+  public int currentHandlerPoolSize() {
+    final ElasticPool<ResourceRequestHandler> pool = handlerPool;
+    return pool == null ? 0 : pool.size();
+  }
+
+  /**
+   * Allocate my handler pool within the {@code stage}, unless already allocated there,
+   * since each {@code Dispatcher} of the {@code Server} asks for it.
+   * @param stage the Stage within which my handlers reside
+   */
+  synchronized void allocateHandlerPool(final Stage stage) {
+    if (handlerPool != null && handlerPoolStage == stage) {
+      return;
     }
+
+    handlerPool =
+      new ElasticPool<>(handlerPoolSize, handlerPoolElasticity, selectionStrategy, new ElasticPool.Members<ResourceRequestHandler>() {
+        @Override
+        public ResourceRequestHandler memberFor(final Selection pool, final int index) {
+          return stage.actorFor(
+                  ResourceRequestHandler.class,
+                  Definition.has(
+                    ResourceRequestHandlerActor.class,
+                    new ResourceRequestHandlerInstantiator(resourceHandlerInstance(stage), pool, index)));
+        }
+
+        @Override
+        public void retire(final ResourceRequestHandler member) {
+          member.stop();
+        }
+      });
+
+    handlerPool.scheduleIdleCheckWith(stage.scheduler());
+
+    handlerPoolStage = stage;
+  }
+
+  /**
+   * Answer whether or not any of my actions receives its request body as a stream.
+   * @return boolean
+   */
+  boolean streamsBody() {
+    return false;
+  }
+
+  /**
+   * Answer whether or not my {@code action} receives its request body as a stream.
+   * @param action the Action matched by a request
+   * @return boolean
+   */
+  boolean streamsBodyWith(final Action action) {
+    return false;
+  }
+
+  /**
+   * Answer whether or not any of my actions is dispatched inline.
+   * @return boolean
+   */
+  boolean dispatchesInline() {
+    return false;
+  }
+
+  /**
+   * Answer whether or not my {@code action} is dispatched inline, being handled on the
+   * thread that reads the request, or started there on a virtual thread of its own if it
+   * blocks, rather than by way of the dispatcher and my handler pool.
+   * @param action the Action matched by a request
+   * @return boolean
+   */
+  boolean dispatchesInlineWith(final Action action) {
+    return false;
+  }
+
+  /**
+   * Dispatch the request of the {@code context} on the current thread, completing with
+   * the response of my handler. By default this dispatches to my handler pool.
+   * @param context the Context holding the Request to be handled
+   * @param mappedParameters the MappedParameters of the matched action
+   * @param logger the Logger to log errors
+   */
+  void dispatchInlineWith(final Context context, final Action.MappedParameters mappedParameters, final Logger logger) {
+    dispatchToHandlerWith(context, mappedParameters);
   }
 
   protected ResourceRequestHandler pooledHandler() {
-    final int index = (int) (handlerPoolIndex.incrementAndGet() % handlerPoolSize);
-    return handlerPool[index];
+    return handlerPool.next();
   }
 
   Resource(final String name,
            final int handlerPoolSize) {
     this.name = name;
     this.handlerPoolSize = handlerPoolSize;
-    this.handlerPool = new ResourceRequestHandler[handlerPoolSize];
-    this.handlerPoolIndex = new AtomicLong(0);
+    this.handlerPoolElasticity = Elasticity.None;
+    this.selectionStrategy = SelectionStrategy.roundRobin();
   }
 
 }
@@ -128,7 +128,7 @@ public class ResourceDispatcherGenerator implements AutoCloseable {
     int parameterIndex = 0;
     
     for (final MethodParameter parameter : to.parameters()) {
-      builder.append(separator).append("(").append(parameter.type).append(") ").append("mappedParameters.mapped.get(" + parameterIndex + ").value");
+      builder.append(separator).append(accessorOf(parameter.type, parameterIndex));
       ++parameterIndex;
       separator = ", ";
     }
@@ -138,6 +138,26 @@ public class ResourceDispatcherGenerator implements AutoCloseable {
     return builder.toString();
   }
 
+  /**
+   * Answer the expression reading the parameter at {@code index}, which for a primitive
+   * {@code type} reads its slot without boxing.
+   */
+  private String accessorOf(final String type, final int index) {
+    switch (type) {
+    case "boolean":
+    case "byte":
+    case "char":
+    case "double":
+    case "float":
+    case "int":
+    case "long":
+    case "short":
+      return "mappedParameters." + type + "At(" + index + ")";
+    default:
+      return "(" + type + ") mappedParameters.valueAt(" + index + ")";
+    }
+  }
+
   private String classStatement(final Class<?> handlerInterface) {
     return MessageFormat.format("public class {0} extends ConfigurationResource<{1}> '{'\n", classnameFor(handlerInterface, ConfigurationResource.DispatcherSuffix), handlerInterface.getSimpleName());
   }
@@ -17,6 +17,7 @@ import io.vlingo.xoom.http.Header.Headers;
 import io.vlingo.xoom.http.Response;
 import io.vlingo.xoom.http.Response.Status;
 import io.vlingo.xoom.http.ResponseHeader;
+import io.vlingo.xoom.http.ResponseStream;
 
 /**
  * The abstract base class of all classes that represent REST resources
@@ -67,6 +68,18 @@ public abstract class ResourceHandler {
     return context;
   }
 
+  /**
+   * Answer a new {@code ResponseStream} of a response with {@code status} and {@code headers},
+   * which completes my response.
+   * @param status the Status of the response
+   * @param headers the {@code Headers<ResponseHeader>} of the response
+   * @return ResponseStream
+   * @see io.vlingo.xoom.http.Context#streamResponse(Status, Headers)
+   */
+  protected ResponseStream streamResponse(final Status status, final Headers<ResponseHeader> headers) {
+    return context.streamResponse(status, headers);
+  }
+
   /**
    * Answer my {@code logger}, which is the {@code defaultLogger} of my {@code World}.
    * @return Logger
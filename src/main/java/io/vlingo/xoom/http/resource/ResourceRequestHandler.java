@@ -9,10 +9,11 @@ package io.vlingo.xoom.http.resource;
 
 import java.util.function.Consumer;
 
+import io.vlingo.xoom.actors.Stoppable;
 import io.vlingo.xoom.http.Context;
 import io.vlingo.xoom.http.resource.Action.MappedParameters;
 
-public interface ResourceRequestHandler {
+public interface ResourceRequestHandler extends Stoppable {
   @SuppressWarnings("rawtypes")
   void handleFor(final Context context, final Consumer consumer);
 
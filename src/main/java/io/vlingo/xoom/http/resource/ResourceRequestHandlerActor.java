@@ -10,22 +10,44 @@ package io.vlingo.xoom.http.resource;
 import java.util.function.Consumer;
 
 import io.vlingo.xoom.actors.Actor;
+import io.vlingo.xoom.actors.ActorInstantiator;
 import io.vlingo.xoom.http.Context;
 import io.vlingo.xoom.http.Response;
 import io.vlingo.xoom.http.Response.Status;
 import io.vlingo.xoom.http.resource.Action.MappedParameters;
+import io.vlingo.xoom.http.resource.SelectionStrategy.Selection;
 
 public class ResourceRequestHandlerActor extends Actor implements ResourceRequestHandler {
+  private final int poolIndex;
   private final ResourceHandler resourceHandler;
+  private final Selection selection;
 
   public ResourceRequestHandlerActor(final ResourceHandler resourceHandler) {
+    this(resourceHandler, null, -1);
+  }
+
+  /**
+   * Constructs my default state, telling the {@code selection} of my pool when each
+   * request is handled.
+   * @param resourceHandler the ResourceHandler to which requests are dispatched
+   * @param selection the Selection of my pool, or null if none
+   * @param poolIndex the int index of me in my pool
+   */
+  public ResourceRequestHandlerActor(final ResourceHandler resourceHandler, final Selection selection, final int poolIndex) {
     this.resourceHandler = resourceHandler;
+    this.selection = selection;
+    this.poolIndex = poolIndex;
   }
 
   @Override
   @SuppressWarnings({ "rawtypes", "unchecked" })
   public void handleFor(final Context context, final Consumer consumer) {
     try {
+      if (context.deadline().hasExpired()) {
+        // already answered with GatewayTimeout while queued, so only what it holds is released
+        context.completes.with(Response.of(Response.Status.GatewayTimeout));
+        return;
+      }
       resourceHandler.context = context;
       resourceHandler.stage = stage();
       consumer.accept(resourceHandler);
@@ -35,6 +57,10 @@ public class ResourceRequestHandlerActor extends Actor implements ResourceReques
     } catch (RuntimeException exception) {
       logger().error("Runtime thrown by resource dispatcher", exception);
       context.completes.with(Response.of(Response.Status.InternalServerError));
+    } finally {
+      if (selection != null) {
+        selection.completed(poolIndex);
+      }
     }
   }
 
@@ -55,4 +81,35 @@ public class ResourceRequestHandlerActor extends Actor implements ResourceReques
     context.completes.with(response);
     return response;
   }
+
+  //=====================================
+  // ResourceRequestHandlerInstantiator
+  //=====================================
+
+  /**
+   * The {@code ActorInstantiator} for {@code ResourceRequestHandlerActor} instances.
+   */
+  static class ResourceRequestHandlerInstantiator implements ActorInstantiator<ResourceRequestHandlerActor> {
+    private static final long serialVersionUID = -2853740517618262719L;
+
+    private final int poolIndex;
+    private final ResourceHandler resourceHandler;
+    private final Selection selection;
+
+    ResourceRequestHandlerInstantiator(final ResourceHandler resourceHandler, final Selection selection, final int poolIndex) {
+      this.resourceHandler = resourceHandler;
+      this.selection = selection;
+      this.poolIndex = poolIndex;
+    }
+
+    @Override
+    public ResourceRequestHandlerActor instantiate() {
+      return new ResourceRequestHandlerActor(resourceHandler, selection, poolIndex);
+    }
+
+    @Override
+    public Class<ResourceRequestHandlerActor> type() {
+      return ResourceRequestHandlerActor.class;
+    }
+  }
 }
@@ -11,6 +11,7 @@ import io.vlingo.xoom.actors.Actor;
 import io.vlingo.xoom.actors.DeadLetter;
 import io.vlingo.xoom.actors.LocalMessage;
 import io.vlingo.xoom.actors.Mailbox;
+import io.vlingo.xoom.actors.Stoppable;
 import io.vlingo.xoom.common.SerializableConsumer;
 import io.vlingo.xoom.http.Context;
 import io.vlingo.xoom.http.resource.Action.MappedParameters;
@@ -19,6 +20,8 @@ public class ResourceRequestHandler__Proxy implements ResourceRequestHandler {
 
   private static final String handleForRepresentation1 = "handleFor(io.vlingo.xoom.http.Context, java.util.function.Consumer)";
   private static final String handleForRepresentation2 = "handleFor(io.vlingo.xoom.http.Context, io.vlingo.xoom.http.Action.MappedParameters, io.vlingo.xoom.http.RequestHandler)";
+  private static final String representationConclude3 = "conclude()";
+  private static final String stopRepresentation4 = "stop()";
 
   private final Actor actor;
   private final Mailbox mailbox;
@@ -50,4 +53,31 @@ public class ResourceRequestHandler__Proxy implements ResourceRequestHandler {
       actor.deadLetters().failedDelivery(new DeadLetter(actor, handleForRepresentation2));
     }
   }
+
+  @Override
+  public void conclude() {
+    if (!actor.isStopped()) {
+      final SerializableConsumer<Stoppable> consumer = (actor) -> actor.conclude();
+      if (mailbox.isPreallocated()) { mailbox.send(actor, Stoppable.class, consumer, null, representationConclude3); }
+      else { mailbox.send(new LocalMessage<Stoppable>(actor, Stoppable.class, consumer, representationConclude3)); }
+    } else {
+      actor.deadLetters().failedDelivery(new DeadLetter(actor, representationConclude3));
+    }
+  }
+
+  @Override
+  public void stop() {
+    if (!actor.isStopped()) {
+      final SerializableConsumer<ResourceRequestHandler> consumer = (actor) -> actor.stop();
+      if (mailbox.isPreallocated()) { mailbox.send(actor, ResourceRequestHandler.class, consumer, null, stopRepresentation4); }
+      else { mailbox.send(new LocalMessage<ResourceRequestHandler>(actor, ResourceRequestHandler.class, consumer, stopRepresentation4)); }
+    } else {
+      actor.deadLetters().failedDelivery(new DeadLetter(actor, stopRepresentation4));
+    }
+  }
+
+  @Override
+  public boolean isStopped() {
+    return actor.isStopped();
+  }
 }
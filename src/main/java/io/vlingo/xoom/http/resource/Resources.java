@@ -7,15 +7,19 @@
 
 package io.vlingo.xoom.http.resource;
 
+import java.net.URI;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 
 import io.vlingo.xoom.actors.Logger;
 import io.vlingo.xoom.http.Context;
+import io.vlingo.xoom.http.Method;
+import io.vlingo.xoom.http.Request;
 import io.vlingo.xoom.http.Response;
 import io.vlingo.xoom.http.resource.Action.MappedParameters;
-import io.vlingo.xoom.http.resource.Action.MatchResults;
+import io.vlingo.xoom.http.resource.RouteIndex.Route;
 
 /**
  * Holds a number of named {@code Resource} instances and provides the means to match
@@ -23,6 +27,8 @@ import io.vlingo.xoom.http.resource.Action.MatchResults;
  */
 public class Resources {
   final Map<String, Resource<?>> namedResources;
+  private final boolean dispatchesInline;
+  private final RouteIndex routeIndex;
 
   /**
    * Answer a new {@code Resources} that holes the given individual {@code Resource} instances.
@@ -30,11 +36,11 @@ public class Resources {
    * @return Resources
    */
   public static Resources are(final Resource<?>... resources) {
-    final Resources all = new Resources();
+    final Map<String, Resource<?>> namedResources = new HashMap<>();
     for (final Resource<?> resource : resources) {
-      all.namedResources.put(resource.name, resource);
+      namedResources.put(resource.name, resource);
     }
-    return all;
+    return new Resources(namedResources);
   }
 
 //  public Resources ready() {
@@ -60,6 +66,8 @@ public class Resources {
    */
   Resources(final Map<String, Resource<?>> namedResources) {
     this.namedResources = Collections.unmodifiableMap(namedResources);
+    this.routeIndex = RouteIndex.of(this.namedResources.values());
+    this.dispatchesInline = dispatchesInline(this.namedResources.values());
   }
 
   /**
@@ -69,13 +77,8 @@ public class Resources {
   Resources(final Resource<?> resource) {
     this.namedResources = new HashMap<>();
     this.namedResources.put(resource.name, resource);
-  }
-
-  /**
-   * Construct my state with no resource instance.
-   */
-  private Resources() {
-    this.namedResources = new HashMap<>();
+    this.routeIndex = RouteIndex.of(this.namedResources.values());
+    this.dispatchesInline = dispatchesInline(this.namedResources.values());
   }
 
   /**
@@ -87,6 +90,73 @@ public class Resources {
     return namedResources.get(name);
   }
 
+  /**
+   * Answer whether or not any of my managed resource instances receives a
+   * request body as a stream.
+   * @return boolean
+   */
+  boolean streamsBody() {
+    for (final Resource<?> resource : namedResources.values()) {
+      if (resource.streamsBody()) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Answer whether or not the request body of {@code method} and {@code uri}
+   * is received as a stream by the matching resource instance, if any.
+   * @param method the Method of the request
+   * @param uri the URI of the request
+   * @return boolean
+   */
+  boolean streamsBodyOf(final Method method, final URI uri) {
+    final Route route = routeIndex.routeOf(method, uri.getPath());
+    return route != null && route.resource.streamsBodyWith(route.action);
+  }
+
+  /**
+   * Answer the {@code Route} matching {@code method} and {@code uri}, or {@code null}.
+   * @param method the Method of the request
+   * @param uri the URI of the request
+   * @return Route
+   */
+  Route routeOf(final Method method, final URI uri) {
+    return routeIndex.routeOf(method, uri.getPath());
+  }
+
+  /**
+   * Answer the {@code Route} matching the {@code request} if its action is dispatched
+   * inline, or otherwise {@code null}.
+   * @param request the Request to match
+   * @return Route
+   */
+  Route inlineRouteOf(final Request request) {
+    if (!dispatchesInline) return null;
+
+    final Route route = routeIndex.routeOf(request.method, request.uri.getPath());
+    return route != null && route.resource.dispatchesInlineWith(route.action) ? route : null;
+  }
+
+  /**
+   * Dispatch the {@code Request} held by the {@code Context} to the inline {@code route}
+   * on the current thread, without the non-blocking dispatch of {@code dispatchMatching()}.
+   * @param route the Route answered by {@code inlineRouteOf()}
+   * @param context the Context containing the Request to dispatch
+   * @param logger the Logger to log potential errors
+   */
+  void dispatchInline(final Route route, final Context context, final Logger logger) {
+    try {
+      final MappedParameters mappedParameters = route.action.map(context.request, route.parametersFrom(context.request.uri.getPath()));
+      route.resource.dispatchInlineWith(context, mappedParameters, logger);
+    } catch (Exception e) {
+      final String message = "Problem dispatching request for method " + context.request.method + " and URI " + context.request.uri + " because: " + e.getMessage();
+      logger.error(message, e);
+      context.completes.with(Response.of(Response.Status.NotFound, message));
+    }
+  }
+
   /**
    * Dispatch the {@code Request} held by the {@code Context} and matching
    * one of my managed resource instances, or log a warning if no match.
@@ -98,13 +168,12 @@ public class Resources {
     String message;
 
     try {
-      for (final Resource<?> resource : namedResources.values()) {
-        final MatchResults matchResults = resource.matchWith(context.request.method, context.request.uri);
-        if (matchResults.isMatched()) {
-          final MappedParameters mappedParameters = matchResults.action.map(context.request, matchResults.parameters());
-          resource.dispatchToHandlerWith(context, mappedParameters);
-          return;
-        }
+      final String path = context.request.uri.getPath();
+      final Route route = routeIndex.routeOf(context.request.method, path);
+      if (route != null) {
+        final MappedParameters mappedParameters = route.action.map(context.request, route.parametersFrom(path));
+        route.resource.dispatchToHandlerWith(context, mappedParameters);
+        return;
       }
       message = "No matching resource for method " + context.request.method + " and URI " + context.request.uri;
       logger.warn(message);
@@ -115,4 +184,13 @@ public class Resources {
 
     context.completes.with(Response.of(Response.Status.NotFound, message));
   }
+
+  private static boolean dispatchesInline(final Collection<Resource<?>> resources) {
+    for (final Resource<?> resource : resources) {
+      if (resource.dispatchesInline()) {
+        return true;
+      }
+    }
+    return false;
+  }
 }
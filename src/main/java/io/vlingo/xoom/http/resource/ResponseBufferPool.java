@@ -0,0 +1,331 @@
+// Copyright © 2012-2021 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.http.resource;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.vlingo.xoom.wire.message.BasicConsumerByteBuffer;
+import io.vlingo.xoom.wire.message.ConsumerByteBuffer;
+
+/**
+ * Pools the buffers into which responses are encoded in size classes that double from
+ * {@code MinimumClassSize} to {@code MaximumClassSize}, so that each response takes the
+ * smallest buffer that fits its exact encoded size rather than one of the maximum message
+ * size. Buffers are created on demand and returned to their class when released. Each
+ * class keeps up to {@code maxPooledPerClass} idle buffers, but the classes larger than
+ * {@code RetentionClassSize} keep proportionally fewer, so that no class holds more than
+ * {@code maxPooledPerClass * RetentionClassSize} idle bytes. Responses larger than the
+ * largest class take an unpooled buffer. A buffer may be acquired with a listener that is
+ * run when it is released, which signals that its write is complete, and an unpooled
+ * buffer runs its listener all the same.
+ */
+public final class ResponseBufferPool {
+  public static final int MinimumClassSize = 512;
+  public static final int MaximumClassSize = 1024 * 1024;
+  public static final int RetentionClassSize = 64 * 1024;
+
+  private final SizeClass[] classes;
+  private final AtomicLong oversized;
+
+  /**
+   * Constructs my state.
+   * @param maxPooledPerClass the int maximum number of idle buffers kept by each size class
+   */
+  public ResponseBufferPool(final int maxPooledPerClass) {
+    final int classCount = Integer.numberOfTrailingZeros(MaximumClassSize / MinimumClassSize) + 1;
+    this.classes = new SizeClass[classCount];
+    for (int index = 0; index < classCount; ++index) {
+      final int size = MinimumClassSize << index;
+      final int retained = size <= RetentionClassSize ? maxPooledPerClass : Math.max(1, maxPooledPerClass / (size / RetentionClassSize));
+      classes[index] = new SizeClass(index, size, retained);
+    }
+    this.oversized = new AtomicLong(0);
+  }
+
+  /**
+   * Answer a buffer of at least {@code size} bytes, which must be released once written.
+   * @param size the int number of bytes required
+   * @return ConsumerByteBuffer
+   */
+  public ConsumerByteBuffer acquire(final int size) {
+    if (size > MaximumClassSize) {
+      oversized.incrementAndGet();
+      return BasicConsumerByteBuffer.allocate(0, size);
+    }
+    return classes[classIndexOf(size)].acquire(null);
+  }
+
+  /**
+   * Answer a buffer of at least {@code size} bytes, which must be released once written,
+   * and run {@code onRelease} once it is released.
+   * @param size the int number of bytes required
+   * @param onRelease the Runnable run upon release
+   * @return ConsumerByteBuffer
+   */
+  public ConsumerByteBuffer acquire(final int size, final Runnable onRelease) {
+    if (size > MaximumClassSize) {
+      oversized.incrementAndGet();
+      return new UnpooledBuffer(size, onRelease);
+    }
+    return classes[classIndexOf(size)].acquire(onRelease);
+  }
+
+  /**
+   * Answer a snapshot of my {@code Statistics}.
+   * @return Statistics
+   */
+  public Statistics statistics() {
+    final int[] sizes = new int[classes.length];
+    final long[] hits = new long[classes.length];
+    final long[] misses = new long[classes.length];
+    final int[] idle = new int[classes.length];
+    for (int index = 0; index < classes.length; ++index) {
+      final SizeClass sizeClass = classes[index];
+      sizes[index] = sizeClass.size;
+      hits[index] = sizeClass.hits.get();
+      misses[index] = sizeClass.misses.get();
+      idle[index] = sizeClass.idle.get();
+    }
+    return new Statistics(sizes, hits, misses, idle, oversized.get());
+  }
+
+  static int classIndexOf(final int size) {
+    if (size <= MinimumClassSize) {
+      return 0;
+    }
+    // the smallest power of two of at least size, relative to the minimum
+    return 32 - Integer.numberOfLeadingZeros(size - 1) - Integer.numberOfTrailingZeros(MinimumClassSize);
+  }
+
+  //=====================================
+  // Statistics
+  //=====================================
+
+  /**
+   * A snapshot of the use of a {@code ResponseBufferPool}, in which a hit is an acquisition
+   * of an idle buffer and a miss is one that created a new buffer.
+   */
+  public static final class Statistics {
+    /**
+     * The {@code Statistics} of a server that pools no response buffers.
+     */
+    public static final Statistics None = new Statistics(new int[0], new long[0], new long[0], new int[0], 0);
+
+    public final long oversized;
+
+    private final long[] hits;
+    private final int[] idle;
+    private final long[] misses;
+    private final int[] sizes;
+
+    /**
+     * Answer the number of my size classes.
+     * @return int
+     */
+    public int classCount() {
+      return sizes.length;
+    }
+
+    /**
+     * Answer the number of bytes of the buffers of the size class at {@code index}.
+     * @param index the int index of the size class
+     * @return int
+     */
+    public int classSize(final int index) {
+      return sizes[index];
+    }
+
+    /**
+     * Answer the number of hits of the size class at {@code index}.
+     * @param index the int index of the size class
+     * @return long
+     */
+    public long hits(final int index) {
+      return hits[index];
+    }
+
+    /**
+     * Answer the number of misses of the size class at {@code index}.
+     * @param index the int index of the size class
+     * @return long
+     */
+    public long misses(final int index) {
+      return misses[index];
+    }
+
+    /**
+     * Answer the number of idle buffers of the size class at {@code index}.
+     * @param index the int index of the size class
+     * @return int
+     */
+    public int idle(final int index) {
+      return idle[index];
+    }
+
+    /**
+     * Answer the total number of hits of all size classes.
+     * @return long
+     */
+    public long hits() {
+      long total = 0;
+      for (final long count : hits) {
+        total += count;
+      }
+      return total;
+    }
+
+    /**
+     * Answer the total number of misses of all size classes.
+     * @return long
+     */
+    public long misses() {
+      long total = 0;
+      for (final long count : misses) {
+        total += count;
+      }
+      return total;
+    }
+
+    /**
+     * Answer the total number of bytes of the idle buffers of all size classes.
+     * @return long
+     */
+    public long idleBytes() {
+      long total = 0;
+      for (int index = 0; index < sizes.length; ++index) {
+        total += (long) sizes[index] * idle[index];
+      }
+      return total;
+    }
+
+    @Override
+    public String toString() {
+      final StringBuilder builder = new StringBuilder("ResponseBufferPool.Statistics[hits=").append(hits()).append(" misses=").append(misses())
+              .append(" oversized=").append(oversized).append(" idleBytes=").append(idleBytes());
+      for (int index = 0; index < sizes.length; ++index) {
+        if (hits[index] > 0 || misses[index] > 0) {
+          builder.append(' ').append(sizes[index]).append('=').append(hits[index]).append('/').append(misses[index]).append('/').append(idle[index]);
+        }
+      }
+      return builder.append(']').toString();
+    }
+
+    private Statistics(final int[] sizes, final long[] hits, final long[] misses, final int[] idle, final long oversized) {
+      this.sizes = sizes;
+      this.hits = hits;
+      this.misses = misses;
+      this.idle = idle;
+      this.oversized = oversized;
+    }
+  }
+
+  //=====================================
+  // SizeClass
+  //=====================================
+
+  private static final class SizeClass {
+    private final Queue<PooledBuffer> buffers;
+    private final AtomicLong hits;
+    private final AtomicInteger idle;
+    private final int index;
+    private final AtomicLong misses;
+    private final int retained;
+    private final int size;
+
+    SizeClass(final int index, final int size, final int retained) {
+      this.index = index;
+      this.size = size;
+      this.retained = retained;
+      this.buffers = new ConcurrentLinkedQueue<>();
+      this.hits = new AtomicLong(0);
+      this.idle = new AtomicInteger(0);
+      this.misses = new AtomicLong(0);
+    }
+
+    ConsumerByteBuffer acquire(final Runnable onRelease) {
+      PooledBuffer buffer = buffers.poll();
+      if (buffer == null) {
+        misses.incrementAndGet();
+        buffer = new PooledBuffer(this);
+      } else {
+        idle.decrementAndGet();
+        hits.incrementAndGet();
+        buffer.released.set(false);
+      }
+      buffer.onRelease = onRelease;
+      return buffer;
+    }
+
+    void release(final PooledBuffer buffer) {
+      // beyond those retained, released buffers are left to the garbage collector
+      if (idle.incrementAndGet() > retained) {
+        idle.decrementAndGet();
+        return;
+      }
+      buffer.clear();
+      buffers.offer(buffer);
+    }
+  }
+
+  //=====================================
+  // PooledBuffer
+  //=====================================
+
+  private static final class PooledBuffer extends BasicConsumerByteBuffer {
+    private final SizeClass sizeClass;
+    private final AtomicBoolean released;
+
+    private volatile Runnable onRelease;
+
+    PooledBuffer(final SizeClass sizeClass) {
+      super(sizeClass.index, sizeClass.size);
+      this.sizeClass = sizeClass;
+      this.released = new AtomicBoolean(false);
+    }
+
+    @Override
+    public void release() {
+      // a buffer released twice must not be pooled twice
+      if (released.compareAndSet(false, true)) {
+        final Runnable releasing = onRelease;
+        onRelease = null;
+        sizeClass.release(this);
+        if (releasing != null) {
+          releasing.run();
+        }
+      }
+    }
+  }
+
+  //=====================================
+  // UnpooledBuffer
+  //=====================================
+
+  private static final class UnpooledBuffer extends BasicConsumerByteBuffer {
+    private final AtomicBoolean released;
+    private final Runnable onRelease;
+
+    UnpooledBuffer(final int size, final Runnable onRelease) {
+      super(0, size);
+      this.onRelease = onRelease;
+      this.released = new AtomicBoolean(false);
+    }
+
+    @Override
+    public void release() {
+      // left to the garbage collector, but its release is still signaled once
+      if (released.compareAndSet(false, true)) {
+        onRelease.run();
+      }
+    }
+  }
+}
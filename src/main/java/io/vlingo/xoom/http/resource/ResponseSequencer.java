@@ -0,0 +1,308 @@
+// Copyright © 2012-2021 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.http.resource;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+import io.vlingo.xoom.wire.message.ConsumerByteBuffer;
+
+/**
+ * Releases the responses to the requests of one connection in the order of the requests,
+ * as HTTP/1.1 pipelining requires, although the responses may be completed in any order
+ * by any thread. Each request takes a {@code Slot} as it is parsed, and its response is
+ * held until the responses to all earlier requests are written. Responses that are ready
+ * together are coalesced into one buffer of up to {@code maxCoalescedSize} bytes, so that
+ * they take a single write.
+ * <p>
+ * A streamed response is opened once it is first in line, and holds back all later
+ * responses until its stream ends. A response that closes the connection discards any
+ * that follow it. I serve my connection until it is closed, when I am {@code close()}d,
+ * releasing the buffers of the responses still held, and discarding the responses not
+ * yet completed as they complete.
+ */
+final class ResponseSequencer {
+  private final int maxCoalescedSize;
+  private final Output output;
+  private final ArrayDeque<Slot> slots;
+
+  private boolean closed;
+  private boolean draining;
+
+  /**
+   * Constructs my state.
+   * @param output the Output to which my responses are written
+   * @param maxCoalescedSize the int maximum number of bytes of coalesced responses
+   */
+  ResponseSequencer(final Output output, final int maxCoalescedSize) {
+    this.output = output;
+    this.maxCoalescedSize = maxCoalescedSize;
+    this.slots = new ArrayDeque<>(4);
+  }
+
+  /**
+   * Answer the {@code Slot} of the next request, which is already discarded if I am closed.
+   * @return Slot
+   */
+  synchronized Slot next() {
+    final Slot slot = new Slot(this);
+    if (closed) {
+      slot.discarded = true;
+    } else {
+      slots.add(slot);
+    }
+    return slot;
+  }
+
+  /**
+   * Close me because my connection is closed, releasing the responses still held
+   * and discarding those not yet completed.
+   */
+  synchronized void close() {
+    closed = true;
+    discardRemaining();
+  }
+
+  /**
+   * Answer whether or not I am closed.
+   * @return boolean
+   */
+  synchronized boolean isClosed() {
+    return closed;
+  }
+
+  /**
+   * Release the {@code buffer} of the response of {@code slot} once it is first in line.
+   * @param slot the Slot of the request
+   * @param buffer the ConsumerByteBuffer holding the encoded response
+   * @param closeFollowing the boolean indicating whether the connection closes after the response
+   */
+  void respond(final Slot slot, final ConsumerByteBuffer buffer, final boolean closeFollowing) {
+    synchronized (this) {
+      if (slot.discarded) {
+        buffer.release();
+        return;
+      }
+      slot.buffer = buffer;
+      slot.closeFollowing = closeFollowing;
+      slot.ready = true;
+    }
+    drain();
+  }
+
+  /**
+   * Open the streamed response of {@code slot} by way of the {@code opener} once it is
+   * first in line, holding back all later responses until {@code ended(slot)}. If the
+   * response is discarded instead, and so will never be opened, the {@code discarder}
+   * releases what the {@code opener} would have written.
+   * @param slot the Slot of the request
+   * @param opener the Runnable that writes the head of the response and opens its stream
+   * @param discarder the Runnable that releases the response if it is never opened
+   */
+  void respondStreamed(final Slot slot, final Runnable opener, final Runnable discarder) {
+    synchronized (this) {
+      if (slot.discarded) {
+        discarder.run();
+        return;
+      }
+      slot.opener = opener;
+      slot.discarder = discarder;
+      slot.ready = true;
+    }
+    drain();
+  }
+
+  /**
+   * Release the responses following the streamed response of {@code slot}, which has ended.
+   * @param slot the Slot of the request
+   * @param closeFollowing the boolean indicating whether the connection closed after the response
+   */
+  void ended(final Slot slot, final boolean closeFollowing) {
+    synchronized (this) {
+      if (slots.peek() == slot) {
+        slots.poll();
+      }
+      slot.streaming = false;
+      if (closeFollowing) {
+        discardRemaining();
+      }
+    }
+    drain();
+  }
+
+  private void drain() {
+    final List<Slot> released = new ArrayList<>(4);
+
+    synchronized (this) {
+      // a single drainer at a time keeps the writes in order
+      if (draining) return;
+      draining = true;
+    }
+
+    while (true) {
+      released.clear();
+
+      synchronized (this) {
+        collectReleased(released);
+        if (released.isEmpty()) {
+          draining = false;
+          return;
+        }
+      }
+
+      try {
+        write(released);
+      } catch (RuntimeException e) {
+        synchronized (this) {
+          draining = false;
+        }
+        throw e;
+      }
+    }
+  }
+
+  private void collectReleased(final List<Slot> released) {
+    int size = 0;
+    Slot head = slots.peek();
+    while (head != null && head.ready && !head.streaming) {
+      if (head.opener != null) {
+        if (released.isEmpty()) {
+          head.streaming = true;
+          released.add(head);
+        }
+        return;
+      }
+      final int headSize = head.buffer.limit();
+      if (!released.isEmpty() && size + headSize > maxCoalescedSize) {
+        return;
+      }
+      released.add(slots.poll());
+      size += headSize;
+      if (head.closeFollowing) {
+        discardRemaining();
+        return;
+      }
+      head = slots.peek();
+    }
+  }
+
+  private void discardRemaining() {
+    // nothing may follow a response that closes the connection
+    for (final Slot slot : slots) {
+      slot.discarded = true;
+      if (slot.buffer != null) {
+        slot.buffer.release();
+        slot.buffer = null;
+      }
+      if (slot.discarder != null && !slot.streaming) {
+        slot.discarder.run(); // never opened
+      }
+      slot.discarder = null;
+    }
+    slots.clear();
+  }
+
+  private void write(final List<Slot> released) {
+    final Slot first = released.get(0);
+
+    if (first.opener != null) {
+      first.opener.run();
+      return;
+    }
+
+    if (released.size() == 1) {
+      output.write(first.buffer, first.closeFollowing);
+      return;
+    }
+
+    int size = 0;
+    for (final Slot slot : released) {
+      size += slot.buffer.limit();
+    }
+    final ConsumerByteBuffer coalesced = output.bufferFor(size);
+    for (final Slot slot : released) {
+      coalesced.put(slot.buffer.asByteBuffer());
+      slot.buffer.release();
+    }
+    output.write(coalesced.flip(), released.get(released.size() - 1).closeFollowing);
+  }
+
+  //=====================================
+  // Slot
+  //=====================================
+
+  /**
+   * The place of one request in the order of responses of its {@code ResponseSequencer}.
+   */
+  static final class Slot {
+    private final ResponseSequencer sequencer;
+
+    private ConsumerByteBuffer buffer;
+    private boolean closeFollowing;
+    private boolean discarded;
+    private Runnable discarder;
+    private Runnable opener;
+    private boolean ready;
+    private boolean streaming;
+
+    /**
+     * Release the {@code buffer} of my response once I am first in line.
+     * @param buffer the ConsumerByteBuffer holding the encoded response
+     * @param closeFollowing the boolean indicating whether the connection closes after the response
+     */
+    void respond(final ConsumerByteBuffer buffer, final boolean closeFollowing) {
+      sequencer.respond(this, buffer, closeFollowing);
+    }
+
+    /**
+     * Open my streamed response by way of the {@code opener} once I am first in line,
+     * or release it by way of the {@code discarder} if it is discarded instead.
+     * @param opener the Runnable that writes the head of the response and opens its stream
+     * @param discarder the Runnable that releases the response if it is never opened
+     */
+    void respondStreamed(final Runnable opener, final Runnable discarder) {
+      sequencer.respondStreamed(this, opener, discarder);
+    }
+
+    /**
+     * Release the responses following my streamed response, which has ended.
+     * @param closeFollowing the boolean indicating whether the connection closed after the response
+     */
+    void ended(final boolean closeFollowing) {
+      sequencer.ended(this, closeFollowing);
+    }
+
+    private Slot(final ResponseSequencer sequencer) {
+      this.sequencer = sequencer;
+    }
+  }
+
+  //=====================================
+  // Output
+  //=====================================
+
+  /**
+   * The connection to which the responses of a {@code ResponseSequencer} are written.
+   */
+  interface Output {
+    /**
+     * Answer a buffer of at least {@code size} bytes into which responses are coalesced.
+     * @param size the int number of bytes required
+     * @return ConsumerByteBuffer
+     */
+    ConsumerByteBuffer bufferFor(final int size);
+
+    /**
+     * Write the {@code buffer} to the connection.
+     * @param buffer the ConsumerByteBuffer to write
+     * @param closeFollowing the boolean indicating whether the connection closes after the write
+     */
+    void write(final ConsumerByteBuffer buffer, final boolean closeFollowing);
+  }
+}
@@ -0,0 +1,366 @@
+// Copyright © 2012-2021 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.http.resource;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import io.vlingo.xoom.http.Method;
+import io.vlingo.xoom.http.resource.Action.RawPathParameter;
+
+/**
+ * A routing index of all {@code Action} instances of a number of {@code Resource}
+ * instances, built once and then only read. There is one segment trie per {@code Method},
+ * in which each node is a path segment between slashes, being either a literal or a
+ * path parameter. Matching a path visits one node per path segment, and a miss allocates
+ * nothing.
+ * <p>
+ * Each route is ranked by the position of its {@code Action} in the order of the former
+ * linear scan of the resources and their actions, and the lowest ranked matching route
+ * is answered. Thus precedence among overlapping routes is unchanged. A URI pattern that
+ * is not composed of whole literal and parameter segments, such as {@code /files/{name}.json},
+ * is matched by its {@code Action} as before.
+ */
+final class RouteIndex {
+  private static final int Unmatched = Integer.MAX_VALUE;
+
+  private final List<Route> irregular;
+  private final Map<Method, Node> roots;
+  private final Route[] routes;
+
+  /**
+   * Answer a new {@code RouteIndex} for all actions of the {@code resources}.
+   * @param resources the {@code Collection<Resource<?>>} in their order of precedence
+   * @return RouteIndex
+   */
+  static RouteIndex of(final Collection<Resource<?>> resources) {
+    return new RouteIndex(resources);
+  }
+
+  /**
+   * Answer the matching {@code Route} for the {@code method} and {@code path}, or
+   * {@code null} if none matches.
+   * @param method the Method of the request
+   * @param path the String path of the request URI
+   * @return Route
+   */
+  Route routeOf(final Method method, final String path) {
+    int best = Unmatched;
+
+    final Node root = roots.get(method);
+    if (root != null) {
+      best = bestRank(root, path, 0, best);
+    }
+
+    for (int index = 0; index < irregular.size(); ++index) {
+      final Route route = irregular.get(index);
+      if (route.rank >= best) break;
+      if (route.action.method == method && route.action.matchWith(method, path).isMatched()) {
+        best = route.rank;
+      }
+    }
+
+    return best == Unmatched ? null : routes[best];
+  }
+
+  /**
+   * Answer the lowest rank of the routes in the subtree of {@code node} matching
+   * the path segments beginning at {@code start}, or {@code bestSoFar} if none
+   * ranks lower.
+   */
+  private int bestRank(final Node node, final String path, final int start, final int bestSoFar) {
+    if (node.minimumRank >= bestSoFar) {
+      return bestSoFar;
+    }
+
+    final int length = path.length();
+
+    if (start > length) {
+      // all path segments are consumed
+      return Math.min(node.rank, bestSoFar);
+    }
+
+    int end = path.indexOf('/', start);
+    if (end < 0) end = length;
+
+    int best = bestSoFar;
+
+    final Node literal = node.literalOf(path, start, end);
+    if (literal != null) {
+      best = bestRank(literal, path, end + 1, best);
+    }
+
+    final Node parameter = node.parameter;
+    if (parameter != null) {
+      if (end > start) {
+        best = bestRank(parameter, path, end + 1, best);
+      }
+      if (end + 1 == length) {
+        // a trailing slash is included in the value of a final path parameter
+        best = Math.min(parameter.rank, best);
+      }
+    }
+
+    return best;
+  }
+
+  private RouteIndex(final Collection<Resource<?>> resources) {
+    final List<Route> all = new ArrayList<>();
+    final List<Route> irregular = new ArrayList<>();
+    final Map<Method, Node> roots = new EnumMap<>(Method.class);
+
+    for (final Resource<?> resource : resources) {
+      for (final Action action : resource.actions()) {
+        final Route route = new Route(all.size(), resource, action);
+        all.add(route);
+        if (route.segments == null) {
+          irregular.add(route);
+        } else {
+          roots.computeIfAbsent(action.method, method -> new Node()).add(route, 0);
+        }
+      }
+    }
+
+    for (final Node root : roots.values()) {
+      root.seal();
+    }
+
+    this.irregular = Collections.unmodifiableList(irregular);
+    this.roots = roots;
+    this.routes = all.toArray(new Route[all.size()]);
+  }
+
+  //=====================================
+  // Route
+  //=====================================
+
+  static final class Route {
+    final Action action;
+    final int rank;
+    final Resource<?> resource;
+    private final Segment[] segments;
+
+    /**
+     * Answer the path parameters of my {@code action} from the matched {@code path}.
+     * @param path the String path that I matched
+     * @return {@code List<RawPathParameter>}
+     */
+    List<RawPathParameter> parametersFrom(final String path) {
+      if (segments == null) {
+        return action.matchWith(action.method, path).parameters();
+      }
+
+      final List<RawPathParameter> parameters = new ArrayList<>(parameterCount());
+      final int length = path.length();
+      int start = 0;
+      for (int index = 0; index < segments.length; ++index) {
+        int end = path.indexOf('/', start);
+        if (end < 0) end = length;
+        if (segments[index].isParameter()) {
+          final boolean trailingSlash = index == segments.length - 1 && end + 1 == length;
+          parameters.add(new RawPathParameter(segments[index].value, path.substring(start, trailingSlash ? length : end)));
+        }
+        start = end + 1;
+      }
+      return parameters;
+    }
+
+    @Override
+    public String toString() {
+      return "Route[rank=" + rank + ", resource=" + resource.name + ", action=" + action + "]";
+    }
+
+    Route(final int rank, final Resource<?> resource, final Action action) {
+      this.rank = rank;
+      this.resource = resource;
+      this.action = action;
+      this.segments = segmented(action.uri);
+    }
+
+    private int parameterCount() {
+      int count = 0;
+      for (final Segment segment : segments) {
+        if (segment.isParameter()) ++count;
+      }
+      return count;
+    }
+
+    /**
+     * Answer the whole segments of the {@code uri} pattern, or {@code null} if any
+     * segment mixes literal text with a path parameter.
+     */
+    private static Segment[] segmented(final String uri) {
+      final String[] parts = uri.split("/", -1);
+      final Segment[] segments = new Segment[parts.length];
+      for (int index = 0; index < parts.length; ++index) {
+        final String part = parts[index];
+        final int openBrace = part.indexOf('{');
+        if (openBrace < 0 && part.indexOf('}') < 0) {
+          segments[index] = new Segment(part, false);
+        } else if (openBrace == 0 && part.indexOf('}') == part.length() - 1 && part.indexOf('{', 1) < 0 && part.length() > 2) {
+          segments[index] = new Segment(part.substring(1, part.length() - 1), true);
+        } else {
+          return null;
+        }
+      }
+      return segments;
+    }
+  }
+
+  //=====================================
+  // Segment
+  //=====================================
+
+  private static final class Segment {
+    private final boolean parameter;
+    private final String value;
+
+    Segment(final String value, final boolean parameter) {
+      this.value = value;
+      this.parameter = parameter;
+    }
+
+    boolean isParameter() {
+      return parameter;
+    }
+  }
+
+  //=====================================
+  // Node
+  //=====================================
+
+  private static final class Node {
+    private static final String[] NoKeys = new String[0];
+    private static final Node[] NoNodes = new Node[0];
+
+    // literal children in an open-addressed table keyed by segment text
+    private String[] keys = NoKeys;
+    private int[] hashes = new int[0];
+    private Node[] literals = NoNodes;
+    private int literalCount;
+
+    private Node parameter;
+
+    private int minimumRank = Unmatched;
+    private int rank = Unmatched;
+
+    void add(final Route route, final int depth) {
+      if (depth == route.segments.length) {
+        rank = Math.min(rank, route.rank);
+        return;
+      }
+
+      final Segment segment = route.segments[depth];
+
+      final Node child;
+      if (segment.isParameter()) {
+        if (parameter == null) parameter = new Node();
+        child = parameter;
+      } else {
+        child = literalOrNew(segment.value);
+      }
+
+      child.add(route, depth + 1);
+    }
+
+    Node literalOf(final String path, final int start, final int end) {
+      if (literalCount == 0) {
+        return null;
+      }
+
+      int hash = 0;
+      for (int index = start; index < end; ++index) {
+        hash = 31 * hash + path.charAt(index);
+      }
+
+      final int length = end - start;
+      final int mask = keys.length - 1;
+      for (int slot = spread(hash) & mask; keys[slot] != null; slot = (slot + 1) & mask) {
+        if (hashes[slot] == hash && keys[slot].length() == length && path.regionMatches(start, keys[slot], 0, length)) {
+          return literals[slot];
+        }
+      }
+      return null;
+    }
+
+    /**
+     * Compute the lowest rank of my subtree, which allows pruning any subtree
+     * that cannot improve on a match already found.
+     * @return int
+     */
+    int seal() {
+      int minimum = rank;
+      for (final Node literal : literals) {
+        if (literal != null) {
+          minimum = Math.min(minimum, literal.seal());
+        }
+      }
+      if (parameter != null) {
+        minimum = Math.min(minimum, parameter.seal());
+      }
+      minimumRank = minimum;
+      return minimum;
+    }
+
+    private Node literalOrNew(final String key) {
+      if (literalCount > 0) {
+        final int mask = keys.length - 1;
+        for (int slot = spread(key.hashCode()) & mask; keys[slot] != null; slot = (slot + 1) & mask) {
+          if (keys[slot].equals(key)) {
+            return literals[slot];
+          }
+        }
+      }
+
+      if ((literalCount + 1) * 2 > keys.length) {
+        grow();
+      }
+
+      final Node node = new Node();
+      put(key, node);
+      ++literalCount;
+      return node;
+    }
+
+    private void grow() {
+      final String[] oldKeys = keys;
+      final Node[] oldLiterals = literals;
+      final int capacity = Math.max(4, oldKeys.length * 2);
+
+      keys = new String[capacity];
+      hashes = new int[capacity];
+      literals = new Node[capacity];
+
+      for (int index = 0; index < oldKeys.length; ++index) {
+        if (oldKeys[index] != null) {
+          put(oldKeys[index], oldLiterals[index]);
+        }
+      }
+    }
+
+    private void put(final String key, final Node node) {
+      final int hash = key.hashCode();
+      final int mask = keys.length - 1;
+      int slot = spread(hash) & mask;
+      while (keys[slot] != null) {
+        slot = (slot + 1) & mask;
+      }
+      keys[slot] = key;
+      hashes[slot] = hash;
+      literals[slot] = node;
+    }
+
+    private static int spread(final int hash) {
+      return hash ^ (hash >>> 16);
+    }
+  }
+}
@@ -0,0 +1,267 @@
+// Copyright © 2012-2021 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.http.resource;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The strategy by which a member of a pool, such as the handler pool of a {@code Resource},
+ * is selected for each request. Each pool has a {@code Selector} of its own, which is told
+ * when each selected member has completed handling, so that it may track the number of
+ * outstanding requests of each member.
+ */
+public interface SelectionStrategy {
+  /**
+   * Answer the {@code SelectionStrategy} of {@code name}, being one of {@code roundRobin},
+   * {@code stripedRoundRobin}, {@code leastOutstanding} or {@code powerOfTwoChoices}.
+   * @param name the String name of the strategy
+   * @return SelectionStrategy
+   */
+  static SelectionStrategy named(final String name) {
+    switch (name) {
+    case "roundRobin":
+      return roundRobin();
+    case "stripedRoundRobin":
+      return stripedRoundRobin();
+    case "leastOutstanding":
+      return leastOutstanding();
+    case "powerOfTwoChoices":
+      return powerOfTwoChoices();
+    default:
+      throw new IllegalArgumentException("Unknown selection strategy: " + name);
+    }
+  }
+
+  /**
+   * Answer the strategy selecting each member in turn by way of a single shared counter,
+   * which is the default.
+   * @return SelectionStrategy
+   */
+  static SelectionStrategy roundRobin() {
+    return RoundRobin::new;
+  }
+
+  /**
+   * Answer the strategy selecting each member in turn by way of a counter per thread,
+   * each beginning at a different member, which shares no state between threads.
+   * @return SelectionStrategy
+   */
+  static SelectionStrategy stripedRoundRobin() {
+    return StripedRoundRobin::new;
+  }
+
+  /**
+   * Answer the strategy selecting the member with the fewest outstanding requests.
+   * @return SelectionStrategy
+   */
+  static SelectionStrategy leastOutstanding() {
+    return LeastOutstanding::new;
+  }
+
+  /**
+   * Answer the strategy selecting the member with fewer outstanding requests of two
+   * that are chosen at random.
+   * @return SelectionStrategy
+   */
+  static SelectionStrategy powerOfTwoChoices() {
+    return PowerOfTwoChoices::new;
+  }
+
+  /**
+   * Answer a new {@code Selector} for a pool of {@code poolSize} members, which
+   * may later be resized to fewer, but never more, members.
+   * @param poolSize the int number of members of the pool
+   * @return Selector
+   */
+  Selector selectorFor(final int poolSize);
+
+  //=====================================
+  // Selection
+  //=====================================
+
+  /**
+   * Selects the members of one pool and is told when each has completed a request,
+   * which is all that a pool that sizes itself, or a member of a pool, requires.
+   */
+  interface Selection {
+    /**
+     * Answer the index of the selected member, which is then outstanding until
+     * {@code completed()} is told of it.
+     * @return int
+     */
+    int select();
+
+    /**
+     * Record that the member at {@code index} has completed handling a request.
+     * @param index the int index of the member
+     */
+    void completed(final int index);
+  }
+
+  //=====================================
+  // Selector
+  //=====================================
+
+  /**
+   * Selects the members of one pool, which may be resized by its owner.
+   */
+  interface Selector extends Selection {
+    /**
+     * Select among only the first {@code poolSize} members from now on, being no
+     * more than the number of members for which I was created.
+     * @param poolSize the int number of members to select among
+     */
+    void resizeTo(final int poolSize);
+  }
+
+  //=====================================
+  // RoundRobin
+  //=====================================
+
+  static final class RoundRobin implements Selector {
+    private final AtomicLong next = new AtomicLong(0);
+    private volatile int poolSize;
+
+    RoundRobin(final int poolSize) {
+      this.poolSize = poolSize;
+    }
+
+    @Override
+    public int select() {
+      return (int) (next.incrementAndGet() % poolSize);
+    }
+
+    @Override
+    public void completed(final int index) { }
+
+    @Override
+    public void resizeTo(final int poolSize) {
+      this.poolSize = poolSize;
+    }
+  }
+
+  //=====================================
+  // StripedRoundRobin
+  //=====================================
+
+  static final class StripedRoundRobin implements Selector {
+    private final ThreadLocal<int[]> next;
+    private volatile int poolSize;
+
+    StripedRoundRobin(final int poolSize) {
+      this.poolSize = poolSize;
+      this.next = ThreadLocal.withInitial(() -> new int[] { ThreadLocalRandom.current().nextInt(this.poolSize) });
+    }
+
+    @Override
+    public int select() {
+      final int[] counter = next.get();
+      final int size = poolSize;
+      final int index = counter[0] < size ? counter[0] : 0;
+      counter[0] = index + 1 == size ? 0 : index + 1;
+      return index;
+    }
+
+    @Override
+    public void completed(final int index) { }
+
+    @Override
+    public void resizeTo(final int poolSize) {
+      this.poolSize = poolSize;
+    }
+  }
+
+  //=====================================
+  // LeastOutstanding
+  //=====================================
+
+  static final class LeastOutstanding implements Selector {
+    private final AtomicIntegerArray outstanding;
+    private volatile int poolSize;
+
+    LeastOutstanding(final int poolSize) {
+      this.poolSize = poolSize;
+      this.outstanding = new AtomicIntegerArray(poolSize);
+    }
+
+    @Override
+    public int select() {
+      final int size = poolSize;
+      // begin at a random member so that ties are spread
+      final int start = size == 1 ? 0 : ThreadLocalRandom.current().nextInt(size);
+      int least = start;
+      int leastCount = outstanding.get(start);
+      for (int offset = 1; offset < size && leastCount > 0; ++offset) {
+        final int index = (start + offset) % size;
+        final int count = outstanding.get(index);
+        if (count < leastCount) {
+          least = index;
+          leastCount = count;
+        }
+      }
+      outstanding.incrementAndGet(least);
+      return least;
+    }
+
+    @Override
+    public void completed(final int index) {
+      outstanding.decrementAndGet(index);
+    }
+
+    @Override
+    public void resizeTo(final int poolSize) {
+      this.poolSize = poolSize;
+    }
+
+    int outstandingOf(final int index) {
+      return outstanding.get(index);
+    }
+  }
+
+  //=====================================
+  // PowerOfTwoChoices
+  //=====================================
+
+  static final class PowerOfTwoChoices implements Selector {
+    private final AtomicIntegerArray outstanding;
+    private volatile int poolSize;
+
+    PowerOfTwoChoices(final int poolSize) {
+      this.poolSize = poolSize;
+      this.outstanding = new AtomicIntegerArray(poolSize);
+    }
+
+    @Override
+    public int select() {
+      final int size = poolSize;
+      final int selected;
+      if (size == 1) {
+        selected = 0;
+      } else {
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+        final int first = random.nextInt(size);
+        final int second = (first + 1 + random.nextInt(size - 1)) % size;
+        selected = outstanding.get(second) < outstanding.get(first) ? second : first;
+      }
+      outstanding.incrementAndGet(selected);
+      return selected;
+    }
+
+    @Override
+    public void completed(final int index) {
+      outstanding.decrementAndGet(index);
+    }
+
+    @Override
+    public void resizeTo(final int poolSize) {
+      this.poolSize = poolSize;
+    }
+  }
+}
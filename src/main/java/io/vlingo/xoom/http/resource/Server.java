@@ -15,6 +15,7 @@ import io.vlingo.xoom.common.Completes;
 import io.vlingo.xoom.http.Filters;
 import io.vlingo.xoom.http.resource.Configuration.Sizing;
 import io.vlingo.xoom.http.resource.Configuration.Timing;
+import io.vlingo.xoom.http.resource.agent.AgentOptions;
 import io.vlingo.xoom.wire.channel.RefreshableSelector;
 
 /**
@@ -48,6 +49,7 @@ public interface Server extends Stoppable {
     return startWith(
             stage,
             resources,
+            configuration.filters(),
             configuration.port(),
             configuration.sizing(),
             configuration.timing());
@@ -140,6 +142,45 @@ public interface Server extends Stoppable {
     return server;
   }
 
+  /**
+   * Answer a new {@code Server} whose requests are received by the {@code HttpAgent},
+   * with the {@code Configuration} of the {@code properties}, including its {@code AgentOptions}.
+   * @param stage the Stage in which the Server lives
+   * @param properties the java.util.Properties with properties named per xoom-http.properties
+   * @return Server
+   */
+  public static Server startWithAgent(final Stage stage, final java.util.Properties properties) {
+    final Configuration configuration = Configuration.defineWith(properties);
+
+    final Resources resources = Loader.loadResources(properties);
+
+    return startWithAgent(stage, resources, configuration);
+  }
+
+  /**
+   * Answer a new {@code Server} whose requests are received by the {@code HttpAgent},
+   * with the filters, port, dispatcher pool size and elasticity, and {@code AgentOptions} of the {@code configuration}.
+   * @param stage the Stage in which the Server lives
+   * @param resources the Resource with URI descriptions that the Server understands
+   * @param configuration the Configuration of the Server
+   * @return Server
+   */
+  public static Server startWithAgent(
+          final Stage stage,
+          final Resources resources,
+          final Configuration configuration) {
+
+    return startWithAgent(
+            stage,
+            resources,
+            configuration.filters(),
+            configuration.port(),
+            configuration.sizing().dispatcherPoolSize,
+            configuration.sizing().dispatcherPoolElasticity,
+            configuration.agentOptions(),
+            "queueMailbox");
+  }
+
   public static Server startWithAgent(
           final Stage stage,
           final Resources resources,
@@ -167,11 +208,60 @@ public interface Server extends Stoppable {
           final int dispatcherPoolSize,
           final String severMailboxTypeName) {
 
+    return startWithAgent(stage, resources, filters, port, dispatcherPoolSize, AgentOptions.define(), severMailboxTypeName);
+  }
+
+  /**
+   * Answer a new {@code Server} whose requests are received by the {@code HttpAgent}.
+   * @param stage the Stage in which the Server lives
+   * @param resources the Resource with URI descriptions that the Server understands
+   * @param filters the Filters of requests and responses
+   * @param port the int socket port the Server will run on
+   * @param dispatcherPoolSize the int number of dispatchers
+   * @param agentOptions the AgentOptions such as whether requests are streamed and the agent threads and socket options
+   * @param severMailboxTypeName the String name of the mailbox type of the Server
+   * @return Server
+   */
+  public static Server startWithAgent(
+          final Stage stage,
+          final Resources resources,
+          final Filters filters,
+          final int port,
+          final int dispatcherPoolSize,
+          final AgentOptions agentOptions,
+          final String severMailboxTypeName) {
+
+    return startWithAgent(stage, resources, filters, port, dispatcherPoolSize, Elasticity.None, agentOptions, severMailboxTypeName);
+  }
+
+  /**
+   * Answer a new {@code Server} whose requests are received by the {@code HttpAgent},
+   * and whose dispatcher pool grows and shrinks within the {@code dispatcherPoolElasticity}.
+   * @param stage the Stage in which the Server lives
+   * @param resources the Resource with URI descriptions that the Server understands
+   * @param filters the Filters of requests and responses
+   * @param port the int socket port the Server will run on
+   * @param dispatcherPoolSize the int number of dispatchers
+   * @param dispatcherPoolElasticity the Elasticity of the pool of dispatchers
+   * @param agentOptions the AgentOptions such as whether requests are streamed and the agent threads and socket options
+   * @param severMailboxTypeName the String name of the mailbox type of the Server
+   * @return Server
+   */
+  public static Server startWithAgent(
+          final Stage stage,
+          final Resources resources,
+          final Filters filters,
+          final int port,
+          final int dispatcherPoolSize,
+          final Elasticity dispatcherPoolElasticity,
+          final AgentOptions agentOptions,
+          final String severMailboxTypeName) {
+
     final Server server = stage.actorFor(
             Server.class,
             Definition.has(
                     ServerActor.class,
-                    new ServerWithAgentInstantiator(resources, filters, port, dispatcherPoolSize),
+                    new ServerWithAgentInstantiator(resources, filters, port, dispatcherPoolSize, dispatcherPoolElasticity, agentOptions),
                     severMailboxTypeName,
                     ServerActor.ServerName),
             stage.world().addressFactory().withHighId(),
@@ -185,6 +275,20 @@ public interface Server extends Stoppable {
   Completes<Boolean> shutDown();
   Completes<Boolean> startUp();
 
+  /**
+   * Answer the eventual {@code Statistics} of the pool of the buffers into which
+   * responses are encoded, which are {@code Statistics.None} for the agent.
+   * @return {@code Completes<ResponseBufferPool.Statistics>}
+   */
+  Completes<ResponseBufferPool.Statistics> responseBufferPoolStatistics();
+
+  /**
+   * Answer the eventual number of dispatchers in the pool, which varies
+   * within the {@code Elasticity} of the pool.
+   * @return {@code Completes<Integer>}
+   */
+  Completes<Integer> dispatcherPoolSize();
+
   static class ServerInstantiator implements ActorInstantiator<ServerActor> {
     private static final long serialVersionUID = 1085685844717413620L;
 
@@ -232,18 +336,30 @@ public interface Server extends Stoppable {
     private final Filters filters;
     private final int port;
     private final int dispatcherPoolSize;
+    private final Elasticity dispatcherPoolElasticity;
+    private final AgentOptions agentOptions;
 
     public ServerWithAgentInstantiator(final Resources resources, final Filters filters, final int port, final int dispatcherPoolSize) {
+      this(resources, filters, port, dispatcherPoolSize, AgentOptions.define());
+    }
+
+    public ServerWithAgentInstantiator(final Resources resources, final Filters filters, final int port, final int dispatcherPoolSize, final AgentOptions agentOptions) {
+      this(resources, filters, port, dispatcherPoolSize, Elasticity.None, agentOptions);
+    }
+
+    public ServerWithAgentInstantiator(final Resources resources, final Filters filters, final int port, final int dispatcherPoolSize, final Elasticity dispatcherPoolElasticity, final AgentOptions agentOptions) {
       this.resources = resources;
       this.filters = filters;
       this.port = port;
       this.dispatcherPoolSize = dispatcherPoolSize;
+      this.dispatcherPoolElasticity = dispatcherPoolElasticity;
+      this.agentOptions = agentOptions;
     }
 
     @Override
     public ServerActor instantiate() {
       try {
-        return new ServerActor(resources, filters, port, dispatcherPoolSize);
+        return new ServerActor(resources, filters, port, dispatcherPoolSize, dispatcherPoolElasticity, agentOptions);
       } catch (Exception e) {
         throw new IllegalArgumentException("Failed to instantiate " + type() + " because: " + e.getMessage(), e);
       }
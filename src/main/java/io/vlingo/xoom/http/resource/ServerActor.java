@@ -9,14 +9,19 @@ package io.vlingo.xoom.http.resource;
 
 import static io.vlingo.xoom.http.RequestHeader.XForwardedFor;
 
+import java.net.URI;
+import java.nio.ByteBuffer;
 import java.time.Instant;
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
-import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiPredicate;
 
 import io.vlingo.xoom.actors.Actor;
+import io.vlingo.xoom.actors.Address;
+import io.vlingo.xoom.actors.CompletesEventually;
 import io.vlingo.xoom.actors.Logger;
 import io.vlingo.xoom.actors.Returns;
 import io.vlingo.xoom.actors.Stage;
@@ -24,40 +29,67 @@ import io.vlingo.xoom.actors.World;
 import io.vlingo.xoom.common.Completes;
 import io.vlingo.xoom.common.Scheduled;
 import io.vlingo.xoom.common.completes.FutureCompletes;
-import io.vlingo.xoom.common.pool.ElasticResourcePool;
+import io.vlingo.xoom.http.BodyLimits;
 import io.vlingo.xoom.http.Context;
+import io.vlingo.xoom.http.Deadline;
+import io.vlingo.xoom.http.FileBody;
 import io.vlingo.xoom.http.Filters;
 import io.vlingo.xoom.http.Header;
+import io.vlingo.xoom.http.HeaderLimits;
+import io.vlingo.xoom.http.Method;
 import io.vlingo.xoom.http.Request;
 import io.vlingo.xoom.http.RequestHeader;
+import io.vlingo.xoom.http.RequestLimitExceededException;
 import io.vlingo.xoom.http.RequestParser;
 import io.vlingo.xoom.http.Response;
+import io.vlingo.xoom.http.ResponseSegments;
+import io.vlingo.xoom.http.ResponseStream;
 import io.vlingo.xoom.http.resource.Configuration.Sizing;
+import io.vlingo.xoom.http.resource.AdmissionControl.Limiter;
 import io.vlingo.xoom.http.resource.Configuration.Timing;
 import io.vlingo.xoom.http.resource.DispatcherPool.AbstractDispatcherPool;
+import io.vlingo.xoom.http.resource.ResponseSequencer.Slot;
+import io.vlingo.xoom.http.resource.RouteIndex.Route;
+import io.vlingo.xoom.http.resource.TimingWheel.Timeout;
 import io.vlingo.xoom.http.resource.agent.AgentDispatcherPool;
+import io.vlingo.xoom.http.resource.agent.AgentOptions;
 import io.vlingo.xoom.http.resource.agent.HttpAgent;
 import io.vlingo.xoom.http.resource.agent.HttpRequestChannelConsumer;
 import io.vlingo.xoom.http.resource.agent.HttpRequestChannelConsumerProvider;
 import io.vlingo.xoom.wire.channel.RequestChannelConsumer;
 import io.vlingo.xoom.wire.channel.RequestResponseContext;
 import io.vlingo.xoom.wire.fdx.bidirectional.ServerRequestResponseChannel;
-import io.vlingo.xoom.wire.message.BasicConsumerByteBuffer;
 import io.vlingo.xoom.wire.message.ConsumerByteBuffer;
-import io.vlingo.xoom.wire.message.ConsumerByteBufferPool;
 
 public class ServerActor extends Actor implements Server, HttpRequestChannelConsumerProvider, Scheduled<Object> {
   static final String ChannelName = "server-request-response-channel";
   static final String ServerName = "xoom-http-server";
 
+  private static final byte[] CRLF = { '\r', '\n' };
+  private static final byte[] LastChunk = { '0', '\r', '\n', '\r', '\n' };
+  private static final int MaxChunkFraming = 12; // eight hex digits and two CRLF
+  private static final int MaxOutstandingChunks = 4;
+  private static final int MaxOutstandingSegments = 2;
+
+  private final AdmissionControl admissionControl;
+  private final Limiter admissionLimiter;
   private final HttpAgent agent;
   private final ServerRequestResponseChannel channel;
+  private final TimingWheel deadlines;
   private final DispatcherPool dispatcherPool;
   private final Filters filters;
   private final int maxMessageSize;
+  private final int maxMissingContentRequests;
   private final Map<String,RequestResponseHttpContext> requestsMissingContent;
+  private final long requestDeadline;
+  private final long requestHeaderTimeout;
+  private final HeaderLimits headerLimits;
+  private final BodyLimits bodyLimits;
   private final long requestMissingContentTimeout;
-  private final ConsumerByteBufferPool responseBufferPool;
+  private final Resources resources;
+  private final ResponseBufferPool responseBufferPool;
+  private final Map<String,ResponseSequencer> responseSequencers;
+  private final BiPredicate<Method,URI> streamsBodyOf;
   private final World world;
 
 
@@ -66,19 +98,51 @@ public class ServerActor extends Actor implements Server, HttpRequestChannelCons
           final Filters filters,
           final int port,
           final int dispatcherPoolSize)
+  throws Exception {
+    this(resources, filters, port, dispatcherPoolSize, AgentOptions.define());
+  }
+
+  public ServerActor(
+          final Resources resources,
+          final Filters filters,
+          final int port,
+          final int dispatcherPoolSize,
+          final AgentOptions agentOptions)
+  throws Exception {
+    this(resources, filters, port, dispatcherPoolSize, Elasticity.None, agentOptions);
+  }
+
+  public ServerActor(
+          final Resources resources,
+          final Filters filters,
+          final int port,
+          final int dispatcherPoolSize,
+          final Elasticity dispatcherPoolElasticity,
+          final AgentOptions agentOptions)
   throws Exception {
     final long start = Instant.now().toEpochMilli();
 
-    this.agent = HttpAgent.initialize(this, port, false, dispatcherPoolSize, logger());
+    this.agent = HttpAgent.initialize(this, port, false, agentOptions, logger());
 
     this.channel = null;                            // unused
     this.filters = filters;
     this.world = stage().world();
-    this.dispatcherPool = new AgentDispatcherPool(stage(), resources, dispatcherPoolSize);
-    this.requestsMissingContent = new HashMap<>();  // unused
+    this.dispatcherPool = new AgentDispatcherPool(stage(), resources, dispatcherPoolSize, dispatcherPoolElasticity);
+    this.resources = resources;
+    this.requestsMissingContent = new ConcurrentHashMap<>(); // unused
     this.maxMessageSize = 0;                        // unused
+    this.maxMissingContentRequests = 0;             // unused
     this.responseBufferPool = null;                 // unused
+    this.responseSequencers = null;                 // unused
     this.requestMissingContentTimeout = -1;         // unused
+    this.streamsBodyOf = resources.streamsBody() ? resources::streamsBodyOf : null;
+    this.admissionControl = AdmissionControl.None;  // unused
+    this.admissionLimiter = null;                   // unused
+    this.deadlines = null;                          // unused
+    this.requestDeadline = 0;                       // unused
+    this.requestHeaderTimeout = 0;                  // unused
+    this.headerLimits = HeaderLimits.Unlimited;     // unused
+    this.bodyLimits = BodyLimits.Unlimited;         // unused
 
     final long end = Instant.now().toEpochMilli();
 
@@ -100,14 +164,24 @@ public class ServerActor extends Actor implements Server, HttpRequestChannelCons
     this.agent = null;                              // unused
     this.filters = filters;
     this.world = stage().world();
-    this.requestsMissingContent = new HashMap<>();
+    this.requestsMissingContent = new ConcurrentHashMap<>();
+    this.responseSequencers = new ConcurrentHashMap<>();
     this.maxMessageSize = sizing.maxMessageSize;
+    this.maxMissingContentRequests = sizing.maxMissingContentRequests;
+    this.streamsBodyOf = resources.streamsBody() ? resources::streamsBodyOf : null;
+    this.resources = resources;
+    this.admissionControl = sizing.admissionControl;
+    this.admissionLimiter = admissionControl.isLimited() ? admissionControl.limiter() : null;
+    this.deadlines = TimingWheel.define();
+    this.requestDeadline = timing.requestDeadline;
+    this.requestHeaderTimeout = timing.requestHeaderTimeout;
+    this.headerLimits = sizing.headerLimits;
+    this.bodyLimits = sizing.bodyLimits;
 
     try {
-      responseBufferPool = new ConsumerByteBufferPool(
-        ElasticResourcePool.Config.of(sizing.maxBufferPoolSize), sizing.maxMessageSize);
+      responseBufferPool = new ResponseBufferPool(sizing.maxBufferPoolSize);
 
-      this.dispatcherPool = new ServerDispatcherPool(stage(), resources, sizing.dispatcherPoolSize);
+      this.dispatcherPool = new ServerDispatcherPool(stage(), resources, sizing.dispatcherPoolSize, sizing.dispatcherPoolElasticity);
 
       this.channel =
               ServerRequestResponseChannel.start(
@@ -149,11 +223,24 @@ public class ServerActor extends Actor implements Server, HttpRequestChannelCons
     return completes().with(true);
   }
 
+  @Override
+  public Completes<ResponseBufferPool.Statistics> responseBufferPoolStatistics() {
+    final ResponseBufferPool.Statistics statistics =
+            responseBufferPool == null ? ResponseBufferPool.Statistics.None : responseBufferPool.statistics();
+
+    return completes().with(statistics);
+  }
+
+  @Override
+  public Completes<Integer> dispatcherPoolSize() {
+    return completes().with(dispatcherPool.size());
+  }
+
   @Override
   @SuppressWarnings("unchecked")
   public Completes<Boolean> startUp() {
-    if (requestMissingContentTimeout > 0) {
-      stage().scheduler().schedule(selfAs(Scheduled.class), null, 1000L, requestMissingContentTimeout);
+    if (deadlines != null) {
+      stage().scheduler().schedule(selfAs(Scheduled.class), null, deadlines.tickMillis(), deadlines.tickMillis());
     }
 
     return completes().with(true);
@@ -171,7 +258,7 @@ public class ServerActor extends Actor implements Server, HttpRequestChannelCons
 
   @Override
   public HttpRequestChannelConsumer httpRequestChannelConsumer() {
-    return new ServerRequestChannelConsumer(dispatcherPool.dispatcher());
+    return new ServerRequestChannelConsumer();
   }
 
 
@@ -181,7 +268,8 @@ public class ServerActor extends Actor implements Server, HttpRequestChannelCons
 
   @Override
   public void intervalSignal(final Scheduled<Object> scheduled, final Object data) {
-    failTimedOutMissingContentRequests();
+    // expires both missing content and request deadlines
+    deadlines.advance();
   }
 
 
@@ -196,7 +284,7 @@ public class ServerActor extends Actor implements Server, HttpRequestChannelCons
     if (agent != null) {
       agent.close();
     } else {
-      failTimedOutMissingContentRequests();
+      deadlines.advance();
 
       channel.stop();
       channel.close();
@@ -204,6 +292,8 @@ public class ServerActor extends Actor implements Server, HttpRequestChannelCons
       dispatcherPool.close();
 
       filters.stop();
+
+      logger().info("Server " + responseBufferPool.statistics());
     }
 
     logger().info("Server stopped.");
@@ -216,31 +306,73 @@ public class ServerActor extends Actor implements Server, HttpRequestChannelCons
   // internal implementation
   //=========================================
 
-  private void failTimedOutMissingContentRequests() {
+  private void awaitMissingContent(final RequestResponseContext<?> requestResponseContext, final Context context) {
+    final RequestResponseHttpContext requestResponseHttpContext = new RequestResponseHttpContext(requestResponseContext, context);
+    requestsMissingContent.put(requestResponseContext.id(), requestResponseHttpContext);
+    final long timeout = Math.min(positiveOrMax(requestMissingContentTimeout), positiveOrMax(requestHeaderTimeout));
+    if (timeout < Long.MAX_VALUE) {
+      requestResponseHttpContext.expireAfter(timeout);
+    }
+  }
+
+  private void receivedMissingContent(final RequestResponseContext<?> requestResponseContext) {
+    final RequestResponseHttpContext requestResponseHttpContext = requestsMissingContent.remove(requestResponseContext.id());
+    if (requestResponseHttpContext != null) {
+      requestResponseHttpContext.cancel();
+    }
+  }
+
+  private void failTimedOutMissingContentRequest(final RequestResponseHttpContext requestResponseHttpContext) {
     if (isStopped()) return;
-    if (requestsMissingContent.isEmpty()) return;
 
-    final List<String> toRemove = new ArrayList<>(); // prevent ConcurrentModificationException
+    final String id = requestResponseHttpContext.requestResponseContext.id();
+    if (requestsMissingContent.get(id) != requestResponseHttpContext) return; // received
 
-    for (final String id : requestsMissingContent.keySet()) {
-      final RequestResponseHttpContext requestResponseHttpContext = requestsMissingContent.get(id);
+    if (!requestResponseHttpContext.requestResponseContext.hasConsumerData()) {
+      requestsMissingContent.remove(id, requestResponseHttpContext); // already closed?
+      return;
+    }
 
-      if (requestResponseHttpContext.requestResponseContext.hasConsumerData()) {
-        final RequestParser parser = requestResponseHttpContext.requestResponseContext.consumerData();
-        if (parser.hasMissingContentTimeExpired(requestMissingContentTimeout)) {
-          requestResponseHttpContext.requestResponseContext.consumerData(null);
-          toRemove.add(id);
-          requestResponseHttpContext.httpContext.completes.with(Response.of(Response.Status.BadRequest, "Missing content with timeout."));
-          requestResponseHttpContext.requestResponseContext.consumerData(null);
-        }
-      } else {
-        toRemove.add(id); // already closed?
-      }
+    final RequestParser parser = requestResponseHttpContext.requestResponseContext.consumerData();
+    if (!parser.isMissingContent()) {
+      requestsMissingContent.remove(id, requestResponseHttpContext);
+      return;
     }
 
-    for (final String id : toRemove) {
-      requestsMissingContent.remove(id);
+    // headers must complete in time however they trickle in
+    final long headerRemaining = parser.headerTimeRemaining(requestHeaderTimeout);
+    if (headerRemaining < 0) {
+      requestsMissingContent.remove(id, requestResponseHttpContext);
+      requestResponseHttpContext.requestResponseContext.consumerData(null);
+      responseCompletes.of(requestResponseHttpContext.requestResponseContext, null, false, null, true).with(Response.of(Response.Status.RequestTimeout, "Request header timeout."));
+      return;
     }
+
+    // content received since scheduled restarts the time limit
+    final long remaining = requestMissingContentTimeout > 0 ? parser.missingContentTimeRemaining(requestMissingContentTimeout) : Long.MAX_VALUE;
+    if (remaining >= 0) {
+      final long timeout = Math.min(remaining, headerRemaining);
+      if (timeout < Long.MAX_VALUE) {
+        requestResponseHttpContext.expireAfter(timeout + 1);
+      }
+      return;
+    }
+
+    requestsMissingContent.remove(id, requestResponseHttpContext);
+    requestResponseHttpContext.requestResponseContext.consumerData(null);
+    parser.missingContentTimedOut();
+    requestResponseHttpContext.httpContext.completes.with(Response.of(Response.Status.BadRequest, "Missing content with timeout."));
+  }
+
+  private Slot responseSlotFor(final RequestResponseContext<?> requestResponseContext) {
+    // one sequencer serves each connection until it is closed
+    final ResponseSequencer sequencer =
+            responseSequencers.computeIfAbsent(requestResponseContext.id(), key -> new ResponseSequencer(new ConnectionOutput(requestResponseContext), maxMessageSize));
+    return sequencer.next();
+  }
+
+  private static long positiveOrMax(final long timeout) {
+    return timeout > 0 ? timeout : Long.MAX_VALUE;
   }
 
   private void logResourceMappings(final Resources resources) {
@@ -252,21 +384,8 @@ public class ServerActor extends Actor implements Server, HttpRequestChannelCons
 
 
   private static class ServerDispatcherPool extends AbstractDispatcherPool {
-    private AtomicLong dispatcherPoolIndex;
-    private int dispatcherPoolSize;
-
-    ServerDispatcherPool(final Stage stage, final Resources resources, final int dispatcherPoolSize) {
-      super(stage, resources, dispatcherPoolSize);
-
-      this.dispatcherPoolIndex = new AtomicLong(0);
-      this.dispatcherPoolSize = dispatcherPool.length;
-    }
-
-    @Override
-    public Dispatcher dispatcher() {
-      final int index = (int) (dispatcherPoolIndex.incrementAndGet() % dispatcherPoolSize);
-
-      return dispatcherPool[index];
+    ServerDispatcherPool(final Stage stage, final Resources resources, final int dispatcherPoolSize, final Elasticity elasticity) {
+      super(stage, resources, dispatcherPoolSize, elasticity);
     }
   }
 
@@ -281,20 +400,28 @@ public class ServerActor extends Actor implements Server, HttpRequestChannelCons
 //  private final long instanceId = nextInstanceId.incrementAndGet();
 
   private class ServerRequestChannelConsumer implements HttpRequestChannelConsumer {
-    private final Dispatcher dispatcher;
-
-    ServerRequestChannelConsumer(final Dispatcher dispatcher) {
-      this.dispatcher = dispatcher;
-    }
-
     @Override
     public void closeWith(final RequestResponseContext<?> requestResponseContext, final Object data) {
 //    logger().debug("===================== CLOSE WITH: " + data);
       if (data != null) {
+        // dispatched while the connection still has its sequencer, which then discards the response
         final Request request = filters.process((Request) data);
         final Completes<Response> completes = responseCompletes.of(requestResponseContext, request, false, request.headers.headerOf(RequestHeader.XCorrelationID), true);
         final Context context = new Context(requestResponseContext, request, world.completesFor(Returns.value(completes)));
-        dispatcher.dispatchFor(context);
+        dispatcherPool.dispatcher().dispatchFor(context);
+      }
+      if (responseSequencers != null) {
+        final ResponseSequencer sequencer = responseSequencers.remove(requestResponseContext.id());
+        if (sequencer != null) {
+          sequencer.close();
+        }
+      }
+      receivedMissingContent(requestResponseContext);
+      if (requestResponseContext.hasConsumerData()) {
+        final Object consumerData = requestResponseContext.consumerData();
+        if (consumerData instanceof RequestParser) {
+          ((RequestParser) consumerData).close();
+        }
       }
     }
 
@@ -307,7 +434,9 @@ public class ServerActor extends Actor implements Server, HttpRequestChannelCons
         final RequestParser parser;
 
         if (!requestResponseContext.hasConsumerData()) {
-          parser = RequestParser.parserFor(buffer.asByteBuffer());
+          // the reads of a streamed body are not paused before its handler subscribes, so as much
+          // of it as any body may hold is held pending until then, rather than only one read
+          parser = RequestParser.parserFor(buffer.asByteBuffer(), streamsBodyOf, bodyLimits.maxBodySize, headerLimits, bodyLimits);
           requestResponseContext.consumerData(parser);
         } else {
           parser = requestResponseContext.consumerData();
@@ -329,16 +458,33 @@ public class ServerActor extends Actor implements Server, HttpRequestChannelCons
           context = consume(requestResponseContext, enrichedRequest, wasIncompleteContent);
         }
 
+        if (wasIncompleteContent && !parser.isMissingContent()) {
+          // a streamed body may complete without a following request
+          receivedMissingContent(requestResponseContext);
+        }
+
         if (parser.isMissingContent() && !requestsMissingContent.containsKey(requestResponseContext.id())) {
+          if (maxMissingContentRequests > 0 && requestsMissingContent.size() >= maxMissingContentRequests) {
+            // too many slow senders, so close this connection rather than wait for its content
+            requestResponseContext.consumerData(null);
+            parser.missingContentTimedOut();
+            responseCompletes.of(requestResponseContext, null, false, null, true).with(Response.of(Response.Status.ServiceUnavailable, "Too many incomplete requests."));
+            return;
+          }
 //        logger().debug("==============(" + instanceId + ") MISSING REQUEST CONTENT FOR (" + (++missingCount) + "): \n" + parser.currentRequestText());
           missingContent = true;
           if (context == null) {
             final Completes<Response> completes = responseCompletes.of(requestResponseContext.typed(), null, true, null, true);
             context = new Context(world.completesFor(Returns.value(completes)));
           }
-          requestsMissingContent.put(requestResponseContext.id(), new RequestResponseHttpContext(requestResponseContext, context));
+          awaitMissingContent(requestResponseContext, context);
         }
 
+      } catch (RequestLimitExceededException e) {
+        // the remainder of the request is unparsed, so the connection is closed
+        requestResponseContext.consumerData(null);
+        receivedMissingContent(requestResponseContext);
+        responseCompletes.of(requestResponseContext, null, false, null, true).with(Response.of(e.status, e.getMessage()));
       } catch (Exception e) {
 //      logger().debug("=====================(" + instanceId + ") BAD REQUEST (1): " + unfilteredRequest);
 //      final String requestContentText = Converters.bytesToText(buffer.array(), 0, buffer.limit());
@@ -365,6 +511,11 @@ public class ServerActor extends Actor implements Server, HttpRequestChannelCons
       consume(requestResponseContext, request, false);
     }
 
+    @Override
+    public boolean streamsBodyOf(final Method method, final URI uri) {
+      return streamsBodyOf != null && streamsBodyOf.test(method, uri);
+    }
+
     private Context consume(
             final RequestResponseContext<?> requestResponseContext,
             final Request request,
@@ -374,12 +525,26 @@ public class ServerActor extends Actor implements Server, HttpRequestChannelCons
 
       final boolean keepAlive = determineKeepAlive(requestResponseContext, request);
       final Request filteredRequest = filters.process(request);
-      final Completes<Response> completes = responseCompletes.of(requestResponseContext, filteredRequest, false, filteredRequest.headers.headerOf(RequestHeader.XCorrelationID), keepAlive);
-      final Context context = new Context(requestResponseContext, filteredRequest, world.completesFor(Returns.value(completes)));
-      dispatcher.dispatchFor(context);
+      final boolean admitted = admissionLimiter != null && !admissionControl.isExempt(filteredRequest);
+      final BasicCompletedBasedResponseCompletes completes = responseCompletes.of(requestResponseContext, filteredRequest, false, filteredRequest.headers.headerOf(RequestHeader.XCorrelationID), keepAlive, admitted);
+      final Context context;
+      if (admitted && !admissionLimiter.tryAcquire()) {
+        context = new Context(requestResponseContext, filteredRequest, new InlineCompletes(completes));
+        completes.reject(admissionControl.rejection());
+      } else {
+        completes.expireAfter(requestDeadline);
+        final Route inlineRoute = resources.inlineRouteOf(filteredRequest);
+        if (inlineRoute == null) {
+          context = new Context(requestResponseContext, filteredRequest, world.completesFor(Returns.value(completes)), completes);
+          dispatcherPool.dispatcher().dispatchFor(context);
+        } else {
+          context = new Context(requestResponseContext, filteredRequest, new InlineCompletes(completes), completes);
+          resources.dispatchInline(inlineRoute, context, logger());
+        }
+      }
 
       if (wasIncompleteContent) {
-        requestsMissingContent.remove(requestResponseContext.id());
+        receivedMissingContent(requestResponseContext);
       }
 
       return context;
@@ -401,6 +566,32 @@ public class ServerActor extends Actor implements Server, HttpRequestChannelCons
     }
   }
 
+  //=========================================
+  // InlineCompletes
+  //=========================================
+
+  /**
+   * Completes the response of a request dispatched inline on the thread of the
+   * outcome, rather than by way of the mailbox of a {@code CompletesEventually}.
+   */
+  private static class InlineCompletes implements CompletesEventually {
+    private final Completes<Response> completes;
+
+    InlineCompletes(final Completes<Response> completes) {
+      this.completes = completes;
+    }
+
+    @Override
+    public Address address() {
+      return null;
+    }
+
+    @Override
+    public void with(final Object outcome) {
+      completes.with((Response) outcome);
+    }
+  }
+
   //=========================================
   // RequestResponseHttpContext
   //=========================================
@@ -409,10 +600,48 @@ public class ServerActor extends Actor implements Server, HttpRequestChannelCons
     final Context httpContext;
     final RequestResponseContext<?> requestResponseContext;
 
+    private volatile Timeout timeout;
+
     RequestResponseHttpContext(final RequestResponseContext<?> requestResponseContext, final Context httpContext) {
       this.requestResponseContext = requestResponseContext;
       this.httpContext = httpContext;
     }
+
+    void cancel() {
+      final Timeout current = timeout;
+      if (current != null) {
+        current.cancel();
+      }
+    }
+
+    void expireAfter(final long timeoutMillis) {
+      timeout = deadlines.schedule(() -> failTimedOutMissingContentRequest(this), timeoutMillis);
+    }
+  }
+
+  //=========================================
+  // ConnectionOutput
+  //=========================================
+
+  /**
+   * Writes the sequenced responses of one connection to its channel.
+   */
+  private class ConnectionOutput implements ResponseSequencer.Output {
+    private final RequestResponseContext<?> requestResponseContext;
+
+    ConnectionOutput(final RequestResponseContext<?> requestResponseContext) {
+      this.requestResponseContext = requestResponseContext;
+    }
+
+    @Override
+    public ConsumerByteBuffer bufferFor(final int size) {
+      return responseBufferPool.acquire(size);
+    }
+
+    @Override
+    public void write(final ConsumerByteBuffer buffer, final boolean closeFollowing) {
+      requestResponseContext.respondWith(buffer, closeFollowing);
+    }
   }
 
   //=========================================
@@ -421,40 +650,166 @@ public class ServerActor extends Actor implements Server, HttpRequestChannelCons
 
   ResponseCompletes responseCompletes = new ResponseCompletes();
   private class ResponseCompletes {
-    public Completes<Response> of(final RequestResponseContext<?> requestResponseContext, final Request request, final boolean missingContent, final Header correlationId, final boolean keepAlive) {
-      return new BasicCompletedBasedResponseCompletes(requestResponseContext, request, missingContent, correlationId, keepAlive);
+    public BasicCompletedBasedResponseCompletes of(final RequestResponseContext<?> requestResponseContext, final Request request, final boolean missingContent, final Header correlationId, final boolean keepAlive) {
+      return of(requestResponseContext, request, missingContent, correlationId, keepAlive, false);
+    }
+
+    public BasicCompletedBasedResponseCompletes of(final RequestResponseContext<?> requestResponseContext, final Request request, final boolean missingContent, final Header correlationId, final boolean keepAlive, final boolean admitted) {
+      return new BasicCompletedBasedResponseCompletes(requestResponseContext, request, missingContent, correlationId, keepAlive, admitted);
     }
   }
 
-  private class BasicCompletedBasedResponseCompletes extends FutureCompletes<Response> {
+  /**
+   * Writes the first {@code Response} with which I am completed, whether by the handler
+   * of my request or by the expiry of my deadline, and drops any later completion.
+   * Over the wire my response is released by way of my {@code Slot} in the order of the
+   * requests of the connection. The placeholder of a request missing its content takes its
+   * {@code Slot} only once it is completed, because it may never be, and so its response
+   * follows those of all earlier requests.
+   * <p>
+   * The admission of my request, and the file of a spooled request body, are held until its
+   * handler completes, even if my deadline was answered before then, so that the requests in
+   * flight are counted, and their bodies remain readable, while their handlers still run.
+   * A request that is skipped because it expired is completed all the same.
+   */
+  private class BasicCompletedBasedResponseCompletes extends FutureCompletes<Response> implements Deadline {
+    final AtomicBoolean admissionHeld;
+    final long arrivalNanos;
+    final long clientTimeout;
     final Header correlationId;
     final boolean keepAlive;
     final boolean missingContent;
     final Request request;
     final RequestResponseContext<?> requestResponseContext;
+    final AtomicBoolean responded;
+    private Slot slot;
+
+    private volatile boolean expired;
+    private volatile Timeout timeout;
 
-    BasicCompletedBasedResponseCompletes(final RequestResponseContext<?> requestResponseContext, final Request request, final boolean missingContent, final Header correlationId, final boolean keepAlive) {
+    BasicCompletedBasedResponseCompletes(final RequestResponseContext<?> requestResponseContext, final Request request, final boolean missingContent, final Header correlationId, final boolean keepAlive, final boolean admitted) {
       super(stage().scheduler());
       this.requestResponseContext = requestResponseContext;
       this.request = request;
       this.missingContent = missingContent;
       this.correlationId = correlationId;
       this.keepAlive = keepAlive;
+      this.admissionHeld = new AtomicBoolean(admitted);
+      this.arrivalNanos = System.nanoTime();
+      this.clientTimeout = clientTimeoutOf(request);
+      this.responded = new AtomicBoolean(false);
+      this.slot = agent == null && !missingContent ? responseSlotFor(requestResponseContext) : null;
+    }
+
+    @Override
+    public boolean hasExpired() {
+      return expired;
+    }
+
+    @Override
+    public void resetTo(final long timeoutMillis) {
+      final long effectiveTimeout = effectiveTimeoutOf(timeoutMillis);
+      if (deadlines == null || effectiveTimeout <= 0 || responded.get()) return;
+
+      final Timeout previous = timeout;
+      if (previous != null && !previous.cancel()) return; // already expired
+
+      final long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - arrivalNanos);
+      timeout = deadlines.schedule(this::expire, effectiveTimeout - elapsed);
+    }
+
+    void expireAfter(final long timeoutMillis) {
+      final long effectiveTimeout = effectiveTimeoutOf(timeoutMillis);
+      if (deadlines == null || effectiveTimeout <= 0) return;
+
+      timeout = deadlines.schedule(this::expire, effectiveTimeout);
+    }
+
+    void reject(final Response rejection) {
+      admissionHeld.set(false); // never acquired
+      if (responded.compareAndSet(false, true)) {
+        respondWith(rejection, false);
+      }
+      deleteSpooledBody(); // never handled
     }
 
     @Override
     @SuppressWarnings("unchecked")
     public <O> Completes<O> with(final O response) {
+      if (responded.compareAndSet(false, true)) {
+        final Timeout current = timeout;
+        if (current != null) {
+          current.cancel();
+        }
+        respondWith((Response) response, true);
+      } else {
+        // the handler completed after my deadline was answered
+        releaseAdmission();
+      }
+      deleteSpooledBody();
+      return (Completes<O>) this;
+    }
+
+    private void expire() {
+      if (responded.compareAndSet(false, true)) {
+        expired = true;
+        respondWith(Response.of(Response.Status.GatewayTimeout), false);
+      }
+    }
+
+    private void deleteSpooledBody() {
+      if (request != null && request.body instanceof FileBody) {
+        ((FileBody) request.body).delete();
+      }
+    }
+
+    private void releaseAdmission() {
+      if (admissionHeld.compareAndSet(true, false)) {
+        admissionLimiter.release(System.nanoTime() - arrivalNanos);
+      }
+    }
+
+    private long clientTimeoutOf(final Request request) {
+      if (request == null) return 0;
+      final Header header = request.headers.headerOf(RequestHeader.XRequestTimeout);
+      if (header == null) return 0;
+      try {
+        return Long.parseLong(header.value.trim());
+      } catch (NumberFormatException e) {
+        return 0;
+      }
+    }
+
+    private long effectiveTimeoutOf(final long timeoutMillis) {
+      // a client may only shorten its deadline
+      if (clientTimeout > 0 && (timeoutMillis <= 0 || clientTimeout < timeoutMillis)) {
+        return clientTimeout;
+      }
+      return timeoutMillis;
+    }
+
+    private void respondWith(final Response unfilteredResponse, final boolean release) {
       Response debugResponse = null;
       try {
-        final Response unfilteredResponse = (Response) response;
-        final Response filtered = filters.process(unfilteredResponse);
+        final Response filtered = filters.process(request, unfilteredResponse);
         final Response completedResponse = filtered.include(correlationId);
         debugResponse = completedResponse;
         final boolean closeAfterResponse = closeAfterResponse(unfilteredResponse);
         if (agent == null) {
-          final ConsumerByteBuffer buffer = bufferFor(completedResponse);
-          requestResponseContext.respondWith(completedResponse.into(buffer), closeAfterResponse);
+          if (slot == null) {
+            slot = responseSlotFor(requestResponseContext); // missing content, now answered
+          }
+          final int size = completedResponse.size();
+          if (completedResponse.entity instanceof ResponseStream) {
+            final ConsumerByteBuffer head = completedResponse.into(responseBufferPool.acquire(size));
+            // released unwritten if it follows a response that closed the connection
+            slot.respondStreamed(() -> openStream(completedResponse, head, closeAfterResponse), head::release);
+          } else if (size > maxMessageSize) {
+            final SegmentWriter writer = new SegmentWriter(requestResponseContext, ResponseSegments.of(completedResponse), closeAfterResponse, slot);
+            slot.respondStreamed(writer::write, () -> { });
+          } else {
+            slot.respond(completedResponse.into(responseBufferPool.acquire(size)), closeAfterResponse);
+          }
         } else {
   //      System.out.println("============> SERVER RESPONSE: \n" + completedResponse);
           requestResponseContext.respondWith(completedResponse, closeAfterResponse);
@@ -466,17 +821,24 @@ public class ServerActor extends Actor implements Server, HttpRequestChannelCons
                 "\nRESPONSE:\n" + debugResponse;
 
         logger().error(message, e);
+      } finally {
+        if (release) {
+          releaseAdmission();
+        }
       }
-      return (Completes<O>) this;
     }
 
-    private ConsumerByteBuffer bufferFor(final Response response) {
-      final int size = response.size();
-      if (size < maxMessageSize) {
-        return responseBufferPool.acquire("ServerActor#BasicCompletedBasedResponseCompletes#bufferFor");
+    private void openStream(final Response response, final ConsumerByteBuffer head, final boolean closeAfterResponse) {
+      try {
+        requestResponseContext.respondWith(head, false);
+        final ResponseStream stream = (ResponseStream) response.entity;
+        stream.open(new ChunkWriter(requestResponseContext, stream, closeAfterResponse, slot));
+      } catch (Exception e) {
+        // the response is incomplete, so nothing may follow it on the connection
+        logger().error("Failure opening response stream because: " + e.getMessage(), e);
+        requestResponseContext.abandon();
+        slot.ended(true);
       }
-
-      return BasicConsumerByteBuffer.allocate(0, size + 1024);
     }
 
     private boolean closeAfterResponse(final Response response) {
@@ -506,4 +868,143 @@ public class ServerActor extends Actor implements Server, HttpRequestChannelCons
       return !keepAliveAfterResponse;
     }
   }
+
+  //=========================================
+  // ChunkWriter
+  //=========================================
+
+  /**
+   * Writes each chunk of a {@code ResponseStream} to the channel in its own pooled buffer,
+   * framed for chunked transfer encoding, and a chunk larger than the largest buffer as
+   * several chunks. I am ready while fewer than {@code MaxOutstandingChunks} are written
+   * but not yet released by the channel, and signal my stream once I become ready again,
+   * so that a producer honoring flow control is held to the pace of its client. When I end,
+   * the responses to later requests of the connection that are held back by my {@code Slot}
+   * are released.
+   */
+  private class ChunkWriter implements ResponseStream.Writer {
+    private final boolean closeFollowing;
+    private final AtomicInteger outstanding;
+    private final Runnable released;
+    private final RequestResponseContext<?> requestResponseContext;
+    private final Slot slot;
+
+    ChunkWriter(final RequestResponseContext<?> requestResponseContext, final ResponseStream stream, final boolean closeFollowing, final Slot slot) {
+      this.requestResponseContext = requestResponseContext;
+      this.closeFollowing = closeFollowing;
+      this.slot = slot;
+      this.outstanding = new AtomicInteger(0);
+      this.released = () -> {
+        if (outstanding.decrementAndGet() == MaxOutstandingChunks - 1) {
+          stream.ready();
+        }
+      };
+    }
+
+    @Override
+    public boolean isReady() {
+      return outstanding.get() < MaxOutstandingChunks;
+    }
+
+    @Override
+    public void write(final byte[] chunk, final int offset, final int length) {
+      final int maximumLength = ResponseBufferPool.MaximumClassSize - MaxChunkFraming;
+      for (int written = 0; written < length; written += maximumLength) {
+        writeChunk(chunk, offset + written, Math.min(maximumLength, length - written));
+      }
+    }
+
+    @Override
+    public void end() {
+      final ConsumerByteBuffer buffer = bufferFor(LastChunk.length);
+      buffer.asByteBuffer().put(LastChunk);
+      requestResponseContext.respondWith(buffer.flip(), closeFollowing);
+      slot.ended(closeFollowing);
+    }
+
+    private ConsumerByteBuffer bufferFor(final int size) {
+      return responseBufferPool.acquire(size);
+    }
+
+    private void writeChunk(final byte[] chunk, final int offset, final int length) {
+      final String size = Integer.toHexString(length);
+      outstanding.incrementAndGet();
+      final ConsumerByteBuffer buffer = responseBufferPool.acquire(size.length() + length + 4, released);
+      final ByteBuffer bytes = buffer.asByteBuffer();
+      for (int index = 0; index < size.length(); ++index) {
+        bytes.put((byte) size.charAt(index));
+      }
+      bytes.put(CRLF).put(chunk, offset, length).put(CRLF);
+      requestResponseContext.respondWith(buffer.flip());
+    }
+  }
+
+  //=========================================
+  // SegmentWriter
+  //=========================================
+
+  /**
+   * Writes a {@code Response} larger than the maximum message size in segments of about
+   * that size, each encoded into a pooled buffer only when it is to be written. No more
+   * than {@code MaxOutstandingSegments} are written but not yet released by the channel,
+   * so the memory held by a large response is bounded however slowly its client reads.
+   * The next segment is written as each is released, and once the last is written, the
+   * responses held back by my {@code Slot} are released.
+   */
+  private class SegmentWriter {
+    private final boolean closeFollowing;
+    private final AtomicInteger outstanding;
+    private final Runnable released;
+    private final RequestResponseContext<?> requestResponseContext;
+    private final int segmentSize;
+    private final ResponseSegments segments;
+    private final Slot slot;
+    private final AtomicBoolean writing;
+
+    private boolean headWritten;
+
+    SegmentWriter(final RequestResponseContext<?> requestResponseContext, final ResponseSegments segments, final boolean closeFollowing, final Slot slot) {
+      this.requestResponseContext = requestResponseContext;
+      this.segments = segments;
+      this.closeFollowing = closeFollowing;
+      this.slot = slot;
+      this.segmentSize = Math.min(maxMessageSize, ResponseBufferPool.MaximumClassSize);
+      this.outstanding = new AtomicInteger(0);
+      this.writing = new AtomicBoolean(false);
+      this.released = () -> {
+        outstanding.decrementAndGet();
+        write();
+      };
+    }
+
+    void write() {
+      do {
+        // one writer at a time, whether the responder or a channel releasing a segment
+        if (!writing.compareAndSet(false, true)) return;
+        try {
+          while (outstanding.get() < MaxOutstandingSegments && segments.hasNext()) {
+            outstanding.incrementAndGet();
+            final ConsumerByteBuffer buffer = segments.nextInto(responseBufferPool.acquire(nextSegmentSize(), released));
+            final boolean last = !segments.hasNext();
+            requestResponseContext.respondWith(buffer, last && closeFollowing);
+            if (last) {
+              slot.ended(closeFollowing);
+            }
+          }
+        } finally {
+          writing.set(false);
+        }
+        // a segment released while writing must not be missed
+      } while (outstanding.get() < MaxOutstandingSegments && segments.hasNext());
+    }
+
+    private int nextSegmentSize() {
+      if (headWritten) {
+        return segmentSize;
+      }
+      // the head is whole in the first segment, which is unpooled if it exceeds the largest class
+      headWritten = true;
+      return Math.max(segmentSize, segments.headSize());
+    }
+  }
 }
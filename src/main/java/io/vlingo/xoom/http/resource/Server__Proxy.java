@@ -22,6 +22,8 @@ public class Server__Proxy implements Server {
   private static final String shutDownRepresentation1 = "shutDown()";
   private static final String startUpRepresentation2 = "startUp()";
   private static final String stopRepresentation3 = "stop()";
+  private static final String responseBufferPoolStatisticsRepresentation4 = "responseBufferPoolStatistics()";
+  private static final String dispatcherPoolSizeRepresentation5 = "dispatcherPoolSize()";
 
   private final Actor actor;
   private final Mailbox mailbox;
@@ -64,6 +66,34 @@ public class Server__Proxy implements Server {
     return null;
   }
 
+  @Override
+  public Completes<ResponseBufferPool.Statistics> responseBufferPoolStatistics() {
+    if (!actor.isStopped()) {
+      final SerializableConsumer<Server> consumer = (actor) -> actor.responseBufferPoolStatistics();
+      final Completes<ResponseBufferPool.Statistics> completes = Completes.using(actor.scheduler());
+      if (mailbox.isPreallocated()) { mailbox.send(actor, Server.class, consumer, Returns.value(completes), responseBufferPoolStatisticsRepresentation4); }
+      else { mailbox.send(new LocalMessage<Server>(actor, Server.class, consumer, Returns.value(completes), responseBufferPoolStatisticsRepresentation4)); }
+      return completes;
+    } else {
+      actor.deadLetters().failedDelivery(new DeadLetter(actor, responseBufferPoolStatisticsRepresentation4));
+    }
+    return null;
+  }
+
+  @Override
+  public Completes<Integer> dispatcherPoolSize() {
+    if (!actor.isStopped()) {
+      final SerializableConsumer<Server> consumer = (actor) -> actor.dispatcherPoolSize();
+      final Completes<Integer> completes = Completes.using(actor.scheduler());
+      if (mailbox.isPreallocated()) { mailbox.send(actor, Server.class, consumer, Returns.value(completes), dispatcherPoolSizeRepresentation5); }
+      else { mailbox.send(new LocalMessage<Server>(actor, Server.class, consumer, Returns.value(completes), dispatcherPoolSizeRepresentation5)); }
+      return completes;
+    } else {
+      actor.deadLetters().failedDelivery(new DeadLetter(actor, dispatcherPoolSizeRepresentation5));
+    }
+    return null;
+  }
+
   @Override
   public void conclude() {
     if (!actor.isStopped()) {
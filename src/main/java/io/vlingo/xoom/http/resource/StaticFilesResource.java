@@ -132,7 +132,7 @@ public class StaticFilesResource extends ResourceHandler {
         Header.Headers.of(
           ResponseHeader.of(RequestHeader.ContentType, guessContentType(path)),
           ResponseHeader.of(ContentLength, fileContent.length)),
-        Body.from(fileContent, Body.Encoding.UTF8).content());
+        Body.from(fileContent, Body.Encoding.None));
     } catch (IOException e) {
       return internalServerError(e);
     } catch (IllegalArgumentException e) {
@@ -30,9 +30,9 @@ public class StaticFilesResourceDispatcher extends ConfigurationResource<StaticF
     try {
       switch (mappedParameters.actionId) {
       case 0: // GET %root%{path} serveFile(String root, String paths, String contentFilePath)
-        consumer = mappedParameters.mapped.size() == 3 ?
-                (handler) -> handler.serveFile((String) mappedParameters.mapped.get(0).value, (String) mappedParameters.mapped.get(1).value, (String) mappedParameters.mapped.get(2).value) :
-                (handler) -> handler.serveFile("", (String) mappedParameters.mapped.get(0).value, (String) mappedParameters.mapped.get(1).value);
+        consumer = mappedParameters.size() == 3 ?
+                (handler) -> handler.serveFile((String) mappedParameters.valueAt(0), (String) mappedParameters.valueAt(1), (String) mappedParameters.valueAt(2)) :
+                (handler) -> handler.serveFile("", (String) mappedParameters.valueAt(0), (String) mappedParameters.valueAt(1));
         pooledHandler().handleFor(context, consumer);
         break;
       }
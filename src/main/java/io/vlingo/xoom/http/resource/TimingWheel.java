@@ -0,0 +1,230 @@
+// Copyright © 2012-2021 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.http.resource;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+
+/**
+ * A hashed timing wheel of {@code Timeout} instances, each of which runs its task once
+ * its delay has elapsed, unless cancelled first. Scheduling and cancelling are constant
+ * time and may be done from any thread, but the wheel must be advanced by one thread at
+ * a time, such as that of the actor that owns it. Timeouts expire no earlier than their
+ * delay and no later than one tick after it, as long as the wheel is advanced each tick.
+ * <p>
+ * Cancelled timeouts release their task at once, but their small node remains in its
+ * bucket until the bucket is next visited.
+ */
+final class TimingWheel {
+  static final long DefaultTickMillis = 10L;
+  static final int DefaultWheelSize = 512;
+
+  private final Bucket[] buckets;
+  private final int mask;
+  private final Queue<Timeout> scheduled;
+  private final long startNanos;
+  private final long tickNanos;
+
+  private long tick;
+
+  /**
+   * Answer a new {@code TimingWheel} of the default tick and size.
+   * @return TimingWheel
+   */
+  static TimingWheel define() {
+    return new TimingWheel(DefaultTickMillis, DefaultWheelSize);
+  }
+
+  /**
+   * Constructs my state.
+   * @param tickMillis the long number of milliseconds of each tick
+   * @param wheelSize the int number of buckets, rounded up to a power of two
+   */
+  TimingWheel(final long tickMillis, final int wheelSize) {
+    if (tickMillis <= 0) {
+      throw new IllegalArgumentException("Tick must be positive: " + tickMillis);
+    }
+    final int size = wheelSize <= 1 ? 1 : Integer.highestOneBit(wheelSize - 1) << 1;
+    this.buckets = new Bucket[size];
+    for (int index = 0; index < size; ++index) {
+      buckets[index] = new Bucket();
+    }
+    this.mask = size - 1;
+    this.scheduled = new ConcurrentLinkedQueue<>();
+    this.startNanos = System.nanoTime();
+    this.tickNanos = TimeUnit.MILLISECONDS.toNanos(tickMillis);
+    this.tick = 0;
+  }
+
+  /**
+   * Answer the number of milliseconds of each of my ticks.
+   * @return long
+   */
+  long tickMillis() {
+    return TimeUnit.NANOSECONDS.toMillis(tickNanos);
+  }
+
+  /**
+   * Answer a new {@code Timeout} that runs the {@code task} after {@code delayMillis}.
+   * @param task the Runnable to run when expired
+   * @param delayMillis the long number of milliseconds until expiry
+   * @return Timeout
+   */
+  Timeout schedule(final Runnable task, final long delayMillis) {
+    final Timeout timeout = new Timeout(task, System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(Math.max(0, delayMillis)));
+    scheduled.add(timeout);
+    return timeout;
+  }
+
+  /**
+   * Advance through each tick that has elapsed by {@code nowNanos}, expiring the
+   * timeouts that are due.
+   * @param nowNanos the long current time of {@code System.nanoTime()}
+   */
+  void advanceTo(final long nowNanos) {
+    final long lastTick = (nowNanos - startNanos) / tickNanos;
+
+    while (tick <= lastTick) {
+      transferScheduled();
+      buckets[(int) (tick & mask)].expire(nowNanos);
+      ++tick;
+    }
+  }
+
+  /**
+   * Advance through each tick that has elapsed by now.
+   */
+  void advance() {
+    advanceTo(System.nanoTime());
+  }
+
+  private void transferScheduled() {
+    // bounded, so that a flood of scheduling cannot starve expiry
+    for (int count = 0; count < 100_000; ++count) {
+      final Timeout timeout = scheduled.poll();
+      if (timeout == null) {
+        return;
+      }
+      if (timeout.isCancelled()) {
+        continue;
+      }
+      final long dueTick = Math.max(tick, (timeout.deadlineNanos - startNanos + tickNanos - 1) / tickNanos);
+      timeout.rounds = (dueTick - tick) / buckets.length;
+      buckets[(int) (dueTick & mask)].add(timeout);
+    }
+  }
+
+  //=====================================
+  // Timeout
+  //=====================================
+
+  /**
+   * A task scheduled to run when its delay has elapsed.
+   */
+  static final class Timeout {
+    private static final int Pending = 0;
+    private static final int Cancelled = 1;
+    private static final int Expired = 2;
+
+    private static final AtomicIntegerFieldUpdater<Timeout> stateUpdater =
+            AtomicIntegerFieldUpdater.newUpdater(Timeout.class, "state");
+
+    final long deadlineNanos;
+
+    private Timeout next;
+    private long rounds;
+    private volatile int state;
+    private volatile Runnable task;
+
+    Timeout(final Runnable task, final long deadlineNanos) {
+      this.task = task;
+      this.deadlineNanos = deadlineNanos;
+      this.state = Pending;
+    }
+
+    /**
+     * Cancel me, answering whether or not I was cancelled before expiring.
+     * @return boolean
+     */
+    boolean cancel() {
+      if (stateUpdater.compareAndSet(this, Pending, Cancelled)) {
+        task = null;
+        return true;
+      }
+      return false;
+    }
+
+    /**
+     * Answer whether or not I have been cancelled.
+     * @return boolean
+     */
+    boolean isCancelled() {
+      return state == Cancelled;
+    }
+
+    /**
+     * Answer whether or not I have expired.
+     * @return boolean
+     */
+    boolean isExpired() {
+      return state == Expired;
+    }
+
+    private void expire() {
+      final Runnable expiring = task;
+      if (stateUpdater.compareAndSet(this, Pending, Expired)) {
+        task = null;
+        expiring.run();
+      }
+    }
+  }
+
+  //=====================================
+  // Bucket
+  //=====================================
+
+  private static final class Bucket {
+    private Timeout head;
+
+    void add(final Timeout timeout) {
+      timeout.next = head;
+      head = timeout;
+    }
+
+    void expire(final long nowNanos) {
+      Timeout previous = null;
+      Timeout timeout = head;
+
+      while (timeout != null) {
+        final Timeout next = timeout.next;
+        final boolean due = timeout.rounds <= 0 && timeout.deadlineNanos <= nowNanos;
+
+        if (due || timeout.isCancelled()) {
+          if (previous == null) {
+            head = next;
+          } else {
+            previous.next = next;
+          }
+          timeout.next = null;
+          if (due) {
+            timeout.expire();
+          }
+        } else {
+          if (timeout.rounds > 0) {
+            --timeout.rounds;
+          }
+          previous = timeout;
+        }
+
+        timeout = next;
+      }
+    }
+  }
+}
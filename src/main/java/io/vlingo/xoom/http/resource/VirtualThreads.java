@@ -0,0 +1,52 @@
+// Copyright © 2012-2021 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.http.resource;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Runs tasks on a virtual thread each, where the runtime supports virtual threads.
+ * Since this library targets Java 8, the virtual thread executor of the runtime is
+ * obtained reflectively, and is absent on runtimes without virtual threads.
+ */
+final class VirtualThreads {
+  private static final ExecutorService executor = newVirtualThreadPerTaskExecutor();
+
+  /**
+   * Answer whether or not the runtime supports virtual threads.
+   * @return boolean
+   */
+  static boolean isSupported() {
+    return executor != null;
+  }
+
+  /**
+   * Run the {@code task} on a new virtual thread.
+   * @param task the Runnable to run
+   */
+  static void execute(final Runnable task) {
+    if (executor == null) {
+      throw new UnsupportedOperationException("Virtual threads are not supported by this runtime.");
+    }
+    executor.execute(task);
+  }
+
+  private static ExecutorService newVirtualThreadPerTaskExecutor() {
+    try {
+      final Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+      return (ExecutorService) factory.invoke(null);
+    } catch (Throwable e) {
+      // absent before Java 21, and a preview feature before that
+      return null;
+    }
+  }
+
+  private VirtualThreads() { }
+}
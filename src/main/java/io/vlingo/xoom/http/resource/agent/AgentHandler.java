@@ -7,7 +7,9 @@
 
 package io.vlingo.xoom.http.resource.agent;
 
+import static io.netty.handler.codec.http.HttpResponseStatus.BAD_REQUEST;
 import static io.netty.handler.codec.http.HttpResponseStatus.CONTINUE;
+import static io.netty.handler.codec.http.HttpResponseStatus.REQUEST_ENTITY_TOO_LARGE;
 import static io.netty.handler.codec.http.HttpVersion.HTTP_1_1;
 
 import java.net.URI;
@@ -15,34 +17,66 @@ import java.util.Map;
 import java.util.concurrent.atomic.AtomicLong;
 
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.CompositeByteBuf;
 import io.netty.buffer.Unpooled;
 import io.netty.channel.Channel;
+import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelFutureListener;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelInboundHandlerAdapter;
 import io.netty.channel.SimpleChannelInboundHandler;
 import io.netty.handler.codec.http.DefaultFullHttpResponse;
+import io.netty.handler.codec.http.DefaultHttpContent;
+import io.netty.handler.codec.http.DefaultHttpResponse;
 import io.netty.handler.codec.http.FullHttpRequest;
 import io.netty.handler.codec.http.FullHttpResponse;
+import io.netty.handler.codec.http.HttpContent;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpHeaderValues;
+import io.netty.handler.codec.http.HttpHeaders;
+import io.netty.handler.codec.http.HttpObject;
+import io.netty.handler.codec.http.HttpRequest;
+import io.netty.handler.codec.http.HttpResponse;
 import io.netty.handler.codec.http.HttpResponseStatus;
 import io.netty.handler.codec.http.HttpUtil;
 import io.netty.handler.codec.http.HttpVersion;
+import io.netty.handler.codec.http.LastHttpContent;
 import io.netty.util.AttributeKey;
 import io.netty.util.CharsetUtil;
 import io.vlingo.xoom.actors.Logger;
+import io.vlingo.xoom.http.BinaryBody;
 import io.vlingo.xoom.http.Body;
 import io.vlingo.xoom.http.Header;
 import io.vlingo.xoom.http.Header.Headers;
 import io.vlingo.xoom.http.Method;
 import io.vlingo.xoom.http.Request;
+import io.vlingo.xoom.http.RequestBodyStream;
 import io.vlingo.xoom.http.RequestHeader;
 import io.vlingo.xoom.http.Response;
+import io.vlingo.xoom.http.ResponseStream;
 import io.vlingo.xoom.http.Version;
 import io.vlingo.xoom.wire.channel.RequestResponseContext;
 import io.vlingo.xoom.wire.channel.ResponseSenderChannel;
 import io.vlingo.xoom.wire.message.ConsumerByteBuffer;
 
-public class AgentHandler extends SimpleChannelInboundHandler<FullHttpRequest> implements ResponseSenderChannel {
+/**
+ * Consumes the requests decoded by the pipeline of the {@code HttpAgent} and writes their
+ * responses. With the default {@code AgentOptions} each request arrives aggregated as a
+ * {@code FullHttpRequest}. When streaming, each request arrives as an {@code HttpRequest}
+ * followed by its {@code HttpContent} parts, which I deliver to a {@code RequestBodyStream}
+ * or retain until the last part, according to the route of the request. The reading of
+ * a connection is paused while its {@code RequestBodyStream} has no subscriber.
+ * <p>
+ * The content of each response is written from a pooled direct buffer of its exact size,
+ * or wraps the bytes of a {@code BinaryBody}, and its headers are encoded by the
+ * {@code HttpResponseEncoder} directly into a pooled buffer. A response that is already
+ * encoded into a {@code ConsumerByteBuffer} is written without a copy, bypassing that
+ * encoder, and its buffer is released once written. Each response is flushed as it is
+ * written, and the {@code FlushConsolidationHandler} of the pipeline consolidates the
+ * flushes of the responses written while a read is in progress.
+ */
+public class AgentHandler extends SimpleChannelInboundHandler<HttpObject> implements ResponseSenderChannel {
   private static final String AGENT_CONTEXT_NAME = "$AGENT_CONTEXT";
   private static final AttributeKey<AgentChannelContext> AGENT_CONTEXT;
 
@@ -54,13 +88,15 @@ public class AgentHandler extends SimpleChannelInboundHandler<FullHttpRequest> i
 
   private String contextInstanceId;
   private final Logger logger;
+  private final AgentOptions options;
   private final HttpRequestChannelConsumerProvider provider;
 
   private static final AtomicLong nextInstanceId = new AtomicLong(0);
   private final long instanceId;
 
-  AgentHandler(final HttpRequestChannelConsumerProvider provider, final Logger logger) {
+  AgentHandler(final HttpRequestChannelConsumerProvider provider, final AgentOptions options, final Logger logger) {
     this.provider = provider;
+    this.options = options;
     this.logger = logger;
     this.instanceId = nextInstanceId.incrementAndGet();
   }
@@ -82,6 +118,17 @@ public class AgentHandler extends SimpleChannelInboundHandler<FullHttpRequest> i
 //  logger.debug(">>>>> AgentHandler::channelReadComplete(): " + instanceId + " NAME: " + contextInstanceId(context));
   }
 
+  @Override
+  public void channelWritabilityChanged(final ChannelHandlerContext context) throws Exception {
+    if (context.channel().isWritable()) {
+      final ResponseStream stream = agentChannelContext(context).responseStream;
+      if (stream != null) {
+        stream.ready();
+      }
+    }
+    super.channelWritabilityChanged(context);
+  }
+
   @Override
   public void exceptionCaught(final ChannelHandlerContext context, final Throwable cause) {
     logger.error("AgentHandler failured because: " + cause.getMessage() + ".\nClosing context: " + contextInstanceId(context), cause);
@@ -89,12 +136,31 @@ public class AgentHandler extends SimpleChannelInboundHandler<FullHttpRequest> i
   }
 
   @Override
-  protected void channelRead0(final ChannelHandlerContext context, final FullHttpRequest request) throws Exception {
-    if (HttpUtil.is100ContinueExpected(request)) {
-      send100Continue(context);
+  protected void channelRead0(final ChannelHandlerContext context, final HttpObject message) throws Exception {
+    if (message.decoderResult().isFailure()) {
+      // the decoder answers a malformed request as a full request, which must not be dispatched
+      rejectMalformed(context);
+    } else if (message instanceof FullHttpRequest) {
+      final FullHttpRequest request = (FullHttpRequest) message;
+
+      if (HttpUtil.is100ContinueExpected(request)) {
+        send100Continue(context);
+      }
+
+      provider.httpRequestChannelConsumer().consume(agentChannelContext(context), toConsumable(request));
+    } else if (message instanceof HttpRequest) {
+      startRequest(context, (HttpRequest) message);
+    } else if (message instanceof HttpContent) {
+      continueRequest(context, (HttpContent) message);
     }
+  }
 
-    provider.httpRequestChannelConsumer().consume(agentChannelContext(context), toConsumable(request));
+  @Override
+  public void channelInactive(final ChannelHandlerContext context) throws Exception {
+    if (context.channel().hasAttr(AGENT_CONTEXT)) {
+      agentChannelContext(context).abortIncoming(new IllegalStateException("Connection closed before request content was complete."));
+    }
+    super.channelInactive(context);
   }
 
   @Override
@@ -123,19 +189,11 @@ public class AgentHandler extends SimpleChannelInboundHandler<FullHttpRequest> i
   public void respondWith(final RequestResponseContext<?> context, final ConsumerByteBuffer buffer, final boolean closeFollowing) {
 //  logger.debug(">>>>> AgentHandler::respondWith(): " + instanceId + " NAME: " + contextInstanceId + " : CLOSE? " + closeFollowing);
 
-    final AgentChannelContext agentChannelContext = (AgentChannelContext) context;
-
-    final ChannelHandlerContext channelHandlerContext = agentChannelContext.channelHandlerContext();
+    final ChannelFuture written = writeResponse((AgentChannelContext) context, buffer);
 
-    final boolean keepAlive = writeResponse(channelHandlerContext, buffer, !closeFollowing);
-
-//  logger.debug(">>>>> AgentHandler::respondWith(): " + instanceId + " NAME: " + contextInstanceId + " : KEEP-ALIVE? " + keepAlive);
-
-    if (!keepAlive) {
-      channelHandlerContext.writeAndFlush(Unpooled.EMPTY_BUFFER).addListener(ChannelFutureListener.CLOSE);
+    if (closeFollowing) {
+      written.addListener(ChannelFutureListener.CLOSE);
 //    logger.debug(">>>>> AgentHandler::respondWith(): " + instanceId + " NAME: " + contextInstanceId + " : CLOSED ");
-    } else {
-      channelHandlerContext.writeAndFlush(Unpooled.EMPTY_BUFFER);
     }
   }
 
@@ -143,19 +201,23 @@ public class AgentHandler extends SimpleChannelInboundHandler<FullHttpRequest> i
   public void respondWith(final RequestResponseContext<?> context, final Object response, final boolean closeFollowing) {
     final Response typedResponse = toResponse(response);
 
-    final FullHttpResponse writable = toWritable(typedResponse);
+    ChannelHandlerContext channelHandlerContext = agentChannelContext(context).channelHandlerContext();
 
-//  logger.debug("============> AGENT RESPONSE: \n" + writable);
+    if (typedResponse.entity instanceof ResponseStream) {
+      respondWithStream(agentChannelContext(context), typedResponse, closeFollowing);
+      return;
+    }
 
-    ChannelHandlerContext channelHandlerContext = agentChannelContext(context).channelHandlerContext();
+    final FullHttpResponse writable = toWritable(channelHandlerContext, typedResponse);
 
-    channelHandlerContext.write(writable);
+//  logger.debug("============> AGENT RESPONSE: \n" + writable);
 
+    // each flush is consolidated by the pipeline with those of the other responses of the same read
     if (closeFollowing) {
-      channelHandlerContext.writeAndFlush(Unpooled.EMPTY_BUFFER).addListener(ChannelFutureListener.CLOSE);
+      channelHandlerContext.writeAndFlush(writable).addListener(ChannelFutureListener.CLOSE);
 //    logger.debug(">>>>> AgentHandler::respondWith(): " + instanceId + " NAME: " + contextInstanceId + " : CLOSED ");
     } else {
-      channelHandlerContext.writeAndFlush(Unpooled.EMPTY_BUFFER);
+      channelHandlerContext.writeAndFlush(writable, channelHandlerContext.voidPromise());
 //    logger.debug(">>>>> AgentHandler::respondWith(): " + instanceId + " NAME: " + contextInstanceId + " : FLUSHED ");
     }
   }
@@ -183,16 +245,112 @@ public class AgentHandler extends SimpleChannelInboundHandler<FullHttpRequest> i
 
   private static void send100Continue(final ChannelHandlerContext context) {
     final FullHttpResponse response = new DefaultFullHttpResponse(HTTP_1_1, CONTINUE, Unpooled.EMPTY_BUFFER);
-    context.write(response);
+    // flushed, because the client waits for it before sending the content
+    context.writeAndFlush(response, context.voidPromise());
   }
 
-  private Request toConsumable(final FullHttpRequest request) throws Exception {
-    final Method consumableMethod = Method.from(request.method().name());
+  private void startRequest(final ChannelHandlerContext context, final HttpRequest request) throws Exception {
+    final AgentChannelContext agentChannelContext = agentChannelContext(context);
 
-    final URI consumableURI = new URI(request.uri());
+    if (HttpUtil.is100ContinueExpected(request)) {
+      send100Continue(context);
+    }
 
-    final Version consumableVersion = Version.Http1_1;
+    final Method method = Method.from(request.method().name());
+    final URI uri = new URI(request.uri());
+    final Headers<RequestHeader> headers = headersOf(request);
+    final HttpRequestChannelConsumer consumer = provider.httpRequestChannelConsumer();
+
+    if (!HttpUtil.isContentLengthSet(request) && !HttpUtil.isTransferEncodingChunked(request)) {
+      agentChannelContext.incoming = Incoming.Discarding;
+      consumer.consume(agentChannelContext, Request.from(method, uri, Version.Http1_1, headers, Body.Empty));
+    } else if (consumer.streamsBodyOf(method, uri)) {
+      final RequestBodyStream stream = new RequestBodyStream(options.maxContentLength);
+      agentChannelContext.incoming = Incoming.streamingTo(stream);
+      consumer.consume(agentChannelContext, Request.from(method, uri, Version.Http1_1, headers, stream));
+    } else if (HttpUtil.getContentLength(request, 0L) > options.maxContentLength) {
+      rejectIncoming(agentChannelContext, REQUEST_ENTITY_TOO_LARGE);
+    } else {
+      agentChannelContext.incoming = Incoming.retaining(method, uri, headers, context.alloc().compositeBuffer(Integer.MAX_VALUE));
+    }
+  }
+
+  private void continueRequest(final ChannelHandlerContext context, final HttpContent content) {
+    final AgentChannelContext agentChannelContext = agentChannelContext(context);
+    final Incoming incoming = agentChannelContext.incoming;
+
+    if (incoming == null || incoming == Incoming.Discarding) {
+      return; // no body expected, or the request was rejected
+    }
+
+    final boolean last = content instanceof LastHttpContent;
+
+    if (incoming.stream != null) {
+      if (content.content().isReadable()) {
+        incoming.stream.append(content.content().nioBuffer());
+      }
+      if (last) {
+        agentChannelContext.incoming = null;
+        incoming.stream.complete();
+      } else if (!incoming.stream.isSubscribed()) {
+        pauseUntilSubscribed(context.channel(), incoming.stream);
+      }
+      return;
+    }
+
+    if (incoming.content.readableBytes() + content.content().readableBytes() > options.maxContentLength) {
+      agentChannelContext.abortIncoming(null);
+      rejectIncoming(agentChannelContext, REQUEST_ENTITY_TOO_LARGE);
+      return;
+    }
+
+    if (content.content().isReadable()) {
+      // retained rather than copied until the last part
+      incoming.content.addComponent(true, content.content().retain());
+    }
+
+    if (last) {
+      agentChannelContext.incoming = null;
+      final Body body = incoming.content.isReadable() ? Body.from(incoming.content.toString(CharsetUtil.UTF_8)) : Body.Empty;
+      incoming.content.release();
+      provider.httpRequestChannelConsumer().consume(agentChannelContext, Request.from(incoming.method, incoming.uri, Version.Http1_1, incoming.headers, body));
+    }
+  }
+
+  /**
+   * Stop reading the {@code channel} until the handler of the request subscribes to
+   * its {@code stream}, so that only the content already read is held pending.
+   */
+  private void pauseUntilSubscribed(final Channel channel, final RequestBodyStream stream) {
+    if (channel.config().isAutoRead()) {
+      channel.config().setAutoRead(false);
+      stream.whenSubscribed(() -> channel.config().setAutoRead(true));
+    }
+  }
+
+  private void rejectMalformed(final ChannelHandlerContext context) {
+    final AgentChannelContext agentChannelContext = agentChannelContext(context);
+
+    if (agentChannelContext.incoming == Incoming.Discarding) {
+      return; // already rejected
+    }
+
+    agentChannelContext.abortIncoming(new IllegalStateException("Malformed request."));
+    rejectIncoming(agentChannelContext, BAD_REQUEST);
+  }
+
+  private void rejectIncoming(final AgentChannelContext context, final HttpResponseStatus status) {
+    // the remaining content of the request is discarded and its connection closed
+    context.incoming = Incoming.Discarding;
 
+    final FullHttpResponse response = new DefaultFullHttpResponse(HTTP_1_1, status, Unpooled.EMPTY_BUFFER);
+    response.headers().set(HttpHeaderNames.CONTENT_LENGTH, 0);
+    response.headers().set(HttpHeaderNames.CONNECTION, HttpHeaderValues.CLOSE);
+
+    context.channelHandlerContext.writeAndFlush(response).addListener(ChannelFutureListener.CLOSE);
+  }
+
+  private Headers<RequestHeader> headersOf(final HttpRequest request) {
     final Headers<RequestHeader> headers = Headers.empty();
 
     for (final Map.Entry<String, String> entry : request.headers()) {
@@ -200,8 +358,21 @@ public class AgentHandler extends SimpleChannelInboundHandler<FullHttpRequest> i
       headers.add(header);
     }
 
+    return headers;
+  }
+
+  private Request toConsumable(final FullHttpRequest request) throws Exception {
+    final Method consumableMethod = Method.from(request.method().name());
+
+    final URI consumableURI = new URI(request.uri());
+
+    final Version consumableVersion = Version.Http1_1;
+
+    final Headers<RequestHeader> headers = headersOf(request);
+
     final ByteBuf content = request.content();
 
+    // decoded once directly from the pooled buffer, which is released before the body is consumed
     final Body body = content.isReadable() ? Body.from(content.toString(CharsetUtil.UTF_8)) : Body.Empty;
 
     final Request consumableRequest = Request.from(consumableMethod, consumableURI, consumableVersion, headers, body);
@@ -215,45 +386,151 @@ public class AgentHandler extends SimpleChannelInboundHandler<FullHttpRequest> i
     return (Response) response;
   }
 
-  private FullHttpResponse toWritable(final Response response) {
+  private FullHttpResponse toWritable(final ChannelHandlerContext context, final Response response) {
     final FullHttpResponse httpResponse =
             new DefaultFullHttpResponse(
                     HttpVersion.HTTP_1_1,
                     HttpResponseStatus.valueOf(response.status.code),
-                    Unpooled.copiedBuffer(response.entity.content(), CharsetUtil.UTF_8),
+                    contentOf(context, response.entity),
                     false);
 
+    final HttpHeaders headers = httpResponse.headers();
+
     for (final Header header : response.headers) {
-      httpResponse.headers().set(header.name, header.value);
+      headers.add(header.name, header.value);
     }
 
     return httpResponse;
   }
 
-  private boolean writeResponse(final ChannelHandlerContext channelHandlerContext, final ConsumerByteBuffer buffer, final boolean keepAlive) {
-    final ByteBuf replyBuffer = channelHandlerContext.alloc().buffer(buffer.limit());
+  private void respondWithStream(final AgentChannelContext context, final Response response, final boolean closeFollowing) {
+    final HttpResponse head = new DefaultHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.valueOf(response.status.code));
+
+    final HttpHeaders headers = head.headers();
+
+    for (final Header header : response.headers) {
+      headers.add(header.name, header.value);
+    }
+
+    final ResponseStream stream = (ResponseStream) response.entity;
 
-    replyBuffer.writeBytes(buffer.asByteBuffer());
+    context.responseStream = stream;
+    context.channelHandlerContext.writeAndFlush(head);
+
+    stream.open(new StreamWriter(context, closeFollowing));
+  }
+
+  private ByteBuf contentOf(final ChannelHandlerContext context, final Body entity) {
+    if (entity instanceof BinaryBody) {
+      // the bytes are sent as they are, without a copy
+      return Unpooled.wrappedBuffer(((BinaryBody) entity).binaryContent);
+    }
+    if (!entity.hasContent()) {
+      return Unpooled.EMPTY_BUFFER;
+    }
+    final String text = entity.content();
+    // a pooled direct buffer of the exact size rather than of the worst case of three bytes per char
+    final ByteBuf content = context.alloc().ioBuffer(ByteBufUtil.utf8Bytes(text));
+    ByteBufUtil.writeUtf8(content, text);
+    return content;
+  }
 
-    channelHandlerContext.write(replyBuffer);
+  private ChannelFuture writeResponse(final AgentChannelContext context, final ConsumerByteBuffer buffer) {
+    // the encoded bytes are wrapped rather than copied, and the buffer is released once written
+    final ByteBuf replyBuffer = Unpooled.wrappedBuffer(buffer.asByteBuffer());
 
-    return keepAlive;
+    return context.encodedWriteContext.writeAndFlush(replyBuffer).addListener(outcome -> buffer.release());
+  }
+
+  /**
+   * Writes each chunk of a {@code ResponseStream} as {@code HttpContent}, which is
+   * framed by the {@code HttpResponseEncoder}. I am ready while the channel is writable.
+   */
+  private static class StreamWriter implements ResponseStream.Writer {
+    private final boolean closeFollowing;
+    private final AgentChannelContext context;
+
+    StreamWriter(final AgentChannelContext context, final boolean closeFollowing) {
+      this.context = context;
+      this.closeFollowing = closeFollowing;
+    }
+
+    @Override
+    public boolean isReady() {
+      return context.channelHandlerContext.channel().isWritable();
+    }
+
+    @Override
+    public void write(final byte[] chunk, final int offset, final int length) {
+      // copied because the caller may reuse its chunk, but into a pooled direct buffer
+      final ByteBuf content = context.channelHandlerContext.alloc().ioBuffer(length).writeBytes(chunk, offset, length);
+      context.channelHandlerContext.writeAndFlush(new DefaultHttpContent(content));
+    }
+
+    @Override
+    public void end() {
+      context.responseStream = null;
+
+      final ChannelFuture future = context.channelHandlerContext.writeAndFlush(LastHttpContent.EMPTY_LAST_CONTENT);
+
+      if (closeFollowing) {
+        future.addListener(ChannelFutureListener.CLOSE);
+      }
+    }
+  }
+
+  /**
+   * The request of a connection whose content is being received when streaming, which is
+   * either delivered to its {@code stream} or retained in its {@code content}.
+   */
+  private static class Incoming {
+    /** The {@code Incoming} of a request whose remaining content is ignored. */
+    static final Incoming Discarding = new Incoming(null, null, null, null, null);
+
+    final CompositeByteBuf content;
+    final Headers<RequestHeader> headers;
+    final Method method;
+    final RequestBodyStream stream;
+    final URI uri;
+
+    static Incoming streamingTo(final RequestBodyStream stream) {
+      return new Incoming(null, null, null, stream, null);
+    }
+
+    static Incoming retaining(final Method method, final URI uri, final Headers<RequestHeader> headers, final CompositeByteBuf content) {
+      return new Incoming(method, uri, headers, null, content);
+    }
+
+    private Incoming(final Method method, final URI uri, final Headers<RequestHeader> headers, final RequestBodyStream stream, final CompositeByteBuf content) {
+      this.method = method;
+      this.uri = uri;
+      this.headers = headers;
+      this.stream = stream;
+      this.content = content;
+    }
   }
 
   private static class AgentChannelContext extends ChannelInboundHandlerAdapter implements RequestResponseContext<ConsumerByteBuffer> {
     private static final AtomicLong contextId = new AtomicLong(0);
 
     private final ChannelHandlerContext channelHandlerContext;
+    private final ChannelHandlerContext encodedWriteContext;
     @SuppressWarnings("unused")
     private Object closingData;
     private Object consumerData;
     private final String id;
+    private Incoming incoming;
+    private volatile ResponseStream responseStream;
     private final ResponseSenderChannel sender;
 
     AgentChannelContext(final ChannelHandlerContext channelHandlerContext, final ResponseSenderChannel sender) {
       this.channelHandlerContext = channelHandlerContext;
       this.sender = sender;
       this.id = "" + contextId.incrementAndGet();
+
+      // responses already encoded are written from the response encoder onward, and so bypass it
+      final ChannelHandlerContext encoderContext = channelHandlerContext.pipeline().context(AgentInitializer.RESPONSE_ENCODER_NAME);
+      this.encodedWriteContext = encoderContext == null ? channelHandlerContext : encoderContext;
     }
 
     @Override
@@ -291,5 +568,17 @@ public class AgentHandler extends SimpleChannelInboundHandler<FullHttpRequest> i
     ChannelHandlerContext channelHandlerContext() {
       return channelHandlerContext;
     }
+
+    void abortIncoming(final Exception cause) {
+      final Incoming current = incoming;
+      incoming = null;
+      if (current == null) return;
+      if (current.stream != null && cause != null) {
+        current.stream.fail(cause);
+      }
+      if (current.content != null) {
+        current.content.release();
+      }
+    }
   }
 }
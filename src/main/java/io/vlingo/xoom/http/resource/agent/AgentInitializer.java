@@ -13,17 +13,22 @@ import io.netty.channel.socket.SocketChannel;
 import io.netty.handler.codec.http.HttpObjectAggregator;
 import io.netty.handler.codec.http.HttpRequestDecoder;
 import io.netty.handler.codec.http.HttpResponseEncoder;
+import io.netty.handler.flush.FlushConsolidationHandler;
 import io.netty.handler.ssl.SslContext;
 import io.vlingo.xoom.actors.Logger;
 
 public class AgentInitializer extends ChannelInitializer<SocketChannel> {
+  static final String RESPONSE_ENCODER_NAME = "$RESPONSE_ENCODER";
+
   private final Logger logger;
+  private final AgentOptions options;
   private final HttpRequestChannelConsumerProvider provider;
   private final SslContext sslContext;
 
-  AgentInitializer(final HttpRequestChannelConsumerProvider provider, final SslContext sslContext, final Logger logger) {
+  AgentInitializer(final HttpRequestChannelConsumerProvider provider, final SslContext sslContext, final AgentOptions options, final Logger logger) {
     this.provider = provider;
     this.sslContext = sslContext;
+    this.options = options;
     this.logger = logger;
   }
 
@@ -31,19 +36,25 @@ public class AgentInitializer extends ChannelInitializer<SocketChannel> {
   public void initChannel(final SocketChannel channel) {
     final ChannelPipeline channelPipeline = channel.pipeline();
 
+    // the flushes of responses written while reading are consolidated into one when the read
+    // completes, and the flushes of responses written later are forwarded at once
+    channelPipeline.addLast(new FlushConsolidationHandler());
+
     if (sslContext != null) {
       channelPipeline.addLast(sslContext.newHandler(channel.alloc()));
     }
 
     channelPipeline.addLast(new HttpRequestDecoder());
 
-    channelPipeline.addLast(new HttpObjectAggregator(1048576));
+    if (!options.streaming) {
+      channelPipeline.addLast(new HttpObjectAggregator(options.maxContentLength));
+    }
 
-    channelPipeline.addLast(new HttpResponseEncoder());
+    channelPipeline.addLast(RESPONSE_ENCODER_NAME, new HttpResponseEncoder());
 
     // remove the following comment if you want automatic content compression
     // p.addLast(new HttpContentCompressor());
 
-    channelPipeline.addLast(new AgentHandler(provider, logger));
+    channelPipeline.addLast(new AgentHandler(provider, options, logger));
   }
 }
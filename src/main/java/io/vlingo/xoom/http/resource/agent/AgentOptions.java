@@ -0,0 +1,216 @@
+// Copyright © 2012-2021 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.http.resource.agent;
+
+/**
+ * The options of the {@code HttpAgent} pipeline. By default each request is aggregated
+ * with its content before it is dispatched, up to {@code maxContentLength} bytes.
+ * <p>
+ * When {@code streaming}, no aggregation takes place. Instead each request is created
+ * as soon as its head is decoded, and the content of requests whose route receives a
+ * {@code RequestBodyStream} is delivered to that stream as it is decoded, without limit.
+ * Until the handler subscribes to the stream the reading of its connection is paused,
+ * and the content already read is held pending, up to {@code maxContentLength} bytes.
+ * The content of other requests is retained as it is decoded, up to {@code maxContentLength}
+ * bytes, and the request is dispatched once its content is complete. Requests with
+ * content larger than that are answered with {@code Response.Status.PayloadTooLarge}.
+ * <p>
+ * Connections are accepted by {@code acceptorThreads} and their I/O is performed by
+ * {@code workerThreads}, which when {@code 0} is the Netty default of twice the number of
+ * cores. With {@code reusePort}, which requires a native transport, one listening
+ * channel is bound per acceptor thread with {@code SO_REUSEPORT}, so that the kernel spreads
+ * new connections among them. A {@code backlog} or {@code tcpFastOpen} of {@code 0} leaves
+ * the system default, and {@code tcpFastOpen} also requires a native transport.
+ * A connection stops being writable once its outbound bytes exceed the high water mark,
+ * and becomes writable again once they drop below the low water mark.
+ * <p>
+ * The {@code transport} is the one preferred, which is used only where it is available.
+ * Otherwise {@code IOUring} falls back to {@code Epoll}, and {@code Epoll} to {@code NIO}.
+ * The {@code IOUring} transport requires the optional Netty incubator io_uring library and
+ * a kernel that supports it, and {@code Epoll} requires Linux.
+ */
+public final class AgentOptions {
+  public static final int DefaultMaxContentLength = 1048576;
+  public static final int DefaultWriteBufferLowWaterMark = 32 * 1024;
+  public static final int DefaultWriteBufferHighWaterMark = 64 * 1024;
+
+  /**
+   * The transports of the {@code HttpAgent}, from the most to the least portable.
+   */
+  public enum Transport { NIO, Epoll, IOUring };
+
+  public final int acceptorThreads;
+  public final int backlog;
+  public final int maxContentLength;
+  public final boolean reusePort;
+  public final boolean streaming;
+  public final int tcpFastOpen;
+  public final boolean tcpNoDelay;
+  public final Transport transport;
+  public final int workerThreads;
+  public final int writeBufferHighWaterMark;
+  public final int writeBufferLowWaterMark;
+
+  /**
+   * Answer the default {@code AgentOptions}, which aggregate up to {@code DefaultMaxContentLength},
+   * accept connections on one thread, perform I/O on the default number of threads, and
+   * prefer the {@code Epoll} transport.
+   * @return AgentOptions
+   */
+  public static AgentOptions define() {
+    return new AgentOptions(DefaultMaxContentLength, false, 1, 0, false, true, 0, 0, DefaultWriteBufferLowWaterMark, DefaultWriteBufferHighWaterMark, Transport.Epoll);
+  }
+
+  /**
+   * Answer a copy of me that limits the content of requests that are not streamed
+   * to {@code maxContentLength} bytes.
+   * @param maxContentLength the int maximum number of bytes of content
+   * @return AgentOptions
+   */
+  public AgentOptions withMaxContentLength(final int maxContentLength) {
+    return new AgentOptions(maxContentLength, streaming, acceptorThreads, workerThreads, reusePort, tcpNoDelay, backlog, tcpFastOpen, writeBufferLowWaterMark, writeBufferHighWaterMark, transport);
+  }
+
+  /**
+   * Answer a copy of me that does or does not stream requests rather than aggregate them.
+   * @param streaming the boolean indicating whether requests are streamed
+   * @return AgentOptions
+   */
+  public AgentOptions withStreaming(final boolean streaming) {
+    return new AgentOptions(maxContentLength, streaming, acceptorThreads, workerThreads, reusePort, tcpNoDelay, backlog, tcpFastOpen, writeBufferLowWaterMark, writeBufferHighWaterMark, transport);
+  }
+
+  /**
+   * Answer a copy of me that accepts connections on {@code acceptorThreads}.
+   * @param acceptorThreads the int number of threads accepting connections
+   * @return AgentOptions
+   */
+  public AgentOptions withAcceptorThreads(final int acceptorThreads) {
+    return new AgentOptions(maxContentLength, streaming, acceptorThreads, workerThreads, reusePort, tcpNoDelay, backlog, tcpFastOpen, writeBufferLowWaterMark, writeBufferHighWaterMark, transport);
+  }
+
+  /**
+   * Answer a copy of me that performs the I/O of connections on {@code workerThreads},
+   * or on the Netty default number of threads when {@code 0}.
+   * @param workerThreads the int number of threads performing I/O
+   * @return AgentOptions
+   */
+  public AgentOptions withWorkerThreads(final int workerThreads) {
+    return new AgentOptions(maxContentLength, streaming, acceptorThreads, workerThreads, reusePort, tcpNoDelay, backlog, tcpFastOpen, writeBufferLowWaterMark, writeBufferHighWaterMark, transport);
+  }
+
+  /**
+   * Answer a copy of me that does or does not bind one listening channel per acceptor
+   * thread with {@code SO_REUSEPORT}.
+   * @param reusePort the boolean indicating whether the port is bound once per acceptor thread
+   * @return AgentOptions
+   */
+  public AgentOptions withReusePort(final boolean reusePort) {
+    return new AgentOptions(maxContentLength, streaming, acceptorThreads, workerThreads, reusePort, tcpNoDelay, backlog, tcpFastOpen, writeBufferLowWaterMark, writeBufferHighWaterMark, transport);
+  }
+
+  /**
+   * Answer a copy of me that does or does not set {@code TCP_NODELAY} on connections.
+   * @param tcpNoDelay the boolean indicating whether Nagle's algorithm is disabled
+   * @return AgentOptions
+   */
+  public AgentOptions withTcpNoDelay(final boolean tcpNoDelay) {
+    return new AgentOptions(maxContentLength, streaming, acceptorThreads, workerThreads, reusePort, tcpNoDelay, backlog, tcpFastOpen, writeBufferLowWaterMark, writeBufferHighWaterMark, transport);
+  }
+
+  /**
+   * Answer a copy of me that queues up to {@code backlog} connections not yet accepted.
+   * @param backlog the int {@code SO_BACKLOG}, or {@code 0} for the system default
+   * @return AgentOptions
+   */
+  public AgentOptions withBacklog(final int backlog) {
+    return new AgentOptions(maxContentLength, streaming, acceptorThreads, workerThreads, reusePort, tcpNoDelay, backlog, tcpFastOpen, writeBufferLowWaterMark, writeBufferHighWaterMark, transport);
+  }
+
+  /**
+   * Answer a copy of me that accepts data in the {@code SYN} of up to {@code tcpFastOpen}
+   * pending connections.
+   * @param tcpFastOpen the int {@code TCP_FASTOPEN} queue length, or {@code 0} for none
+   * @return AgentOptions
+   */
+  public AgentOptions withTcpFastOpen(final int tcpFastOpen) {
+    return new AgentOptions(maxContentLength, streaming, acceptorThreads, workerThreads, reusePort, tcpNoDelay, backlog, tcpFastOpen, writeBufferLowWaterMark, writeBufferHighWaterMark, transport);
+  }
+
+  /**
+   * Answer a copy of me with the write buffer water marks of connections.
+   * @param low the int number of outbound bytes below which a connection becomes writable
+   * @param high the int number of outbound bytes above which a connection is not writable
+   * @return AgentOptions
+   */
+  public AgentOptions withWriteBufferWaterMark(final int low, final int high) {
+    return new AgentOptions(maxContentLength, streaming, acceptorThreads, workerThreads, reusePort, tcpNoDelay, backlog, tcpFastOpen, low, high, transport);
+  }
+
+  /**
+   * Answer a copy of me that prefers the {@code transport}.
+   * @param transport the Transport used where it is available
+   * @return AgentOptions
+   */
+  public AgentOptions withTransport(final Transport transport) {
+    return new AgentOptions(maxContentLength, streaming, acceptorThreads, workerThreads, reusePort, tcpNoDelay, backlog, tcpFastOpen, writeBufferLowWaterMark, writeBufferHighWaterMark, transport);
+  }
+
+  @Override
+  public String toString() {
+    return "AgentOptions[maxContentLength=" + maxContentLength + " streaming=" + streaming +
+            " acceptorThreads=" + acceptorThreads + " workerThreads=" + workerThreads + " reusePort=" + reusePort +
+            " tcpNoDelay=" + tcpNoDelay + " backlog=" + backlog + " tcpFastOpen=" + tcpFastOpen +
+            " writeBufferWaterMark=" + writeBufferLowWaterMark + "/" + writeBufferHighWaterMark + " transport=" + transport + "]";
+  }
+
+  private AgentOptions(
+          final int maxContentLength,
+          final boolean streaming,
+          final int acceptorThreads,
+          final int workerThreads,
+          final boolean reusePort,
+          final boolean tcpNoDelay,
+          final int backlog,
+          final int tcpFastOpen,
+          final int writeBufferLowWaterMark,
+          final int writeBufferHighWaterMark,
+          final Transport transport) {
+
+    if (maxContentLength <= 0) {
+      throw new IllegalArgumentException("Maximum content length must be positive: " + maxContentLength);
+    }
+    if (acceptorThreads <= 0) {
+      throw new IllegalArgumentException("Acceptor threads must be positive: " + acceptorThreads);
+    }
+    if (workerThreads < 0) {
+      throw new IllegalArgumentException("Worker threads must not be negative: " + workerThreads);
+    }
+    if (backlog < 0 || tcpFastOpen < 0) {
+      throw new IllegalArgumentException("Backlog and TCP fast open queue must not be negative: " + backlog + ", " + tcpFastOpen);
+    }
+    if (writeBufferLowWaterMark <= 0 || writeBufferHighWaterMark < writeBufferLowWaterMark) {
+      throw new IllegalArgumentException("Write buffer water marks must be positive and low must not exceed high: " + writeBufferLowWaterMark + "/" + writeBufferHighWaterMark);
+    }
+    if (transport == null) {
+      throw new IllegalArgumentException("Transport must not be null.");
+    }
+
+    this.maxContentLength = maxContentLength;
+    this.streaming = streaming;
+    this.acceptorThreads = acceptorThreads;
+    this.workerThreads = workerThreads;
+    this.reusePort = reusePort;
+    this.tcpNoDelay = tcpNoDelay;
+    this.backlog = backlog;
+    this.tcpFastOpen = tcpFastOpen;
+    this.writeBufferLowWaterMark = writeBufferLowWaterMark;
+    this.writeBufferHighWaterMark = writeBufferHighWaterMark;
+    this.transport = transport;
+  }
+}
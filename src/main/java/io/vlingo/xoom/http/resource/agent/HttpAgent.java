@@ -7,9 +7,18 @@
 
 package io.vlingo.xoom.http.resource.agent;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import io.netty.bootstrap.ServerBootstrap;
+import io.netty.buffer.PooledByteBufAllocator;
 import io.netty.channel.Channel;
+import io.netty.channel.ChannelOption;
 import io.netty.channel.EventLoopGroup;
+import io.netty.channel.WriteBufferWaterMark;
+import io.netty.channel.epoll.Epoll;
+import io.netty.channel.epoll.EpollChannelOption;
 import io.netty.channel.epoll.EpollEventLoopGroup;
 import io.netty.channel.epoll.EpollServerSocketChannel;
 import io.netty.channel.nio.NioEventLoopGroup;
@@ -21,12 +30,25 @@ import io.netty.handler.ssl.SslContext;
 import io.netty.handler.ssl.SslContextBuilder;
 import io.netty.handler.ssl.util.SelfSignedCertificate;
 import io.vlingo.xoom.actors.Logger;
+import io.vlingo.xoom.http.resource.agent.AgentOptions.Transport;
 
 public class HttpAgent {
-  private final Channel channel;
+  private final List<Channel> channels;
   private final EventLoopGroup bossGroup;
+  private final Transport transport;
   private final EventLoopGroup workerGroup;
 
+  /**
+   * Answer a new {@code HttpAgent} with the default {@code AgentOptions}, but that
+   * accepts connections on {@code numberOfThreads}.
+   * @param provider the HttpRequestChannelConsumerProvider of the consumer of requests
+   * @param port the int port to listen on
+   * @param useSSL the boolean indicating whether connections use SSL
+   * @param numberOfThreads the int number of threads accepting connections
+   * @param logger the Logger to log with
+   * @return HttpAgent
+   * @throws Exception when the port cannot be bound
+   */
   public static HttpAgent initialize(
           final HttpRequestChannelConsumerProvider provider,
           final int port,
@@ -35,27 +57,118 @@ public class HttpAgent {
           final Logger logger)
   throws Exception {
 
+    return initialize(provider, port, useSSL, AgentOptions.define().withAcceptorThreads(numberOfThreads), logger);
+  }
+
+  /**
+   * Answer a new {@code HttpAgent} with the {@code options}.
+   * @param provider the HttpRequestChannelConsumerProvider of the consumer of requests
+   * @param port the int port to listen on
+   * @param useSSL the boolean indicating whether connections use SSL
+   * @param options the AgentOptions of the pipeline, threads, and sockets
+   * @param logger the Logger to log with
+   * @return HttpAgent
+   * @throws Exception when the port cannot be bound
+   */
+  public static HttpAgent initialize(
+          final HttpRequestChannelConsumerProvider provider,
+          final int port,
+          final boolean useSSL,
+          final AgentOptions options,
+          final Logger logger)
+  throws Exception {
+
     final SslContext sslContext = useSSL ? sslContext() : null;
 
-    final OptimalTransport optimalTransport = optimalTransport(logger);
-    final EventLoopGroup bossGroup = eventLoopGroup(optimalTransport, numberOfThreads, logger);
-    final EventLoopGroup workerGroup = eventLoopGroup(optimalTransport, logger);
+    final Transport optimalTransport = optimalTransport(options.transport, logger);
+    final EventLoopGroup bossGroup = eventLoopGroup(optimalTransport, options.acceptorThreads, logger);
+    final EventLoopGroup workerGroup = eventLoopGroup(optimalTransport, options.workerThreads, logger);
 
-    ServerBootstrap bootstrap =
+    final ServerBootstrap bootstrap =
             new ServerBootstrap()
               .group(bossGroup, workerGroup)
               .channel(serverSocketChannelType(optimalTransport, logger))
               .handler(new LoggingHandler(LogLevel.INFO))
-              .childHandler(new AgentInitializer(provider, sslContext, logger));
+              .option(ChannelOption.ALLOCATOR, PooledByteBufAllocator.DEFAULT)
+              // pooled regardless of io.netty.allocator.type, so that no request or response allocates its buffers
+              .childOption(ChannelOption.ALLOCATOR, PooledByteBufAllocator.DEFAULT)
+              .childOption(ChannelOption.TCP_NODELAY, options.tcpNoDelay)
+              .childOption(ChannelOption.WRITE_BUFFER_WATER_MARK, new WriteBufferWaterMark(options.writeBufferLowWaterMark, options.writeBufferHighWaterMark))
+              .childHandler(new AgentInitializer(provider, sslContext, options, logger));
+
+    if (options.backlog > 0) {
+      bootstrap.option(ChannelOption.SO_BACKLOG, options.backlog);
+    }
 
-    return new HttpAgent(bootstrap.bind(port).sync().channel(), bossGroup, workerGroup);
-  }
+    int bindings = 1;
 
-  public void close() {
-    channel.close().addListener(outcome -> {
+    switch (optimalTransport) {
+    case IOUring:
+      if (options.tcpFastOpen > 0) {
+        IOUringTransport.tcpFastOpen(bootstrap, options.tcpFastOpen);
+      }
+      if (options.reusePort) {
+        IOUringTransport.reusePort(bootstrap);
+        bindings = options.acceptorThreads;
+      }
+      break;
+    case Epoll:
+      if (options.tcpFastOpen > 0) {
+        bootstrap.option(EpollChannelOption.TCP_FASTOPEN, options.tcpFastOpen);
+      }
+      if (options.reusePort) {
+        // each binding is registered with the next acceptor thread
+        bootstrap.option(EpollChannelOption.SO_REUSEPORT, true);
+        bindings = options.acceptorThreads;
+      }
+      break;
+    case NIO:
+    default:
+      if (options.reusePort || options.tcpFastOpen > 0) {
+        logger.warn("HttpAgent ignoring SO_REUSEPORT and TCP_FASTOPEN, which require a native transport");
+      }
+    }
+
+    final List<Channel> channels = new ArrayList<>(bindings);
+
+    try {
+      for (int binding = 0; binding < bindings; ++binding) {
+        channels.add(bootstrap.bind(port).sync().channel());
+      }
+    } catch (Exception e) {
+      for (final Channel channel : channels) {
+        channel.close();
+      }
       bossGroup.shutdownGracefully();
       workerGroup.shutdownGracefully();
-    });
+      throw e;
+    }
+
+    logger.debug("HttpAgent listening on port " + port + " with " + options);
+
+    return new HttpAgent(channels, bossGroup, workerGroup, optimalTransport);
+  }
+
+  /**
+   * Answer the {@code Transport} that I use, which is the one preferred by my
+   * {@code AgentOptions} only if it is available.
+   * @return Transport
+   */
+  public Transport transport() {
+    return transport;
+  }
+
+  public void close() {
+    final AtomicInteger open = new AtomicInteger(channels.size());
+
+    for (final Channel channel : channels) {
+      channel.close().addListener(outcome -> {
+        if (open.decrementAndGet() == 0) {
+          bossGroup.shutdownGracefully();
+          workerGroup.shutdownGracefully();
+        }
+      });
+    }
   }
 
   private static SslContext sslContext() throws Exception {
@@ -64,39 +177,28 @@ public class HttpAgent {
   }
 
   private HttpAgent(
-          final Channel channel,
+          final List<Channel> channels,
           final EventLoopGroup bossGroup,
-          final EventLoopGroup workerGroup)
+          final EventLoopGroup workerGroup,
+          final Transport transport)
   throws Exception {
 
-    this.channel = channel;
+    this.channels = channels;
     this.bossGroup = bossGroup;
     this.workerGroup = workerGroup;
+    this.transport = transport;
   }
 
-  private enum OptimalTransport { NIO, Epoll };
-
+  // a processorPoolSize of 0 selects the Netty default of twice the number of cores
   private static EventLoopGroup eventLoopGroup(
-          final OptimalTransport optimalTransport,
-          final Logger logger) {
-
-    switch (optimalTransport) {
-    case Epoll:
-      logger.debug("HttpAgent using EpollEventLoopGroup");
-      return new EpollEventLoopGroup();
-    case NIO:
-    default:
-      logger.debug("HttpAgent using NioEventLoopGroup");
-      return new NioEventLoopGroup();
-    }
-  }
-
-  private static EventLoopGroup eventLoopGroup(
-          final OptimalTransport optimalTransport,
+          final Transport optimalTransport,
           final int processorPoolSize,
           final Logger logger) {
 
     switch (optimalTransport) {
+    case IOUring:
+      logger.debug("HttpAgent using IOUringEventLoopGroup " + processorPoolSize);
+      return IOUringTransport.eventLoopGroup(processorPoolSize);
     case Epoll:
       logger.debug("HttpAgent using EpollEventLoopGroup " + processorPoolSize);
       return new EpollEventLoopGroup(processorPoolSize);
@@ -107,23 +209,35 @@ public class HttpAgent {
     }
   }
 
-  private static OptimalTransport optimalTransport(final Logger logger) {
+  private static Transport optimalTransport(final Transport preferred, final Logger logger) {
     final String osName = System.getProperty("os.name");
 
-    logger.debug("HttpAgent running on " + osName);
+    logger.debug("HttpAgent running on " + osName + " preferring " + preferred);
+
+    final boolean linux = osName.toLowerCase().contains("linux");
+
+    if (preferred == Transport.IOUring) {
+      if (linux && IOUringTransport.isAvailable()) {
+        return Transport.IOUring;
+      }
+      logger.info("HttpAgent falling back from IOUring, which is unavailable without its library and kernel support");
+    }
 
-    if (osName.toLowerCase().contains("linux")) {
-      return OptimalTransport.Epoll;
+    if (preferred != Transport.NIO && linux && Epoll.isAvailable()) {
+      return Transport.Epoll;
     }
 
-    return OptimalTransport.NIO;
+    return Transport.NIO;
   }
 
   private static Class<? extends ServerSocketChannel> serverSocketChannelType(
-          final OptimalTransport optimalTransport,
+          final Transport optimalTransport,
           final Logger logger) {
 
     switch (optimalTransport) {
+    case IOUring:
+      logger.debug("HttpAgent using IOUringServerSocketChannel");
+      return IOUringTransport.serverSocketChannelType();
     case Epoll:
       logger.debug("HttpAgent using EpollServerSocketChannel");
       return EpollServerSocketChannel.class;
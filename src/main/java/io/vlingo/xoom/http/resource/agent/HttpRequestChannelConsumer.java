@@ -7,6 +7,9 @@
 
 package io.vlingo.xoom.http.resource.agent;
 
+import java.net.URI;
+
+import io.vlingo.xoom.http.Method;
 import io.vlingo.xoom.http.Request;
 import io.vlingo.xoom.wire.channel.RequestChannelConsumer;
 import io.vlingo.xoom.wire.channel.RequestResponseContext;
@@ -20,4 +23,16 @@ public interface HttpRequestChannelConsumer extends RequestChannelConsumer {
    * @param request the Request made to the server
    */
   void consume(final RequestResponseContext<?> context, final Request request);
+
+  /**
+   * Answer whether or not the body of requests of {@code method} and {@code uri} is
+   * received as a {@code RequestBodyStream}, and so must not be aggregated.
+   *
+   * @param method the Method of the request
+   * @param uri the URI of the request
+   * @return boolean
+   */
+  default boolean streamsBodyOf(final Method method, final URI uri) {
+    return false;
+  }
 }
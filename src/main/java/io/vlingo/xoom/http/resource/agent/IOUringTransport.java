@@ -0,0 +1,55 @@
+// Copyright © 2012-2021 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.http.resource.agent;
+
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.socket.ServerSocketChannel;
+import io.netty.incubator.channel.uring.IOUringChannelOption;
+import io.netty.incubator.channel.uring.IOUringEventLoopGroup;
+import io.netty.incubator.channel.uring.IOUringServerSocketChannel;
+
+/**
+ * Holds all references to the optional Netty incubator io_uring library, so that
+ * the {@code HttpAgent} loads none of its classes unless {@code isAvailable()}.
+ */
+final class IOUringTransport {
+  private static final String IOUringClassName = "io.netty.incubator.channel.uring.IOUring";
+
+  /**
+   * Answer whether or not both the io_uring library and the kernel support it are
+   * available, which is determined reflectively so that the library may be absent.
+   * @return boolean
+   */
+  static boolean isAvailable() {
+    try {
+      final Class<?> ioUring = Class.forName(IOUringClassName, true, IOUringTransport.class.getClassLoader());
+      return (Boolean) ioUring.getMethod("isAvailable").invoke(null);
+    } catch (Throwable t) {
+      return false;
+    }
+  }
+
+  static EventLoopGroup eventLoopGroup(final int processorPoolSize) {
+    return new IOUringEventLoopGroup(processorPoolSize);
+  }
+
+  static Class<? extends ServerSocketChannel> serverSocketChannelType() {
+    return IOUringServerSocketChannel.class;
+  }
+
+  static void reusePort(final ServerBootstrap bootstrap) {
+    bootstrap.option(IOUringChannelOption.SO_REUSEPORT, true);
+  }
+
+  static void tcpFastOpen(final ServerBootstrap bootstrap, final int tcpFastOpen) {
+    bootstrap.option(IOUringChannelOption.TCP_FASTOPEN, tcpFastOpen);
+  }
+
+  private IOUringTransport() { }
+}
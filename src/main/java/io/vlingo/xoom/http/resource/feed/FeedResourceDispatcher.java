@@ -36,7 +36,7 @@ public class FeedResourceDispatcher extends ConfigurationResource<SseStreamResou
     try {
       switch (mappedParameters.actionId) {
       case 0: // GET /feeds/{feedName}/{feedItemId} feed(String feedName, String feedProductId, Class<? extends Actor> feedProducerClass, int feedProductElements)
-        consumer = (handler) -> handler.feed((String) mappedParameters.mapped.get(0).value, (String) mappedParameters.mapped.get(1).value, (Class<? extends Actor>) mappedParameters.mapped.get(2).value, (int) mappedParameters.mapped.get(3).value);
+        consumer = (handler) -> handler.feed((String) mappedParameters.valueAt(0), (String) mappedParameters.valueAt(1), (Class<? extends Actor>) mappedParameters.valueAt(2), mappedParameters.intAt(3));
         pooledHandler().handleFor(context, consumer);
         break;
       }
@@ -35,11 +35,11 @@ public class SseStreamResourceDispatcher extends ConfigurationResource<SseStream
     try {
       switch (mappedParameters.actionId) {
       case 0: // GET /eventstreams/{streamName} subscribeToStream(String streamName, Class<? extends Actor> feedClass, int feedPayload, int feedInterval)
-        consumer = (handler) -> handler.subscribeToStream((String) mappedParameters.mapped.get(0).value, (Class<? extends Actor>) mappedParameters.mapped.get(1).value, (int) mappedParameters.mapped.get(2).value, (int) mappedParameters.mapped.get(3).value, (String) mappedParameters.mapped.get(4).value);
+        consumer = (handler) -> handler.subscribeToStream((String) mappedParameters.valueAt(0), (Class<? extends Actor>) mappedParameters.valueAt(1), mappedParameters.intAt(2), mappedParameters.intAt(3), (String) mappedParameters.valueAt(4));
         pooledHandler().handleFor(context, consumer);
         break;
       case 1: // DELETE /eventstreams/{streamName}/{id} unsubscribeFromStream(String streamName, String id)
-        consumer = (handler) -> handler.unsubscribeFromStream((String) mappedParameters.mapped.get(0).value, (String) mappedParameters.mapped.get(1).value);
+        consumer = (handler) -> handler.unsubscribeFromStream((String) mappedParameters.valueAt(0), (String) mappedParameters.valueAt(1));
         pooledHandler().handleFor(context, consumer);
         break;
       }
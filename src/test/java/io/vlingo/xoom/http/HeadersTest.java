@@ -0,0 +1,164 @@
+// Copyright © 2012-2021 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.http;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import io.vlingo.xoom.http.Header.Headers;
+
+public class HeadersTest {
+
+  @Test
+  public void testThatFewHeadersAreFoundIgnoringCase() {
+    final Headers<RequestHeader> headers = Headers.of(RequestHeader.host("localhost"), RequestHeader.contentType("text/plain"));
+
+    assertEquals("localhost", headers.headerOf("HOST").value);
+    assertEquals("text/plain", headers.headerOf("content-type").value);
+    assertNull(headers.headerOf(RequestHeader.Accept));
+  }
+
+  @Test
+  public void testThatManyHeadersAreFoundIgnoringCase() {
+    final Headers<RequestHeader> headers = manyHeaders(20);
+
+    for (int count = 0; count < 20; ++count) {
+      assertEquals("value-" + count, headers.headerOf("X-HEADER-" + count).value);
+    }
+    assertNull(headers.headerOf("X-Header-20"));
+    assertNull(headers.headerOf(null));
+  }
+
+  @Test
+  public void testThatFirstOfDuplicatesIsFound() {
+    final Headers<RequestHeader> headers = manyHeaders(10);
+    headers.add(RequestHeader.of("X-Header-3", "duplicate"));
+
+    assertEquals("value-3", headers.headerOf("x-header-3").value);
+    assertEquals(11, headers.size());
+  }
+
+  @Test
+  public void testThatIndexIsKeptAsHeadersChange() {
+    final Headers<RequestHeader> headers = manyHeaders(10);
+    assertNull(headers.headerOf(RequestHeader.Accept));
+
+    for (int count = 10; count < 40; ++count) {
+      headers.add(RequestHeader.of("X-Header-" + count, "value-" + count));
+      assertEquals("value-" + count, headers.headerOf("x-header-" + count).value);
+    }
+
+    headers.and(RequestHeader.of("x-header-5", "replaced"));
+    assertEquals("replaced", headers.headerOf("X-Header-5").value);
+    assertEquals(40, headers.size());
+
+    headers.set(7, RequestHeader.accept("text/html"));
+    assertNull(headers.headerOf("X-Header-7"));
+    assertEquals("text/html", headers.headerOf(RequestHeader.Accept).value);
+
+    headers.clear();
+    assertNull(headers.headerOf("X-Header-1"));
+  }
+
+  @Test
+  public void testThatIndexIsRebuiltAfterRetainAll() {
+    final Headers<RequestHeader> headers = manyHeaders(20);
+    assertEquals("value-15", headers.headerOf("X-Header-15").value);
+
+    final RequestHeader kept = headers.get(15);
+    headers.retainAll(Arrays.asList(kept));
+
+    assertEquals(1, headers.size());
+    assertEquals("value-15", headers.headerOf("X-Header-15").value);
+    assertNull(headers.headerOf("X-Header-3"));
+  }
+
+  @Test
+  public void testThatSubListIsMutableAndObserved() {
+    final Headers<RequestHeader> headers = manyHeaders(20);
+    assertEquals("value-12", headers.headerOf("X-Header-12").value);
+
+    final List<RequestHeader> view = headers.subList(10, 20);
+    view.set(2, RequestHeader.accept("text/html"));
+
+    assertEquals(20, headers.size());
+    assertNull(headers.headerOf("X-Header-12"));
+    assertEquals("text/html", headers.headerOf(RequestHeader.Accept).value);
+    assertEquals("value-19", headers.headerOf("X-Header-19").value);
+  }
+
+  @Test
+  public void testThatConcurrentLookupsFindEveryHeader() throws Exception {
+    for (int round = 0; round < 200; ++round) {
+      final Headers<RequestHeader> headers = manyHeaders(20);
+      final CountDownLatch start = new CountDownLatch(1);
+      final AtomicInteger misses = new AtomicInteger();
+
+      final Runnable lookups = () -> {
+        try {
+          start.await();
+        } catch (InterruptedException e) {
+          return;
+        }
+        for (int count = 0; count < 20; ++count) {
+          if (headers.headerOf("x-header-" + count) == null) {
+            misses.incrementAndGet();
+          }
+        }
+      };
+
+      final Thread first = new Thread(lookups);
+      final Thread second = new Thread(lookups);
+      first.start();
+      second.start();
+      start.countDown();
+      first.join();
+      second.join();
+
+      assertEquals(0, misses.get());
+    }
+  }
+
+  @Test
+  public void testThatWellKnownNamesAreInterned() {
+    final byte[] content = "Content-Type:content-type".getBytes(StandardCharsets.ISO_8859_1);
+
+    assertSame(RequestHeader.ContentType, HeaderNames.nameOf(content, 0, 12));
+    assertEquals("content-type", HeaderNames.nameOf(content, 13, content.length));
+    assertEquals(HeaderNames.foldedHash(RequestHeader.ContentType), HeaderNames.foldedHash("CONTENT-TYPE"));
+  }
+
+  @Test
+  public void testThatParsedHeadersAreFound() {
+    final String requestText = "GET / HTTP/1.1\nHost: test.com\nAccept-Encoding: gzip\ncontent-type: text/plain\n\n";
+    final RequestParser parser = RequestParser.parserFor(ByteBuffer.wrap(requestText.getBytes(StandardCharsets.UTF_8)));
+    final Request request = parser.fullRequest();
+
+    assertSame(RequestHeader.Host, request.headerOf("host").name);
+    assertEquals("gzip", request.headerValueOr(RequestHeader.AcceptEncoding, null));
+    assertEquals("text/plain", request.headerValueOr(RequestHeader.ContentType, null));
+  }
+
+  private Headers<RequestHeader> manyHeaders(final int count) {
+    final Headers<RequestHeader> headers = new Headers<>(count);
+    for (int index = 0; index < count; ++index) {
+      headers.add(RequestHeader.of("X-Header-" + index, "value-" + index));
+    }
+    return headers;
+  }
+}
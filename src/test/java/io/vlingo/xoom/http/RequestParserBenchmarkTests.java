@@ -0,0 +1,102 @@
+package io.vlingo.xoom.http;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Ignore;
+import org.junit.Test;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import io.vlingo.xoom.wire.message.Converters;
+
+public class RequestParserBenchmarkTests {
+  @Test
+  @Ignore("Keep for local comparison of request parser implementations; run against the previous commit for the String-based baseline")
+  public void launchBenchmark() throws Exception {
+    Options opt = new OptionsBuilder()
+      .include(this.getClass().getSimpleName() + "\\.benchmark.*")
+      .mode(Mode.AverageTime)
+      .timeUnit(TimeUnit.NANOSECONDS)
+      .warmupTime(TimeValue.seconds(1))
+      .warmupIterations(2)
+      .measurementTime(TimeValue.seconds(1))
+      .measurementIterations(3)
+      .threads(1)
+      .forks(1)
+      .shouldFailOnError(true)
+      .shouldDoGC(true)
+      .addProfiler("gc")
+      .build();
+
+    new Runner(opt).run();
+  }
+
+  @State(Scope.Thread)
+  public static class RequestParsingBenchmarkState {
+    ByteBuffer single;
+    ByteBuffer pipelined;
+    ByteBuffer[] fragments;
+
+    @Setup(Level.Trial)
+    public void initialize() {
+      final String body = "{\"id\":\"123\",\"name\":{\"given\":\"John\",\"family\":\"Doe\"},\"contact\":{\"emailAddress\":\"john.doe@vlingo.io\"}}";
+      final String request =
+              "POST /users HTTP/1.1\r\n" +
+              "Host: vlingo.io\r\n" +
+              "User-Agent: xoom-benchmark\r\n" +
+              "Accept: application/json\r\n" +
+              "Accept-Encoding: gzip, deflate\r\n" +
+              "Connection: keep-alive\r\n" +
+              "Content-Type: application/json\r\n" +
+              "X-Correlation-ID: 0b9e5b1c-3a4f-4d2e-9c61-7f1f0d8f2b11\r\n" +
+              "Content-Length: " + body.length() + "\r\n\r\n" + body;
+
+      final StringBuilder builder = new StringBuilder();
+      for (int count = 0; count < 10; ++count) {
+        builder.append(request);
+      }
+
+      single = ByteBuffer.wrap(Converters.textToBytes(request));
+      pipelined = ByteBuffer.wrap(Converters.textToBytes(builder.toString()));
+
+      final byte[] all = Converters.textToBytes(request);
+      final int third = all.length / 3;
+      fragments = new ByteBuffer[] {
+              ByteBuffer.wrap(all, 0, third).slice(),
+              ByteBuffer.wrap(all, third, third).slice(),
+              ByteBuffer.wrap(all, third * 2, all.length - third * 2).slice() };
+    }
+  }
+
+  @Benchmark
+  public void benchmarkSingleRequest(final RequestParsingBenchmarkState state, final Blackhole bh) {
+    state.single.rewind();
+    final RequestParser parser = RequestParser.parserFor(state.single);
+    bh.consume(parser.fullRequest());
+  }
+
+  @Benchmark
+  public void benchmarkTenPipelinedRequests(final RequestParsingBenchmarkState state, final Blackhole bh) {
+    state.pipelined.rewind();
+    final RequestParser parser = RequestParser.parserFor(state.pipelined);
+    while (parser.hasFullRequest()) {
+      bh.consume(parser.fullRequest());
+    }
+  }
+
+  @Benchmark
+  public void benchmarkRequestAcrossThreeReads(final RequestParsingBenchmarkState state, final Blackhole bh) {
+    for (final ByteBuffer fragment : state.fragments) {
+      fragment.rewind();
+    }
+    final RequestParser parser = RequestParser.parserFor(state.fragments[0]);
+    parser.parseNext(state.fragments[1]);
+    parser.parseNext(state.fragments[2]);
+    bh.consume(parser.fullRequest());
+  }
+}
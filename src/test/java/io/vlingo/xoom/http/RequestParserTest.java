@@ -11,7 +11,12 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
@@ -174,6 +179,294 @@ public class RequestParserTest extends ResourceTestFixtures {
     assertEquals(postWithExtendedCharacters, parser.fullRequest().toString());
   }
 
+  @Test
+  public void testThatCarriageReturnLineFeedRequestSplitAcrossReadsParses() {
+    final byte[] body = Converters.textToBytes(asciiWithExtendedCharacters);
+    final String head = "PUT /users/123 HTTP/1.1\r\nHost: vlingo.io\r\nContent-Length: " + body.length + "\r\n\r\n";
+    final byte[] request = new byte[Converters.textToBytes(head).length + body.length];
+    System.arraycopy(Converters.textToBytes(head), 0, request, 0, request.length - body.length);
+    System.arraycopy(body, 0, request, request.length - body.length, body.length);
+
+    // split inside the Host header and inside a multi-byte body character
+    final int firstSplit = 30;
+    final int secondSplit = request.length - 2;
+
+    final RequestParser parser = RequestParser.parserFor(ByteBuffer.wrap(request, 0, firstSplit));
+    assertFalse(parser.hasFullRequest());
+    assertTrue(parser.isMissingContent());
+
+    parser.parseNext(ByteBuffer.wrap(request, firstSplit, secondSplit - firstSplit).slice());
+    assertFalse(parser.hasFullRequest());
+
+    parser.parseNext(ByteBuffer.wrap(request, secondSplit, request.length - secondSplit).slice());
+    assertTrue(parser.hasFullRequest());
+    assertTrue(parser.hasCompleted());
+
+    final Request parsed = parser.fullRequest();
+    assertTrue(parsed.method.isPUT());
+    assertEquals("/users/123", parsed.uri.getPath());
+    assertEquals("vlingo.io", parsed.headerValueOr(RequestHeader.Host, null));
+    assertEquals(asciiWithExtendedCharacters, parsed.body.content());
+  }
+
+  @Test
+  public void testThatMissingContentTimeRemainingCountsDown() throws Exception {
+    final RequestParser parser = RequestParser.parserFor(toByteBuffer("PUT /users/123 HTTP/1.1\r\nHost: vlingo.io\r\nContent-Length: 10\r\n\r\n01234"));
+    assertTrue(parser.isMissingContent());
+
+    final long remaining = parser.missingContentTimeRemaining(1000);
+    assertTrue(remaining > 0 && remaining <= 1000);
+
+    Thread.sleep(5);
+    assertTrue(parser.missingContentTimeRemaining(1) < 0);
+    assertTrue(parser.hasMissingContentTimeExpired(1));
+  }
+
+  @Test
+  public void testThatLongRequestLineIsRejectedBeforeItCompletes() {
+    final HeaderLimits limits = HeaderLimits.define().withMaxRequestLineLength(32);
+
+    final RequestParser parser = RequestParser.parserFor(toByteBuffer("GET /"), null, 0, limits);
+    assertTrue(parser.isMissingContent());
+
+    try {
+      parser.parseNext(toByteBuffer("users/1234567890/1234567890/1234567890"));
+      fail("Request line should be too long.");
+    } catch (RequestLimitExceededException e) {
+      assertEquals(Response.Status.URITooLong, e.status);
+    }
+  }
+
+  @Test
+  public void testThatTooManyHeadersAreRejected() {
+    final HeaderLimits limits = HeaderLimits.define().withMaxHeaderCount(2);
+
+    try {
+      RequestParser.parserFor(toByteBuffer("GET / HTTP/1.1\r\nHost: vlingo.io\r\nA: 1\r\nB: 2\r\n\r\n"), null, 0, limits);
+      fail("Headers should be too many.");
+    } catch (RequestLimitExceededException e) {
+      assertEquals(Response.Status.RequestHeaderFieldsTooLarge, e.status);
+    }
+
+    final RequestParser parser = RequestParser.parserFor(toByteBuffer("GET / HTTP/1.1\r\nHost: vlingo.io\r\nA: 1\r\n\r\n"), null, 0, limits);
+    assertTrue(parser.hasFullRequest());
+  }
+
+  @Test
+  public void testThatTricklingHeadersAreRejectedOnceTooLarge() {
+    final HeaderLimits limits = HeaderLimits.define().withMaxHeaderBytes(64);
+
+    final RequestParser parser = RequestParser.parserFor(toByteBuffer("GET / HTTP/1.1\r\nHost: vlingo.io\r\n"), null, 0, limits);
+    assertTrue(parser.isMissingContent());
+    parser.parseNext(toByteBuffer("X-Padding: 0123456789"));
+
+    try {
+      parser.parseNext(toByteBuffer("0123456789012345678901234567890123456789"));
+      fail("Headers should be too large.");
+    } catch (RequestLimitExceededException e) {
+      assertEquals(Response.Status.RequestHeaderFieldsTooLarge, e.status);
+    }
+  }
+
+  @Test
+  public void testThatHeaderTimeRemainingCountsOnlyWhileHeadersAreMissing() throws Exception {
+    final RequestParser parser = RequestParser.parserFor(toByteBuffer("PUT /users/123 HTTP/1.1\r\nHost: vlingo.io\r\n"));
+    assertTrue(parser.headerTimeRemaining(1000) <= 1000);
+    assertEquals(Long.MAX_VALUE, parser.headerTimeRemaining(0));
+
+    Thread.sleep(5);
+    assertTrue(parser.headerTimeRemaining(1) < 0);
+
+    parser.parseNext(toByteBuffer("Content-Length: 10\r\n\r\n01234"));
+    assertTrue(parser.isMissingContent());
+    assertEquals(Long.MAX_VALUE, parser.headerTimeRemaining(1));
+  }
+
+  @Test
+  public void testThatLargeContentLengthIsRejectedBeforeItsBody() {
+    final BodyLimits limits = BodyLimits.define().withMaxBodySize(1024);
+
+    try {
+      RequestParser.parserFor(toByteBuffer("POST /uploads HTTP/1.1\r\nHost: vlingo.io\r\nContent-Length: 500000000\r\n\r\n0123"), null, 0, HeaderLimits.define(), limits);
+      fail("Body should be too large.");
+    } catch (RequestLimitExceededException e) {
+      assertEquals(Response.Status.PayloadTooLarge, e.status);
+    }
+
+    try {
+      RequestParser.parserFor(toByteBuffer("POST /uploads HTTP/1.1\r\nHost: vlingo.io\r\nContent-Length: 50000000000\r\n\r\n"), null, 0, HeaderLimits.define(), limits);
+      fail("Body should be too large.");
+    } catch (RequestLimitExceededException e) {
+      assertEquals(Response.Status.PayloadTooLarge, e.status);
+    }
+  }
+
+  @Test
+  public void testThatLargeChunkedBodyIsRejected() {
+    final BodyLimits limits = BodyLimits.define().withMaxBodySize(8);
+
+    final RequestParser parser = RequestParser.parserFor(toByteBuffer("POST /uploads HTTP/1.1\r\nHost: vlingo.io\r\nTransfer-Encoding: chunked\r\n\r\n5\r\n01234\r\n"), null, 0, HeaderLimits.define(), limits);
+    assertTrue(parser.isMissingContent());
+
+    try {
+      parser.parseNext(toByteBuffer("5\r\n56789\r\n0\r\n\r\n"));
+      fail("Body should be too large.");
+    } catch (RequestLimitExceededException e) {
+      assertEquals(Response.Status.PayloadTooLarge, e.status);
+    }
+  }
+
+  @Test
+  public void testThatLargeBodyIsSpooledToFile() throws Exception {
+    final BodyLimits limits = BodyLimits.define().withSpoolThreshold(8);
+
+    final RequestParser parser = RequestParser.parserFor(toByteBuffer("POST /uploads HTTP/1.1\r\nHost: vlingo.io\r\nContent-Length: 20\r\n\r\n01234"), null, 0, HeaderLimits.define(), limits);
+    assertTrue(parser.isMissingContent());
+    parser.parseNext(toByteBuffer("56789012345678" + "9GET /uploads HTTP/1.1\r\nHost: vlingo.io\r\n\r\n"));
+
+    assertTrue(parser.hasFullRequest());
+    final Request spooled = parser.fullRequest();
+    assertTrue(spooled.body instanceof FileBody);
+    final FileBody file = (FileBody) spooled.body;
+    assertEquals(20, file.size);
+    assertEquals("01234567890123456789", file.content());
+
+    assertTrue(parser.hasFullRequest());
+    assertTrue(parser.fullRequest().method.isGET());
+
+    file.delete();
+    assertFalse(Files.exists(file.path));
+  }
+
+  @Test
+  public void testThatLargeChunkedBodyIsSpooledToFile() {
+    final BodyLimits limits = BodyLimits.define().withSpoolThreshold(8);
+
+    final RequestParser parser = RequestParser.parserFor(toByteBuffer("POST /uploads HTTP/1.1\r\nHost: vlingo.io\r\nTransfer-Encoding: chunked\r\n\r\n5\r\n01234\r\n"), null, 0, HeaderLimits.define(), limits);
+    parser.parseNext(toByteBuffer("5\r\n56789\r\n3\r\nabc\r\n0\r\n\r\n"));
+
+    final FileBody file = (FileBody) parser.fullRequest().body;
+    assertEquals("0123456789abc", file.content());
+    file.delete();
+  }
+
+  @Test
+  public void testThatAbandonedSpoolIsDeleted() throws Exception {
+    final Path directory = Files.createTempDirectory("spool");
+    final BodyLimits limits = BodyLimits.define().withSpoolThreshold(8).withSpoolDirectory(directory);
+
+    final RequestParser parser = RequestParser.parserFor(toByteBuffer("POST /uploads HTTP/1.1\r\nHost: vlingo.io\r\nContent-Length: 20\r\n\r\n01234"), null, 0, HeaderLimits.define(), limits);
+    assertEquals(1, directory.toFile().list().length);
+
+    parser.close();
+    assertEquals(0, directory.toFile().list().length);
+    Files.delete(directory);
+  }
+
+  @Test
+  public void testThatStreamedBodyIsDeliveredAsRead() {
+    final String head = "POST /uploads HTTP/1.1\r\nHost: vlingo.io\r\nContent-Length: 10\r\n\r\n";
+    final String following = "GET /uploads HTTP/1.1\r\nHost: vlingo.io\r\n\r\n";
+
+    final RequestParser parser =
+            RequestParser.parserFor(
+                    toByteBuffer(head + "01234"),
+                    (method, uri) -> method.isPOST() && uri.getPath().equals("/uploads"),
+                    1024);
+
+    // the request is answered once its headers are parsed
+    assertTrue(parser.hasFullRequest());
+    final Request streamed = parser.fullRequest();
+    assertTrue(streamed.body instanceof RequestBodyStream);
+    assertTrue(parser.isMissingContent());
+
+    final List<String> chunks = new ArrayList<>();
+    final RequestBodyStream stream = (RequestBodyStream) streamed.body;
+    stream.subscribe(new RequestBodyStream.Subscriber() {
+      @Override public void onChunk(final ByteBuffer chunk) { chunks.add(StandardCharsets.UTF_8.decode(chunk).toString()); }
+      @Override public void onComplete() { chunks.add("completed"); }
+      @Override public void onError(final Exception cause) { chunks.add("failed"); }
+    });
+    assertEquals("01234", chunks.get(0));
+    assertFalse(stream.isCompleted());
+
+    parser.parseNext(toByteBuffer("56789" + following));
+
+    assertEquals("56789", chunks.get(1));
+    assertEquals("completed", chunks.get(2));
+    assertTrue(stream.isCompleted());
+
+    assertTrue(parser.hasFullRequest());
+    assertTrue(parser.fullRequest().method.isGET());
+    assertTrue(parser.hasCompleted());
+  }
+
+  @Test
+  public void testThatStreamedBodyReadBeforeSubscriptionIsHeld() {
+    final BodyLimits limits = BodyLimits.define().withMaxBodySize(64);
+    final String head = "POST /uploads HTTP/1.1\r\nHost: vlingo.io\r\nContent-Length: 30\r\n\r\n";
+
+    // the pending limit is sized from the body limits, as by the server, not from one read
+    final RequestParser parser =
+            RequestParser.parserFor(
+                    toByteBuffer(head + "0123456789"),
+                    (method, uri) -> method.isPOST(),
+                    limits.maxBodySize,
+                    HeaderLimits.define(),
+                    limits);
+
+    final RequestBodyStream stream = (RequestBodyStream) parser.fullRequest().body;
+    final List<String> resumed = new ArrayList<>();
+    stream.whenSubscribed(() -> resumed.add("resumed"));
+
+    // the following reads arrive before the handler subscribes
+    parser.parseNext(toByteBuffer("abcdefghij"));
+    parser.parseNext(toByteBuffer("ABCDEFGHIJ"));
+    assertFalse(stream.isFailed());
+    assertTrue(stream.isCompleted());
+    assertFalse(stream.isSubscribed());
+    assertTrue(resumed.isEmpty());
+
+    final StringBuilder received = new StringBuilder();
+    stream.subscribe(new RequestBodyStream.Subscriber() {
+      @Override public void onChunk(final ByteBuffer chunk) { received.append(StandardCharsets.UTF_8.decode(chunk)); }
+      @Override public void onComplete() { received.append("|completed"); }
+      @Override public void onError(final Exception cause) { received.append("|failed"); }
+    });
+
+    assertEquals("0123456789abcdefghijABCDEFGHIJ|completed", received.toString());
+    assertEquals(1, resumed.size());
+  }
+
+  @Test
+  public void testThatChunkedRequestSplitAcrossReadsParses() {
+    final String chunked =
+            "POST /users HTTP/1.1\r\nHost: vlingo.io\r\nTransfer-Encoding: chunked\r\n\r\n" +
+            "5\r\nHello\r\n" +
+            "7;name=value\r\n, World\r\n" +
+            "0\r\nX-Checksum: 42\r\n\r\n";
+    final String following = "GET /users/123 HTTP/1.1\r\nHost: vlingo.io\r\nContent-Length: 2\r\n\r\nok";
+    final byte[] request = Converters.textToBytes(chunked + following);
+
+    final RequestParser parser = RequestParser.parserFor(ByteBuffer.wrap(request, 0, 1));
+    for (int index = 1; index < request.length; ++index) {
+      parser.parseNext(ByteBuffer.wrap(request, index, 1).slice());
+    }
+
+    assertTrue(parser.hasCompleted());
+    assertTrue(parser.hasFullRequest());
+    final Request first = parser.fullRequest();
+    assertTrue(first.method.isPOST());
+    assertEquals("Hello, World", first.body.content());
+    assertEquals("42", first.headerValueOr("X-Checksum", null));
+
+    assertTrue(parser.hasFullRequest());
+    final Request second = parser.fullRequest();
+    assertTrue(second.method.isGET());
+    assertEquals("ok", second.body.content());
+    assertFalse(parser.hasFullRequest());
+  }
+
   private String multipleRequestBuilder(final int amount) {
     final StringBuilder builder = new StringBuilder();
 
@@ -0,0 +1,158 @@
+// Copyright © 2012-2021 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.http;
+
+import static io.vlingo.xoom.http.Response.Status.NoContent;
+import static io.vlingo.xoom.http.Response.Status.Ok;
+import static io.vlingo.xoom.http.ResponseHeader.ContentEncoding;
+import static io.vlingo.xoom.http.ResponseHeader.ContentLength;
+import static io.vlingo.xoom.http.ResponseHeader.ContentType;
+import static io.vlingo.xoom.http.ResponseHeader.Vary;
+import static io.vlingo.xoom.http.ResponseHeader.headers;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+import org.junit.Test;
+
+public class ResponseCompressionTest {
+  private final ResponseCompression compression = ResponseCompression.define().withThreshold(64);
+  private final String text = repeated("The quick brown fox jumps over the lazy dog. ", 40);
+
+  @Test
+  public void testThatAcceptEncodingIsNegotiated() {
+    assertEquals(ContentEncodingMethod.GZIP, ResponseCompression.negotiate("gzip, deflate, br"));
+    assertEquals(ContentEncodingMethod.GZIP, ResponseCompression.negotiate("deflate, gzip"));
+    assertEquals(ContentEncodingMethod.DEFLATE, ResponseCompression.negotiate("gzip;q=0.5, deflate"));
+    assertEquals(ContentEncodingMethod.DEFLATE, ResponseCompression.negotiate("deflate, br"));
+    assertEquals(ContentEncodingMethod.GZIP, ResponseCompression.negotiate("*"));
+    assertEquals(ContentEncodingMethod.DEFLATE, ResponseCompression.negotiate("gzip;q=0, *"));
+    assertNull(ResponseCompression.negotiate("br, identity"));
+    assertNull(ResponseCompression.negotiate("gzip;q=0, deflate;q=0"));
+    assertNull(ResponseCompression.negotiate(""));
+    assertNull(ResponseCompression.negotiate(null));
+  }
+
+  @Test
+  public void testThatGzipIsCompressed() throws Exception {
+    final Response response = compression.compress(requestAccepting("gzip"), Response.of(Ok, headers(ContentType, "text/plain"), text));
+
+    assertEquals("gzip", response.headerValueOr(ContentEncoding, null));
+    assertEquals(RequestHeader.AcceptEncoding, response.headerValueOr(Vary, null));
+    final byte[] compressed = response.entity.binaryContent();
+    assertEquals(String.valueOf(compressed.length), response.headerValueOr(ContentLength, null));
+    assertEquals(text, inflated(new GZIPInputStream(new ByteArrayInputStream(compressed))));
+  }
+
+  @Test
+  public void testThatDeflateIsCompressed() throws Exception {
+    final Response response = compression.compress(requestAccepting("deflate"), Response.of(Ok, text));
+
+    assertEquals("deflate", response.headerValueOr(ContentEncoding, null));
+    final byte[] compressed = response.entity.binaryContent();
+    assertEquals(text, inflated(new InflaterInputStream(new ByteArrayInputStream(compressed))));
+  }
+
+  @Test
+  public void testThatPooledDeflatersAreReused() throws Exception {
+    for (int count = 1; count <= 3; ++count) {
+      final String content = repeated("content " + count + " ", 200);
+      final Response response = compression.compress(requestAccepting("gzip"), Response.of(Ok, content));
+      assertEquals(content, inflated(new GZIPInputStream(new ByteArrayInputStream(response.entity.binaryContent()))));
+    }
+  }
+
+  @Test
+  public void testThatSmallResponseIsNotCompressed() {
+    final Response original = Response.of(Ok, "small");
+
+    assertSame(original, compression.compress(requestAccepting("gzip"), original));
+  }
+
+  @Test
+  public void testThatExplicitContentLengthIsKeptWhenNotCompressed() {
+    final Response original = Response.of(Ok, headers(ContentLength, "4096"), "small");
+
+    final Response response = compression.compress(requestAccepting("gzip"), original);
+
+    assertSame(original, response);
+    assertEquals("4096", response.headerValueOr(ContentLength, null));
+  }
+
+  @Test
+  public void testThatCompressedMediaTypeIsNotCompressed() {
+    final Response original = Response.of(Ok, headers(ContentType, "image/png"), text);
+
+    assertSame(original, compression.compress(requestAccepting("gzip"), original));
+  }
+
+  @Test
+  public void testThatEncodedResponseIsNotCompressed() {
+    final Response original = Response.of(Ok, headers(ContentEncoding, "br"), text);
+
+    assertSame(original, compression.compress(requestAccepting("gzip"), original));
+  }
+
+  @Test
+  public void testThatNoContentIsNotCompressed() {
+    final Response original = Response.of(NoContent);
+
+    assertSame(original, compression.compress(requestAccepting("gzip"), original));
+  }
+
+  @Test
+  public void testThatUnacceptedEncodingIsNotCompressed() {
+    final Response original = Response.of(Ok, text);
+
+    assertSame(original, compression.compress(Request.method(Method.GET).uri("/"), original));
+  }
+
+  @Test
+  public void testThatVaryIsMerged() {
+    final Response response = compression.compress(requestAccepting("gzip"), Response.of(Ok, headers(Vary, "Origin"), text));
+
+    assertEquals("Origin, " + RequestHeader.AcceptEncoding, response.headerValueOr(Vary, null));
+  }
+
+  @Test
+  public void testThatFiltersCompress() {
+    final Filters filters = Filters.none().with(compression);
+
+    final Response response = filters.process(requestAccepting("gzip"), Response.of(Ok, text));
+
+    assertEquals("gzip", response.headerValueOr(ContentEncoding, null));
+  }
+
+  private String inflated(final InputStream input) throws Exception {
+    final ByteArrayOutputStream output = new ByteArrayOutputStream();
+    final byte[] buffer = new byte[512];
+    for (int read = input.read(buffer); read >= 0; read = input.read(buffer)) {
+      output.write(buffer, 0, read);
+    }
+    return new String(output.toByteArray(), StandardCharsets.UTF_8);
+  }
+
+  private String repeated(final String text, final int times) {
+    final StringBuilder builder = new StringBuilder();
+    for (int count = 0; count < times; ++count) {
+      builder.append(text);
+    }
+    return builder.toString();
+  }
+
+  private Request requestAccepting(final String encoding) {
+    return Request.method(Method.GET).uri("/").header(RequestHeader.AcceptEncoding, encoding);
+  }
+}
@@ -0,0 +1,75 @@
+package io.vlingo.xoom.http;
+
+import static io.vlingo.xoom.http.ResponseHeader.ContentType;
+import static io.vlingo.xoom.http.ResponseHeader.headers;
+import static io.vlingo.xoom.http.ResponseHeader.of;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Ignore;
+import org.junit.Test;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import io.vlingo.xoom.http.Response.Status;
+import io.vlingo.xoom.wire.message.BasicConsumerByteBuffer;
+import io.vlingo.xoom.wire.message.ConsumerByteBuffer;
+
+public class ResponseEncodingBenchmarkTests {
+  @Test
+  @Ignore("Keep for local comparison of binary response encoding")
+  public void launchBenchmark() throws Exception {
+    Options opt = new OptionsBuilder()
+      .include(this.getClass().getSimpleName() + "\\.benchmark.*")
+      .mode(Mode.AverageTime)
+      .timeUnit(TimeUnit.MICROSECONDS)
+      .warmupTime(TimeValue.seconds(1))
+      .warmupIterations(2)
+      .measurementTime(TimeValue.seconds(1))
+      .measurementIterations(3)
+      .threads(1)
+      .forks(1)
+      .shouldFailOnError(true)
+      .shouldDoGC(true)
+      .addProfiler("gc")
+      .build();
+
+    new Runner(opt).run();
+  }
+
+  @State(Scope.Thread)
+  public static class ResponseEncodingBenchmarkState {
+    @Param({"1024", "65536", "1048576"})
+    int size;
+
+    byte[] content;
+    ConsumerByteBuffer buffer;
+
+    @Setup(Level.Trial)
+    public void initialize() {
+      content = new byte[size];
+      new Random(size).nextBytes(content);
+      // large enough for the Base64 body as well
+      buffer = BasicConsumerByteBuffer.allocate(1, size * 2 + 1024);
+    }
+  }
+
+  @Benchmark
+  public void benchmarkBinaryBody(final ResponseEncodingBenchmarkState state, final Blackhole bh) {
+    final Response response = Response.of(Status.Ok, headers(of(ContentType, "application/octet-stream")), Body.from(state.content, Body.Encoding.None));
+    state.buffer.clear();
+    bh.consume(response.into(state.buffer));
+  }
+
+  @Benchmark
+  public void benchmarkBase64Body(final ResponseEncodingBenchmarkState state, final Blackhole bh) {
+    final Response response = Response.of(Status.Ok, headers(of(ContentType, "application/octet-stream")), Body.from(state.content));
+    state.buffer.clear();
+    bh.consume(response.into(state.buffer));
+  }
+}
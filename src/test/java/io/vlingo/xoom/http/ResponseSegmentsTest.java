@@ -0,0 +1,83 @@
+// Copyright © 2012-2021 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.http;
+
+import static io.vlingo.xoom.http.Response.Status.Ok;
+import static io.vlingo.xoom.http.ResponseHeader.ContentType;
+import static io.vlingo.xoom.http.ResponseHeader.headers;
+import static io.vlingo.xoom.http.ResponseHeader.of;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+
+import org.junit.Test;
+
+import io.vlingo.xoom.wire.message.BasicConsumerByteBuffer;
+import io.vlingo.xoom.wire.message.ConsumerByteBuffer;
+import io.vlingo.xoom.wire.message.Converters;
+
+public class ResponseSegmentsTest {
+
+  @Test
+  public void testThatTextSegmentsEncodeWholeResponse() {
+    final StringBuilder entity = new StringBuilder();
+    for (int count = 0; count < 500; ++count) {
+      entity.append(ExtendedCharactersFixture.asciiWithExtendedCharacters()).append(" \uD83D\uDE00 d\u00E9j\u00E0 vu ");
+    }
+    final Response response = Response.of(Ok, headers(of(ContentType, "text/plain; charset=UTF-8")), entity.toString());
+
+    final byte[] expected = Converters.textToBytes(response.toString());
+
+    // an odd segment size splits the text at every kind of char
+    for (final int segmentSize : new int[] { 1021, 1022, 1023, 4096 }) {
+      final byte[] segmented = segmentsOf(response, segmentSize);
+      assertEquals(expected.length, segmented.length);
+      assertArrayEquals(expected, segmented);
+    }
+  }
+
+  @Test
+  public void testThatBinarySegmentsEncodeWholeResponse() {
+    final byte[] body = new byte[10_000];
+    for (int index = 0; index < body.length; ++index) {
+      body[index] = (byte) index;
+    }
+    final Response response = Response.of(Ok, headers(of(ContentType, "application/octet-stream")), Body.from(body, Body.Encoding.None));
+
+    final ConsumerByteBuffer whole = response.into(BasicConsumerByteBuffer.allocate(1, response.size()));
+    final byte[] expected = new byte[whole.limit()];
+    whole.asByteBuffer().get(expected);
+
+    assertArrayEquals(expected, segmentsOf(response, 1000));
+  }
+
+  @Test
+  public void testThatFirstSegmentHoldsHead() {
+    final Response response = Response.of(Ok, "");
+    final ResponseSegments segments = ResponseSegments.of(response);
+
+    assertTrue(segments.hasNext());
+    final ConsumerByteBuffer buffer = segments.nextInto(BasicConsumerByteBuffer.allocate(1, segments.headSize()));
+    assertEquals(response.size(), buffer.limit());
+    assertFalse(segments.hasNext());
+  }
+
+  private byte[] segmentsOf(final Response response, final int segmentSize) {
+    final ResponseSegments segments = ResponseSegments.of(response);
+    final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    while (segments.hasNext()) {
+      final ConsumerByteBuffer buffer = segments.nextInto(BasicConsumerByteBuffer.allocate(1, Math.max(segmentSize, segments.headSize())));
+      assertTrue(buffer.limit() > 0);
+      bytes.write(buffer.array(), 0, buffer.limit());
+    }
+    return bytes.toByteArray();
+  }
+}
@@ -0,0 +1,125 @@
+// Copyright © 2012-2021 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.http;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import io.vlingo.xoom.http.Header.Headers;
+import io.vlingo.xoom.wire.message.Converters;
+
+public class ResponseStreamTest {
+
+  @Test
+  public void testThatChunksSentBeforeOpenAreHeld() {
+    final ResponseStream stream = new ResponseStream();
+    final byte[] reused = Converters.textToBytes("first");
+
+    assertFalse(stream.send(reused));
+    reused[0] = 'F';
+    stream.send("second");
+
+    final RecordingWriter writer = new RecordingWriter();
+    stream.open(writer);
+
+    assertEquals(2, writer.chunks.size());
+    assertEquals("first", writer.chunks.get(0));
+    assertEquals("second", writer.chunks.get(1));
+
+    assertTrue(stream.send("third".getBytes(), 1, 3));
+    assertEquals("hir", writer.chunks.get(2));
+
+    stream.end();
+    assertTrue(writer.ended);
+    assertTrue(stream.isEnded());
+    assertFalse(stream.isReady());
+  }
+
+  @Test
+  public void testThatEndBeforeOpenEndsAfterHeldChunks() {
+    final ResponseStream stream = new ResponseStream();
+    stream.send("only");
+    stream.end();
+
+    final RecordingWriter writer = new RecordingWriter();
+    stream.open(writer);
+
+    assertEquals(1, writer.chunks.size());
+    assertTrue(writer.ended);
+  }
+
+  @Test
+  public void testThatReadyListenerRunsWhenWriterIsReady() {
+    final ResponseStream stream = new ResponseStream();
+    final AtomicInteger readyCount = new AtomicInteger();
+    stream.onReady(readyCount::incrementAndGet);
+
+    final RecordingWriter writer = new RecordingWriter();
+    writer.ready = false;
+    stream.open(writer);
+    assertEquals(0, readyCount.get());
+
+    writer.ready = true;
+    stream.ready();
+    assertEquals(1, readyCount.get());
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testThatSendAfterEndFails() {
+    final ResponseStream stream = new ResponseStream();
+    stream.end();
+    stream.send("late");
+  }
+
+  @Test
+  public void testThatStreamedResponseHasNoContentLength() {
+    final Response response =
+            Response.of(Response.Status.Ok, ResponseHeader.headers(ResponseHeader.TransferEncoding, Header.ValueChunked), new ResponseStream());
+
+    assertNull(response.headerOf(ResponseHeader.ContentLength));
+    assertTrue(response.entity instanceof ResponseStream);
+    assertEquals("HTTP/1.1 200 OK\nTransfer-Encoding: chunked\n\n", response.toString());
+  }
+
+  @Test
+  public void testThatChunkedBodyIsStillReplaced() {
+    final Response response =
+            Response.of(Response.Status.Ok, Headers.of(ResponseHeader.of(ResponseHeader.TransferEncoding, Header.ValueChunked)), Body.beginChunked());
+
+    assertTrue(response.entity instanceof ChunkedBody);
+  }
+
+  private static class RecordingWriter implements ResponseStream.Writer {
+    final List<String> chunks = new ArrayList<>();
+    boolean ended;
+    boolean ready = true;
+
+    @Override
+    public boolean isReady() {
+      return ready;
+    }
+
+    @Override
+    public void write(final byte[] chunk, final int offset, final int length) {
+      chunks.add(Converters.bytesToText(chunk, offset, length));
+    }
+
+    @Override
+    public void end() {
+      ended = true;
+    }
+  }
+}
@@ -17,13 +17,18 @@ import static io.vlingo.xoom.http.ResponseHeader.ContentType;
 import static io.vlingo.xoom.http.ResponseHeader.ETag;
 import static io.vlingo.xoom.http.ResponseHeader.headers;
 import static io.vlingo.xoom.http.ResponseHeader.of;
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
+import java.util.Arrays;
+
 import org.junit.Test;
 
 import io.vlingo.xoom.http.Header.Headers;
+import io.vlingo.xoom.wire.message.BasicConsumerByteBuffer;
+import io.vlingo.xoom.wire.message.ConsumerByteBuffer;
 import io.vlingo.xoom.wire.message.Converters;
 
 public class ResponseTest {
@@ -139,5 +144,36 @@ public class ResponseTest {
 
     assertEquals(Converters.textToBytes(asciiWithExtendedCharacters).length, contentLength);
   }
-}
 
+  @Test
+  public void testThatEncodedResponseMatchesText() {
+    final String entity = ExtendedCharactersFixture.asciiWithExtendedCharacters() + " \uD83D\uDE00";
+
+    final Response response =
+            Response.of(Ok, headers(of(ContentType, "application/json")).and(of("X-Custom", "d\u00E9j\u00E0 vu")), entity);
+
+    final byte[] expected = Converters.textToBytes(response.toString());
+
+    assertEquals(expected.length, response.size());
+
+    final ConsumerByteBuffer buffer = response.into(BasicConsumerByteBuffer.allocate(1, response.size()));
+
+    assertEquals(expected.length, buffer.limit());
+    assertArrayEquals(expected, Arrays.copyOf(buffer.array(), buffer.limit()));
+  }
+
+  @Test
+  public void testThatBinaryBodyIsEncodedAsIs() {
+    final byte[] body = { 37, 80, 68, 70, 0, -1, -30, -29, 10 };
+    final Response response = Response.of(Ok, headers(of(ContentType, "application/octet-stream")), Body.from(body, Body.Encoding.None));
+
+    final byte[] head = Converters.textToBytes("HTTP/1.1 200 OK\nContent-Type: application/octet-stream\nContent-Length: " + body.length + "\n\n");
+
+    assertEquals(head.length + body.length, response.size());
+
+    final ConsumerByteBuffer buffer = response.into(BasicConsumerByteBuffer.allocate(1, response.size()));
+
+    assertArrayEquals(head, Arrays.copyOf(buffer.array(), head.length));
+    assertArrayEquals(body, Arrays.copyOfRange(buffer.array(), head.length, buffer.limit()));
+  }
+}
@@ -15,11 +15,16 @@ import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 import java.net.URI;
+import java.util.Arrays;
+import java.util.Collections;
 
 import org.junit.Test;
 
 import io.vlingo.xoom.http.Method;
 import io.vlingo.xoom.http.QueryParameters;
+import io.vlingo.xoom.http.Request;
+import io.vlingo.xoom.http.resource.Action.MappedParameter;
+import io.vlingo.xoom.http.resource.Action.MappedParameters;
 import io.vlingo.xoom.http.resource.Action.MatchResults;
 
 public class ActionTest {
@@ -268,4 +273,66 @@ public class ActionTest {
     assertEquals("three*", queryParameters.valuesOf("three").get(0));
     assertEquals("3.3", queryParameters.valuesOf("three").get(1));
   }
+
+  @Test
+  public void testMapsPrimitiveParameters() throws Exception {
+    final Action action =
+            new Action(
+                    0,
+                    "GET",
+                    "/orders/{orderId}/lines/{line}/{express}",
+                    "queryLine(long orderId, int line, boolean express)",
+                    null,
+                    Collections.singletonList(new MappedParameter("String", "extra")));
+
+    final Request request = Request.has(Method.GET).and(new URI("/orders/9876543210/lines/7/true"));
+    final MatchResults matchResults = action.matchWith(Method.GET, request.uri);
+    final MappedParameters mapped = action.map(request, matchResults.parameters());
+
+    assertEquals(4, mapped.size());
+    assertEquals(9876543210L, mapped.longAt(0));
+    assertEquals(7, mapped.intAt(1));
+    assertTrue(mapped.booleanAt(2));
+    assertEquals("extra", mapped.valueAt(3));
+    assertEquals("int", mapped.typeAt(1));
+    assertEquals(Integer.valueOf(7), mapped.valueAt(1));
+    assertEquals(Integer.valueOf(7), mapped.mapped.get(1).value);
+    assertEquals("String", mapped.mapped.get(3).type);
+  }
+
+  @Test
+  public void testMapsParametersInDeclaredOrder() throws Exception {
+    final Action action = new Action(0, "GET", "/grid/{x}/{y}", "cell(double y, short x)", null);
+
+    final Request request = Request.has(Method.GET).and(new URI("/grid/3/1.5"));
+    final MatchResults matchResults = action.matchWith(Method.GET, request.uri);
+    final MappedParameters mapped = action.map(request, matchResults.parameters());
+
+    assertEquals(2, mapped.size());
+    assertEquals(1.5, mapped.doubleAt(0), 0.0);
+    assertEquals((short) 3, mapped.shortAt(1));
+  }
+
+  @Test
+  public void testReadsBoxedParametersAsPrimitives() {
+    final MappedParameters mapped =
+            new MappedParameters(1, Method.GET, "ignored", Arrays.asList(
+                    new MappedParameter("int", 42),
+                    new MappedParameter("String", "value")));
+
+    assertEquals(42, mapped.intAt(0));
+    assertEquals("value", mapped.valueAt(1));
+    assertEquals(2, mapped.mapped.size());
+  }
+
+  @Test(expected = IndexOutOfBoundsException.class)
+  public void testUnmappedParameterIsOutOfBounds() throws Exception {
+    final Action action = new Action(0, "GET", "/users/{userId}", "queryUser(int userId, int other)", null);
+
+    final Request request = Request.has(Method.GET).and(new URI("/users/1"));
+    final MappedParameters mapped = action.map(request, action.matchWith(Method.GET, request.uri).parameters());
+
+    assertEquals(1, mapped.size());
+    mapped.intAt(1);
+  }
 }
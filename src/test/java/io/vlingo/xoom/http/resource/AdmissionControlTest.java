@@ -0,0 +1,79 @@
+// Copyright © 2012-2021 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.http.resource;
+
+import static io.vlingo.xoom.http.Version.Http1_1;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.net.URI;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import io.vlingo.xoom.http.Body;
+import io.vlingo.xoom.http.Header.Headers;
+import io.vlingo.xoom.http.Method;
+import io.vlingo.xoom.http.Request;
+import io.vlingo.xoom.http.Response;
+import io.vlingo.xoom.http.ResponseHeader;
+import io.vlingo.xoom.http.resource.AdmissionControl.Limiter;
+
+public class AdmissionControlTest {
+
+  @Test
+  public void testThatLimiterRejectsBeyondMaximum() {
+    final Limiter limiter = AdmissionControl.limitedTo(2).limiter();
+
+    assertTrue(limiter.tryAcquire());
+    assertTrue(limiter.tryAcquire());
+    assertFalse(limiter.tryAcquire());
+    assertEquals(2, limiter.inFlight());
+
+    limiter.release(0);
+    assertTrue(limiter.tryAcquire());
+  }
+
+  @Test
+  public void testThatAdaptiveLimitShrinksWithSlowResponsesAndRecovers() {
+    final Limiter limiter = AdmissionControl.limitedTo(100).withAdaptiveLimit(10, 5).limiter();
+    final long slow = TimeUnit.MILLISECONDS.toNanos(50);
+
+    assertTrue(limiter.tryAcquire());
+    limiter.release(slow);
+    assertEquals(90, limiter.limit());
+
+    for (int count = 0; count < 2000; ++count) {
+      assertTrue(limiter.tryAcquire());
+      limiter.release(0);
+    }
+    assertEquals(100, limiter.limit());
+  }
+
+  @Test
+  public void testThatExemptPathsAreRecognized() {
+    final AdmissionControl admissionControl = AdmissionControl.limitedTo(1).exempting("/health");
+
+    assertTrue(admissionControl.isExempt(requestOf("/health/live")));
+    assertFalse(admissionControl.isExempt(requestOf("/users")));
+    assertFalse(AdmissionControl.None.isLimited());
+  }
+
+  @Test
+  public void testThatRejectionAsksToRetryAfter() {
+    final Response rejection = AdmissionControl.limitedTo(1).withRetryAfter(5).rejection();
+
+    assertEquals(Response.Status.ServiceUnavailable, rejection.status);
+    assertEquals("5", rejection.headerValueOr(ResponseHeader.RetryAfter, null));
+  }
+
+  private Request requestOf(final String path) {
+    return Request.from(Method.GET, URI.create(path), Http1_1, Headers.empty(), Body.empty());
+  }
+}
@@ -10,6 +10,8 @@ import org.openjdk.jmh.runner.options.Options;
 import org.openjdk.jmh.runner.options.OptionsBuilder;
 import org.openjdk.jmh.runner.options.TimeValue;
 
+import io.vlingo.xoom.http.Method;
+
 import java.net.URI;
 import java.util.HashMap;
 import java.util.Map;
@@ -25,7 +27,7 @@ public class BenchmarkTests {
     final double expectedMinUsPerOp = 350;
 
     Options opt = new OptionsBuilder()
-      .include(this.getClass().getSimpleName() + "\\.benchmark.*")
+      .include(this.getClass().getSimpleName() + "\\.benchmarkActionMatching")
       .mode(Mode.AverageTime)
       .timeUnit(TimeUnit.MICROSECONDS)
       .warmupTime(TimeValue.seconds(1))
@@ -44,6 +46,27 @@ public class BenchmarkTests {
       usPerOp < expectedMinUsPerOp);
   }
 
+  @Test
+  @Ignore("Keep for local comparison of the linear resource scan and the route index at 10, 100, and 1000 routes")
+  public void launchRoutingBenchmark() throws Exception {
+    Options opt = new OptionsBuilder()
+      .include(this.getClass().getSimpleName() + "\\.benchmarkRouting.*")
+      .mode(Mode.AverageTime)
+      .timeUnit(TimeUnit.NANOSECONDS)
+      .warmupTime(TimeValue.seconds(1))
+      .warmupIterations(2)
+      .measurementTime(TimeValue.seconds(1))
+      .measurementIterations(2)
+      .threads(1)
+      .forks(1)
+      .shouldFailOnError(true)
+      .shouldDoGC(true)
+      .addProfiler("gc")
+      .build();
+
+    new Runner(opt).run();
+  }
+
   @State(Scope.Thread)
   public static class ActionMatchingBenchmarkState {
     Map<URI, Action> subjects;
@@ -85,4 +108,54 @@ public class BenchmarkTests {
       bh.consume(a.matchWith(a.method, e.getKey()));
     }
   }
+
+  @State(Scope.Thread)
+  public static class RoutingBenchmarkState {
+    @Param({"10", "100", "1000"})
+    int routes;
+
+    Resources resources;
+    URI first;
+    URI last;
+    URI miss;
+
+    @Setup(Level.Trial)
+    public void initialize() {
+      final RequestHandler[] handlers = new RequestHandler[routes];
+      for (int i = 0; i < routes; i++) {
+        handlers[i] =
+          ResourceBuilder.get("/resource" + i + "/{id}/items/{itemId}")
+            .param(String.class)
+            .param(String.class);
+      }
+      resources = Resources.are(ResourceBuilder.resource("routing", handlers));
+      first = URI.create("/resource0/" + UUID.randomUUID() + "/items/" + UUID.randomUUID());
+      last = URI.create("/resource" + (routes - 1) + "/" + UUID.randomUUID() + "/items/" + UUID.randomUUID());
+      miss = URI.create("/unknown/" + UUID.randomUUID() + "/items/" + UUID.randomUUID());
+    }
+  }
+
+  @Benchmark
+  public void benchmarkRoutingLinearScan(RoutingBenchmarkState state, Blackhole bh) {
+    bh.consume(linearScan(state.resources, state.first));
+    bh.consume(linearScan(state.resources, state.last));
+    bh.consume(linearScan(state.resources, state.miss));
+  }
+
+  private static Action.MatchResults linearScan(final Resources resources, final URI uri) {
+    for (final Resource<?> resource : resources.namedResources.values()) {
+      final Action.MatchResults matchResults = resource.matchWith(Method.GET, uri);
+      if (matchResults.isMatched()) {
+        return matchResults;
+      }
+    }
+    return Action.unmatchedResults;
+  }
+
+  @Benchmark
+  public void benchmarkRoutingIndexed(RoutingBenchmarkState state, Blackhole bh) {
+    bh.consume(state.resources.routeOf(Method.GET, state.first));
+    bh.consume(state.resources.routeOf(Method.GET, state.last));
+    bh.consume(state.resources.routeOf(Method.GET, state.miss));
+  }
 }
@@ -5,9 +5,11 @@ import io.vlingo.xoom.http.*;
 import io.vlingo.xoom.http.Header.Headers;
 import io.vlingo.xoom.http.resource.Configuration.Sizing;
 import io.vlingo.xoom.http.resource.Configuration.Timing;
+import io.vlingo.xoom.http.resource.agent.AgentOptions;
 import org.junit.Test;
 
 import java.net.URI;
+import java.util.Properties;
 
 import static io.vlingo.xoom.http.Filters.noResponseFilters;
 import static io.vlingo.xoom.http.Method.POST;
@@ -16,6 +18,8 @@ import static io.vlingo.xoom.http.Version.Http1_1;
 import static java.util.Collections.singletonList;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 
 public class ConfigurationTest {
 
@@ -44,6 +48,7 @@ public class ConfigurationTest {
         .withPort(9000)
         .with(Sizing.define()
           .withDispatcherPoolSize(20)
+          .withDispatcherPoolElasticity(Elasticity.upTo(40).withGrowThreshold(8))
           .withMaxBufferPoolSize(200)
           .withMaxMessageSize(3333))
         .with(Timing.define()
@@ -58,6 +63,8 @@ public class ConfigurationTest {
 
     assertNotNull(configuration.sizing());
     assertEquals(20, configuration.sizing().dispatcherPoolSize);
+    assertEquals(40, configuration.sizing().dispatcherPoolElasticity.maximumPoolSize);
+    assertEquals(8, configuration.sizing().dispatcherPoolElasticity.growThreshold);
     assertEquals(200, configuration.sizing().maxBufferPoolSize);
     assertEquals(3333, configuration.sizing().maxMessageSize);
 
@@ -71,6 +78,93 @@ public class ConfigurationTest {
     assertEquals(Ok, configuration.filters().process(RESPONSE).status);
   }
 
+  @Test
+  public void testThatConfigurationReadsElasticity() {
+    final Properties properties = new Properties();
+    properties.setProperty("server.dispatcher.pool", "4");
+    properties.setProperty("server.dispatcher.pool.max", "16");
+    properties.setProperty("server.dispatcher.pool.shrink.idle", "500");
+
+    final Configuration configuration = Configuration.defineWith(properties);
+
+    assertEquals(4, configuration.sizing().dispatcherPoolSize);
+    assertEquals(16, configuration.sizing().dispatcherPoolElasticity.maximumPoolSize);
+    assertEquals(Elasticity.DefaultGrowThreshold, configuration.sizing().dispatcherPoolElasticity.growThreshold);
+    assertEquals(500, configuration.sizing().dispatcherPoolElasticity.shrinkAfterIdle);
+    assertSame(Elasticity.None, Configuration.define().sizing().dispatcherPoolElasticity);
+  }
+
+  @Test
+  public void testThatConfigurationReadsAgentOptions() {
+    final Properties properties = new Properties();
+    properties.setProperty("server.agent.streaming", "true");
+    properties.setProperty("server.agent.acceptor.threads", "4");
+    properties.setProperty("server.agent.worker.threads", "8");
+    properties.setProperty("server.agent.reuse.port", "true");
+    properties.setProperty("server.agent.backlog", "2048");
+    properties.setProperty("server.agent.write.buffer.low", "8192");
+    properties.setProperty("server.agent.write.buffer.high", "16384");
+    properties.setProperty("server.agent.transport", "IOUring");
+
+    final AgentOptions agentOptions = Configuration.defineWith(properties).agentOptions();
+
+    assertTrue(agentOptions.streaming);
+    assertEquals(AgentOptions.DefaultMaxContentLength, agentOptions.maxContentLength);
+    assertEquals(4, agentOptions.acceptorThreads);
+    assertEquals(8, agentOptions.workerThreads);
+    assertTrue(agentOptions.reusePort);
+    assertTrue(agentOptions.tcpNoDelay);
+    assertEquals(2048, agentOptions.backlog);
+    assertEquals(0, agentOptions.tcpFastOpen);
+    assertEquals(8192, agentOptions.writeBufferLowWaterMark);
+    assertEquals(16384, agentOptions.writeBufferHighWaterMark);
+    assertEquals(AgentOptions.Transport.IOUring, agentOptions.transport);
+    assertEquals(AgentOptions.Transport.Epoll, Configuration.define().agentOptions().transport);
+    assertEquals(1, Configuration.define().agentOptions().acceptorThreads);
+  }
+
+  @Test
+  public void testThatConfigurationReadsRequestLimits() {
+    final Properties properties = new Properties();
+    properties.setProperty("server.admission.max.inflight", "100");
+    properties.setProperty("server.admission.adaptive", "true");
+    properties.setProperty("server.admission.min.limit", "10");
+    properties.setProperty("server.admission.target.latency", "50");
+    properties.setProperty("server.admission.retry.after", "3");
+    properties.setProperty("server.admission.exempt", "/health, /ready");
+    properties.setProperty("server.request.deadline", "2000");
+    properties.setProperty("server.request.missing.content.max", "500");
+    properties.setProperty("server.request.line.max", "4096");
+    properties.setProperty("server.request.header.count.max", "50");
+    properties.setProperty("server.request.header.timeout", "3000");
+    properties.setProperty("server.request.body.max", "1048576");
+    properties.setProperty("server.request.body.spool.threshold", "65536");
+
+    final Configuration configuration = Configuration.defineWith(properties);
+    final AdmissionControl admissionControl = configuration.sizing().admissionControl;
+
+    assertTrue(admissionControl.isLimited());
+    assertTrue(admissionControl.adaptive);
+    assertEquals(100, admissionControl.maximumInFlight);
+    assertEquals(10, admissionControl.minimumLimit);
+    assertEquals(50, admissionControl.targetLatency);
+    assertEquals(3, admissionControl.retryAfter);
+    assertTrue(admissionControl.isExempt(Request.from(Method.GET, URI.create("/ready"), Http1_1, Headers.empty(), Body.empty())));
+    assertEquals(2000, configuration.timing().requestDeadline);
+    assertEquals(500, configuration.sizing().maxMissingContentRequests);
+    assertEquals(4096, configuration.sizing().headerLimits.maxRequestLineLength);
+    assertEquals(50, configuration.sizing().headerLimits.maxHeaderCount);
+    assertEquals(HeaderLimits.DefaultMaxHeaderBytes, configuration.sizing().headerLimits.maxHeaderBytes);
+    assertEquals(3000, configuration.timing().requestHeaderTimeout);
+    assertEquals(1048576, configuration.sizing().bodyLimits.maxBodySize);
+    assertTrue(configuration.sizing().bodyLimits.spools(65537));
+    assertSame(BodyLimits.Unlimited, Configuration.define().sizing().bodyLimits);
+
+    assertSame(AdmissionControl.None, Configuration.define().sizing().admissionControl);
+    assertEquals(0, Configuration.define().timing().requestDeadline);
+    assertEquals(Sizing.DefaultMaxMissingContentRequests, Configuration.define().sizing().maxMissingContentRequests);
+  }
+
   private static final Request REQUEST = Request.from(Method.GET, URI.create("/"), Http1_1, Headers.empty(), Body.empty());
 
   private static final Response RESPONSE = Response.of(Ok, Body.empty());
@@ -0,0 +1,142 @@
+// Copyright © 2012-2021 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.http.resource;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import io.vlingo.xoom.http.resource.SelectionStrategy.Selection;
+
+public class ElasticPoolTest {
+  private final List<Integer> created = new ArrayList<>();
+  private final List<Integer> retired = new ArrayList<>();
+
+  @Test
+  public void testThatFixedPoolKeepsItsSize() {
+    final ElasticPool<Integer> pool = poolOf(3, Elasticity.None);
+
+    for (int count = 0; count < 100; ++count) {
+      pool.next();
+    }
+
+    assertEquals(3, pool.size());
+    assertEquals(3, created.size());
+  }
+
+  @Test
+  public void testThatPoolGrowsWithOutstandingRequests() {
+    final ElasticPool<Integer> pool = poolOf(2, Elasticity.upTo(4).withGrowThreshold(2));
+
+    // two per member are tolerated, then each further request grows the pool
+    for (int count = 0; count < 4; ++count) {
+      pool.next();
+    }
+    assertEquals(2, pool.size());
+
+    pool.next();
+    assertEquals(3, pool.size());
+
+    for (int count = 0; count < 20; ++count) {
+      pool.next();
+    }
+    assertEquals(4, pool.size());
+    assertEquals(4, created.size());
+  }
+
+  @Test
+  public void testThatPoolShrinksWhenIdleAndRetiresCompletedMembers() {
+    final ElasticPool<Integer> pool = poolOf(1, Elasticity.upTo(2).withGrowThreshold(1).withShrinkAfterIdle(0));
+
+    final int first = pool.select();
+    final int second = pool.select();
+    assertEquals(2, pool.size());
+
+    // the grown member remains outstanding while the pool becomes idle
+    final int grown = pool.select();
+    assertEquals(1, grown);
+    pool.completed(first);
+    pool.completed(second);
+    pool.completed(selectAfterIdle(pool));
+    assertEquals(1, pool.size());
+    assertFalse(retired.contains(grown));
+
+    pool.completed(grown);
+    assertTrue(retired.contains(grown));
+  }
+
+  @Test
+  public void testThatIdlePoolShrinksOnIdleCheck() {
+    final ElasticPool<Integer> pool = poolOf(1, Elasticity.upTo(3).withGrowThreshold(1).withShrinkAfterIdle(0));
+
+    final int first = pool.select();
+    final int second = pool.select();
+    final int third = pool.select();
+    assertEquals(3, pool.size());
+
+    pool.completed(first);
+    pool.completed(second);
+    pool.completed(third);
+
+    // no member is selected again, so only the idle check shrinks the pool
+    idleCheckAfterIdle(pool);
+    assertEquals(2, pool.size());
+    idleCheckAfterIdle(pool);
+    assertEquals(1, pool.size());
+    idleCheckAfterIdle(pool);
+    assertEquals(1, pool.size());
+    assertEquals(2, retired.size());
+  }
+
+  @Test
+  public void testThatClosedPoolRetiresAllMembers() {
+    final ElasticPool<Integer> pool = poolOf(3, Elasticity.upTo(6));
+
+    pool.close();
+
+    assertEquals(3, retired.size());
+  }
+
+  private int selectAfterIdle(final ElasticPool<Integer> pool) {
+    try {
+      Thread.sleep(2);
+    } catch (InterruptedException e) {
+      // ignore
+    }
+    return pool.select();
+  }
+
+  private void idleCheckAfterIdle(final ElasticPool<Integer> pool) {
+    try {
+      Thread.sleep(2);
+    } catch (InterruptedException e) {
+      // ignore
+    }
+    pool.intervalSignal(null, null);
+  }
+
+  private ElasticPool<Integer> poolOf(final int poolSize, final Elasticity elasticity) {
+    return new ElasticPool<>(poolSize, elasticity, SelectionStrategy.roundRobin(), new ElasticPool.Members<Integer>() {
+      @Override
+      public Integer memberFor(final Selection pool, final int index) {
+        created.add(index);
+        return index;
+      }
+
+      @Override
+      public void retire(final Integer member) {
+        retired.add(member);
+      }
+    });
+  }
+}
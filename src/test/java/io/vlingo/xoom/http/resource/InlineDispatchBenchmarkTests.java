@@ -0,0 +1,122 @@
+package io.vlingo.xoom.http.resource;
+
+import static io.vlingo.xoom.common.Completes.withSuccess;
+import static io.vlingo.xoom.http.resource.ResourceBuilder.get;
+import static io.vlingo.xoom.http.resource.ResourceBuilder.resource;
+
+import java.net.URI;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Ignore;
+import org.junit.Test;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import io.vlingo.xoom.actors.Address;
+import io.vlingo.xoom.actors.CompletesEventually;
+import io.vlingo.xoom.actors.Returns;
+import io.vlingo.xoom.actors.World;
+import io.vlingo.xoom.common.Completes;
+import io.vlingo.xoom.http.Body;
+import io.vlingo.xoom.http.Context;
+import io.vlingo.xoom.http.Header.Headers;
+import io.vlingo.xoom.http.Method;
+import io.vlingo.xoom.http.Request;
+import io.vlingo.xoom.http.Response;
+import io.vlingo.xoom.http.Version;
+import io.vlingo.xoom.http.resource.RouteIndex.Route;
+
+public class InlineDispatchBenchmarkTests {
+  @Test
+  @Ignore("Keep for local comparison of dispatching by way of actors and inline dispatching")
+  public void launchBenchmark() throws Exception {
+    Options opt = new OptionsBuilder()
+      .include(this.getClass().getSimpleName() + "\\.benchmark.*")
+      .mode(Mode.AverageTime)
+      .timeUnit(TimeUnit.MICROSECONDS)
+      .warmupTime(TimeValue.seconds(1))
+      .warmupIterations(2)
+      .measurementTime(TimeValue.seconds(1))
+      .measurementIterations(3)
+      .threads(1)
+      .forks(1)
+      .shouldFailOnError(true)
+      .shouldDoGC(true)
+      .addProfiler("gc")
+      .build();
+
+    new Runner(opt).run();
+  }
+
+  @State(Scope.Benchmark)
+  public static class InlineDispatchBenchmarkState {
+    Dispatcher dispatcher;
+    Request inlineRequest;
+    Request pooledRequest;
+    Resources resources;
+    World world;
+
+    @Setup(Level.Trial)
+    public void initialize() throws Exception {
+      world = World.startWithDefaults("inline-dispatch-benchmark");
+
+      resources =
+              Resources.are(resource("users",
+                      get("/users/{userId}")
+                        .param(String.class)
+                        .handle(userId -> withSuccess(Response.of(Response.Status.Ok, userId))),
+                      get("/inline/users/{userId}")
+                        .param(String.class)
+                        .handle(userId -> withSuccess(Response.of(Response.Status.Ok, userId)))
+                        .inline()));
+
+      dispatcher = Dispatcher.startWith(world.stage(), resources);
+
+      pooledRequest = Request.from(Method.GET, new URI("/users/123"), Version.Http1_1, Headers.empty(), Body.empty());
+      inlineRequest = Request.from(Method.GET, new URI("/inline/users/123"), Version.Http1_1, Headers.empty(), Body.empty());
+    }
+
+    @TearDown(Level.Trial)
+    public void terminate() {
+      world.terminate();
+    }
+  }
+
+  @Benchmark
+  public void benchmarkActorDispatch(final InlineDispatchBenchmarkState state, final Blackhole bh) {
+    // the path of the server: dispatcher, handler actor and eventual completes
+    final Completes<Response> completes = Completes.using(state.world.stage().scheduler());
+    state.dispatcher.dispatchFor(new Context(state.pooledRequest, state.world.completesFor(Returns.value(completes))));
+    bh.consume(completes.await());
+  }
+
+  @Benchmark
+  public void benchmarkInlineDispatch(final InlineDispatchBenchmarkState state, final Blackhole bh) {
+    final Completes<Response> completes = Completes.using(state.world.stage().scheduler());
+    final Route route = state.resources.inlineRouteOf(state.inlineRequest);
+    state.resources.dispatchInline(route, new Context(state.inlineRequest, new DirectCompletes(completes)), state.world.defaultLogger());
+    bh.consume(completes.await());
+  }
+
+  private static class DirectCompletes implements CompletesEventually {
+    private final Completes<Response> completes;
+
+    DirectCompletes(final Completes<Response> completes) {
+      this.completes = completes;
+    }
+
+    @Override
+    public Address address() {
+      return null;
+    }
+
+    @Override
+    public void with(final Object outcome) {
+      completes.with((Response) outcome);
+    }
+  }
+}
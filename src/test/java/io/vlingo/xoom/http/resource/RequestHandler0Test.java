@@ -16,6 +16,8 @@ import org.junit.Test;
 import org.junit.rules.ExpectedException;
 
 import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.Collections;
 
 import static io.vlingo.xoom.common.Completes.withSuccess;
@@ -24,6 +26,7 @@ import static io.vlingo.xoom.http.Response.of;
 import static io.vlingo.xoom.http.resource.ParameterResolver.*;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
 
 public class RequestHandler0Test extends RequestHandlerTestBase {
 
@@ -126,6 +129,32 @@ public class RequestHandler0Test extends RequestHandlerTestBase {
     assertEquals(new NameData("John", "Doe"), handler.resolver.apply(request, mappedParameters));
   }
 
+  @Test
+  public void addingHandlerBodyStream() {
+    final Request request = Request.has(Method.POST)
+      .and(URI.create("/user/admin/name"))
+      .and(Body.from("{\"given\":\"John\",\"family\":\"Doe\"}"))
+      .and(Version.Http1_1);
+    final Action.MappedParameters mappedParameters =
+      new Action.MappedParameters(1, Method.POST, "ignored", Collections.emptyList());
+
+    final RequestHandler1<RequestBodyStream> handler = new RequestHandler0(Method.POST, "/user/admin/name")
+      .bodyStream();
+
+    assertTrue(handler.streamsBody);
+    assertEquals(RequestBodyStream.class, handler.bodyType);
+
+    final StringBuilder received = new StringBuilder();
+    final RequestBodyStream stream = handler.resolver.apply(request, mappedParameters);
+    stream.subscribe(new RequestBodyStream.Subscriber() {
+      @Override public void onChunk(final ByteBuffer chunk) { received.append(StandardCharsets.UTF_8.decode(chunk)); }
+      @Override public void onComplete() { received.append("|completed"); }
+      @Override public void onError(final Exception cause) { received.append("|failed"); }
+    });
+
+    assertEquals("{\"given\":\"John\",\"family\":\"Doe\"}|completed", received.toString());
+  }
+
   @Test
   @SuppressWarnings("deprecation")
   public void addingHandlerBodyWithMapper() {
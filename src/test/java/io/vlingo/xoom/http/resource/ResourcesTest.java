@@ -7,15 +7,31 @@
 
 package io.vlingo.xoom.http.resource;
 
+import static io.vlingo.xoom.common.Completes.withSuccess;
+import static io.vlingo.xoom.http.resource.ResourceBuilder.get;
+import static io.vlingo.xoom.http.resource.ResourceBuilder.resource;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
+import java.net.URI;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.junit.Test;
 
+import io.vlingo.xoom.actors.testkit.AccessSafely;
+import io.vlingo.xoom.http.Body;
+import io.vlingo.xoom.http.Context;
+import io.vlingo.xoom.http.Header.Headers;
+import io.vlingo.xoom.http.Method;
+import io.vlingo.xoom.http.Request;
+import io.vlingo.xoom.http.Response;
+import io.vlingo.xoom.http.Version;
+import io.vlingo.xoom.http.resource.RouteIndex.Route;
 import io.vlingo.xoom.http.sample.user.ProfileResource;
 import io.vlingo.xoom.http.sample.user.UserResource;
 
@@ -137,4 +153,84 @@ public class ResourcesTest {
     
     ConfigurationResource.newResourceFor("user", resourceHandlerClass, 5, actions);
   }
+
+  @Test
+  public void testThatInlineRouteDispatchesOnCallingThread() throws Exception {
+    final AtomicReference<Thread> handlingThread = new AtomicReference<>();
+
+    final Resources resources =
+            Resources.are(resource("inline",
+                    get("/inline/{id}")
+                      .param(String.class)
+                      .handle(id -> {
+                        handlingThread.set(Thread.currentThread());
+                        return withSuccess(Response.of(Response.Status.Ok, id));
+                      })
+                      .inline(),
+                    get("/pooled")
+                      .handle(() -> withSuccess(Response.of(Response.Status.Ok)))));
+
+    assertNull(resources.inlineRouteOf(requestOf("/pooled")));
+
+    final Request request = requestOf("/inline/123");
+    final Route route = resources.inlineRouteOf(request);
+    assertNotNull(route);
+
+    final MockCompletesEventuallyResponse completes = new MockCompletesEventuallyResponse();
+    final AccessSafely outcomes = completes.expectWithTimes(1);
+
+    resources.dispatchInline(route, new Context(request, completes), null);
+
+    // completed before answering, without an actor
+    assertNotNull(completes.response.get());
+    assertEquals(Thread.currentThread(), handlingThread.get());
+    final Response response = outcomes.readFrom("response");
+    assertEquals("123", response.entity.content());
+  }
+
+  @Test
+  public void testThatNoInlineRoutesAreNotMatchedInline() throws Exception {
+    final Resources resources = Resources.are(resource("pooled", get("/pooled").handle(() -> withSuccess(Response.of(Response.Status.Ok)))));
+
+    assertFalse(resources.namedResources.get("pooled").dispatchesInline());
+    assertNull(resources.inlineRouteOf(requestOf("/pooled")));
+  }
+
+  @Test
+  public void testThatBlockingRouteDispatchesOnVirtualThread() throws Exception {
+    final AtomicReference<Thread> handlingThread = new AtomicReference<>();
+
+    final Resources resources =
+            Resources.are(resource("blocking",
+                    get("/blocking")
+                      .handle(() -> {
+                        handlingThread.set(Thread.currentThread());
+                        return withSuccess(Response.of(Response.Status.Ok, "blocked"));
+                      })
+                      .blocking()));
+
+    final Request request = requestOf("/blocking");
+    final Route route = resources.inlineRouteOf(request);
+
+    if (!VirtualThreads.isSupported()) {
+      // dispatched to the handler actors as usual
+      assertNull(route);
+      return;
+    }
+
+    assertNotNull(route);
+
+    final MockCompletesEventuallyResponse completes = new MockCompletesEventuallyResponse();
+    final AccessSafely outcomes = completes.expectWithTimes(1);
+
+    resources.dispatchInline(route, new Context(request, completes), null);
+
+    final Response response = outcomes.readFrom("response");
+    assertEquals("blocked", response.entity.content());
+    assertTrue((Boolean) Thread.class.getMethod("isVirtual").invoke(handlingThread.get()));
+  }
+
+  private Request requestOf(final String path) throws Exception {
+    return Request.from(Method.GET, new URI(path), Version.Http1_1, Headers.empty(), Body.empty());
+  }
 }
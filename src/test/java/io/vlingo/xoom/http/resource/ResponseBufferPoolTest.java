@@ -0,0 +1,116 @@
+// Copyright © 2012-2021 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.http.resource;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import org.junit.Test;
+
+import io.vlingo.xoom.http.resource.ResponseBufferPool.Statistics;
+import io.vlingo.xoom.wire.message.ConsumerByteBuffer;
+
+public class ResponseBufferPoolTest {
+
+  @Test
+  public void testThatSizeClassesFitExactSizes() {
+    assertEquals(0, ResponseBufferPool.classIndexOf(1));
+    assertEquals(0, ResponseBufferPool.classIndexOf(512));
+    assertEquals(1, ResponseBufferPool.classIndexOf(513));
+    assertEquals(1, ResponseBufferPool.classIndexOf(1024));
+    assertEquals(7, ResponseBufferPool.classIndexOf(65535));
+    assertEquals(11, ResponseBufferPool.classIndexOf(ResponseBufferPool.MaximumClassSize));
+
+    final ResponseBufferPool pool = new ResponseBufferPool(10);
+
+    assertEquals(512, pool.acquire(200).capacity());
+    assertEquals(2048, pool.acquire(1500).capacity());
+    assertEquals(ResponseBufferPool.MaximumClassSize, pool.acquire(ResponseBufferPool.MaximumClassSize).capacity());
+    assertEquals(ResponseBufferPool.MaximumClassSize + 1, pool.acquire(ResponseBufferPool.MaximumClassSize + 1).capacity());
+  }
+
+  @Test
+  public void testThatReleasedBuffersAreReused() {
+    final ResponseBufferPool pool = new ResponseBufferPool(10);
+
+    final ConsumerByteBuffer first = pool.acquire(300);
+    first.put(new byte[] { 1, 2, 3 });
+    first.release();
+    first.release(); // twice is harmless
+
+    final ConsumerByteBuffer second = pool.acquire(400);
+    assertSame(first, second);
+    assertEquals(0, second.position());
+    assertNotSame(second, pool.acquire(400));
+
+    final Statistics statistics = pool.statistics();
+    assertEquals(1, statistics.hits());
+    assertEquals(2, statistics.misses());
+    assertEquals(1, statistics.hits(0));
+    assertEquals(0, statistics.idle(0));
+  }
+
+  @Test
+  public void testThatLargeClassesRetainFewerBuffers() {
+    final ResponseBufferPool pool = new ResponseBufferPool(4);
+
+    final ConsumerByteBuffer[] buffers = new ConsumerByteBuffer[4];
+    for (int index = 0; index < buffers.length; ++index) {
+      buffers[index] = pool.acquire(ResponseBufferPool.RetentionClassSize * 2);
+    }
+    for (final ConsumerByteBuffer buffer : buffers) {
+      buffer.release();
+    }
+
+    final Statistics statistics = pool.statistics();
+    final int index = ResponseBufferPool.classIndexOf(ResponseBufferPool.RetentionClassSize * 2);
+    assertEquals(2, statistics.idle(index));
+    assertEquals(2L * ResponseBufferPool.RetentionClassSize * 2, statistics.idleBytes());
+  }
+
+  @Test
+  public void testThatReleaseListenerRunsOnce() {
+    final ResponseBufferPool pool = new ResponseBufferPool(4);
+    final int[] released = new int[1];
+
+    final ConsumerByteBuffer buffer = pool.acquire(1000, () -> ++released[0]);
+    buffer.release();
+    buffer.release();
+    assertEquals(1, released[0]);
+
+    // reacquired without a listener
+    pool.acquire(1000).release();
+    assertEquals(1, released[0]);
+  }
+
+  @Test
+  public void testThatOversizedBufferRunsReleaseListener() {
+    final ResponseBufferPool pool = new ResponseBufferPool(4);
+    final int[] released = new int[1];
+
+    final ConsumerByteBuffer buffer = pool.acquire(ResponseBufferPool.MaximumClassSize + 1, () -> ++released[0]);
+    assertEquals(ResponseBufferPool.MaximumClassSize + 1, buffer.capacity());
+    buffer.release();
+    buffer.release();
+
+    assertEquals(1, released[0]);
+    assertEquals(1, pool.statistics().oversized);
+  }
+
+  @Test
+  public void testThatOversizedBuffersAreCounted() {
+    final ResponseBufferPool pool = new ResponseBufferPool(4);
+
+    pool.acquire(ResponseBufferPool.MaximumClassSize * 2).release();
+
+    final Statistics statistics = pool.statistics();
+    assertEquals(1, statistics.oversized);
+    assertEquals(0, statistics.misses());
+  }
+}
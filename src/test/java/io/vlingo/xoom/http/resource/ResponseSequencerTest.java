@@ -0,0 +1,174 @@
+// Copyright © 2012-2021 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.http.resource;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import io.vlingo.xoom.http.resource.ResponseSequencer.Slot;
+import io.vlingo.xoom.wire.message.BasicConsumerByteBuffer;
+import io.vlingo.xoom.wire.message.ConsumerByteBuffer;
+
+public class ResponseSequencerTest {
+  private final List<String> writes = new ArrayList<>();
+  private final List<Boolean> closes = new ArrayList<>();
+  private final List<ConsumerByteBuffer> released = new ArrayList<>();
+
+  @Test
+  public void testThatResponsesAreWrittenInRequestOrder() {
+    final ResponseSequencer sequencer = sequencerOf(1024);
+    final Slot first = sequencer.next();
+    final Slot second = sequencer.next();
+    final Slot third = sequencer.next();
+
+    third.respond(bufferOf("3"), false);
+    second.respond(bufferOf("2"), false);
+    assertTrue(writes.isEmpty());
+
+    first.respond(bufferOf("1"), false);
+    assertEquals(1, writes.size());
+    assertEquals("123", writes.get(0));
+  }
+
+  @Test
+  public void testThatReadyResponsesAreCoalescedWithinLimit() {
+    final ResponseSequencer sequencer = sequencerOf(4);
+    final Slot first = sequencer.next();
+    final Slot second = sequencer.next();
+    final Slot third = sequencer.next();
+
+    second.respond(bufferOf("bb"), false);
+    third.respond(bufferOf("cc"), false);
+    first.respond(bufferOf("aa"), false);
+
+    assertEquals(2, writes.size());
+    assertEquals("aabb", writes.get(0));
+    assertEquals("cc", writes.get(1));
+  }
+
+  @Test
+  public void testThatResponsesFollowingCloseAreDiscarded() {
+    final ResponseSequencer sequencer = sequencerOf(1024);
+    final Slot first = sequencer.next();
+    final Slot second = sequencer.next();
+    final Slot third = sequencer.next();
+
+    second.respond(bufferOf("2"), false);
+    first.respond(bufferOf("1"), true);
+    third.respond(bufferOf("3"), false);
+
+    assertEquals(1, writes.size());
+    assertEquals("1", writes.get(0));
+    assertTrue(closes.get(0));
+  }
+
+  @Test
+  public void testThatStreamedResponseHoldsBackLaterResponses() {
+    final ResponseSequencer sequencer = sequencerOf(1024);
+    final Slot first = sequencer.next();
+    final Slot second = sequencer.next();
+
+    second.respond(bufferOf("2"), false);
+    first.respondStreamed(() -> writes.add("stream"), () -> writes.add("discarded"));
+
+    assertEquals(1, writes.size());
+    assertEquals("stream", writes.get(0));
+
+    first.ended(false);
+
+    assertEquals(2, writes.size());
+    assertEquals("2", writes.get(1));
+  }
+
+  @Test
+  public void testThatSequencerServesConnectionUntilClosed() {
+    final ResponseSequencer sequencer = sequencerOf(1024);
+
+    sequencer.next().respond(bufferOf("1"), false);
+    sequencer.next().respond(bufferOf("2"), false);
+
+    assertEquals(2, writes.size());
+    assertEquals("2", writes.get(1));
+    assertFalse(sequencer.isClosed());
+  }
+
+  @Test
+  public void testThatCloseReleasesHeldResponses() {
+    final ResponseSequencer sequencer = sequencerOf(1024);
+    final Slot first = sequencer.next();
+    final Slot second = sequencer.next();
+    final Slot third = sequencer.next();
+
+    final ConsumerByteBuffer held = bufferOf("2");
+    second.respond(held, false);
+    third.respondStreamed(() -> writes.add("stream"), () -> writes.add("discarded"));
+
+    sequencer.close();
+
+    assertTrue(sequencer.isClosed());
+    assertTrue(released.contains(held));
+    assertEquals(1, writes.size());
+    assertEquals("discarded", writes.get(0));
+
+    final ConsumerByteBuffer late = bufferOf("1");
+    first.respond(late, false);
+
+    assertEquals(1, writes.size());
+    assertTrue(released.contains(late));
+  }
+
+  @Test
+  public void testThatClosedSequencerDiscardsLaterResponses() {
+    final ResponseSequencer sequencer = sequencerOf(1024);
+    sequencer.close();
+
+    final ConsumerByteBuffer late = bufferOf("1");
+    sequencer.next().respond(late, false);
+    sequencer.next().respondStreamed(() -> writes.add("stream"), () -> writes.add("discarded"));
+
+    assertTrue(released.contains(late));
+    assertEquals(1, writes.size());
+    assertEquals("discarded", writes.get(0));
+  }
+
+  private ConsumerByteBuffer bufferOf(final String text) {
+    final byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+    final ConsumerByteBuffer buffer = new BasicConsumerByteBuffer(0, 64) {
+      @Override
+      public void release() {
+        released.add(this);
+      }
+    };
+    buffer.put(bytes);
+    return buffer.flip();
+  }
+
+  private ResponseSequencer sequencerOf(final int maxCoalescedSize) {
+    return new ResponseSequencer(new ResponseSequencer.Output() {
+      @Override
+      public ConsumerByteBuffer bufferFor(final int size) {
+        return BasicConsumerByteBuffer.allocate(0, size);
+      }
+
+      @Override
+      public void write(final ConsumerByteBuffer buffer, final boolean closeFollowing) {
+        final byte[] bytes = new byte[buffer.limit()];
+        buffer.asByteBuffer().get(bytes);
+        writes.add(new String(bytes, StandardCharsets.UTF_8));
+        closes.add(closeFollowing);
+      }
+    }, maxCoalescedSize);
+  }
+}
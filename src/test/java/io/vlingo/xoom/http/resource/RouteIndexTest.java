@@ -0,0 +1,121 @@
+// Copyright © 2012-2021 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.http.resource;
+
+import static io.vlingo.xoom.http.resource.ResourceBuilder.get;
+import static io.vlingo.xoom.http.resource.ResourceBuilder.post;
+import static io.vlingo.xoom.http.resource.ResourceBuilder.resource;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.net.URI;
+import java.util.List;
+
+import org.junit.Test;
+
+import io.vlingo.xoom.http.Method;
+import io.vlingo.xoom.http.resource.Action.RawPathParameter;
+import io.vlingo.xoom.http.resource.RouteIndex.Route;
+
+public class RouteIndexTest {
+  private final Resources resources =
+          Resources.are(
+                  resource("users",
+                          get("/users"),
+                          get("/users/{userId}").param(String.class),
+                          get("/users/me"),
+                          get("/users/{userId}/name").param(String.class),
+                          post("/users")),
+                  resource("files",
+                          get("/files/{name}.json").param(String.class),
+                          get("/files/v{version}").param(String.class)));
+
+  @Test
+  public void testThatLiteralAndParameterRoutesMatch() throws Exception {
+    assertNotNull(assertMatchesLinearScan(Method.GET, "/users"));
+    assertNotNull(assertMatchesLinearScan(Method.GET, "/users/123"));
+    assertNotNull(assertMatchesLinearScan(Method.GET, "/users/123/name"));
+    assertNotNull(assertMatchesLinearScan(Method.POST, "/users"));
+
+    final Route name = resources.routeOf(Method.GET, new URI("/users/123/name?x=1"));
+    assertEquals(expectedByLinearScan(Method.GET, "/users/123/name"), name.action);
+  }
+
+  @Test
+  public void testThatPrecedenceOfLinearScanIsKept() throws Exception {
+    // declared earlier with the same number of slashes, so it precedes the literal
+    assertNotNull(assertMatchesLinearScan(Method.GET, "/users/me"));
+    assertNotNull(assertMatchesLinearScan(Method.GET, "/users/me/name"));
+  }
+
+  @Test
+  public void testThatTrailingSlashIsIncludedInFinalParameter() throws Exception {
+    assertNotNull(assertMatchesLinearScan(Method.GET, "/users/123/"));
+    assertNotNull(assertMatchesLinearScan(Method.GET, "/users/me/"));
+    assertMatchesLinearScan(Method.GET, "/users//");
+  }
+
+  @Test
+  public void testThatTrailingSlashAfterFinalLiteralIsAsLinearScan() throws Exception {
+    // the linear scan requires a literal route to match the whole path
+    assertMatchesLinearScan(Method.GET, "/users/");
+    assertMatchesLinearScan(Method.POST, "/users/");
+    assertMatchesLinearScan(Method.GET, "/users/123/name/");
+  }
+
+  @Test
+  public void testThatIrregularPatternMatches() throws Exception {
+    assertNotNull(assertMatchesLinearScan(Method.GET, "/files/v2"));
+    assertMatchesLinearScan(Method.GET, "/files/v2/");
+    // the linear scan takes a parameter to the next slash, so a literal suffix never matches
+    assertMatchesLinearScan(Method.GET, "/files/report.json");
+  }
+
+  @Test
+  public void testThatMissesAreUnmatched() throws Exception {
+    assertMatchesLinearScan(Method.GET, "/customers");
+    assertMatchesLinearScan(Method.GET, "/users/123/name/extra");
+    assertMatchesLinearScan(Method.GET, "/users/123/name//");
+    assertMatchesLinearScan(Method.DELETE, "/users");
+    assertMatchesLinearScan(Method.GET, "//users");
+  }
+
+  private Route assertMatchesLinearScan(final Method method, final String path) throws Exception {
+    final Action expected = expectedByLinearScan(method, path);
+    final Route route = resources.routeOf(method, new URI(path));
+
+    if (expected == null) {
+      assertNull(path, route);
+      return null;
+    }
+
+    assertNotNull(path, route);
+    assertEquals(path, expected, route.action);
+
+    final List<RawPathParameter> expectedParameters = expected.matchWith(method, path).parameters();
+    final List<RawPathParameter> parameters = route.parametersFrom(path);
+    assertEquals(path, expectedParameters.size(), parameters.size());
+    for (int index = 0; index < parameters.size(); ++index) {
+      assertEquals(path, expectedParameters.get(index).name, parameters.get(index).name);
+      assertEquals(path, expectedParameters.get(index).value, parameters.get(index).value);
+    }
+
+    return route;
+  }
+
+  private Action expectedByLinearScan(final Method method, final String path) throws Exception {
+    for (final Resource<?> resource : resources.namedResources.values()) {
+      final Action.MatchResults matchResults = resource.matchWith(method, new URI(path));
+      if (matchResults.isMatched()) {
+        return matchResults.action;
+      }
+    }
+    return null;
+  }
+}
@@ -0,0 +1,87 @@
+package io.vlingo.xoom.http.resource;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Ignore;
+import org.junit.Test;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import io.vlingo.xoom.http.resource.SelectionStrategy.Selector;
+
+public class SelectionStrategyBenchmarkTests {
+  @Test
+  @Ignore("Keep for local comparison of handler selection strategies under skewed handler latency")
+  public void launchBenchmark() throws Exception {
+    Options opt = new OptionsBuilder()
+      .include(this.getClass().getSimpleName() + "\\.benchmark.*")
+      .mode(Mode.AverageTime)
+      .timeUnit(TimeUnit.MICROSECONDS)
+      .warmupTime(TimeValue.seconds(1))
+      .warmupIterations(2)
+      .measurementTime(TimeValue.seconds(2))
+      .measurementIterations(3)
+      .threads(4)
+      .forks(1)
+      .shouldFailOnError(true)
+      .shouldDoGC(true)
+      .build();
+
+    new Runner(opt).run();
+  }
+
+  private static final int PoolSize = 8;
+  private static final int RequestsPerOperation = 64;
+  private static final long FastTokens = 1_000;
+  private static final long SlowTokens = 20_000;
+
+  @State(Scope.Benchmark)
+  public static class SelectionStrategyBenchmarkState {
+    @Param({"roundRobin", "stripedRoundRobin", "leastOutstanding", "powerOfTwoChoices"})
+    String strategy;
+
+    // each handler is a single thread, as is each handler actor, and the first is slow
+    ExecutorService[] handlers;
+    Selector selector;
+
+    @Setup(Level.Trial)
+    public void initialize() {
+      handlers = new ExecutorService[PoolSize];
+      for (int index = 0; index < PoolSize; ++index) {
+        handlers[index] = Executors.newSingleThreadExecutor();
+      }
+      selector = SelectionStrategy.named(strategy).selectorFor(PoolSize);
+    }
+
+    @TearDown(Level.Trial)
+    public void terminate() {
+      for (final ExecutorService handler : handlers) {
+        handler.shutdownNow();
+      }
+    }
+  }
+
+  @Benchmark
+  public void benchmarkSkewedLatency(final SelectionStrategyBenchmarkState state, final Blackhole bh) throws InterruptedException {
+    final CountDownLatch handled = new CountDownLatch(RequestsPerOperation);
+
+    for (int count = 0; count < RequestsPerOperation; ++count) {
+      final int index = state.selector.select();
+      state.handlers[index].execute(() -> {
+        Blackhole.consumeCPU(index == 0 ? SlowTokens : FastTokens);
+        state.selector.completed(index);
+        handled.countDown();
+      });
+    }
+
+    handled.await();
+    bh.consume(handled);
+  }
+}
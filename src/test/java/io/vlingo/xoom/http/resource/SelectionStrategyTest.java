@@ -0,0 +1,131 @@
+// Copyright © 2012-2021 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.http.resource;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import io.vlingo.xoom.http.resource.SelectionStrategy.Selector;
+
+public class SelectionStrategyTest {
+  private static final int PoolSize = 4;
+
+  @Test
+  public void testThatRoundRobinSelectsEachInTurn() {
+    assertEachSelectedInTurn(SelectionStrategy.roundRobin().selectorFor(PoolSize));
+  }
+
+  @Test
+  public void testThatStripedRoundRobinSelectsEachInTurn() {
+    assertEachSelectedInTurn(SelectionStrategy.stripedRoundRobin().selectorFor(PoolSize));
+  }
+
+  @Test
+  public void testThatLeastOutstandingAvoidsBusyMember() {
+    final Selector selector = SelectionStrategy.leastOutstanding().selectorFor(PoolSize);
+
+    // occupy every member once, then keep the first busy
+    final int busy = selector.select();
+    for (int count = 1; count < PoolSize; ++count) {
+      selector.completed(selector.select());
+    }
+
+    for (int count = 0; count < 100; ++count) {
+      final int selected = selector.select();
+      assertNotEquals(busy, selected);
+      selector.completed(selected);
+    }
+
+    selector.completed(busy);
+  }
+
+  @Test
+  public void testThatLeastOutstandingSpreadsOutstandingRequests() {
+    final Selector selector = SelectionStrategy.leastOutstanding().selectorFor(PoolSize);
+
+    final int[] selections = new int[PoolSize];
+    for (int count = 0; count < PoolSize * 3; ++count) {
+      ++selections[selector.select()];
+    }
+
+    for (int index = 0; index < PoolSize; ++index) {
+      assertEquals(3, selections[index]);
+      assertEquals(3, ((SelectionStrategy.LeastOutstanding) selector).outstandingOf(index));
+    }
+  }
+
+  @Test
+  public void testThatPowerOfTwoChoicesAvoidsBusiestMember() {
+    final Selector selector = SelectionStrategy.powerOfTwoChoices().selectorFor(PoolSize);
+
+    int busy = -1;
+    for (int count = 0; count < 10; ++count) {
+      final int selected = selector.select();
+      if (busy == -1) busy = selected;
+      if (selected != busy) selector.completed(selected);
+    }
+
+    // the busiest is never chosen over another, since two different members are compared
+    for (int count = 0; count < 100; ++count) {
+      final int selected = selector.select();
+      assertNotEquals(busy, selected);
+      selector.completed(selected);
+    }
+  }
+
+  @Test
+  public void testThatSinglePoolAlwaysSelectsFirst() {
+    for (final String name : new String[] { "roundRobin", "stripedRoundRobin", "leastOutstanding", "powerOfTwoChoices" }) {
+      final Selector selector = SelectionStrategy.named(name).selectorFor(1);
+      for (int count = 0; count < 10; ++count) {
+        assertEquals(0, selector.select());
+      }
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testThatUnknownStrategyIsRejected() {
+    SelectionStrategy.named("random");
+  }
+
+  @Test
+  public void testThatResourceSelectsWithStrategy() {
+    final SelectionStrategy strategy = SelectionStrategy.leastOutstanding();
+    final Resource<?> resource = ResourceBuilder.resource("test", 2).selectingWith(strategy);
+
+    assertSame(strategy, resource.selectionStrategy());
+  }
+
+  @Test
+  public void testThatLoaderSelectsWithConfiguredStrategy() {
+    final java.util.Properties properties = Properties.loadProperties();
+
+    final Resource<?> defaulted = Loader.loadResources(properties).namedResources.get("user");
+
+    assertTrue(defaulted.selectionStrategy().selectorFor(PoolSize) instanceof SelectionStrategy.RoundRobin);
+
+    properties.setProperty("resource.user.selection", "leastOutstanding");
+
+    final Resource<?> resource = Loader.loadResources(properties).namedResources.get("user");
+
+    assertTrue(resource.selectionStrategy().selectorFor(PoolSize) instanceof SelectionStrategy.LeastOutstanding);
+  }
+
+  private void assertEachSelectedInTurn(final Selector selector) {
+    final int first = selector.select();
+    for (int count = 1; count < PoolSize * 3; ++count) {
+      final int selected = selector.select();
+      assertEquals((first + count) % PoolSize, selected);
+      assertTrue(selected < PoolSize);
+    }
+  }
+}
@@ -0,0 +1,267 @@
+// Copyright © 2012-2021 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.http.resource;
+
+import static io.vlingo.xoom.http.resource.ResourceBuilder.get;
+import static io.vlingo.xoom.http.resource.ResourceBuilder.resource;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Queue;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import io.vlingo.xoom.actors.Definition;
+import io.vlingo.xoom.actors.testkit.AccessSafely;
+import io.vlingo.xoom.common.Completes;
+import io.vlingo.xoom.http.Response;
+import io.vlingo.xoom.http.ResponseHeader;
+import io.vlingo.xoom.http.resource.Configuration.Sizing;
+import io.vlingo.xoom.http.resource.Configuration.Timing;
+import io.vlingo.xoom.http.resource.TestResponseChannelConsumer.Progress;
+import io.vlingo.xoom.wire.channel.ResponseChannelConsumer;
+import io.vlingo.xoom.wire.fdx.bidirectional.ClientRequestResponseChannel;
+import io.vlingo.xoom.wire.fdx.bidirectional.netty.client.NettyClientRequestResponseChannel;
+import io.vlingo.xoom.wire.node.Address;
+import io.vlingo.xoom.wire.node.AddressType;
+import io.vlingo.xoom.wire.node.Host;
+
+public class ServerProtectionTest extends ResourceTestFixtures {
+  private static final Random random = new Random();
+  private static final AtomicInteger baseServerPort = new AtomicInteger(10_000 + random.nextInt(50_000));
+
+  private ClientRequestResponseChannel client;
+  private final Queue<Completes<Response>> pending = new ConcurrentLinkedQueue<>();
+  private Progress progress;
+  private Server server;
+  private int serverPort;
+  private boolean skipTests;
+  private ClientRequestResponseChannel slowClient;
+
+  @Test
+  public void testThatRequestBeyondAdmissionLimitIsRejected() {
+    if (skipTests) return;
+
+    startServer(Sizing.define().withAdmissionControl(AdmissionControl.limitedTo(1).withRetryAfter(3)), Timing.define());
+
+    final AccessSafely consumeCalls = progress.expectConsumeTimes(2);
+
+    client.requestWith(toByteBuffer(getRequest("/slow")));
+    awaitPending(1);
+    client.requestWith(toByteBuffer(getRequest("/fast")));
+
+    // the rejection is held behind the response to the earlier request
+    pending.poll().with(Response.of(Response.Status.Ok, "slow"));
+
+    awaitResponses(consumeCalls, 2);
+
+    assertEquals(Response.Status.Ok, progress.responses.poll().status);
+    final Response rejected = progress.responses.poll();
+    assertEquals(Response.Status.ServiceUnavailable, rejected.status);
+    assertNotNull(rejected.headerOf(ResponseHeader.RetryAfter));
+    assertEquals("3", rejected.headerOf(ResponseHeader.RetryAfter).value);
+  }
+
+  @Test
+  public void testThatRequestIsAnsweredAtServerDeadline() {
+    if (skipTests) return;
+
+    startServer(Sizing.define(), Timing.define().withRequestDeadline(100));
+
+    final AccessSafely consumeCalls = progress.expectConsumeTimes(1);
+
+    client.requestWith(toByteBuffer(getRequest("/slow")));
+
+    awaitResponses(consumeCalls, 1);
+
+    assertEquals(Response.Status.GatewayTimeout, progress.responses.poll().status);
+  }
+
+  @Test
+  public void testThatRouteDeadlineAnswersRequest() {
+    if (skipTests) return;
+
+    startServer(Sizing.define(), Timing.define());
+
+    final AccessSafely consumeCalls = progress.expectConsumeTimes(1);
+
+    client.requestWith(toByteBuffer(getRequest("/bounded")));
+
+    awaitResponses(consumeCalls, 1);
+
+    assertEquals(Response.Status.GatewayTimeout, progress.responses.poll().status);
+  }
+
+  @Test
+  public void testThatClientShortensDeadline() {
+    if (skipTests) return;
+
+    startServer(Sizing.define(), Timing.define().withRequestDeadline(60_000));
+
+    final AccessSafely consumeCalls = progress.expectConsumeTimes(1);
+
+    final long start = System.currentTimeMillis();
+    client.requestWith(toByteBuffer("GET /slow HTTP/1.1\nHost: vlingo.io\nX-Request-Timeout: 100\n\n"));
+
+    awaitResponses(consumeCalls, 1);
+
+    assertEquals(Response.Status.GatewayTimeout, progress.responses.poll().status);
+    assertTrue(System.currentTimeMillis() - start < 60_000);
+  }
+
+  @Test
+  public void testThatLateCompletionIsDropped() {
+    if (skipTests) return;
+
+    startServer(Sizing.define(), Timing.define().withRequestDeadline(100));
+
+    final AccessSafely consumeCalls = progress.expectConsumeTimes(1);
+
+    client.requestWith(toByteBuffer(getRequest("/slow")));
+
+    awaitResponses(consumeCalls, 1);
+
+    assertEquals(Response.Status.GatewayTimeout, progress.responses.poll().status);
+
+    final AccessSafely moreConsumeCalls = progress.expectConsumeTimes(1);
+
+    // the handler completes after its deadline was answered
+    awaitPending(1);
+    pending.poll().with(Response.of(Response.Status.Ok, "slow"));
+
+    client.requestWith(toByteBuffer(getRequest("/fast")));
+
+    awaitResponses(moreConsumeCalls, 1);
+
+    final Response response = progress.responses.poll();
+    assertEquals(Response.Status.Ok, response.status);
+    assertEquals("fast", response.entity.content());
+  }
+
+  @Test
+  public void testThatMissingContentRequestsBeyondLimitAreRejected() throws Exception {
+    if (skipTests) return;
+
+    startServer(Sizing.define().withMaxMissingContentRequests(1), Timing.define().withRequestMissingContentTimeout(60_000));
+
+    final String partialRequest = "GET /fast HTTP/1.1\nHost: vlingo.io\nContent-Length: 10\n\n01234";
+
+    // the first slow sender is held awaiting its content
+    client.requestWith(toByteBuffer(partialRequest));
+    Thread.sleep(200);
+
+    final Progress slowProgress = new Progress();
+    slowClient = clientOf(slowProgress);
+    final AccessSafely slowConsumeCalls = slowProgress.expectConsumeTimes(1);
+
+    slowClient.requestWith(toByteBuffer(partialRequest));
+
+    while (slowConsumeCalls.totalWrites() < 1) {
+      slowClient.probeChannel();
+    }
+    slowConsumeCalls.readFrom("completed");
+
+    final Response rejected = slowProgress.responses.poll();
+    assertEquals(Response.Status.ServiceUnavailable, rejected.status);
+    assertEquals("Too many incomplete requests.", rejected.entity.content());
+
+    // the first sender still completes its request
+    final AccessSafely consumeCalls = progress.expectConsumeTimes(1);
+
+    client.requestWith(toByteBuffer("56789"));
+
+    awaitResponses(consumeCalls, 1);
+
+    assertEquals(Response.Status.Ok, progress.responses.poll().status);
+  }
+
+  @Override
+  @Before
+  public void setUp() throws Exception {
+    super.setUp();
+
+    // tests using ServerRequestResponseChannel have
+    // intermittent failures on the CI
+    skipTests = System.getenv().getOrDefault("CI", null) != null;
+    serverPort = baseServerPort.getAndIncrement();
+  }
+
+  @Override
+  @After
+  public void tearDown() throws InterruptedException {
+    if (client != null) {
+      client.close();
+    }
+
+    if (slowClient != null) {
+      slowClient.close();
+    }
+
+    if (server != null) {
+      server.shutDown();
+    }
+
+    super.tearDown();
+  }
+
+  private void awaitPending(final int count) {
+    while (pending.size() < count) {
+      Thread.yield();
+    }
+  }
+
+  private void awaitResponses(final AccessSafely consumeCalls, final int count) {
+    while (consumeCalls.totalWrites() < count) {
+      client.probeChannel();
+    }
+    consumeCalls.readFrom("completed");
+  }
+
+  private String getRequest(final String path) {
+    return "GET " + path + " HTTP/1.1\nHost: vlingo.io\n\n";
+  }
+
+  private Resources protectedResources() {
+    return Resources.are(resource("protected",
+            get("/slow")
+              .handle(this::slow),
+            get("/bounded")
+              .handle(this::slow)
+              .deadline(100),
+            get("/fast")
+              .handle(() -> Completes.withSuccess(Response.of(Response.Status.Ok, "fast")))));
+  }
+
+  private Completes<Response> slow() {
+    // completed by the test, if ever
+    final Completes<Response> completes = Completes.using(world.stage().scheduler());
+    pending.add(completes);
+    return completes;
+  }
+
+  private void startServer(final Sizing sizing, final Timing timing) {
+    server = Server.startWith(world.stage(), protectedResources(), serverPort, sizing.withProcessorPoolSize(1).withDispatcherPoolSize(1), timing);
+    assertTrue(server.startUp().await(500L));
+
+    progress = new Progress();
+
+    client = clientOf(progress);
+  }
+
+  private ClientRequestResponseChannel clientOf(final Progress progress) {
+    final ResponseChannelConsumer consumer = world.actorFor(ResponseChannelConsumer.class, Definition.has(TestResponseChannelConsumer.class, Definition.parameters(progress)));
+
+    return new NettyClientRequestResponseChannel(Address.from(Host.of("localhost"), serverPort, AddressType.NONE), consumer, 100, 10240);
+  }
+}
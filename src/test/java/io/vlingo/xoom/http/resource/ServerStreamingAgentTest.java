@@ -0,0 +1,35 @@
+// Copyright © 2012-2021 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.http.resource;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+import io.vlingo.xoom.http.resource.Configuration.Sizing;
+import io.vlingo.xoom.http.resource.agent.AgentOptions;
+
+public class ServerStreamingAgentTest extends ServerTest {
+
+  @Test
+  public void testThatDispatcherPoolIsSizedByConfiguration() {
+    assertEquals(2, (int) server.dispatcherPoolSize().await());
+  }
+
+  @Override
+  protected Server startServer() {
+    System.out.println(">>>>>>>>>>>>>>>>>>>>> ServerStreamingAgentTest");
+    final Configuration configuration =
+            Configuration.define()
+              .withPort(serverPort)
+              .with(Sizing.define().withDispatcherPoolSize(2).withDispatcherPoolElasticity(Elasticity.upTo(4)))
+              .with(AgentOptions.define().withStreaming(true));
+
+    return Server.startWithAgent(world.stage(), resources, configuration);
+  }
+}
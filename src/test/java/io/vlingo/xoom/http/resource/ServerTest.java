@@ -45,7 +45,7 @@ public abstract class ServerTest extends ResourceTestFixtures {
   private ClientRequestResponseChannel client;
   private ResponseChannelConsumer consumer;
   private Progress progress;
-  private Server server;
+  protected Server server;
 
   @Test
   public void testThatServerHandlesThrowables() {
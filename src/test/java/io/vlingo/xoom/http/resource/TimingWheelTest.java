@@ -0,0 +1,90 @@
+// Copyright © 2012-2021 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.http.resource;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import io.vlingo.xoom.http.resource.TimingWheel.Timeout;
+
+public class TimingWheelTest {
+  private final List<String> expired = new ArrayList<>();
+
+  @Test
+  public void testThatTimeoutExpiresOnlyOnceDue() {
+    final TimingWheel wheel = new TimingWheel(10, 8);
+    final long now = System.nanoTime();
+
+    final Timeout timeout = wheel.schedule(() -> expired.add("first"), 50);
+
+    wheel.advanceTo(now + millis(20));
+    assertTrue(expired.isEmpty());
+    assertFalse(timeout.isExpired());
+
+    wheel.advanceTo(now + millis(80));
+    assertEquals(1, expired.size());
+    assertTrue(timeout.isExpired());
+
+    wheel.advanceTo(now + millis(200));
+    assertEquals(1, expired.size());
+  }
+
+  @Test
+  public void testThatTimeoutBeyondOneRotationWaitsForItsRound() {
+    final TimingWheel wheel = new TimingWheel(10, 4);
+    final long now = System.nanoTime();
+
+    wheel.schedule(() -> expired.add("late"), 100);
+
+    wheel.advanceTo(now + millis(45));
+    wheel.advanceTo(now + millis(85));
+    assertTrue(expired.isEmpty());
+
+    wheel.advanceTo(now + millis(130));
+    assertEquals(1, expired.size());
+  }
+
+  @Test
+  public void testThatCancelledTimeoutNeverExpires() {
+    final TimingWheel wheel = new TimingWheel(10, 8);
+    final long now = System.nanoTime();
+
+    final Timeout cancelled = wheel.schedule(() -> expired.add("cancelled"), 20);
+    wheel.schedule(() -> expired.add("kept"), 20);
+
+    assertTrue(cancelled.cancel());
+    wheel.advanceTo(now + millis(100));
+
+    assertEquals(1, expired.size());
+    assertEquals("kept", expired.get(0));
+    assertTrue(cancelled.isCancelled());
+  }
+
+  @Test
+  public void testThatExpiredTimeoutCannotBeCancelled() {
+    final TimingWheel wheel = new TimingWheel(10, 8);
+    final long now = System.nanoTime();
+
+    final Timeout timeout = wheel.schedule(() -> expired.add("expired"), 0);
+    wheel.advanceTo(now + millis(20));
+
+    assertFalse(timeout.cancel());
+    assertTrue(timeout.isExpired());
+  }
+
+  private long millis(final long millis) {
+    return TimeUnit.MILLISECONDS.toNanos(millis);
+  }
+}
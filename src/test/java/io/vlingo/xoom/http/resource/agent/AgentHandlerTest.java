@@ -0,0 +1,287 @@
+// Copyright © 2012-2021 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.http.resource.agent;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Test;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.CompositeByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.buffer.UnpooledByteBufAllocator;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.http.HttpObjectAggregator;
+import io.netty.handler.codec.http.HttpRequestDecoder;
+import io.netty.handler.codec.http.HttpResponseEncoder;
+import io.vlingo.xoom.actors.Logger;
+import io.vlingo.xoom.http.Method;
+import io.vlingo.xoom.http.Request;
+import io.vlingo.xoom.http.RequestBodyStream;
+import io.vlingo.xoom.wire.channel.RequestChannelConsumer;
+import io.vlingo.xoom.wire.channel.RequestResponseContext;
+import io.vlingo.xoom.wire.message.ConsumerByteBuffer;
+
+public class AgentHandlerTest {
+  private static final int MaxContentLength = 8;
+
+  private final List<CompositeByteBuf> composites = new ArrayList<>();
+  private final List<Request> consumed = new ArrayList<>();
+  private EmbeddedChannel channel;
+  private boolean streamsBody;
+
+  @Test
+  public void testThatStreamedRouteIsDispatchedBeforeContent() {
+    streamsBody = true;
+    channel = streamingChannel();
+
+    channel.writeInbound(bytes("POST /upload HTTP/1.1\r\nHost: localhost\r\nContent-Length: 10\r\n\r\n"));
+
+    assertEquals(1, consumed.size());
+    final RequestBodyStream stream = (RequestBodyStream) consumed.get(0).body;
+    assertFalse(stream.isCompleted());
+
+    final StringBuilder received = new StringBuilder();
+    stream.subscribe(new RequestBodyStream.Subscriber() {
+      @Override
+      public void onChunk(final ByteBuffer chunk) {
+        received.append(StandardCharsets.UTF_8.decode(chunk));
+      }
+
+      @Override
+      public void onComplete() { }
+
+      @Override
+      public void onError(final Exception cause) { }
+    });
+
+    channel.writeInbound(bytes("01234"));
+    channel.writeInbound(bytes("56789"));
+
+    assertTrue(stream.isCompleted());
+    assertEquals("0123456789", received.toString());
+  }
+
+  @Test
+  public void testThatReadingIsPausedUntilStreamIsSubscribed() {
+    streamsBody = true;
+    channel = streamingChannel();
+
+    channel.writeInbound(bytes("POST /upload HTTP/1.1\r\nHost: localhost\r\nContent-Length: 10\r\n\r\n01234"));
+
+    final RequestBodyStream stream = (RequestBodyStream) consumed.get(0).body;
+    assertFalse(channel.config().isAutoRead());
+
+    final StringBuilder received = new StringBuilder();
+    stream.subscribe(new RequestBodyStream.Subscriber() {
+      @Override
+      public void onChunk(final ByteBuffer chunk) {
+        received.append(StandardCharsets.UTF_8.decode(chunk));
+      }
+
+      @Override
+      public void onComplete() { }
+
+      @Override
+      public void onError(final Exception cause) { }
+    });
+
+    assertTrue(channel.config().isAutoRead());
+
+    channel.writeInbound(bytes("56789"));
+
+    assertTrue(stream.isCompleted());
+    assertEquals("0123456789", received.toString());
+  }
+
+  @Test
+  public void testThatTooLargeContentLengthIsRejected() {
+    channel = streamingChannel();
+
+    channel.writeInbound(bytes("POST /data HTTP/1.1\r\nHost: localhost\r\nContent-Length: 100\r\n\r\n"));
+
+    assertTrue(outbound().startsWith("HTTP/1.1 413"));
+    assertTrue(consumed.isEmpty());
+    assertFalse(channel.isOpen());
+  }
+
+  @Test
+  public void testThatTooLargeChunkedContentIsRejectedAndReleased() {
+    channel = streamingChannel();
+
+    channel.writeInbound(bytes("POST /data HTTP/1.1\r\nHost: localhost\r\nTransfer-Encoding: chunked\r\n\r\n"));
+    channel.writeInbound(bytes("5\r\nabcde\r\n"));
+    assertEquals("", outbound());
+
+    channel.writeInbound(bytes("5\r\nfghij\r\n"));
+
+    assertTrue(outbound().startsWith("HTTP/1.1 413"));
+    assertTrue(consumed.isEmpty());
+    assertFalse(channel.isOpen());
+    assertAllCompositesReleased();
+  }
+
+  @Test
+  public void testThatRetainedContentIsDispatchedWhenComplete() {
+    channel = streamingChannel();
+
+    channel.writeInbound(bytes("POST /data HTTP/1.1\r\nHost: localhost\r\nContent-Length: 6\r\n\r\nabc"));
+    assertTrue(consumed.isEmpty());
+
+    channel.writeInbound(bytes("def"));
+
+    assertEquals(1, consumed.size());
+    assertEquals("abcdef", consumed.get(0).body.content());
+    assertAllCompositesReleased();
+  }
+
+  @Test
+  public void testThatDecoderFailureIsRejected() {
+    channel = streamingChannel();
+
+    channel.writeInbound(bytes("GET /data HTTP/x.y\r\nHost: localhost\r\n\r\n"));
+
+    assertTrue(outbound().startsWith("HTTP/1.1 400"));
+    assertTrue(consumed.isEmpty());
+    assertFalse(channel.isOpen());
+  }
+
+  @Test
+  public void testThatDecoderFailureIsRejectedWhenAggregating() {
+    channel = channelWith(AgentOptions.define().withMaxContentLength(MaxContentLength));
+
+    channel.writeInbound(bytes("GET /data HTTP/x.y\r\nHost: localhost\r\n\r\n"));
+
+    assertTrue(outbound().startsWith("HTTP/1.1 400"));
+    assertTrue(consumed.isEmpty());
+  }
+
+  @Test
+  public void testThatDisconnectFailsStreamedBody() {
+    streamsBody = true;
+    channel = streamingChannel();
+
+    channel.writeInbound(bytes("POST /upload HTTP/1.1\r\nHost: localhost\r\nContent-Length: 10\r\n\r\n01234"));
+
+    final RequestBodyStream stream = (RequestBodyStream) consumed.get(0).body;
+    assertFalse(stream.isFailed());
+
+    channel.close();
+
+    assertTrue(stream.isFailed());
+    assertFalse(stream.isCompleted());
+  }
+
+  @Test
+  public void testThatDisconnectReleasesRetainedContent() {
+    channel = streamingChannel();
+
+    channel.writeInbound(bytes("POST /data HTTP/1.1\r\nHost: localhost\r\nContent-Length: 6\r\n\r\nabc"));
+    assertEquals(1, composites.size());
+    assertTrue(composites.get(0).refCnt() > 0);
+
+    channel.close();
+
+    assertTrue(consumed.isEmpty());
+    assertAllCompositesReleased();
+  }
+
+  @After
+  public void tearDown() {
+    if (channel != null) {
+      channel.finishAndReleaseAll();
+    }
+  }
+
+  private void assertAllCompositesReleased() {
+    assertFalse(composites.isEmpty());
+    for (final CompositeByteBuf composite : composites) {
+      assertEquals(0, composite.refCnt());
+    }
+  }
+
+  private ByteBuf bytes(final String text) {
+    return Unpooled.copiedBuffer(text, StandardCharsets.US_ASCII);
+  }
+
+  private EmbeddedChannel channelWith(final AgentOptions options) {
+    final HttpRequestChannelConsumer consumer = new HttpRequestChannelConsumer() {
+      @Override
+      public void consume(final RequestResponseContext<?> context, final Request request) {
+        consumed.add(request);
+      }
+
+      @Override
+      public boolean streamsBodyOf(final Method method, final URI uri) {
+        return streamsBody;
+      }
+
+      @Override
+      public void closeWith(final RequestResponseContext<?> requestResponseContext, final Object data) { }
+
+      @Override
+      public void consume(final RequestResponseContext<?> context, final ConsumerByteBuffer buffer) { }
+    };
+
+    final HttpRequestChannelConsumerProvider provider = new HttpRequestChannelConsumerProvider() {
+      @Override
+      public HttpRequestChannelConsumer httpRequestChannelConsumer() {
+        return consumer;
+      }
+
+      @Override
+      public RequestChannelConsumer requestChannelConsumer() {
+        return consumer;
+      }
+    };
+
+    final EmbeddedChannel channel = new EmbeddedChannel();
+
+    // the composite buffers retaining content are tracked to prove their release
+    channel.config().setAllocator(new UnpooledByteBufAllocator(false) {
+      @Override
+      public CompositeByteBuf compositeBuffer(final int maxNumComponents) {
+        final CompositeByteBuf composite = super.compositeBuffer(maxNumComponents);
+        composites.add(composite);
+        return composite;
+      }
+    });
+
+    channel.pipeline().addLast(new HttpRequestDecoder());
+    if (!options.streaming) {
+      channel.pipeline().addLast(new HttpObjectAggregator(options.maxContentLength));
+    }
+    channel.pipeline().addLast(AgentInitializer.RESPONSE_ENCODER_NAME, new HttpResponseEncoder());
+    channel.pipeline().addLast(new AgentHandler(provider, options, Logger.basicLogger()));
+
+    return channel;
+  }
+
+  private String outbound() {
+    final StringBuilder builder = new StringBuilder();
+    ByteBuf written;
+    while ((written = channel.readOutbound()) != null) {
+      builder.append(written.toString(StandardCharsets.US_ASCII));
+      written.release();
+    }
+    return builder.toString();
+  }
+
+  private EmbeddedChannel streamingChannel() {
+    return channelWith(AgentOptions.define().withStreaming(true).withMaxContentLength(MaxContentLength));
+  }
+}
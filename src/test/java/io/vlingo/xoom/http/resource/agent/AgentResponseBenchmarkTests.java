@@ -0,0 +1,153 @@
+package io.vlingo.xoom.http.resource.agent;
+
+import static io.vlingo.xoom.http.ResponseHeader.ContentType;
+import static io.vlingo.xoom.http.ResponseHeader.headers;
+import static io.vlingo.xoom.http.ResponseHeader.of;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Ignore;
+import org.junit.Test;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.SimpleChannelInboundHandler;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.http.DefaultFullHttpResponse;
+import io.netty.handler.codec.http.FullHttpRequest;
+import io.netty.handler.codec.http.FullHttpResponse;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpHeaderValues;
+import io.netty.handler.codec.http.HttpObjectAggregator;
+import io.netty.handler.codec.http.HttpRequestDecoder;
+import io.netty.handler.codec.http.HttpResponseEncoder;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http.HttpVersion;
+import io.vlingo.xoom.actors.Logger;
+import io.vlingo.xoom.http.Request;
+import io.vlingo.xoom.http.Response;
+import io.vlingo.xoom.http.Response.Status;
+import io.vlingo.xoom.wire.channel.RequestChannelConsumer;
+import io.vlingo.xoom.wire.channel.RequestResponseContext;
+import io.vlingo.xoom.wire.message.ConsumerByteBuffer;
+
+/**
+ * Compares the allocations of a request and its response by way of the {@code AgentHandler}
+ * with those of a raw Netty hello world, each through the same decoder and encoder.
+ */
+public class AgentResponseBenchmarkTests {
+  private static final byte[] Hello = "Hello, World!".getBytes(StandardCharsets.US_ASCII);
+  private static final byte[] RequestBytes = "GET /hello HTTP/1.1\r\nHost: localhost\r\n\r\n".getBytes(StandardCharsets.US_ASCII);
+
+  @Test
+  @Ignore("Keep for local comparison of allocations per request by the agent and by raw Netty")
+  public void launchBenchmark() throws Exception {
+    Options opt = new OptionsBuilder()
+      .include(this.getClass().getSimpleName() + "\\.benchmark.*")
+      .mode(Mode.AverageTime)
+      .timeUnit(TimeUnit.MICROSECONDS)
+      .warmupTime(TimeValue.seconds(1))
+      .warmupIterations(2)
+      .measurementTime(TimeValue.seconds(1))
+      .measurementIterations(3)
+      .threads(1)
+      .forks(1)
+      .shouldFailOnError(true)
+      .shouldDoGC(true)
+      .addProfiler("gc")
+      .build();
+
+    new Runner(opt).run();
+  }
+
+  @State(Scope.Thread)
+  public static class AgentResponseBenchmarkState {
+    EmbeddedChannel agentChannel;
+    EmbeddedChannel nettyChannel;
+
+    @Setup(Level.Trial)
+    public void initialize() {
+      final HttpRequestChannelConsumer consumer = new HttpRequestChannelConsumer() {
+        @Override
+        public void consume(final RequestResponseContext<?> context, final Request request) {
+          context.respondWith(Response.of(Status.Ok, headers(of(ContentType, "text/plain")), "Hello, World!"), false);
+        }
+
+        @Override
+        public void closeWith(final RequestResponseContext<?> requestResponseContext, final Object data) { }
+
+        @Override
+        public void consume(final RequestResponseContext<?> context, final ConsumerByteBuffer buffer) { }
+      };
+
+      final HttpRequestChannelConsumerProvider provider = new HttpRequestChannelConsumerProvider() {
+        @Override
+        public HttpRequestChannelConsumer httpRequestChannelConsumer() {
+          return consumer;
+        }
+
+        @Override
+        public RequestChannelConsumer requestChannelConsumer() {
+          return consumer;
+        }
+      };
+
+      agentChannel = new EmbeddedChannel(
+              new HttpRequestDecoder(),
+              new HttpObjectAggregator(AgentOptions.DefaultMaxContentLength),
+              new HttpResponseEncoder(),
+              new AgentHandler(provider, AgentOptions.define(), Logger.basicLogger()));
+
+      nettyChannel = new EmbeddedChannel(
+              new HttpRequestDecoder(),
+              new HttpObjectAggregator(AgentOptions.DefaultMaxContentLength),
+              new HttpResponseEncoder(),
+              new HelloWorldHandler());
+    }
+
+    @TearDown(Level.Trial)
+    public void close() {
+      agentChannel.finishAndReleaseAll();
+      nettyChannel.finishAndReleaseAll();
+    }
+  }
+
+  @Benchmark
+  public void benchmarkAgent(final AgentResponseBenchmarkState state, final Blackhole bh) {
+    exchange(state.agentChannel, bh);
+  }
+
+  @Benchmark
+  public void benchmarkRawNetty(final AgentResponseBenchmarkState state, final Blackhole bh) {
+    exchange(state.nettyChannel, bh);
+  }
+
+  private void exchange(final EmbeddedChannel channel, final Blackhole bh) {
+    channel.writeInbound(Unpooled.wrappedBuffer(RequestBytes));
+    ByteBuf written;
+    while ((written = channel.readOutbound()) != null) {
+      bh.consume(written.readableBytes());
+      written.release();
+    }
+  }
+
+  private static class HelloWorldHandler extends SimpleChannelInboundHandler<FullHttpRequest> {
+    @Override
+    protected void channelRead0(final ChannelHandlerContext context, final FullHttpRequest request) {
+      final FullHttpResponse response =
+              new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.OK, context.alloc().buffer(Hello.length).writeBytes(Hello), false);
+      response.headers()
+        .set(HttpHeaderNames.CONTENT_TYPE, HttpHeaderValues.TEXT_PLAIN)
+        .setInt(HttpHeaderNames.CONTENT_LENGTH, Hello.length);
+      context.writeAndFlush(response);
+    }
+  }
+}
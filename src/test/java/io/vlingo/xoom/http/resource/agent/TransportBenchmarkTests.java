@@ -0,0 +1,154 @@
+package io.vlingo.xoom.http.resource.agent;
+
+import static io.vlingo.xoom.http.ResponseHeader.ContentType;
+import static io.vlingo.xoom.http.ResponseHeader.headers;
+import static io.vlingo.xoom.http.ResponseHeader.of;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Ignore;
+import org.junit.Test;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import io.vlingo.xoom.actors.Logger;
+import io.vlingo.xoom.http.Request;
+import io.vlingo.xoom.http.Response;
+import io.vlingo.xoom.http.Response.Status;
+import io.vlingo.xoom.http.resource.agent.AgentOptions.Transport;
+import io.vlingo.xoom.wire.channel.RequestChannelConsumer;
+import io.vlingo.xoom.wire.channel.RequestResponseContext;
+import io.vlingo.xoom.wire.message.ConsumerByteBuffer;
+
+/**
+ * Compares the loopback throughput of small requests and responses by way of the
+ * {@code HttpAgent} on each {@code Transport}. A transport that is unavailable falls
+ * back to another one, which is reported when the agent starts.
+ */
+public class TransportBenchmarkTests {
+  private static final int Port = 18180;
+  private static final byte[] RequestBytes = "GET /hello HTTP/1.1\r\nHost: localhost\r\n\r\n".getBytes(StandardCharsets.US_ASCII);
+
+  @Test
+  @Ignore("Keep for local comparison of the throughput of the NIO, Epoll, and IOUring transports")
+  public void launchBenchmark() throws Exception {
+    Options opt = new OptionsBuilder()
+      .include(this.getClass().getSimpleName() + "\\.benchmark.*")
+      .mode(Mode.Throughput)
+      .timeUnit(TimeUnit.SECONDS)
+      .warmupTime(TimeValue.seconds(1))
+      .warmupIterations(2)
+      .measurementTime(TimeValue.seconds(3))
+      .measurementIterations(3)
+      .threads(4)
+      .forks(1)
+      .shouldFailOnError(true)
+      .shouldDoGC(true)
+      .build();
+
+    new Runner(opt).run();
+  }
+
+  @State(Scope.Benchmark)
+  public static class AgentState {
+    @Param({"NIO", "Epoll", "IOUring"})
+    Transport transport;
+
+    HttpAgent agent;
+
+    @Setup(Level.Trial)
+    public void initialize() throws Exception {
+      final HttpRequestChannelConsumer consumer = new HttpRequestChannelConsumer() {
+        @Override
+        public void consume(final RequestResponseContext<?> context, final Request request) {
+          context.respondWith(Response.of(Status.Ok, headers(of(ContentType, "text/plain")), "Hello, World!"), false);
+        }
+
+        @Override
+        public void closeWith(final RequestResponseContext<?> requestResponseContext, final Object data) { }
+
+        @Override
+        public void consume(final RequestResponseContext<?> context, final ConsumerByteBuffer buffer) { }
+      };
+
+      final HttpRequestChannelConsumerProvider provider = new HttpRequestChannelConsumerProvider() {
+        @Override
+        public HttpRequestChannelConsumer httpRequestChannelConsumer() {
+          return consumer;
+        }
+
+        @Override
+        public RequestChannelConsumer requestChannelConsumer() {
+          return consumer;
+        }
+      };
+
+      final Logger logger = Logger.basicLogger();
+
+      agent = HttpAgent.initialize(provider, Port, false, AgentOptions.define().withTransport(transport), logger);
+
+      logger.info("Transport " + transport + " using " + agent.transport());
+    }
+
+    @TearDown(Level.Trial)
+    public void close() {
+      agent.close();
+    }
+  }
+
+  @State(Scope.Thread)
+  public static class ConnectionState {
+    DataInputStream input;
+    OutputStream output;
+    byte[] response;
+    Socket socket;
+
+    @Setup(Level.Trial)
+    public void connect(final AgentState agentState) throws IOException {
+      socket = new Socket("localhost", Port);
+      socket.setTcpNoDelay(true);
+      input = new DataInputStream(socket.getInputStream());
+      output = socket.getOutputStream();
+      response = new byte[responseSize()];
+    }
+
+    @TearDown(Level.Trial)
+    public void close() throws IOException {
+      socket.close();
+    }
+
+    // each response is the same, so its size is taken from the first
+    private int responseSize() throws IOException {
+      output.write(RequestBytes);
+
+      final StringBuilder head = new StringBuilder();
+      while (head.indexOf("\r\n\r\n") < 0) {
+        head.append((char) input.readByte());
+      }
+
+      final String lowerHead = head.toString().toLowerCase();
+      final int start = lowerHead.indexOf("content-length:") + "content-length:".length();
+      final int contentLength = Integer.parseInt(lowerHead.substring(start, lowerHead.indexOf("\r\n", start)).trim());
+
+      input.skipBytes(contentLength);
+
+      return head.length() + contentLength;
+    }
+  }
+
+  @Benchmark
+  public void benchmarkRequestResponse(final ConnectionState connection, final Blackhole bh) throws IOException {
+    connection.output.write(RequestBytes);
+    connection.input.readFully(connection.response);
+    bh.consume(connection.response);
+  }
+}